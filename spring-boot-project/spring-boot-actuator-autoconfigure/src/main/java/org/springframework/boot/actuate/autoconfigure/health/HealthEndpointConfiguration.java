@@ -20,8 +20,12 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.actuate.health.CompositeHealthContributor;
@@ -35,15 +39,20 @@ import org.springframework.boot.actuate.health.HealthEndpointGroupsPostProcessor
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.HttpCodeStatusMapper;
 import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.ParallelHealthEvaluation;
 import org.springframework.boot.actuate.health.ReactiveHealthContributor;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.SimpleHttpCodeStatusMapper;
 import org.springframework.boot.actuate.health.SimpleStatusAggregator;
+import org.springframework.boot.actuate.health.SnapshotHealthContributorRegistry;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.actuate.health.StatusAggregator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.ClassUtils;
 
 /**
@@ -77,19 +86,43 @@ class HealthEndpointConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	HealthContributorRegistry healthContributorRegistry(ApplicationContext applicationContext,
-			HealthEndpointGroups groups) {
+			HealthEndpointGroups groups, HealthEndpointProperties properties) {
 		Map<String, HealthContributor> healthContributors = new LinkedHashMap<>(
 				applicationContext.getBeansOfType(HealthContributor.class));
 		if (ClassUtils.isPresent("reactor.core.publisher.Flux", applicationContext.getClassLoader())) {
 			healthContributors.putAll(new AdaptedReactiveHealthContributors(applicationContext).get());
 		}
-		return new AutoConfiguredHealthContributorRegistry(healthContributors, groups.getNames());
+		HealthContributorRegistry registry = new AutoConfiguredHealthContributorRegistry(healthContributors,
+				groups.getNames());
+		HealthEndpointProperties.Snapshot snapshot = properties.getSnapshot();
+		if (snapshot.isEnabled()) {
+			return new SnapshotHealthContributorRegistry(registry, snapshot.getInterval(), applicationContext);
+		}
+		return registry;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.endpoint.health.parallel", name = "enabled", havingValue = "true")
+	HealthIndicatorThreadPool healthIndicatorThreadPool(HealthEndpointProperties properties) {
+		HealthEndpointProperties.Parallel parallel = properties.getParallel();
+		return new HealthIndicatorThreadPool(parallel.getPoolSize(), parallel.getQueueCapacity());
 	}
 
 	@Bean
 	@ConditionalOnMissingBean
-	HealthEndpoint healthEndpoint(HealthContributorRegistry registry, HealthEndpointGroups groups) {
-		return new HealthEndpoint(registry, groups);
+	@ConditionalOnProperty(prefix = "management.endpoint.health.parallel", name = "enabled", havingValue = "true")
+	ParallelHealthEvaluation parallelHealthEvaluation(HealthEndpointProperties properties,
+			HealthIndicatorThreadPool healthIndicatorThreadPool) {
+		HealthEndpointProperties.Parallel parallel = properties.getParallel();
+		return new ParallelHealthEvaluation(healthIndicatorThreadPool.getExecutor(), parallel.getTimeout(),
+				new Status(parallel.getTimeoutStatus()));
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	HealthEndpoint healthEndpoint(HealthContributorRegistry registry, HealthEndpointGroups groups,
+			ObjectProvider<ParallelHealthEvaluation> parallelEvaluation) {
+		return new HealthEndpoint(registry, groups, parallelEvaluation.getIfAvailable());
 	}
 
 	@Bean
@@ -128,6 +161,35 @@ class HealthEndpointConfiguration {
 
 	}
 
+	/**
+	 * Bounded thread pool used to invoke health indicators in parallel. Submissions that
+	 * exceed the queue capacity are rejected and reported as timed out. Not exposed as
+	 * an {@link java.util.concurrent.Executor} bean so that it cannot be mistaken for the
+	 * application's task executor.
+	 */
+	static class HealthIndicatorThreadPool implements DisposableBean {
+
+		private final ThreadPoolExecutor executor;
+
+		HealthIndicatorThreadPool(int poolSize, int queueCapacity) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-");
+			threadFactory.setDaemon(true);
+			this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+			this.executor.allowCoreThreadTimeOut(true);
+		}
+
+		ThreadPoolExecutor getExecutor() {
+			return this.executor;
+		}
+
+		@Override
+		public void destroy() {
+			this.executor.shutdownNow();
+		}
+
+	}
+
 	/**
 	 * Adapter to expose {@link ReactiveHealthContributor} beans as
 	 * {@link HealthContributor} instances.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +44,10 @@ public class HealthEndpointProperties extends HealthProperties {
 	 */
 	private Map<String, Group> group = new LinkedHashMap<>();
 
+	private final Parallel parallel = new Parallel();
+
+	private final Snapshot snapshot = new Snapshot();
+
 	@Override
 	public Show getShowDetails() {
 		return this.showDetails;
@@ -56,6 +61,14 @@ public class HealthEndpointProperties extends HealthProperties {
 		return this.group;
 	}
 
+	public Parallel getParallel() {
+		return this.parallel;
+	}
+
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
 	/**
 	 * A health endpoint group.
 	 */
@@ -124,4 +137,111 @@ public class HealthEndpointProperties extends HealthProperties {
 
 	}
 
+	/**
+	 * Parallel evaluation of composite health contributors.
+	 */
+	public static class Parallel {
+
+		/**
+		 * Whether to evaluate the members of composite health contributors in parallel.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of threads used to evaluate health indicators.
+		 */
+		private int poolSize = 8;
+
+		/**
+		 * Maximum number of health indicators waiting for a thread. Health indicators
+		 * that do not fit are reported with the timeout status.
+		 */
+		private int queueCapacity = 100;
+
+		/**
+		 * Maximum time to wait for each health indicator.
+		 */
+		private Duration timeout = Duration.ofSeconds(10);
+
+		/**
+		 * Status reported by health indicators that do not respond within the timeout.
+		 */
+		private String timeoutStatus = "UNKNOWN";
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getPoolSize() {
+			return this.poolSize;
+		}
+
+		public void setPoolSize(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public String getTimeoutStatus() {
+			return this.timeoutStatus;
+		}
+
+		public void setTimeoutStatus(String timeoutStatus) {
+			this.timeoutStatus = timeoutStatus;
+		}
+
+	}
+
+	/**
+	 * Background snapshots of health indicators.
+	 */
+	public static class Snapshot {
+
+		/**
+		 * Whether to evaluate health indicators periodically in the background and answer
+		 * health requests from the latest snapshot.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Interval between two snapshots.
+		 */
+		private Duration interval = Duration.ofSeconds(10);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getInterval() {
+			return this.interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+
+	}
+
 }
@@ -16,6 +16,13 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
@@ -29,6 +36,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplicat
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for HTTP tracing.
@@ -49,14 +57,38 @@ public class HttpTraceAutoConfiguration {
 		return new HttpExchangeTracer(traceProperties.getInclude());
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public HttpExchangeSampler httpExchangeSampler(HttpTraceProperties traceProperties) {
+		HttpTraceProperties.Sampling sampling = traceProperties.getSampling();
+		HttpExchangeSampler sampler = HttpExchangeSampler.rate(sampling.getRate());
+		if (sampling.getMinimumStatus() != null) {
+			sampler = sampler.or(HttpExchangeSampler.statusAtLeast(sampling.getMinimumStatus()));
+		}
+		if (sampling.getLatencyThreshold() != null) {
+			sampler = sampler.or(HttpExchangeSampler.timeTakenAtLeast(sampling.getLatencyThreshold()));
+		}
+		return sampler;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.trace.http.async", name = "enabled", havingValue = "true")
+	HttpTraceRecordingThreadPool httpTraceRecordingThreadPool(HttpTraceProperties traceProperties) {
+		return new HttpTraceRecordingThreadPool(traceProperties.getAsync().getQueueCapacity());
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@ConditionalOnWebApplication(type = Type.SERVLET)
 	static class ServletTraceFilterConfiguration {
 
 		@Bean
 		@ConditionalOnMissingBean
-		HttpTraceFilter httpTraceFilter(HttpTraceRepository repository, HttpExchangeTracer tracer) {
-			return new HttpTraceFilter(repository, tracer);
+		HttpTraceFilter httpTraceFilter(HttpTraceRepository repository, HttpExchangeTracer tracer,
+				HttpExchangeSampler sampler, ObjectProvider<HttpTraceRecordingThreadPool> recordingThreadPool) {
+			HttpTraceFilter filter = new HttpTraceFilter(repository, tracer);
+			filter.setSampler(sampler);
+			recordingThreadPool.ifAvailable((threadPool) -> filter.setExecutor(threadPool.getExecutor()));
+			return filter;
 		}
 
 	}
@@ -68,8 +100,47 @@ public class HttpTraceAutoConfiguration {
 		@Bean
 		@ConditionalOnMissingBean
 		HttpTraceWebFilter httpTraceWebFilter(HttpTraceRepository repository, HttpExchangeTracer tracer,
-				HttpTraceProperties traceProperties) {
-			return new HttpTraceWebFilter(repository, tracer, traceProperties.getInclude());
+				HttpTraceProperties traceProperties, HttpExchangeSampler sampler,
+				ObjectProvider<HttpTraceRecordingThreadPool> recordingThreadPool) {
+			HttpTraceWebFilter filter = new HttpTraceWebFilter(repository, tracer, traceProperties.getInclude());
+			filter.setSampler(sampler);
+			recordingThreadPool.ifAvailable((threadPool) -> filter.setExecutor(threadPool.getExecutor()));
+			return filter;
+		}
+
+	}
+
+	/**
+	 * Bounded single thread pool used to add traces to the repository. Traces are
+	 * discarded when the queue is full. A queue capacity of zero or less disables the
+	 * pool so that traces are added on the request thread. Not exposed as an
+	 * {@link java.util.concurrent.Executor} bean so that it cannot be mistaken for the
+	 * application's task executor.
+	 */
+	static class HttpTraceRecordingThreadPool implements DisposableBean {
+
+		private final ThreadPoolExecutor executor;
+
+		HttpTraceRecordingThreadPool(int queueCapacity) {
+			if (queueCapacity <= 0) {
+				this.executor = null;
+				return;
+			}
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("http-trace-");
+			threadFactory.setDaemon(true);
+			this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+		}
+
+		ThreadPoolExecutor getExecutor() {
+			return this.executor;
+		}
+
+		@Override
+		public void destroy() {
+			if (this.executor != null) {
+				this.executor.shutdown();
+			}
 		}
 
 	}
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -41,6 +42,10 @@ public class HttpTraceProperties {
 	 */
 	private Set<Include> include = new HashSet<>(Include.defaultIncludes());
 
+	private final Sampling sampling = new Sampling();
+
+	private final Async async = new Async();
+
 	public Set<Include> getInclude() {
 		return this.include;
 	}
@@ -49,4 +54,95 @@ public class HttpTraceProperties {
 		this.include = include;
 	}
 
+	public Sampling getSampling() {
+		return this.sampling;
+	}
+
+	public Async getAsync() {
+		return this.async;
+	}
+
+	/**
+	 * Sampling of traced exchanges.
+	 */
+	public static class Sampling {
+
+		/**
+		 * Fraction of exchanges to trace, between 0.0 and 1.0.
+		 */
+		private double rate = 1.0;
+
+		/**
+		 * Response status at or above which exchanges are always traced, for example 500
+		 * to trace all server errors.
+		 */
+		private Integer minimumStatus;
+
+		/**
+		 * Time taken at or above which exchanges are always traced.
+		 */
+		private Duration latencyThreshold;
+
+		public double getRate() {
+			return this.rate;
+		}
+
+		public void setRate(double rate) {
+			this.rate = rate;
+		}
+
+		public Integer getMinimumStatus() {
+			return this.minimumStatus;
+		}
+
+		public void setMinimumStatus(Integer minimumStatus) {
+			this.minimumStatus = minimumStatus;
+		}
+
+		public Duration getLatencyThreshold() {
+			return this.latencyThreshold;
+		}
+
+		public void setLatencyThreshold(Duration latencyThreshold) {
+			this.latencyThreshold = latencyThreshold;
+		}
+
+	}
+
+	/**
+	 * Asynchronous recording of traced exchanges.
+	 */
+	public static class Async {
+
+		/**
+		 * Whether to add traces to the repository on a background thread rather than on
+		 * the request thread.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of traces waiting to be added to the repository. Additional
+		 * traces are discarded. A value of zero or less adds traces on the request
+		 * thread.
+		 */
+		private int queueCapacity = 1000;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+	}
+
 }
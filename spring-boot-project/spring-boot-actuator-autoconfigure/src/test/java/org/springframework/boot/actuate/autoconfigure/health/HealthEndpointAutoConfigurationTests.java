@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import org.springframework.boot.actuate.endpoint.ApiVersion;
 import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
 import org.springframework.boot.actuate.endpoint.web.WebServerNamespace;
+import org.springframework.boot.actuate.health.CompositeHealth;
 import org.springframework.boot.actuate.health.DefaultHealthContributorRegistry;
 import org.springframework.boot.actuate.health.DefaultReactiveHealthContributorRegistry;
 import org.springframework.boot.actuate.health.Health;
@@ -40,9 +42,11 @@ import org.springframework.boot.actuate.health.HealthEndpointWebExtension;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.HttpCodeStatusMapper;
 import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.ParallelHealthEvaluation;
 import org.springframework.boot.actuate.health.ReactiveHealthContributorRegistry;
 import org.springframework.boot.actuate.health.ReactiveHealthEndpointWebExtension;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.SnapshotHealthContributorRegistry;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.actuate.health.StatusAggregator;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -163,6 +167,18 @@ class HealthEndpointAutoConfigurationTests {
 		});
 	}
 
+	@Test
+	void runWhenSnapshotIsEnabledCreatesSnapshotHealthContributorRegistry() {
+		this.contextRunner.withPropertyValues("management.endpoint.health.snapshot.enabled=true",
+				"management.endpoint.health.snapshot.interval=1m").run((context) -> {
+					HealthContributorRegistry registry = context.getBean(HealthContributorRegistry.class);
+					assertThat(registry).isInstanceOf(SnapshotHealthContributorRegistry.class);
+					assertThat(((SnapshotHealthContributorRegistry) registry).isRunning()).isTrue();
+					Object[] names = registry.stream().map(NamedContributor::getName).toArray();
+					assertThat(names).containsExactlyInAnyOrder("simple", "additional", "ping", "reactive");
+				});
+	}
+
 	@Test
 	void runWhenHasHealthContributorRegistryBeanDoesNotCreateAdditionalRegistry() {
 		this.contextRunner.withUserConfiguration(HealthContributorRegistryConfiguration.class).run((context) -> {
@@ -181,6 +197,27 @@ class HealthEndpointAutoConfigurationTests {
 		});
 	}
 
+	@Test
+	void runWhenParallelIsNotEnabledDoesNotCreateParallelHealthEvaluation() {
+		this.contextRunner.run((context) -> assertThat(context).doesNotHaveBean(ParallelHealthEvaluation.class));
+	}
+
+	@Test
+	void runWhenParallelIsEnabledCreatesParallelHealthEvaluationFromProperties() {
+		this.contextRunner.withPropertyValues("management.endpoint.health.parallel.enabled=true",
+				"management.endpoint.health.parallel.timeout=2s",
+				"management.endpoint.health.parallel.timeout-status=DOWN",
+				"management.endpoint.health.show-details=always").run((context) -> {
+					ParallelHealthEvaluation evaluation = context.getBean(ParallelHealthEvaluation.class);
+					assertThat(evaluation.getTimeout()).isEqualTo(Duration.ofSeconds(2));
+					assertThat(evaluation.getTimeoutStatus()).isEqualTo(Status.DOWN);
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					CompositeHealth health = (CompositeHealth) endpoint.health();
+					Health simple = (Health) health.getComponents().get("simple");
+					assertThat(simple.getDetails()).containsEntry("counter", 42);
+				});
+	}
+
 	@Test
 	void runWhenHasHealthEndpointBeanDoesNotCreateAdditionalHealthEndpoint() {
 		this.contextRunner.withUserConfiguration(HealthEndpointConfiguration.class).run((context) -> {
@@ -23,11 +23,14 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProperties;
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.Include;
+import org.springframework.boot.actuate.trace.http.TraceableRequest;
+import org.springframework.boot.actuate.trace.http.TraceableResponse;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -37,6 +40,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 /**
  * Tests for {@link HttpTraceAutoConfiguration}.
@@ -99,6 +104,44 @@ class HttpTraceAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	void configuresSamplerFromProperties() {
+		this.contextRunner.withUserConfiguration(HttpTraceRepositoryConfiguration.class)
+				.withPropertyValues("management.trace.http.sampling.rate=0",
+						"management.trace.http.sampling.minimum-status=500")
+				.run((context) -> {
+					HttpExchangeSampler sampler = context.getBean(HttpExchangeSampler.class);
+					HttpTraceFilter filter = context.getBean(HttpTraceFilter.class);
+					assertThat(filter).hasFieldOrPropertyWithValue("sampler", sampler);
+					TraceableResponse ok = mock(TraceableResponse.class);
+					given(ok.getStatus()).willReturn(200);
+					TraceableResponse error = mock(TraceableResponse.class);
+					given(error.getStatus()).willReturn(500);
+					assertThat(sampler.isSampled(mock(TraceableRequest.class), ok, 0)).isFalse();
+					assertThat(sampler.isSampled(mock(TraceableRequest.class), error, 0)).isTrue();
+				});
+	}
+
+	@Test
+	void configuresAsyncRecordingWhenEnabled() {
+		this.contextRunner.withUserConfiguration(HttpTraceRepositoryConfiguration.class)
+				.withPropertyValues("management.trace.http.async.enabled=true").run((context) -> {
+					HttpTraceFilter filter = context.getBean(HttpTraceFilter.class);
+					assertThat(filter).extracting("executor").isNotNull();
+				});
+	}
+
+	@Test
+	void recordsSynchronouslyWhenAsyncQueueCapacityIsZero() {
+		this.contextRunner.withUserConfiguration(HttpTraceRepositoryConfiguration.class)
+				.withPropertyValues("management.trace.http.async.enabled=true",
+						"management.trace.http.async.queue-capacity=0")
+				.run((context) -> {
+					HttpTraceFilter filter = context.getBean(HttpTraceFilter.class);
+					assertThat(filter).extracting("executor").isNull();
+				});
+	}
+
 	@Test
 	void backsOffWhenDisabled() {
 		this.contextRunner.withUserConfiguration(HttpTraceRepositoryConfiguration.class)
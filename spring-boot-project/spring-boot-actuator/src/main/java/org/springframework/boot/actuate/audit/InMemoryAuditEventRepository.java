@@ -17,13 +17,23 @@
 package org.springframework.boot.actuate.audit;
 
 import java.time.Instant;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.springframework.util.Assert;
 
 /**
- * In-memory {@link AuditEventRepository} implementation.
+ * In-memory {@link AuditEventRepository} implementation. Events are stored in a
+ * fixed-size ring buffer so that adding an event does not block other threads. Events
+ * are also indexed by principal and type so that {@link #find(String, Instant, String)
+ * finding} events only considers the events that can match.
  *
  * @author Dave Syer
  * @author Phillip Webb
@@ -34,67 +44,159 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 
 	private static final int DEFAULT_CAPACITY = 1000;
 
-	private final Object monitor = new Object();
-
-	/**
-	 * Circular buffer of the event with tail pointing to the last element.
-	 */
-	private AuditEvent[] events;
-
-	private volatile int tail = -1;
+	private volatile Events events;
 
 	public InMemoryAuditEventRepository() {
 		this(DEFAULT_CAPACITY);
 	}
 
 	public InMemoryAuditEventRepository(int capacity) {
-		this.events = new AuditEvent[capacity];
+		this.events = new Events(capacity);
 	}
 
 	/**
-	 * Set the capacity of this event repository.
+	 * Set the capacity of this event repository. Existing events are discarded.
 	 * @param capacity the capacity
 	 */
 	public void setCapacity(int capacity) {
-		synchronized (this.monitor) {
-			this.events = new AuditEvent[capacity];
-		}
+		this.events = new Events(capacity);
 	}
 
 	@Override
 	public void add(AuditEvent event) {
 		Assert.notNull(event, "AuditEvent must not be null");
-		synchronized (this.monitor) {
-			this.tail = (this.tail + 1) % this.events.length;
-			this.events[this.tail] = event;
-		}
+		this.events.add(event);
 	}
 
 	@Override
 	public List<AuditEvent> find(String principal, Instant after, String type) {
-		LinkedList<AuditEvent> events = new LinkedList<>();
-		synchronized (this.monitor) {
-			for (int i = 0; i < this.events.length; i++) {
-				AuditEvent event = resolveTailEvent(i);
-				if (event != null && isMatch(principal, after, type, event)) {
-					events.addFirst(event);
+		return this.events.find(principal, after, type);
+	}
+
+	/**
+	 * Ring buffer of events with secondary indexes by principal and type. Each slot
+	 * records the sequence number of its event so that the indexes and concurrent
+	 * readers can detect events that have been overwritten. The collection for each index
+	 * key is created once and updated without locking the map. It is dropped once it
+	 * becomes empty.
+	 */
+	private static final class Events {
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		private final Map<String, Collection<Slot>> principals = new ConcurrentHashMap<>();
+
+		private final Map<String, Collection<Slot>> types = new ConcurrentHashMap<>();
+
+		Events(int capacity) {
+			this.slots = new AtomicReferenceArray<>(capacity);
+		}
+
+		void add(AuditEvent event) {
+			long sequence = this.sequence.getAndIncrement();
+			Slot slot = new Slot(sequence, event);
+			Slot previous = this.slots.getAndSet(index(sequence), slot);
+			addToIndex(this.principals, event.getPrincipal(), slot);
+			addToIndex(this.types, event.getType(), slot);
+			if (previous != null) {
+				removeFromIndex(this.principals, previous.event.getPrincipal(), previous);
+				removeFromIndex(this.types, previous.event.getType(), previous);
+			}
+		}
+
+		private void addToIndex(Map<String, Collection<Slot>> index, String key, Slot slot) {
+			boolean added = false;
+			while (!added) {
+				Collection<Slot> slots = index.computeIfAbsent(key, (name) -> new ConcurrentLinkedDeque<>());
+				slots.add(slot);
+				// The collection may have been dropped as empty before the slot was added
+				added = index.get(key) == slots;
+			}
+		}
+
+		private void removeFromIndex(Map<String, Collection<Slot>> index, String key, Slot slot) {
+			Collection<Slot> slots = index.get(key);
+			if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+				index.computeIfPresent(key, (name, current) -> (!current.isEmpty()) ? current : null);
+			}
+		}
+
+		List<AuditEvent> find(String principal, Instant after, String type) {
+			Collection<Slot> candidates = getCandidates(principal, type);
+			List<Slot> matches = new ArrayList<>();
+			for (Slot slot : candidates) {
+				if (!isCurrent(slot)) {
+					removeFromIndex(this.principals, slot.event.getPrincipal(), slot);
+					removeFromIndex(this.types, slot.event.getType(), slot);
+				}
+				else if (isMatch(principal, after, type, slot.event)) {
+					matches.add(slot);
 				}
 			}
+			matches.sort(Comparator.comparingLong((slot) -> slot.sequence));
+			List<AuditEvent> events = new ArrayList<>(matches.size());
+			matches.forEach((slot) -> events.add(slot.event));
+			return events;
+		}
+
+		private Collection<Slot> getCandidates(String principal, String type) {
+			Collection<Slot> byPrincipal = (principal != null) ? getIndexed(this.principals, principal) : null;
+			Collection<Slot> byType = (type != null) ? getIndexed(this.types, type) : null;
+			if (byPrincipal != null && byType != null) {
+				return (byPrincipal.size() <= byType.size()) ? byPrincipal : byType;
+			}
+			if (byPrincipal != null || byType != null) {
+				return (byPrincipal != null) ? byPrincipal : byType;
+			}
+			List<Slot> slots = new ArrayList<>(this.slots.length());
+			for (int i = 0; i < this.slots.length(); i++) {
+				Slot slot = this.slots.get(i);
+				if (slot != null) {
+					slots.add(slot);
+				}
+			}
+			return slots;
+		}
+
+		private Collection<Slot> getIndexed(Map<String, Collection<Slot>> index, String key) {
+			Collection<Slot> slots = index.get(key);
+			return (slots != null) ? new ArrayList<>(slots) : new ArrayList<>();
+		}
+
+		private boolean isCurrent(Slot slot) {
+			return this.slots.get(index(slot.sequence)) == slot;
+		}
+
+		private boolean isMatch(String principal, Instant after, String type, AuditEvent event) {
+			boolean match = true;
+			match = match && (principal == null || event.getPrincipal().equals(principal));
+			match = match && (after == null || event.getTimestamp().isAfter(after));
+			match = match && (type == null || event.getType().equals(type));
+			return match;
+		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.slots.length());
 		}
-		return events;
-	}
 
-	private boolean isMatch(String principal, Instant after, String type, AuditEvent event) {
-		boolean match = true;
-		match = match && (principal == null || event.getPrincipal().equals(principal));
-		match = match && (after == null || event.getTimestamp().isAfter(after));
-		match = match && (type == null || event.getType().equals(type));
-		return match;
 	}
 
-	private AuditEvent resolveTailEvent(int offset) {
-		int index = ((this.tail + this.events.length - offset) % this.events.length);
-		return this.events[index];
+	/**
+	 * An event and its sequence number.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final AuditEvent event;
+
+		Slot(long sequence, AuditEvent event) {
+			this.sequence = sequence;
+			this.event = event;
+		}
+
 	}
 
 }
@@ -56,6 +56,20 @@ public class HealthEndpoint extends HealthEndpointSupport<HealthContributor, Hea
 		super(registry, groups);
 	}
 
+	/**
+	 * Create a new {@link HealthEndpoint} instance that evaluates the members of
+	 * composite contributors in parallel.
+	 * @param registry the health contributor registry
+	 * @param groups the health endpoint groups
+	 * @param parallelEvaluation the parallel evaluation settings or {@code null} to
+	 * evaluate contributors sequentially
+	 * @since 3.0.0
+	 */
+	public HealthEndpoint(HealthContributorRegistry registry, HealthEndpointGroups groups,
+			ParallelHealthEvaluation parallelEvaluation) {
+		super(registry, groups, parallelEvaluation);
+	}
+
 	@ReadOperation
 	public HealthComponent health() {
 		HealthComponent health = health(ApiVersion.V3, EMPTY_PATH);
@@ -19,6 +19,8 @@ package org.springframework.boot.actuate.health;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.actuate.endpoint.ApiVersion;
@@ -43,16 +45,32 @@ abstract class HealthEndpointSupport<C, T> {
 
 	private final HealthEndpointGroups groups;
 
+	private final ParallelHealthEvaluation parallelEvaluation;
+
 	/**
 	 * Create a new {@link HealthEndpointSupport} instance.
 	 * @param registry the health contributor registry
 	 * @param groups the health endpoint groups
 	 */
 	HealthEndpointSupport(ContributorRegistry<C> registry, HealthEndpointGroups groups) {
+		this(registry, groups, null);
+	}
+
+	/**
+	 * Create a new {@link HealthEndpointSupport} instance. Parallel evaluation may only
+	 * be used when the contributed health component type is {@link HealthComponent}.
+	 * @param registry the health contributor registry
+	 * @param groups the health endpoint groups
+	 * @param parallelEvaluation the parallel evaluation settings or {@code null} to
+	 * evaluate contributors sequentially
+	 */
+	HealthEndpointSupport(ContributorRegistry<C> registry, HealthEndpointGroups groups,
+			ParallelHealthEvaluation parallelEvaluation) {
 		Assert.notNull(registry, "Registry must not be null");
 		Assert.notNull(groups, "Groups must not be null");
 		this.registry = registry;
 		this.groups = groups;
+		this.parallelEvaluation = parallelEvaluation;
 	}
 
 	HealthResult<T> getHealth(ApiVersion apiVersion, WebServerNamespace serverNamespace,
@@ -135,6 +153,10 @@ abstract class HealthEndpointSupport<C, T> {
 	private T getAggregateContribution(ApiVersion apiVersion, HealthEndpointGroup group, String name,
 			NamedContributors<C> namedContributors, boolean showComponents, boolean showDetails,
 			Set<String> groupNames) {
+		if (this.parallelEvaluation != null) {
+			return join(getAggregateContributionAsync(apiVersion, group, name, namedContributors, showComponents,
+					showDetails, groupNames));
+		}
 		String prefix = (StringUtils.hasText(name)) ? name + "/" : "";
 		Map<String, T> contributions = new LinkedHashMap<>();
 		for (NamedContributor<C> child : namedContributors) {
@@ -151,6 +173,60 @@ abstract class HealthEndpointSupport<C, T> {
 				groupNames);
 	}
 
+	private T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error) ex.getCause();
+			}
+			throw ex;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<T> getContributionAsync(ApiVersion apiVersion, HealthEndpointGroup group, String name,
+			Object contributor, boolean showComponents, boolean showDetails, Set<String> groupNames) {
+		if (contributor instanceof NamedContributors) {
+			return getAggregateContributionAsync(apiVersion, group, name, (NamedContributors<C>) contributor,
+					showComponents, showDetails, groupNames);
+		}
+		if (contributor != null && (name.isEmpty() || group.isMember(name))) {
+			C indicator = (C) contributor;
+			return this.parallelEvaluation.evaluate(indicator, showDetails, () -> getHealth(indicator, showDetails));
+		}
+		return CompletableFuture.completedFuture(null);
+	}
+
+	private CompletableFuture<T> getAggregateContributionAsync(ApiVersion apiVersion, HealthEndpointGroup group,
+			String name, NamedContributors<C> namedContributors, boolean showComponents, boolean showDetails,
+			Set<String> groupNames) {
+		String prefix = (StringUtils.hasText(name)) ? name + "/" : "";
+		Map<String, CompletableFuture<T>> pending = new LinkedHashMap<>();
+		for (NamedContributor<C> child : namedContributors) {
+			pending.put(child.getName(), getContributionAsync(apiVersion, group, prefix + child.getName(),
+					child.getContributor(), showComponents, showDetails, null));
+		}
+		return CompletableFuture.allOf(pending.values().toArray(new CompletableFuture<?>[0])).thenApply((none) -> {
+			Map<String, T> contributions = new LinkedHashMap<>();
+			pending.forEach((childName, future) -> {
+				T contribution = future.join();
+				if (contribution != null) {
+					contributions.put(childName, contribution);
+				}
+			});
+			if (contributions.isEmpty()) {
+				return null;
+			}
+			return aggregateContributions(apiVersion, contributions, group.getStatusAggregator(), showComponents,
+					groupNames);
+		});
+	}
+
 	protected abstract T getHealth(C contributor, boolean includeDetails);
 
 	protected abstract T aggregateContributions(ApiVersion apiVersion, Map<String, T> contributions,
@@ -56,6 +56,20 @@ public class HealthEndpointWebExtension extends HealthEndpointSupport<HealthCont
 		super(registry, groups);
 	}
 
+	/**
+	 * Create a new {@link HealthEndpointWebExtension} instance that evaluates the
+	 * members of composite contributors in parallel.
+	 * @param registry the health contributor registry
+	 * @param groups the health endpoint groups
+	 * @param parallelEvaluation the parallel evaluation settings or {@code null} to
+	 * evaluate contributors sequentially
+	 * @since 3.0.0
+	 */
+	public HealthEndpointWebExtension(HealthContributorRegistry registry, HealthEndpointGroups groups,
+			ParallelHealthEvaluation parallelEvaluation) {
+		super(registry, groups, parallelEvaluation);
+	}
+
 	@ReadOperation
 	public WebEndpointResponse<HealthComponent> health(ApiVersion apiVersion, WebServerNamespace serverNamespace,
 			SecurityContext securityContext) {
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationEvent} published when the {@link Status} of a {@link HealthIndicator}
+ * changes between two {@link SnapshotHealthContributorRegistry snapshots}.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+public class HealthStatusChangedEvent extends ApplicationEvent {
+
+	private final String name;
+
+	private final Status previousStatus;
+
+	private final Status status;
+
+	/**
+	 * Create a new {@link HealthStatusChangedEvent} instance.
+	 * @param source the source of the event
+	 * @param name the name of the health indicator, using {@code '/'} to separate the
+	 * names of nested contributors
+	 * @param previousStatus the previous status
+	 * @param status the new status
+	 */
+	public HealthStatusChangedEvent(Object source, String name, Status previousStatus, Status status) {
+		super(source);
+		Assert.hasLength(name, "Name must not be empty");
+		Assert.notNull(previousStatus, "PreviousStatus must not be null");
+		Assert.notNull(status, "Status must not be null");
+		this.name = name;
+		this.previousStatus = previousStatus;
+		this.status = status;
+	}
+
+	/**
+	 * Return the name of the health indicator, using {@code '/'} to separate the names of
+	 * nested contributors.
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the status of the previous snapshot.
+	 * @return the previous status
+	 */
+	public Status getPreviousStatus() {
+		return this.previousStatus;
+	}
+
+	/**
+	 * Return the status of the latest snapshot.
+	 * @return the status
+	 */
+	public Status getStatus() {
+		return this.status;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + " [name=" + this.name + ", previousStatus=" + this.previousStatus + ", status="
+				+ this.status + "]";
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Settings used by a {@link HealthEndpoint} or {@link HealthEndpointWebExtension} to
+ * evaluate the members of composite contributors in parallel. Each
+ * {@link HealthIndicator} is invoked using the given {@link Executor} and is reported
+ * with the timeout status if it does not respond within the timeout. The time taken to
+ * evaluate a composite is therefore bounded by its slowest member rather than the sum of
+ * all members.
+ * <p>
+ * Indicators that time out are not interrupted and continue to occupy an executor thread
+ * until they complete. An indicator is never invoked again while a previous invocation is
+ * still running: later requests wait for the outstanding result instead. Indicators that
+ * cannot be submitted because the executor rejects them are reported with the timeout
+ * status.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+public final class ParallelHealthEvaluation {
+
+	private final Executor executor;
+
+	private final Duration timeout;
+
+	private final Status timeoutStatus;
+
+	private final Map<Object, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+	private final Map<Object, CompletableFuture<?>> inFlightWithDetails = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a new {@link ParallelHealthEvaluation} instance.
+	 * @param executor the executor used to invoke health indicators
+	 * @param timeout the maximum time to wait for each health indicator
+	 * @param timeoutStatus the status reported by health indicators that time out
+	 */
+	public ParallelHealthEvaluation(Executor executor, Duration timeout, Status timeoutStatus) {
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.notNull(timeout, "Timeout must not be null");
+		Assert.isTrue(!timeout.isNegative() && !timeout.isZero(), "Timeout must be positive");
+		Assert.notNull(timeoutStatus, "TimeoutStatus must not be null");
+		this.executor = executor;
+		this.timeout = timeout;
+		this.timeoutStatus = timeoutStatus;
+	}
+
+	/**
+	 * Return the executor used to invoke health indicators.
+	 * @return the executor
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * Return the maximum time to wait for each health indicator.
+	 * @return the timeout
+	 */
+	public Duration getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * Return the status reported by health indicators that time out.
+	 * @return the timeout status
+	 */
+	public Status getTimeoutStatus() {
+		return this.timeoutStatus;
+	}
+
+	/**
+	 * Evaluate the given contributor using the executor, reusing any evaluation of the
+	 * same contributor that is still running.
+	 * @param <T> the health type
+	 * @param contributor the contributor being evaluated
+	 * @param includeDetails if details are included in the health
+	 * @param health supplies the health of the contributor
+	 * @return a future completed with the health or with the timed out health
+	 */
+	@SuppressWarnings("unchecked")
+	<T> CompletableFuture<T> evaluate(Object contributor, boolean includeDetails, Supplier<T> health) {
+		T timedOutHealth = (T) getTimedOutHealth();
+		Map<Object, CompletableFuture<?>> inFlight = (includeDetails) ? this.inFlightWithDetails : this.inFlight;
+		CompletableFuture<T> evaluation = new CompletableFuture<>();
+		CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(contributor, evaluation);
+		if (existing == null) {
+			try {
+				this.executor.execute(() -> run(inFlight, contributor, evaluation, health));
+			}
+			catch (RejectedExecutionException ex) {
+				inFlight.remove(contributor, evaluation);
+				return CompletableFuture.completedFuture(timedOutHealth);
+			}
+			existing = evaluation;
+		}
+		return existing.copy().completeOnTimeout(timedOutHealth, this.timeout.toNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	private <T> void run(Map<Object, CompletableFuture<?>> inFlight, Object contributor,
+			CompletableFuture<T> evaluation, Supplier<T> health) {
+		try {
+			T result = health.get();
+			inFlight.remove(contributor, evaluation);
+			evaluation.complete(result);
+		}
+		catch (Throwable ex) {
+			inFlight.remove(contributor, evaluation);
+			evaluation.completeExceptionally(ex);
+		}
+	}
+
+	/**
+	 * Return the {@link Health} reported by a health indicator that has timed out.
+	 * @return the timed out health
+	 */
+	Health getTimedOutHealth() {
+		String message = "Timed out after " + this.timeout.toMillis() + "ms";
+		return Health.status(this.timeoutStatus).withDetail("error", message).build();
+	}
+
+}
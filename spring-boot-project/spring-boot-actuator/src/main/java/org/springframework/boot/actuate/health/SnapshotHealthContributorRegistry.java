@@ -0,0 +1,297 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthContributorRegistry} that decouples health requests from the evaluation
+ * of {@link HealthIndicator health indicators}. Once started, every indicator of the
+ * delegate registry is evaluated periodically on a background thread and requests are
+ * answered from the latest snapshot. The age of the snapshot is reported in a
+ * {@code snapshotAge} detail and a {@link HealthStatusChangedEvent} is published
+ * whenever the status of an indicator changes between two snapshots.
+ * <p>
+ * Indicators that have not yet been evaluated in the background, for example because
+ * they were registered after the last refresh, are evaluated on first use.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+public class SnapshotHealthContributorRegistry implements HealthContributorRegistry, SmartLifecycle {
+
+	private static final Log logger = LogFactory.getLog(SnapshotHealthContributorRegistry.class);
+
+	private static final String AGE_DETAIL = "snapshotAge";
+
+	private final HealthContributorRegistry delegate;
+
+	private final Duration interval;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final Clock clock;
+
+	private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+	private volatile ScheduledExecutorService executor;
+
+	/**
+	 * Create a new {@link SnapshotHealthContributorRegistry} instance.
+	 * @param delegate the registry containing the health contributors
+	 * @param interval the interval between two snapshots
+	 * @param eventPublisher the publisher used for {@link HealthStatusChangedEvent
+	 * status change events} or {@code null}
+	 */
+	public SnapshotHealthContributorRegistry(HealthContributorRegistry delegate, Duration interval,
+			ApplicationEventPublisher eventPublisher) {
+		this(delegate, interval, eventPublisher, Clock.systemUTC());
+	}
+
+	SnapshotHealthContributorRegistry(HealthContributorRegistry delegate, Duration interval,
+			ApplicationEventPublisher eventPublisher, Clock clock) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(interval, "Interval must not be null");
+		Assert.isTrue(!interval.isNegative() && !interval.isZero(), "Interval must be positive");
+		this.delegate = delegate;
+		this.interval = interval;
+		this.eventPublisher = eventPublisher;
+		this.clock = clock;
+	}
+
+	@Override
+	public void registerContributor(String name, HealthContributor contributor) {
+		this.delegate.registerContributor(name, contributor);
+	}
+
+	@Override
+	public HealthContributor unregisterContributor(String name) {
+		HealthContributor contributor = this.delegate.unregisterContributor(name);
+		this.snapshots.keySet().removeIf((key) -> key.equals(name) || key.startsWith(name + "/"));
+		return contributor;
+	}
+
+	@Override
+	public HealthContributor getContributor(String name) {
+		return adapt(name, this.delegate.getContributor(name));
+	}
+
+	@Override
+	public Iterator<NamedContributor<HealthContributor>> iterator() {
+		return adapt("", this.delegate.iterator());
+	}
+
+	/**
+	 * Evaluate every health indicator and replace the current snapshot.
+	 */
+	public void refresh() {
+		refresh("", this.delegate);
+	}
+
+	private void refresh(String prefix, NamedContributors<HealthContributor> contributors) {
+		for (NamedContributor<HealthContributor> contributor : contributors) {
+			String name = prefix + contributor.getName();
+			if (contributor.getContributor() instanceof HealthIndicator) {
+				update(name, (HealthIndicator) contributor.getContributor());
+			}
+			else if (contributor.getContributor() instanceof CompositeHealthContributor) {
+				refresh(name + "/", (CompositeHealthContributor) contributor.getContributor());
+			}
+		}
+	}
+
+	private Snapshot update(String name, HealthIndicator indicator) {
+		Health health;
+		try {
+			health = indicator.getHealth(true);
+		}
+		catch (Exception ex) {
+			health = Health.down(ex).build();
+		}
+		Snapshot snapshot = new Snapshot(health, this.clock.millis());
+		Snapshot previous = this.snapshots.put(name, snapshot);
+		Status previousStatus = (previous != null) ? previous.getHealth().getStatus() : null;
+		Status status = health.getStatus();
+		if (previousStatus != null && !previousStatus.equals(status) && this.eventPublisher != null) {
+			this.eventPublisher.publishEvent(new HealthStatusChangedEvent(this, name, previousStatus, status));
+		}
+		return snapshot;
+	}
+
+	private Health getHealth(String name, HealthIndicator indicator, boolean includeDetails) {
+		Snapshot snapshot = this.snapshots.get(name);
+		snapshot = (snapshot != null) ? snapshot : update(name, indicator);
+		if (!includeDetails) {
+			return snapshot.getHealth().withoutDetails();
+		}
+		Duration age = Duration.ofMillis(Math.max(0, this.clock.millis() - snapshot.getTimestamp()));
+		return Health.status(snapshot.getHealth().getStatus()).withDetails(snapshot.getHealth().getDetails())
+				.withDetail(AGE_DETAIL, age.toString()).build();
+	}
+
+	private HealthContributor adapt(String name, HealthContributor contributor) {
+		if (contributor instanceof HealthIndicator) {
+			return new SnapshotHealthIndicator(name, (HealthIndicator) contributor);
+		}
+		if (contributor instanceof CompositeHealthContributor) {
+			return new SnapshotCompositeHealthContributor(name, (CompositeHealthContributor) contributor);
+		}
+		return contributor;
+	}
+
+	private Iterator<NamedContributor<HealthContributor>> adapt(String prefix,
+			Iterator<NamedContributor<HealthContributor>> iterator) {
+		return new Iterator<NamedContributor<HealthContributor>>() {
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public NamedContributor<HealthContributor> next() {
+				NamedContributor<HealthContributor> next = iterator.next();
+				return NamedContributor.of(next.getName(), adapt(prefix + next.getName(), next.getContributor()));
+			}
+
+		};
+	}
+
+	@Override
+	public void start() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-snapshot-");
+		threadFactory.setDaemon(true);
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		executor.scheduleWithFixedDelay(this::scheduledRefresh, 0, this.interval.toMillis(), TimeUnit.MILLISECONDS);
+		this.executor = executor;
+	}
+
+	private void scheduledRefresh() {
+		try {
+			refresh();
+		}
+		catch (Throwable ex) {
+			logger.warn("Unexpected exception thrown while refreshing health snapshot", ex);
+		}
+	}
+
+	@Override
+	public void stop() {
+		ScheduledExecutorService executor = this.executor;
+		if (executor != null) {
+			executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.executor != null;
+	}
+
+	/**
+	 * {@link HealthIndicator} backed by the snapshot.
+	 */
+	private class SnapshotHealthIndicator implements HealthIndicator {
+
+		private final String name;
+
+		private final HealthIndicator indicator;
+
+		SnapshotHealthIndicator(String name, HealthIndicator indicator) {
+			this.name = name;
+			this.indicator = indicator;
+		}
+
+		@Override
+		public Health getHealth(boolean includeDetails) {
+			return SnapshotHealthContributorRegistry.this.getHealth(this.name, this.indicator, includeDetails);
+		}
+
+		@Override
+		public Health health() {
+			return getHealth(true);
+		}
+
+	}
+
+	/**
+	 * {@link CompositeHealthContributor} whose members are backed by the snapshot.
+	 */
+	private class SnapshotCompositeHealthContributor implements CompositeHealthContributor {
+
+		private final String name;
+
+		private final CompositeHealthContributor contributor;
+
+		SnapshotCompositeHealthContributor(String name, CompositeHealthContributor contributor) {
+			this.name = name;
+			this.contributor = contributor;
+		}
+
+		@Override
+		public HealthContributor getContributor(String name) {
+			return adapt(this.name + "/" + name, this.contributor.getContributor(name));
+		}
+
+		@Override
+		public Iterator<NamedContributor<HealthContributor>> iterator() {
+			return adapt(this.name + "/", this.contributor.iterator());
+		}
+
+	}
+
+	/**
+	 * The latest health of a single indicator.
+	 */
+	private static final class Snapshot {
+
+		private final Health health;
+
+		private final long timestamp;
+
+		Snapshot(Health health, long timestamp) {
+			this.health = health;
+			this.timestamp = timestamp;
+		}
+
+		Health getHealth() {
+			return this.health;
+		}
+
+		long getTimestamp() {
+			return this.timestamp;
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.util.Assert;
+
+/**
+ * Strategy used to decide if an HTTP request-response exchange should be traced. The
+ * decision is made once the response is known so that no {@link HttpTrace} needs to be
+ * created for exchanges that are not sampled.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+@FunctionalInterface
+public interface HttpExchangeSampler {
+
+	/**
+	 * Return if the given exchange should be traced.
+	 * @param request the received request
+	 * @param response the response that concludes the exchange
+	 * @param timeTaken the time taken, in milliseconds, to complete the exchange
+	 * @return {@code true} if the exchange should be traced
+	 */
+	boolean isSampled(TraceableRequest request, TraceableResponse response, long timeTaken);
+
+	/**
+	 * Return a sampler that traces an exchange if either this sampler or the given
+	 * sampler does.
+	 * @param other the other sampler
+	 * @return a composed sampler
+	 */
+	default HttpExchangeSampler or(HttpExchangeSampler other) {
+		Assert.notNull(other, "Other must not be null");
+		return (request, response, timeTaken) -> isSampled(request, response, timeTaken)
+				|| other.isSampled(request, response, timeTaken);
+	}
+
+	/**
+	 * Return a sampler that traces every exchange.
+	 * @return a sampler that traces every exchange
+	 */
+	static HttpExchangeSampler always() {
+		return (request, response, timeTaken) -> true;
+	}
+
+	/**
+	 * Return a sampler that traces a random fraction of exchanges.
+	 * @param rate the fraction of exchanges to trace, between {@code 0.0} and
+	 * {@code 1.0}
+	 * @return a rate-based sampler
+	 */
+	static HttpExchangeSampler rate(double rate) {
+		Assert.isTrue(rate >= 0.0 && rate <= 1.0, "Rate must be between 0.0 and 1.0");
+		if (rate == 1.0) {
+			return always();
+		}
+		return (request, response, timeTaken) -> ThreadLocalRandom.current().nextDouble() < rate;
+	}
+
+	/**
+	 * Return a sampler that traces exchanges whose response status is equal to or greater
+	 * than the given status. For example, {@code statusAtLeast(500)} traces every server
+	 * error.
+	 * @param status the minimum response status
+	 * @return a status-based sampler
+	 */
+	static HttpExchangeSampler statusAtLeast(int status) {
+		return (request, response, timeTaken) -> response.getStatus() >= status;
+	}
+
+	/**
+	 * Return a sampler that traces exchanges that took at least the given time to
+	 * complete.
+	 * @param threshold the minimum time taken
+	 * @return a latency-based sampler
+	 */
+	static HttpExchangeSampler timeTakenAtLeast(Duration threshold) {
+		Assert.notNull(threshold, "Threshold must not be null");
+		long thresholdMillis = threshold.toMillis();
+		return (request, response, timeTaken) -> timeTaken >= thresholdMillis;
+	}
+
+}
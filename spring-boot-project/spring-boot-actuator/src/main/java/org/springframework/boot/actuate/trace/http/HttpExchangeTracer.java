@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.net.URI;
 import java.security.Principal;
+import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +60,21 @@ public class HttpExchangeTracer {
 		return new HttpTrace(new FilteredTraceableRequest(request));
 	}
 
+	/**
+	 * Begins the tracing of the exchange that was initiated by the given {@code request}
+	 * being received at the given time. Allows the trace to be created once the exchange
+	 * is known to be {@link HttpExchangeSampler sampled}.
+	 * @param request the received request
+	 * @param timestamp the time at which the request was received
+	 * @param startNanoTime the value of {@link System#nanoTime()} when the request was
+	 * received
+	 * @return the HTTP trace for the exchange
+	 * @since 3.0.0
+	 */
+	public final HttpTrace receivedRequest(TraceableRequest request, Instant timestamp, long startNanoTime) {
+		return new HttpTrace(new FilteredTraceableRequest(request), timestamp, startNanoTime);
+	}
+
 	/**
 	 * Ends the tracing of the exchange that is being concluded by sending the given
 	 * {@code response}.
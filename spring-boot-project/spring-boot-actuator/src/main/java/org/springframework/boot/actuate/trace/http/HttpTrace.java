@@ -73,9 +73,13 @@ public final class HttpTrace {
 	}
 
 	HttpTrace(TraceableRequest request) {
+		this(request, Instant.now(), System.nanoTime());
+	}
+
+	HttpTrace(TraceableRequest request, Instant timestamp, long startNanoTime) {
 		this.request = new Request(request);
-		this.timestamp = Instant.now();
-		this.startNanoTime = System.nanoTime();
+		this.timestamp = timestamp;
+		this.startNanoTime = startNanoTime;
 	}
 
 	public Instant getTimestamp() {
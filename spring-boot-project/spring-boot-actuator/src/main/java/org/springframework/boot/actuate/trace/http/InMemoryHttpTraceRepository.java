@@ -18,11 +18,14 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * In-memory implementation of {@link HttpTraceRepository}.
+ * In-memory implementation of {@link HttpTraceRepository}. Traces are stored in a
+ * fixed-size ring buffer so that {@link #add(HttpTrace) adding} a trace is lock-free and
+ * does not contend with other request threads.
  *
  * @author Dave Syer
  * @author Olivier Bourgain
@@ -30,52 +33,103 @@ import java.util.List;
  */
 public class InMemoryHttpTraceRepository implements HttpTraceRepository {
 
-	private int capacity = 100;
+	private volatile boolean reverse = true;
 
-	private boolean reverse = true;
-
-	private final List<HttpTrace> traces = new LinkedList<>();
+	private volatile Ring ring = new Ring(100);
 
 	/**
 	 * Flag to say that the repository lists traces in reverse order.
 	 * @param reverse flag value (default true)
 	 */
 	public void setReverse(boolean reverse) {
-		synchronized (this.traces) {
-			this.reverse = reverse;
-		}
+		this.reverse = reverse;
 	}
 
 	/**
-	 * Set the capacity of the in-memory repository.
+	 * Set the capacity of the in-memory repository. Existing traces are retained up to
+	 * the new capacity. Traces that are added while the capacity is being changed may be
+	 * lost.
 	 * @param capacity the capacity
 	 */
-	public void setCapacity(int capacity) {
-		synchronized (this.traces) {
-			this.capacity = capacity;
-		}
+	public synchronized void setCapacity(int capacity) {
+		Ring ring = new Ring(capacity);
+		this.ring.snapshot().forEach(ring::add);
+		this.ring = ring;
 	}
 
 	@Override
 	public List<HttpTrace> findAll() {
-		synchronized (this.traces) {
-			return Collections.unmodifiableList(new ArrayList<>(this.traces));
+		List<HttpTrace> traces = this.ring.snapshot();
+		if (this.reverse) {
+			Collections.reverse(traces);
 		}
+		return Collections.unmodifiableList(traces);
 	}
 
 	@Override
 	public void add(HttpTrace trace) {
-		synchronized (this.traces) {
-			while (this.traces.size() >= this.capacity) {
-				this.traces.remove(this.reverse ? this.capacity - 1 : 0);
-			}
-			if (this.reverse) {
-				this.traces.add(0, trace);
+		this.ring.add(trace);
+	}
+
+	/**
+	 * Fixed-size ring buffer of traces. Each slot records the sequence number of its
+	 * trace so that snapshots can skip slots that are being overwritten concurrently. A
+	 * slot is only ever replaced by a trace with a higher sequence number so that a slow
+	 * writer cannot overwrite a newer trace.
+	 */
+	private static final class Ring {
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		Ring(int capacity) {
+			this.slots = new AtomicReferenceArray<>(Math.max(capacity, 0));
+		}
+
+		void add(HttpTrace trace) {
+			int capacity = this.slots.length();
+			if (capacity > 0) {
+				long sequence = this.sequence.getAndIncrement();
+				Slot slot = new Slot(sequence, trace);
+				this.slots.accumulateAndGet((int) (sequence % capacity), slot, Ring::newest);
 			}
-			else {
-				this.traces.add(trace);
+		}
+
+		List<HttpTrace> snapshot() {
+			int capacity = this.slots.length();
+			long end = this.sequence.get();
+			long start = Math.max(0, end - capacity);
+			List<HttpTrace> traces = new ArrayList<>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				Slot slot = this.slots.get((int) (sequence % capacity));
+				if (slot != null && slot.sequence == sequence) {
+					traces.add(slot.trace);
+				}
 			}
+			return traces;
+		}
+
+		private static Slot newest(Slot current, Slot candidate) {
+			return (current == null || current.sequence < candidate.sequence) ? candidate : current;
 		}
+
+	}
+
+	/**
+	 * A trace and its sequence number.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final HttpTrace trace;
+
+		Slot(long sequence, HttpTrace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
 	}
 
 }
@@ -17,15 +17,20 @@
 package org.springframework.boot.actuate.web.trace.reactive;
 
 import java.security.Principal;
+import java.time.Instant;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.Include;
 import org.springframework.core.Ordered;
+import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
@@ -51,6 +56,10 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 
 	private final Set<Include> includes;
 
+	private HttpExchangeSampler sampler = HttpExchangeSampler.always();
+
+	private Executor executor;
+
 	public HttpTraceWebFilter(HttpTraceRepository repository, HttpExchangeTracer tracer, Set<Include> includes) {
 		this.repository = repository;
 		this.tracer = tracer;
@@ -66,6 +75,27 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 		this.order = order;
 	}
 
+	/**
+	 * Set the sampler used to decide which exchanges are traced. Exchanges that are not
+	 * sampled are not added to the repository.
+	 * @param sampler the sampler
+	 * @since 3.0.0
+	 */
+	public void setSampler(HttpExchangeSampler sampler) {
+		Assert.notNull(sampler, "Sampler must not be null");
+		this.sampler = sampler;
+	}
+
+	/**
+	 * Set the executor used to add traces to the repository. If no executor is set,
+	 * traces are added on the thread that commits the response.
+	 * @param executor the executor or {@code null}
+	 * @since 3.0.0
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	@Override
 	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
 		Mono<?> principal = (this.includes.contains(Include.PRINCIPAL)
@@ -85,16 +115,30 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 	private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain, Principal principal,
 			WebSession session) {
 		ServerWebExchangeTraceableRequest request = new ServerWebExchangeTraceableRequest(exchange);
-		HttpTrace trace = this.tracer.receivedRequest(request);
+		Instant timestamp = Instant.now();
+		long startNanoTime = System.nanoTime();
 		exchange.getResponse().beforeCommit(() -> {
 			TraceableServerHttpResponse response = new TraceableServerHttpResponse(exchange.getResponse());
-			this.tracer.sendingResponse(trace, response, () -> principal, () -> getStartedSessionId(session));
-			this.repository.add(trace);
+			long timeTaken = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime);
+			if (this.sampler.isSampled(request, response, timeTaken)) {
+				HttpTrace trace = this.tracer.receivedRequest(request, timestamp, startNanoTime);
+				this.tracer.sendingResponse(trace, response, () -> principal, () -> getStartedSessionId(session));
+				add(trace);
+			}
 			return Mono.empty();
 		});
 		return chain.filter(exchange);
 	}
 
+	private void add(HttpTrace trace) {
+		if (this.executor != null) {
+			this.executor.execute(() -> this.repository.add(trace));
+		}
+		else {
+			this.repository.add(trace);
+		}
+	}
+
 	private String getStartedSessionId(WebSession session) {
 		return (session != null && session.isStarted()) ? session.getId() : null;
 	}
@@ -19,6 +19,9 @@ package org.springframework.boot.actuate.web.trace.servlet;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
@@ -28,11 +31,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
 import jakarta.servlet.http.HttpSession;
 
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
@@ -55,6 +60,10 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 
 	private final HttpExchangeTracer tracer;
 
+	private HttpExchangeSampler sampler = HttpExchangeSampler.always();
+
+	private Executor executor;
+
 	/**
 	 * Create a new {@link HttpTraceFilter} instance.
 	 * @param repository the trace repository
@@ -74,6 +83,27 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 		this.order = order;
 	}
 
+	/**
+	 * Set the sampler used to decide which exchanges are traced. Exchanges that are not
+	 * sampled are not added to the repository.
+	 * @param sampler the sampler
+	 * @since 3.0.0
+	 */
+	public void setSampler(HttpExchangeSampler sampler) {
+		Assert.notNull(sampler, "Sampler must not be null");
+		this.sampler = sampler;
+	}
+
+	/**
+	 * Set the executor used to add traces to the repository. If no executor is set,
+	 * traces are added on the request thread.
+	 * @param executor the executor or {@code null}
+	 * @since 3.0.0
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
@@ -82,7 +112,8 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 			return;
 		}
 		TraceableHttpServletRequest traceableRequest = new TraceableHttpServletRequest(request);
-		HttpTrace trace = this.tracer.receivedRequest(traceableRequest);
+		Instant timestamp = Instant.now();
+		long startNanoTime = System.nanoTime();
 		int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
 		try {
 			filterChain.doFilter(request, response);
@@ -91,8 +122,21 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 		finally {
 			TraceableHttpServletResponse traceableResponse = new TraceableHttpServletResponse(
 					(status != response.getStatus()) ? new CustomStatusResponseWrapper(response, status) : response);
-			this.tracer.sendingResponse(trace, traceableResponse, request::getUserPrincipal,
-					() -> getSessionId(request));
+			long timeTaken = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime);
+			if (this.sampler.isSampled(traceableRequest, traceableResponse, timeTaken)) {
+				HttpTrace trace = this.tracer.receivedRequest(traceableRequest, timestamp, startNanoTime);
+				this.tracer.sendingResponse(trace, traceableResponse, request::getUserPrincipal,
+						() -> getSessionId(request));
+				add(trace);
+			}
+		}
+	}
+
+	private void add(HttpTrace trace) {
+		if (this.executor != null) {
+			this.executor.execute(() -> this.repository.add(trace));
+		}
+		else {
 			this.repository.add(trace);
 		}
 	}
@@ -18,9 +18,13 @@ package org.springframework.boot.actuate.audit;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
@@ -111,4 +115,89 @@ class InMemoryAuditEventRepositoryTests {
 		assertThat(events.get(0).getType()).isEqualTo("c");
 	}
 
+	@Test
+	void findByType() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository();
+		repository.add(new AuditEvent("dave", "a"));
+		repository.add(new AuditEvent("phil", "b"));
+		repository.add(new AuditEvent("phil", "a"));
+		List<AuditEvent> events = repository.find(null, null, "a");
+		assertThat(events).extracting(AuditEvent::getPrincipal).containsExactly("dave", "phil");
+	}
+
+	@Test
+	void findByPrincipalWhenEventsHaveBeenOverwritten() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(2);
+		repository.add(new AuditEvent("dave", "a"));
+		repository.add(new AuditEvent("phil", "b"));
+		repository.add(new AuditEvent("phil", "c"));
+		assertThat(repository.find("dave", null, null)).isEmpty();
+		assertThat(repository.find(null, null, "a")).isEmpty();
+		assertThat(repository.find("phil", null, null)).extracting(AuditEvent::getType).containsExactly("b", "c");
+	}
+
+	@Test
+	void setCapacityDiscardsEvents() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository();
+		repository.add(new AuditEvent("dave", "a"));
+		repository.setCapacity(10);
+		assertThat(repository.find(null, null, null)).isEmpty();
+	}
+
+	@Test
+	void addFromMultipleThreads() throws Exception {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(100);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				String principal = "user" + i;
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						repository.add(new AuditEvent(principal, "login"));
+						assertThat(repository.find(principal, null, "login")).hasSizeLessThanOrEqualTo(100);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(repository.find(null, null, null)).hasSize(100);
+		assertThat(repository.find(null, null, "login")).hasSize(100);
+	}
+
+	@Test
+	void findByPrincipalWhenIndexKeysAreDroppedAndReAddedConcurrently() throws Exception {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(4);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 10000; j++) {
+						String principal = "user" + (j % 8);
+						repository.add(new AuditEvent(principal, "login"));
+						repository.find(principal, null, null);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		List<AuditEvent> events = repository.find(null, null, null);
+		assertThat(events).hasSize(4);
+		for (AuditEvent event : events) {
+			assertThat(repository.find(event.getPrincipal(), null, null)).contains(event);
+			assertThat(repository.find(null, null, "login")).contains(event);
+		}
+	}
+
 }
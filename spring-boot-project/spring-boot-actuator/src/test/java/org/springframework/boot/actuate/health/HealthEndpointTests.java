@@ -16,14 +16,25 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.actuate.health.HealthEndpointSupport.HealthResult;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -66,6 +77,149 @@ class HealthEndpointTests
 		assertThat(health).isEqualTo(this.up);
 	}
 
+	@Test
+	void healthWhenParallelEvaluatesContributorsConcurrently() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+		contributors.put("b", createAwaitingContributor(latch, this.up));
+		contributors.put("a", createAwaitingContributor(latch, this.down));
+		this.registry.registerContributor("test", createCompositeContributor(contributors));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ParallelHealthEvaluation evaluation = new ParallelHealthEvaluation(executor, Duration.ofSeconds(30),
+					Status.UNKNOWN);
+			CompositeHealth health = (CompositeHealth) new HealthEndpoint(this.registry, this.groups, evaluation)
+					.healthForPath("test");
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(health.getComponents()).containsOnly(entry("a", this.down), entry("b", this.up));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void healthWhenParallelAndContributorTimesOutReturnsTimeoutStatus() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+		contributors.put("fast", createContributor(this.up));
+		contributors.put("slow", createAwaitingContributor(latch, this.up));
+		this.registry.registerContributor("test", createCompositeContributor(contributors));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ParallelHealthEvaluation evaluation = new ParallelHealthEvaluation(executor, Duration.ofMillis(100),
+					Status.DOWN);
+			CompositeHealth health = (CompositeHealth) new HealthEndpoint(this.registry, this.groups, evaluation)
+					.healthForPath("test");
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(health.getComponents().get("fast")).isEqualTo(this.up);
+			Health slow = (Health) health.getComponents().get("slow");
+			assertThat(slow.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(slow.getDetails()).containsEntry("error", "Timed out after 100ms");
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void healthWhenParallelAndContributorBlocksDoesNotResubmitIt() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+		contributors.put("fast", createContributor(this.up));
+		contributors.put("blocking", (HealthIndicator) () -> {
+			invocations.incrementAndGet();
+			awaitQuietly(latch);
+			return this.up;
+		});
+		this.registry.registerContributor("test", createCompositeContributor(contributors));
+		ExecutorService executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(1));
+		try {
+			ParallelHealthEvaluation evaluation = new ParallelHealthEvaluation(executor, Duration.ofMillis(50),
+					Status.DOWN);
+			HealthEndpoint endpoint = new HealthEndpoint(this.registry, this.groups, evaluation);
+			for (int i = 0; i < 10; i++) {
+				CompositeHealth health = (CompositeHealth) endpoint.healthForPath("test");
+				assertThat(health.getComponents().get("fast")).isEqualTo(this.up);
+				assertThat(health.getComponents().get("blocking").getStatus()).isEqualTo(Status.DOWN);
+			}
+			assertThat(invocations).hasValue(1);
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void healthWhenParallelAndExecutorRejectsContributorReturnsTimeoutStatus() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+		contributors.put("queued", createContributor(this.up));
+		contributors.put("rejected", createContributor(this.up));
+		this.registry.registerContributor("test", createCompositeContributor(contributors));
+		ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(1));
+		try {
+			executor.execute(() -> awaitQuietly(latch));
+			ParallelHealthEvaluation evaluation = new ParallelHealthEvaluation(executor, Duration.ofMillis(50),
+					Status.DOWN);
+			CompositeHealth health = (CompositeHealth) new HealthEndpoint(this.registry, this.groups, evaluation)
+					.healthForPath("test");
+			Health rejected = (Health) health.getComponents().get("rejected");
+			assertThat(rejected.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(rejected.getDetails()).containsEntry("error", "Timed out after 50ms");
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void healthWhenParallelAndContributorThrowsExceptionRethrowsException() {
+		Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+		contributors.put("a", (HealthIndicator) () -> {
+			throw new IllegalStateException("Failed");
+		});
+		this.registry.registerContributor("test", createCompositeContributor(contributors));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ParallelHealthEvaluation evaluation = new ParallelHealthEvaluation(executor, Duration.ofSeconds(30),
+					Status.UNKNOWN);
+			HealthEndpoint endpoint = new HealthEndpoint(this.registry, this.groups, evaluation);
+			assertThatIllegalStateException().isThrownBy(endpoint::health).withMessage("Failed");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private HealthContributor createAwaitingContributor(CountDownLatch latch, Health health) {
+		return (HealthIndicator) () -> {
+			latch.countDown();
+			try {
+				return latch.await(10, TimeUnit.SECONDS) ? health : Health.unknown().build();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return Health.unknown().build();
+			}
+		};
+	}
+
 	@Override
 	protected HealthEndpoint create(HealthContributorRegistry registry, HealthEndpointGroups groups) {
 		return new HealthEndpoint(registry, groups);
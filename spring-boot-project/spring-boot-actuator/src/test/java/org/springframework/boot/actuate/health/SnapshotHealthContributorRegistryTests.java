@@ -0,0 +1,169 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SnapshotHealthContributorRegistry}.
+ *
+ * @author agent
+ */
+class SnapshotHealthContributorRegistryTests {
+
+	private final DefaultHealthContributorRegistry delegate = new DefaultHealthContributorRegistry();
+
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+	private final Clock clock = mock(Clock.class);
+
+	private final SnapshotHealthContributorRegistry registry = new SnapshotHealthContributorRegistry(this.delegate,
+			Duration.ofSeconds(10), this.eventPublisher, this.clock);
+
+	@Test
+	void createWhenIntervalIsNotPositiveThrowsException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new SnapshotHealthContributorRegistry(this.delegate, Duration.ZERO, null))
+				.withMessage("Interval must be positive");
+	}
+
+	@Test
+	void getHealthReturnsSnapshotUntilRefreshed() {
+		AtomicInteger counter = new AtomicInteger();
+		this.delegate.registerContributor("test",
+				(HealthIndicator) () -> Health.up().withDetail("counter", counter.incrementAndGet()).build());
+		this.registry.refresh();
+		HealthIndicator indicator = (HealthIndicator) this.registry.getContributor("test");
+		assertThat(indicator.getHealth(true).getDetails()).containsEntry("counter", 1);
+		assertThat(indicator.getHealth(true).getDetails()).containsEntry("counter", 1);
+		this.registry.refresh();
+		assertThat(indicator.getHealth(true).getDetails()).containsEntry("counter", 2);
+		assertThat(counter).hasValue(2);
+	}
+
+	@Test
+	void getHealthWhenNotRefreshedEvaluatesIndicator() {
+		this.delegate.registerContributor("test", (HealthIndicator) () -> Health.up().build());
+		HealthIndicator indicator = (HealthIndicator) this.registry.getContributor("test");
+		assertThat(indicator.getHealth(false)).isEqualTo(Health.up().build());
+	}
+
+	@Test
+	void getHealthIncludesSnapshotAge() {
+		given(this.clock.millis()).willReturn(1000L);
+		this.delegate.registerContributor("test", (HealthIndicator) () -> Health.up().withDetail("a", "b").build());
+		this.registry.refresh();
+		given(this.clock.millis()).willReturn(3500L);
+		Health health = ((HealthIndicator) this.registry.getContributor("test")).getHealth(true);
+		assertThat(health.getDetails()).containsEntry("a", "b").containsEntry("snapshotAge", "PT2.5S");
+		health = ((HealthIndicator) this.registry.getContributor("test")).getHealth(false);
+		assertThat(health.getDetails()).isEmpty();
+	}
+
+	@Test
+	void getHealthWhenIndicatorThrowsExceptionReturnsDown() {
+		this.delegate.registerContributor("test", (HealthIndicator) () -> {
+			throw new IllegalStateException("Failed");
+		});
+		this.registry.refresh();
+		Health health = ((HealthIndicator) this.registry.getContributor("test")).getHealth(true);
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error", "java.lang.IllegalStateException: Failed");
+	}
+
+	@Test
+	void getHealthWhenCompositeReturnsSnapshotOfMembers() {
+		AtomicInteger counter = new AtomicInteger();
+		HealthIndicator member = () -> Health.up().withDetail("counter", counter.incrementAndGet()).build();
+		this.delegate.registerContributor("test",
+				CompositeHealthContributor.fromMap(Collections.singletonMap("member", member)));
+		this.registry.refresh();
+		CompositeHealthContributor composite = (CompositeHealthContributor) this.registry.getContributor("test");
+		HealthIndicator indicator = (HealthIndicator) composite.getContributor("member");
+		assertThat(indicator.getHealth(true).getDetails()).containsEntry("counter", 1);
+		indicator = (HealthIndicator) composite.iterator().next().getContributor();
+		assertThat(indicator.getHealth(true).getDetails()).containsEntry("counter", 1);
+	}
+
+	@Test
+	void refreshWhenStatusChangesPublishesEvent() {
+		AtomicReference<Health> health = new AtomicReference<>(Health.up().build());
+		this.delegate.registerContributor("test",
+				CompositeHealthContributor.fromMap(Collections.singletonMap("member", (HealthIndicator) health::get)));
+		this.registry.refresh();
+		this.registry.refresh();
+		verify(this.eventPublisher, never()).publishEvent(any(Object.class));
+		health.set(Health.down().build());
+		this.registry.refresh();
+		ArgumentCaptor<HealthStatusChangedEvent> event = ArgumentCaptor.forClass(HealthStatusChangedEvent.class);
+		verify(this.eventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().getName()).isEqualTo("test/member");
+		assertThat(event.getValue().getPreviousStatus()).isEqualTo(Status.UP);
+		assertThat(event.getValue().getStatus()).isEqualTo(Status.DOWN);
+	}
+
+	@Test
+	void unregisterContributorRemovesSnapshot() {
+		AtomicInteger counter = new AtomicInteger();
+		HealthIndicator indicator = () -> Health.up().withDetail("counter", counter.incrementAndGet()).build();
+		this.delegate.registerContributor("test", indicator);
+		this.registry.refresh();
+		this.registry.unregisterContributor("test");
+		this.registry.registerContributor("test", indicator);
+		Health health = ((HealthIndicator) this.registry.getContributor("test")).getHealth(true);
+		assertThat(health.getDetails()).containsEntry("counter", 2);
+	}
+
+	@Test
+	void startRefreshesInBackground() {
+		AtomicInteger counter = new AtomicInteger();
+		this.delegate.registerContributor("test", (HealthIndicator) () -> {
+			counter.incrementAndGet();
+			return Health.up().build();
+		});
+		SnapshotHealthContributorRegistry registry = new SnapshotHealthContributorRegistry(this.delegate,
+				Duration.ofMillis(10), null);
+		registry.start();
+		try {
+			assertThat(registry.isRunning()).isTrue();
+			await().atMost(Duration.ofSeconds(30)).until(() -> counter.get() > 1);
+		}
+		finally {
+			registry.stop();
+		}
+		assertThat(registry.isRunning()).isFalse();
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link HttpExchangeSampler}.
+ *
+ * @author agent
+ */
+class HttpExchangeSamplerTests {
+
+	private final TraceableRequest request = mock(TraceableRequest.class);
+
+	@Test
+	void alwaysSamplesEveryExchange() {
+		assertThat(HttpExchangeSampler.always().isSampled(this.request, response(200), 0)).isTrue();
+	}
+
+	@Test
+	void rateWhenZeroSamplesNoExchange() {
+		HttpExchangeSampler sampler = HttpExchangeSampler.rate(0.0);
+		for (int i = 0; i < 100; i++) {
+			assertThat(sampler.isSampled(this.request, response(200), 0)).isFalse();
+		}
+	}
+
+	@Test
+	void rateWhenOneSamplesEveryExchange() {
+		HttpExchangeSampler sampler = HttpExchangeSampler.rate(1.0);
+		for (int i = 0; i < 100; i++) {
+			assertThat(sampler.isSampled(this.request, response(200), 0)).isTrue();
+		}
+	}
+
+	@Test
+	void rateWhenOutOfRangeThrowsException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> HttpExchangeSampler.rate(1.5))
+				.withMessage("Rate must be between 0.0 and 1.0");
+	}
+
+	@Test
+	void statusAtLeastSamplesMatchingStatus() {
+		HttpExchangeSampler sampler = HttpExchangeSampler.statusAtLeast(500);
+		assertThat(sampler.isSampled(this.request, response(200), 0)).isFalse();
+		assertThat(sampler.isSampled(this.request, response(500), 0)).isTrue();
+		assertThat(sampler.isSampled(this.request, response(503), 0)).isTrue();
+	}
+
+	@Test
+	void timeTakenAtLeastSamplesSlowExchanges() {
+		HttpExchangeSampler sampler = HttpExchangeSampler.timeTakenAtLeast(Duration.ofMillis(100));
+		assertThat(sampler.isSampled(this.request, response(200), 99)).isFalse();
+		assertThat(sampler.isSampled(this.request, response(200), 100)).isTrue();
+	}
+
+	@Test
+	void orSamplesWhenEitherSamplerSamples() {
+		HttpExchangeSampler sampler = HttpExchangeSampler.rate(0.0).or(HttpExchangeSampler.statusAtLeast(500));
+		assertThat(sampler.isSampled(this.request, response(200), 0)).isFalse();
+		assertThat(sampler.isSampled(this.request, response(500), 0)).isTrue();
+	}
+
+	private TraceableResponse response(int status) {
+		TraceableResponse response = mock(TraceableResponse.class);
+		given(response.getStatus()).willReturn(status);
+		return response;
+	}
+
+}
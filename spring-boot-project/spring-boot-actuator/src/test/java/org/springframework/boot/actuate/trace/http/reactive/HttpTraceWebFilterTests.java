@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace.Session;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
@@ -100,6 +101,14 @@ class HttpTraceWebFilterTests {
 		assertThat(tracedPrincipal.getName()).isEqualTo("alice");
 	}
 
+	@Test
+	void filterWhenNotSampledDoesNotTraceExchange() {
+		this.filter.setSampler(HttpExchangeSampler.rate(0.0));
+		executeFilter(MockServerWebExchange.from(MockServerHttpRequest.get("https://api.example.com")),
+				(exchange) -> Mono.empty());
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
 	private void executeFilter(ServerWebExchange exchange, WebFilterChain chain) {
 		StepVerifier.create(
 				this.filter.filter(exchange, chain).then(Mono.defer(() -> exchange.getResponse().setComplete())))
@@ -19,6 +19,8 @@ package org.springframework.boot.actuate.trace.http.servlet;
 import java.io.IOException;
 import java.security.Principal;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -27,6 +29,7 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace.Session;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
@@ -38,8 +41,10 @@ import org.springframework.mock.web.MockHttpServletResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link HttpTraceFilter}.
@@ -115,6 +120,40 @@ class HttpTraceFilterTests {
 				});
 	}
 
+	@Test
+	void filterWhenNotSampledDoesNotTraceExchange() throws ServletException, IOException {
+		this.filter.setSampler(HttpExchangeSampler.statusAtLeast(500));
+		this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
+	@Test
+	void filterWhenSampledTracesExchange() throws ServletException, IOException {
+		this.filter.setSampler(HttpExchangeSampler.statusAtLeast(500));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain(new HttpServlet() {
+
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				resp.setStatus(503);
+			}
+
+		}));
+		List<org.springframework.boot.actuate.trace.http.HttpTrace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(1);
+		assertThat(traces.get(0).getResponse().getStatus()).isEqualTo(503);
+		assertThat(traces.get(0).getTimeTaken()).isNotNull();
+	}
+
+	@Test
+	void filterWhenHasExecutorAddsTraceUsingExecutor() throws ServletException, IOException {
+		Executor executor = mock(Executor.class);
+		this.filter.setExecutor(executor);
+		this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(this.repository.findAll()).isEmpty();
+		verify(executor).execute(any(Runnable.class));
+	}
+
 	@Test
 	void filterRejectsInvalidRequests() throws ServletException, IOException {
 		MockHttpServletRequest request = new MockHttpServletRequest();
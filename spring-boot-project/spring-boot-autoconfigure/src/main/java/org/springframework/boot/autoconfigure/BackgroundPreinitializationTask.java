@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+/**
+ * A time consuming initialization task that the {@link BackgroundPreinitializer} should
+ * run in the background while the application context is prepared. Typical tasks trigger
+ * expensive static initialization of third-party libraries.
+ * <p>
+ * Implementations should be registered in {@code META-INF/spring.factories} and must
+ * have a default constructor. Tasks are instantiated on a background thread and run
+ * concurrently so they must not depend on each other. Any exception or error thrown while
+ * instantiating or running a task is ignored, allowing tasks to reference classes that
+ * may not be present on the classpath.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+@FunctionalInterface
+public interface BackgroundPreinitializationTask {
+
+	/**
+	 * Perform the preinitialization.
+	 * @throws Exception on error
+	 */
+	void preinitialize() throws Exception;
+
+}
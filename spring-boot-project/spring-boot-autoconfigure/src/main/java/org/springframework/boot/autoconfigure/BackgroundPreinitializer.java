@@ -16,9 +16,18 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.lang.reflect.Constructor;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.validation.Configuration;
 import jakarta.validation.Validation;
@@ -31,13 +40,25 @@ import org.springframework.boot.context.logging.LoggingApplicationListener;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.NativeDetector;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
- * {@link ApplicationListener} to trigger early initialization in a background thread of
- * time consuming tasks.
+ * {@link ApplicationListener} to trigger early initialization in background threads of
+ * time consuming tasks. Additional {@link BackgroundPreinitializationTask tasks} can be
+ * registered in {@code META-INF/spring.factories}. Tasks are instantiated and run
+ * concurrently on a pool that is bounded by the number of available processors. Starting
+ * the tasks is recorded as a {@code spring.boot.preinitialization} startup step. Each task
+ * is timed on the thread that runs it and, once all tasks have completed, a
+ * {@code spring.boot.preinitialization.task} startup step is recorded for it on the main
+ * thread with the task name and its duration as tags.
  * <p>
  * Set the {@link #IGNORE_BACKGROUNDPREINITIALIZER_PROPERTY_NAME} system property to
  * {@code true} to disable this mechanism and let such initialization happen in the
@@ -65,6 +86,12 @@ public class BackgroundPreinitializer implements ApplicationListener<SpringAppli
 
 	private static final CountDownLatch preinitializationComplete = new CountDownLatch(1);
 
+	private static final AtomicReference<TaskTimings> preinitializationTimings = new AtomicReference<>();
+
+	private static final String STARTUP_STEP_NAME = "spring.boot.preinitialization";
+
+	private static final String TASK_STARTUP_STEP_NAME = STARTUP_STEP_NAME + ".task";
+
 	private static final boolean ENABLED;
 
 	static {
@@ -79,12 +106,18 @@ public class BackgroundPreinitializer implements ApplicationListener<SpringAppli
 		}
 		if (event instanceof ApplicationEnvironmentPreparedEvent
 				&& preinitializationStarted.compareAndSet(false, true)) {
-			performPreinitialization();
+			List<BackgroundPreinitializationTask> tasks = getTasks(event.getSpringApplication().getClassLoader());
+			preinitializationTimings.set(performPreinitialization(tasks,
+					event.getSpringApplication().getApplicationStartup(), preinitializationComplete::countDown));
 		}
 		if ((event instanceof ApplicationReadyEvent || event instanceof ApplicationFailedEvent)
 				&& preinitializationStarted.get()) {
 			try {
 				preinitializationComplete.await();
+				TaskTimings timings = preinitializationTimings.getAndSet(null);
+				if (timings != null) {
+					timings.recordSteps(event.getSpringApplication().getApplicationStartup());
+				}
 			}
 			catch (InterruptedException ex) {
 				Thread.currentThread().interrupt();
@@ -92,47 +125,141 @@ public class BackgroundPreinitializer implements ApplicationListener<SpringAppli
 		}
 	}
 
-	private void performPreinitialization() {
-		try {
-			Thread thread = new Thread(new Runnable() {
-
-				@Override
-				public void run() {
-					runSafely(new ConversionServiceInitializer());
-					runSafely(new ValidationInitializer());
-					runSafely(new MessageConverterInitializer());
-					runSafely(new JacksonInitializer());
-					runSafely(new CharsetInitializer());
-					preinitializationComplete.countDown();
-				}
+	private List<BackgroundPreinitializationTask> getTasks(ClassLoader classLoader) {
+		List<BackgroundPreinitializationTask> tasks = new ArrayList<>();
+		tasks.add(new ConversionServiceInitializer());
+		tasks.add(new ValidationInitializer());
+		tasks.add(new MessageConverterInitializer());
+		tasks.add(new JacksonInitializer());
+		tasks.add(new CharsetInitializer());
+		for (String className : SpringFactoriesLoader.loadFactoryNames(BackgroundPreinitializationTask.class,
+				classLoader)) {
+			tasks.add(new FactoriesTask(className, classLoader));
+		}
+		return tasks;
+	}
 
-				public void runSafely(Runnable runnable) {
-					try {
-						runnable.run();
-					}
-					catch (Throwable ex) {
-						// Ignore
-					}
+	TaskTimings performPreinitialization(List<BackgroundPreinitializationTask> tasks,
+			ApplicationStartup applicationStartup, Runnable completionCallback) {
+		StartupStep step = applicationStartup.start(STARTUP_STEP_NAME);
+		step.tag("tasks", String.valueOf(tasks.size()));
+		TaskTimings timings = new TaskTimings(tasks);
+		try {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("background-preinit-");
+			threadFactory.setDaemon(true);
+			int threads = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+			ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+			AtomicInteger remaining = new AtomicInteger(tasks.size());
+			try {
+				for (int i = 0; i < tasks.size(); i++) {
+					int index = i;
+					executor.execute(() -> {
+						long start = System.nanoTime();
+						runSafely(tasks.get(index));
+						timings.durations[index] = System.nanoTime() - start;
+						if (remaining.decrementAndGet() == 0) {
+							completionCallback.run();
+						}
+					});
 				}
-
-			}, "background-preinit");
-			thread.start();
+			}
+			finally {
+				executor.shutdown();
+			}
+			if (tasks.isEmpty()) {
+				completionCallback.run();
+			}
 		}
 		catch (Exception ex) {
 			// This will fail on GAE where creating threads is prohibited. We can safely
 			// continue but startup will be slightly slower as the initialization will now
 			// happen on the main thread.
-			preinitializationComplete.countDown();
+			completionCallback.run();
+		}
+		finally {
+			step.end();
+		}
+		return timings;
+	}
+
+	private void runSafely(BackgroundPreinitializationTask task) {
+		try {
+			task.preinitialize();
+		}
+		catch (Throwable ex) {
+			// Ignore
 		}
 	}
 
+	/**
+	 * Durations of preinitialization tasks, measured on the threads that ran them. The
+	 * durations are safe to read once the completion callback has been called.
+	 */
+	static final class TaskTimings {
+
+		private final List<BackgroundPreinitializationTask> tasks;
+
+		private final long[] durations;
+
+		private TaskTimings(List<BackgroundPreinitializationTask> tasks) {
+			this.tasks = tasks;
+			this.durations = new long[tasks.size()];
+			Arrays.fill(this.durations, -1);
+		}
+
+		/**
+		 * Record a startup step for each task that ran in the background.
+		 * @param applicationStartup the application startup to record the steps with
+		 */
+		void recordSteps(ApplicationStartup applicationStartup) {
+			for (int i = 0; i < this.tasks.size(); i++) {
+				if (this.durations[i] >= 0) {
+					StartupStep step = applicationStartup.start(TASK_STARTUP_STEP_NAME);
+					step.tag("task", getName(this.tasks.get(i)));
+					step.tag("duration", Duration.ofNanos(this.durations[i]).toString());
+					step.end();
+				}
+			}
+		}
+
+		private String getName(BackgroundPreinitializationTask task) {
+			return (task instanceof FactoriesTask) ? ((FactoriesTask) task).className : task.getClass().getName();
+		}
+
+	}
+
+	/**
+	 * Task registered in {@code META-INF/spring.factories}. The task is instantiated
+	 * when it runs so that loading its class does not delay the main thread.
+	 */
+	private static class FactoriesTask implements BackgroundPreinitializationTask {
+
+		private final String className;
+
+		private final ClassLoader classLoader;
+
+		FactoriesTask(String className, ClassLoader classLoader) {
+			this.className = className;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public void preinitialize() throws Exception {
+			Constructor<?> constructor = ClassUtils.forName(this.className, this.classLoader)
+					.getDeclaredConstructor();
+			ReflectionUtils.makeAccessible(constructor);
+			((BackgroundPreinitializationTask) constructor.newInstance()).preinitialize();
+		}
+
+	}
+
 	/**
 	 * Early initializer for Spring MessageConverters.
 	 */
-	private static class MessageConverterInitializer implements Runnable {
+	private static class MessageConverterInitializer implements BackgroundPreinitializationTask {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			new AllEncompassingFormHttpMessageConverter();
 		}
 
@@ -141,10 +268,10 @@ public class BackgroundPreinitializer implements ApplicationListener<SpringAppli
 	/**
 	 * Early initializer for jakarta.validation.
 	 */
-	private static class ValidationInitializer implements Runnable {
+	private static class ValidationInitializer implements BackgroundPreinitializationTask {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			Configuration<?> configuration = Validation.byDefaultProvider().configure();
 			configuration.buildValidatorFactory().getValidator();
 		}
@@ -154,10 +281,10 @@ public class BackgroundPreinitializer implements ApplicationListener<SpringAppli
 	/**
 	 * Early initializer for Jackson.
 	 */
-	private static class JacksonInitializer implements Runnable {
+	private static class JacksonInitializer implements BackgroundPreinitializationTask {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			Jackson2ObjectMapperBuilder.json().build();
 		}
 
@@ -166,19 +293,19 @@ public class BackgroundPreinitializer implements ApplicationListener<SpringAppli
 	/**
 	 * Early initializer for Spring's ConversionService.
 	 */
-	private static class ConversionServiceInitializer implements Runnable {
+	private static class ConversionServiceInitializer implements BackgroundPreinitializationTask {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			new DefaultFormattingConversionService();
 		}
 
 	}
 
-	private static class CharsetInitializer implements Runnable {
+	private static class CharsetInitializer implements BackgroundPreinitializationTask {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			StandardCharsets.UTF_8.name();
 		}
 
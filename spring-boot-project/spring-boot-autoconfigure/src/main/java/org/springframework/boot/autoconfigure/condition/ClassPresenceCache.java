@@ -0,0 +1,288 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.autoconfigure.condition.FilteringSpringBootCondition.ClassNameFilter;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache of the class presence checks performed by {@link FilteringSpringBootCondition
+ * auto-configuration import filters} that is stored in a file between restarts. The
+ * cache is keyed by a fingerprint of the classpath and of the JVM so that it is discarded
+ * as soon as either changes. The cache is only used when the
+ * {@value #LOCATION_PROPERTY_NAME} system property is set.
+ *
+ * @author agent
+ */
+final class ClassPresenceCache {
+
+	/**
+	 * The name of the system property that sets the location of the cache file.
+	 */
+	static final String LOCATION_PROPERTY_NAME = "spring.autoconfigure.class-presence-cache.location";
+
+	private static final String FINGERPRINT_KEY = "fingerprint";
+
+	private static final String CLASS_KEY_PREFIX = "class.";
+
+	private static final Log logger = LogFactory.getLog(ClassPresenceCache.class);
+
+	private static final Map<ClassLoader, ClassPresenceCache> caches = new ConcurrentReferenceHashMap<>();
+
+	private final ClassLoader classLoader;
+
+	private final Path location;
+
+	private final String fingerprint;
+
+	private final Map<String, Boolean> presence = new ConcurrentHashMap<>();
+
+	private final AtomicInteger hits = new AtomicInteger();
+
+	private final AtomicInteger misses = new AtomicInteger();
+
+	private volatile boolean dirty;
+
+	ClassPresenceCache(ClassLoader classLoader, Path location, String fingerprint) {
+		this.classLoader = classLoader;
+		this.location = location;
+		this.fingerprint = fingerprint;
+		load();
+	}
+
+	private void load() {
+		if (!Files.isRegularFile(this.location)) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream inputStream = Files.newInputStream(this.location)) {
+			properties.load(inputStream);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to read class presence cache from " + this.location, ex);
+			return;
+		}
+		if (!this.fingerprint.equals(properties.getProperty(FINGERPRINT_KEY))) {
+			logger.debug("Ignoring class presence cache " + this.location + " created for a different classpath");
+			this.dirty = true;
+			return;
+		}
+		properties.forEach((key, value) -> {
+			String name = (String) key;
+			if (name.startsWith(CLASS_KEY_PREFIX)) {
+				this.presence.put(name.substring(CLASS_KEY_PREFIX.length()), Boolean.valueOf((String) value));
+			}
+		});
+	}
+
+	/**
+	 * Return if the given class is present, using the cached result when there is one.
+	 * @param className the name of the class
+	 * @return {@code true} if the class is present
+	 */
+	boolean isPresent(String className) {
+		Boolean present = this.presence.get(className);
+		if (present != null) {
+			this.hits.incrementAndGet();
+			return present;
+		}
+		this.misses.incrementAndGet();
+		present = ClassNameFilter.isPresent(className, this.classLoader);
+		this.presence.put(className, present);
+		this.dirty = true;
+		return present;
+	}
+
+	int getHits() {
+		return this.hits.get();
+	}
+
+	int getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Write the cache to its location if it has changed since it was loaded or last
+	 * saved. The file is replaced atomically so that concurrently starting applications
+	 * never read a partially written cache.
+	 */
+	void save() {
+		if (!this.dirty) {
+			return;
+		}
+		this.dirty = false;
+		Properties properties = new Properties();
+		properties.setProperty(FINGERPRINT_KEY, this.fingerprint);
+		this.presence.forEach((className, present) -> properties.setProperty(CLASS_KEY_PREFIX + className,
+				present.toString()));
+		try {
+			Path directory = this.location.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, this.location.getFileName().toString(), ".tmp");
+			try (OutputStream outputStream = Files.newOutputStream(temp)) {
+				properties.store(outputStream, null);
+			}
+			Files.move(temp, this.location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to write class presence cache to " + this.location, ex);
+		}
+	}
+
+	/**
+	 * Return the cache for the given class loader or {@code null} if the cache has not
+	 * been enabled or if the classpath of the class loader cannot be fingerprinted.
+	 * @param classLoader the class loader used to check if classes are present
+	 * @return the cache or {@code null}
+	 */
+	static ClassPresenceCache get(ClassLoader classLoader) {
+		String location = System.getProperty(LOCATION_PROPERTY_NAME);
+		if (!StringUtils.hasText(location) || classLoader == null) {
+			return null;
+		}
+		Path path = Paths.get(location);
+		ClassPresenceCache cache = caches.get(classLoader);
+		if (cache == null || !cache.location.equals(path)) {
+			String fingerprint = getFingerprint(classLoader);
+			if (fingerprint == null) {
+				return null;
+			}
+			cache = new ClassPresenceCache(classLoader, path, fingerprint);
+			caches.put(classLoader, cache);
+		}
+		return cache;
+	}
+
+	/**
+	 * Return a fingerprint of the JVM and of the classpath of the given class loader.
+	 * Archives contribute their size and modification time. Directories contribute the
+	 * size and modification time of every file they contain.
+	 * @param classLoader the class loader
+	 * @return the fingerprint or {@code null} if the classpath contains entries that
+	 * cannot be fingerprinted
+	 */
+	static String getFingerprint(ClassLoader classLoader) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			update(digest, System.getProperty("java.vendor"));
+			update(digest, System.getProperty("java.version"));
+			update(digest, System.getProperty("java.home"));
+			for (Path entry : getClasspathEntries(classLoader)) {
+				if (!update(digest, entry)) {
+					return null;
+				}
+			}
+			StringBuilder result = new StringBuilder();
+			for (byte b : digest.digest()) {
+				result.append(String.format("%02x", b));
+			}
+			return result.toString();
+		}
+		catch (Exception ex) {
+			logger.debug("Unable to fingerprint classpath", ex);
+			return null;
+		}
+	}
+
+	private static Set<Path> getClasspathEntries(ClassLoader classLoader) throws Exception {
+		Set<Path> entries = new LinkedHashSet<>();
+		while (classLoader != null) {
+			if (classLoader instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+					entries.add(getPath(url));
+				}
+			}
+			classLoader = classLoader.getParent();
+		}
+		String classPath = System.getProperty("java.class.path");
+		for (String entry : StringUtils.tokenizeToStringArray(classPath, File.pathSeparator)) {
+			entries.add(Paths.get(entry));
+		}
+		return entries;
+	}
+
+	private static Path getPath(URL url) throws Exception {
+		String spec = url.toString();
+		if (spec.startsWith("jar:")) {
+			int separator = spec.indexOf("!/");
+			spec = spec.substring("jar:".length(), (separator != -1) ? separator : spec.length());
+		}
+		URL fileUrl = new URL(spec);
+		if (!"file".equals(fileUrl.getProtocol())) {
+			throw new IllegalStateException("Unsupported classpath entry " + url);
+		}
+		return Paths.get(fileUrl.toURI());
+	}
+
+	private static boolean update(MessageDigest digest, Path entry) throws IOException {
+		update(digest, entry.toAbsolutePath().toString());
+		if (!Files.exists(entry)) {
+			return true;
+		}
+		if (!Files.isDirectory(entry)) {
+			update(digest, Files.readAttributes(entry, BasicFileAttributes.class));
+			return true;
+		}
+		try (Stream<Path> files = Files.walk(entry)) {
+			return files.sorted().allMatch((file) -> {
+				try {
+					update(digest, entry.relativize(file).toString());
+					update(digest, Files.readAttributes(file, BasicFileAttributes.class));
+					return true;
+				}
+				catch (IOException ex) {
+					return false;
+				}
+			});
+		}
+	}
+
+	private static void update(MessageDigest digest, BasicFileAttributes attributes) {
+		update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+}
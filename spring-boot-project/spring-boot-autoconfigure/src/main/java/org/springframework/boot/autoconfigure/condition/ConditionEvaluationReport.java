@@ -16,11 +16,13 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +33,7 @@ import java.util.TreeMap;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.type.AnnotatedTypeMetadata;
@@ -63,6 +66,8 @@ public final class ConditionEvaluationReport {
 
 	private final Set<String> unconditionalClasses = new HashSet<>();
 
+	private final Map<String, Duration> importFilterTimes = new LinkedHashMap<>();
+
 	/**
 	 * Private constructor.
 	 * @see #get(ConfigurableListableBeanFactory)
@@ -107,6 +112,19 @@ public final class ConditionEvaluationReport {
 		this.unconditionalClasses.addAll(evaluationCandidates);
 	}
 
+	/**
+	 * Records the time taken by an {@link AutoConfigurationImportFilter} to filter
+	 * auto-configuration classes. Times recorded for the same filter are added together.
+	 * @param filter the name of the filter
+	 * @param time the time taken
+	 * @since 3.0.0
+	 */
+	public void recordImportFilterTime(String filter, Duration time) {
+		Assert.notNull(filter, "Filter must not be null");
+		Assert.notNull(time, "Time must not be null");
+		this.importFilterTimes.merge(filter, time, Duration::plus);
+	}
+
 	/**
 	 * Returns condition outcomes from this report, grouped by the source.
 	 * @return the condition outcomes
@@ -152,6 +170,16 @@ public final class ConditionEvaluationReport {
 		return Collections.unmodifiableSet(filtered);
 	}
 
+	/**
+	 * Returns the total time taken by each {@link AutoConfigurationImportFilter}, keyed
+	 * by filter name.
+	 * @return the import filter times
+	 * @since 3.0.0
+	 */
+	public Map<String, Duration> getImportFilterTimes() {
+		return Collections.unmodifiableMap(this.importFilterTimes);
+	}
+
 	/**
 	 * The parent report (from a parent BeanFactory if there is one).
 	 * @return the parent report (or null if there isn't one)
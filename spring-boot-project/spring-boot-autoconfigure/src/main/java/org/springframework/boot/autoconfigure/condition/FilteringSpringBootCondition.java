@@ -16,17 +16,24 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 
@@ -39,14 +46,32 @@ import org.springframework.util.CollectionUtils;
 abstract class FilteringSpringBootCondition extends SpringBootCondition
 		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
 
+	/**
+	 * The minimum number of auto-configuration classes for which outcomes are resolved
+	 * in parallel. Smaller batches, such as the single classes checked by the exclusion
+	 * filter, are cheaper to resolve on the calling thread.
+	 */
+	private static final int PARALLEL_THRESHOLD = 32;
+
+	private static final String CACHE_STARTUP_STEP_NAME = "spring.boot.autoconfigure.class-presence-cache";
+
 	private BeanFactory beanFactory;
 
 	private ClassLoader beanClassLoader;
 
+	private ClassPresenceCache classPresenceCache;
+
 	@Override
 	public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
 		ConditionEvaluationReport report = ConditionEvaluationReport.find(this.beanFactory);
+		long startTime = System.nanoTime();
 		ConditionOutcome[] outcomes = getOutcomes(autoConfigurationClasses, autoConfigurationMetadata);
+		if (report != null) {
+			report.recordImportFilterTime(getClass().getName(), Duration.ofNanos(System.nanoTime() - startTime));
+		}
+		if (this.classPresenceCache != null) {
+			this.classPresenceCache.save();
+		}
 		boolean[] match = new boolean[outcomes.length];
 		for (int i = 0; i < outcomes.length; i++) {
 			match[i] = (outcomes[i] == null || outcomes[i].isMatch());
@@ -63,6 +88,48 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 	protected abstract ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata);
 
+	/**
+	 * Resolve the outcome of each non-null auto-configuration class using the given
+	 * resolver. Large batches are shared between the threads of the common
+	 * {@link ForkJoinPool} so that the time taken falls with the number of available
+	 * processors. The resolver must therefore be thread-safe.
+	 * @param autoConfigurationClasses the auto-configuration classes
+	 * @param resolver the function used to resolve the outcome of a single class
+	 * @return the outcomes, in the same order as the auto-configuration classes
+	 */
+	protected final ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			Function<String, ConditionOutcome> resolver) {
+		ClassPresenceCache cache = this.classPresenceCache;
+		int hits = (cache != null) ? cache.getHits() : 0;
+		int misses = (cache != null) ? cache.getMisses() : 0;
+		StartupStep step = (cache != null) ? getApplicationStartup().start(CACHE_STARTUP_STEP_NAME) : null;
+		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
+		IntStream indexes = IntStream.range(0, outcomes.length);
+		if (outcomes.length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach((i) -> {
+			String autoConfigurationClass = autoConfigurationClasses[i];
+			if (autoConfigurationClass != null) {
+				outcomes[i] = resolver.apply(autoConfigurationClass);
+			}
+		});
+		if (step != null) {
+			step.tag("filter", getClass().getName());
+			step.tag("hits", String.valueOf(cache.getHits() - hits));
+			step.tag("misses", String.valueOf(cache.getMisses() - misses));
+			step.end();
+		}
+		return outcomes;
+	}
+
+	private ApplicationStartup getApplicationStartup() {
+		if (this.beanFactory instanceof ConfigurableBeanFactory) {
+			return ((ConfigurableBeanFactory) this.beanFactory).getApplicationStartup();
+		}
+		return ApplicationStartup.DEFAULT;
+	}
+
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		this.beanFactory = beanFactory;
@@ -79,6 +146,7 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.beanClassLoader = classLoader;
+		this.classPresenceCache = ClassPresenceCache.get(classLoader);
 	}
 
 	protected final List<String> filter(Collection<String> classNames, ClassNameFilter classNameFilter,
@@ -88,13 +156,28 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 		}
 		List<String> matches = new ArrayList<>(classNames.size());
 		for (String candidate : classNames) {
-			if (classNameFilter.matches(candidate, classLoader)) {
+			if (classNameFilter.matches(isPresent(candidate, classLoader))) {
 				matches.add(candidate);
 			}
 		}
 		return matches;
 	}
 
+	/**
+	 * Return if the given class is present. Checks using the bean class loader may be
+	 * answered from the {@link ClassPresenceCache} when it has been enabled.
+	 * @param className the name of the class
+	 * @param classLoader the class loader to use
+	 * @return {@code true} if the class is present
+	 */
+	protected final boolean isPresent(String className, ClassLoader classLoader) {
+		ClassPresenceCache cache = this.classPresenceCache;
+		if (cache != null && classLoader == this.beanClassLoader) {
+			return cache.isPresent(className);
+		}
+		return ClassNameFilter.isPresent(className, classLoader);
+	}
+
 	/**
 	 * Slightly faster variant of {@link ClassUtils#forName(String, ClassLoader)} that
 	 * doesn't deal with primitives, arrays or inner types.
@@ -132,6 +215,10 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 
 		abstract boolean matches(String className, ClassLoader classLoader);
 
+		boolean matches(boolean present) {
+			return present == (this == PRESENT);
+		}
+
 		static boolean isPresent(String className, ClassLoader classLoader) {
 			if (classLoader == null) {
 				classLoader = ClassUtils.getDefaultClassLoader();
@@ -45,6 +45,13 @@ public class ErrorProperties {
 	 */
 	private IncludeAttribute includeStacktrace = IncludeAttribute.NEVER;
 
+	/**
+	 * Maximum number of frames to include in the "trace" attribute for the exception and
+	 * for each of its causes. When set, rendered frames are cached and suppressed
+	 * exceptions are omitted. By default, the complete stack trace is included.
+	 */
+	private Integer stacktraceMaxFrames;
+
 	/**
 	 * When to include "message" attribute.
 	 */
@@ -81,6 +88,14 @@ public class ErrorProperties {
 		this.includeStacktrace = includeStacktrace;
 	}
 
+	public Integer getStacktraceMaxFrames() {
+		return this.stacktraceMaxFrames;
+	}
+
+	public void setStacktraceMaxFrames(Integer stacktraceMaxFrames) {
+		this.stacktraceMaxFrames = stacktraceMaxFrames;
+	}
+
 	public IncludeAttribute getIncludeMessage() {
 		return this.includeMessage;
 	}
@@ -29,6 +29,7 @@ import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.error.StackTraceRenderer;
 import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
@@ -78,6 +79,10 @@ public class ErrorWebFluxAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean(value = ErrorAttributes.class, search = SearchStrategy.CURRENT)
 	public DefaultErrorAttributes errorAttributes() {
+		Integer stacktraceMaxFrames = this.serverProperties.getError().getStacktraceMaxFrames();
+		if (stacktraceMaxFrames != null) {
+			return new DefaultErrorAttributes(StackTraceRenderer.maxFrames(stacktraceMaxFrames));
+		}
 		return new DefaultErrorAttributes();
 	}
 
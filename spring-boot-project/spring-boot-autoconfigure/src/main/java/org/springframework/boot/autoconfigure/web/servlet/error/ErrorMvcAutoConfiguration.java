@@ -53,6 +53,7 @@ import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletPath;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.error.StackTraceRenderer;
 import org.springframework.boot.web.server.ErrorPage;
 import org.springframework.boot.web.server.ErrorPageRegistrar;
 import org.springframework.boot.web.server.ErrorPageRegistry;
@@ -101,6 +102,10 @@ public class ErrorMvcAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean(value = ErrorAttributes.class, search = SearchStrategy.CURRENT)
 	public DefaultErrorAttributes errorAttributes() {
+		Integer stacktraceMaxFrames = this.serverProperties.getError().getStacktraceMaxFrames();
+		if (stacktraceMaxFrames != null) {
+			return new DefaultErrorAttributes(StackTraceRenderer.maxFrames(stacktraceMaxFrames));
+		}
 		return new DefaultErrorAttributes();
 	}
 
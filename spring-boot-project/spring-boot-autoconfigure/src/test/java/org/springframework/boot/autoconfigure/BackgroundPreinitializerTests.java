@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.BackgroundPreinitializer.TaskTimings;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.StartupStep.Tag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for {@link BackgroundPreinitializer}.
+ *
+ * @author agent
+ */
+class BackgroundPreinitializerTests {
+
+	private final BackgroundPreinitializer preinitializer = new BackgroundPreinitializer();
+
+	@Test
+	void performPreinitializationRunsAllTasksInBackground() throws Exception {
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		BackgroundPreinitializationTask task = () -> threads.add(Thread.currentThread().getName());
+		CountDownLatch complete = new CountDownLatch(1);
+		this.preinitializer.performPreinitialization(Arrays.asList(task, task, task), ApplicationStartup.DEFAULT,
+				complete::countDown);
+		assertThat(complete.await(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(threads).isNotEmpty().allMatch((name) -> name.startsWith("background-preinit-"));
+	}
+
+	@Test
+	void performPreinitializationWhenTaskFailsRunsRemainingTasks() throws Exception {
+		CountDownLatch ran = new CountDownLatch(1);
+		BackgroundPreinitializationTask failing = () -> {
+			throw new IllegalStateException("Failed");
+		};
+		BackgroundPreinitializationTask erroring = () -> {
+			throw new NoClassDefFoundError("com/example/Missing");
+		};
+		CountDownLatch complete = new CountDownLatch(1);
+		this.preinitializer.performPreinitialization(Arrays.asList(failing, erroring, ran::countDown),
+				ApplicationStartup.DEFAULT, complete::countDown);
+		assertThat(complete.await(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(ran.getCount()).isZero();
+	}
+
+	@Test
+	void performPreinitializationWhenNoTasksCompletes() {
+		CountDownLatch complete = new CountDownLatch(1);
+		this.preinitializer.performPreinitialization(Collections.emptyList(), ApplicationStartup.DEFAULT,
+				complete::countDown);
+		assertThat(complete.getCount()).isZero();
+	}
+
+	@Test
+	void performPreinitializationRecordsStartupStep() throws Exception {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(16);
+		CountDownLatch complete = new CountDownLatch(1);
+		this.preinitializer.performPreinitialization(Arrays.asList(new FirstTask(), new SecondTask()),
+				applicationStartup, complete::countDown);
+		assertThat(complete.await(30, TimeUnit.SECONDS)).isTrue();
+		List<TimelineEvent> events = applicationStartup.getBufferedTimeline().getEvents();
+		assertThat(events).hasSize(1);
+		StartupStep step = events.get(0).getStartupStep();
+		assertThat(step.getName()).isEqualTo("spring.boot.preinitialization");
+		assertThat(step.getTags()).extracting(Tag::getKey, Tag::getValue).containsExactly(tuple("tasks", "2"));
+	}
+
+	@Test
+	void recordStepsWhenTasksHaveCompletedRecordsStepPerTask() throws Exception {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(16);
+		CountDownLatch complete = new CountDownLatch(1);
+		TaskTimings timings = this.preinitializer.performPreinitialization(
+				Arrays.asList(new FirstTask(), new SecondTask()), ApplicationStartup.DEFAULT, complete::countDown);
+		assertThat(complete.await(30, TimeUnit.SECONDS)).isTrue();
+		timings.recordSteps(applicationStartup);
+		List<TimelineEvent> events = applicationStartup.getBufferedTimeline().getEvents();
+		assertThat(events).hasSize(2);
+		assertThat(events).extracting((event) -> event.getStartupStep().getName())
+				.containsOnly("spring.boot.preinitialization.task");
+		assertThat(events).extracting((event) -> getTag(event.getStartupStep(), "task"))
+				.containsExactly(FirstTask.class.getName(), SecondTask.class.getName());
+		assertThat(events).extracting((event) -> Duration.parse(getTag(event.getStartupStep(), "duration")))
+				.allMatch((duration) -> !duration.isNegative());
+	}
+
+	private String getTag(StartupStep step, String key) {
+		for (Tag tag : step.getTags()) {
+			if (tag.getKey().equals(key)) {
+				return tag.getValue();
+			}
+		}
+		return null;
+	}
+
+	static class FirstTask implements BackgroundPreinitializationTask {
+
+		@Override
+		public void preinitialize() {
+		}
+
+	}
+
+	static class SecondTask implements BackgroundPreinitializationTask {
+
+		@Override
+		public void preinitialize() {
+		}
+
+	}
+
+}
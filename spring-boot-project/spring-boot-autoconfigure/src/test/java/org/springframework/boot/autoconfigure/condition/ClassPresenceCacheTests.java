@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassPresenceCache}.
+ *
+ * @author agent
+ */
+class ClassPresenceCacheTests {
+
+	@TempDir
+	Path temp;
+
+	private final ClassLoader classLoader = getClass().getClassLoader();
+
+	@Test
+	void getWhenNotEnabledReturnsNull() {
+		assertThat(ClassPresenceCache.get(this.classLoader)).isNull();
+	}
+
+	@Test
+	void getFingerprintIsStable() {
+		String fingerprint = ClassPresenceCache.getFingerprint(this.classLoader);
+		assertThat(fingerprint).isNotNull().hasSize(64);
+		assertThat(ClassPresenceCache.getFingerprint(this.classLoader)).isEqualTo(fingerprint);
+	}
+
+	@Test
+	void getFingerprintWhenClasspathEntryChangesReturnsDifferentFingerprint() throws Exception {
+		File jar = this.temp.resolve("test.jar").toFile();
+		Files.write(jar.toPath(), new byte[] { 1 });
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+			String fingerprint = ClassPresenceCache.getFingerprint(classLoader);
+			Files.write(jar.toPath(), new byte[] { 1, 2 });
+			assertThat(ClassPresenceCache.getFingerprint(classLoader)).isNotEqualTo(fingerprint);
+		}
+	}
+
+	@Test
+	void isPresentCountsHitsAndMisses() {
+		ClassPresenceCache cache = new ClassPresenceCache(this.classLoader, this.temp.resolve("cache"), "test");
+		assertThat(cache.isPresent(String.class.getName())).isTrue();
+		assertThat(cache.isPresent("com.example.Missing")).isFalse();
+		assertThat(cache.isPresent(String.class.getName())).isTrue();
+		assertThat(cache.getHits()).isEqualTo(1);
+		assertThat(cache.getMisses()).isEqualTo(2);
+	}
+
+	@Test
+	void saveAndLoadUsesStoredResults() {
+		Path location = this.temp.resolve("cache");
+		ClassPresenceCache cache = new ClassPresenceCache(this.classLoader, location, "test");
+		cache.isPresent(String.class.getName());
+		cache.isPresent("com.example.Missing");
+		cache.save();
+		assertThat(location).isRegularFile();
+		ClassPresenceCache loaded = new ClassPresenceCache(this.classLoader, location, "test");
+		assertThat(loaded.isPresent(String.class.getName())).isTrue();
+		assertThat(loaded.isPresent("com.example.Missing")).isFalse();
+		assertThat(loaded.getHits()).isEqualTo(2);
+		assertThat(loaded.getMisses()).isZero();
+	}
+
+	@Test
+	void loadWhenFingerprintDiffersIgnoresStoredResults() {
+		Path location = this.temp.resolve("cache");
+		ClassPresenceCache cache = new ClassPresenceCache(this.classLoader, location, "test");
+		cache.isPresent(String.class.getName());
+		cache.save();
+		ClassPresenceCache loaded = new ClassPresenceCache(this.classLoader, location, "other");
+		loaded.isPresent(String.class.getName());
+		assertThat(loaded.getHits()).isZero();
+		assertThat(loaded.getMisses()).isEqualTo(1);
+	}
+
+}
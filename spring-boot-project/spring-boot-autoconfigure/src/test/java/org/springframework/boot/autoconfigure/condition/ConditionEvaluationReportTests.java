@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -47,6 +48,7 @@ import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.util.ClassUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 /**
  * Tests for {@link ConditionEvaluationReport}.
@@ -138,6 +140,15 @@ class ConditionEvaluationReportTests {
 		assertThat(iterator.hasNext()).isFalse();
 	}
 
+	@Test
+	void recordImportFilterTimeAddsTimesOfSameFilter() {
+		this.report.recordImportFilterTime("a", Duration.ofMillis(10));
+		this.report.recordImportFilterTime("b", Duration.ofMillis(5));
+		this.report.recordImportFilterTime("a", Duration.ofMillis(20));
+		assertThat(this.report.getImportFilterTimes()).containsOnly(entry("a", Duration.ofMillis(30)),
+				entry("b", Duration.ofMillis(5)));
+	}
+
 	@Test
 	void fullMatch() {
 		prepareMatches(true, true, true);
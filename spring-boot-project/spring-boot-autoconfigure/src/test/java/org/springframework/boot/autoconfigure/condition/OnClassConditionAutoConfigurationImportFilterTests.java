@@ -16,8 +16,11 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
@@ -66,6 +69,46 @@ class OnClassConditionAutoConfigurationImportFilterTests {
 		assertThat(report.getConditionAndOutcomesBySource()).hasSize(1).containsKey("test.nomatch");
 	}
 
+	@Test
+	void matchWhenManyClassesShouldMatchClassesInOrder() {
+		AutoConfigurationMetadata metadata = getAutoConfigurationMetadata();
+		String[] autoConfigurationClasses = new String[200];
+		boolean[] expected = new boolean[autoConfigurationClasses.length];
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			autoConfigurationClasses[i] = (i % 3 != 0) ? "test.match" : "test.nomatch";
+			expected[i] = i % 3 != 0;
+		}
+		autoConfigurationClasses[1] = null;
+		boolean[] result = this.filter.match(autoConfigurationClasses, metadata);
+		assertThat(result).containsExactly(expected);
+	}
+
+	@Test
+	void matchShouldRecordTime() {
+		String[] autoConfigurationClasses = new String[] { "test.match", "test.nomatch" };
+		this.filter.match(autoConfigurationClasses, getAutoConfigurationMetadata());
+		ConditionEvaluationReport report = ConditionEvaluationReport.get(this.beanFactory);
+		assertThat(report.getImportFilterTimes()).containsOnlyKeys(OnClassCondition.class.getName());
+	}
+
+	@Test
+	void matchWhenClassPresenceCacheEnabledShouldSaveCache(@TempDir Path temp) {
+		Path location = temp.resolve("class-presence.properties");
+		System.setProperty(ClassPresenceCache.LOCATION_PROPERTY_NAME, location.toString());
+		try {
+			OnClassCondition filter = new OnClassCondition();
+			filter.setBeanClassLoader(getClass().getClassLoader());
+			filter.setBeanFactory(this.beanFactory);
+			String[] autoConfigurationClasses = new String[] { "test.match", "test.nomatch" };
+			boolean[] result = filter.match(autoConfigurationClasses, getAutoConfigurationMetadata());
+			assertThat(result).containsExactly(true, false);
+			assertThat(location).isRegularFile();
+		}
+		finally {
+			System.clearProperty(ClassPresenceCache.LOCATION_PROPERTY_NAME);
+		}
+	}
+
 	private AutoConfigurationMetadata getAutoConfigurationMetadata() {
 		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
 		given(metadata.wasProcessed("test.match")).willReturn(true);
@@ -99,6 +99,17 @@ class ErrorMvcAutoConfigurationTests {
 		});
 	}
 
+	@Test
+	void errorAttributesWhenStacktraceMaxFramesIsSetHaveBoundedTrace() {
+		this.contextRunner.withPropertyValues("server.error.stacktrace-max-frames=1").run((context) -> {
+			ErrorAttributes errorAttributes = context.getBean(ErrorAttributes.class);
+			DispatcherServletWebRequest webRequest = createWebRequest(new IllegalStateException("Exception message"),
+					false);
+			Map<String, Object> attributes = errorAttributes.getErrorAttributes(webRequest, withAllOptions());
+			assertThat((String) attributes.get("trace")).containsOnlyOnce("\tat ").contains("more");
+		});
+	}
+
 	private DispatcherServletWebRequest createWebRequest(Exception ex, boolean committed) {
 		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/path");
 		MockHttpServletResponse response = new MockHttpServletResponse();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2019 the original author or authors.
+ * Copyright 2012-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -89,6 +89,20 @@ public class DevToolsProperties {
 		 */
 		private Duration quietPeriod = Duration.ofMillis(400);
 
+		/**
+		 * Whether to use the file system's change notifications to only check the
+		 * directories that may have changed. Falls back to polling every directory when
+		 * native change notifications are not available.
+		 */
+		private boolean useWatchService;
+
+		/**
+		 * Whether to redefine changed classes in place instead of restarting when only
+		 * method bodies of classes that are not beans have changed. Requires the JVM to
+		 * be started with the spring-instrument agent.
+		 */
+		private boolean redefineClasses;
+
 		/**
 		 * Name of a specific file that, when changed, triggers the restart check. Must be
 		 * a simple name (without any path) of a file that appears on your classpath. If
@@ -157,6 +171,22 @@ public class DevToolsProperties {
 			this.quietPeriod = quietPeriod;
 		}
 
+		public boolean isUseWatchService() {
+			return this.useWatchService;
+		}
+
+		public void setUseWatchService(boolean useWatchService) {
+			this.useWatchService = useWatchService;
+		}
+
+		public boolean isRedefineClasses() {
+			return this.redefineClasses;
+		}
+
+		public void setRedefineClasses(boolean redefineClasses) {
+			this.redefineClasses = redefineClasses;
+		}
+
 		public String getTriggerFile() {
 			return this.triggerFile;
 		}
@@ -43,6 +43,7 @@ import org.springframework.boot.devtools.remote.server.UrlHandlerMapper;
 import org.springframework.boot.devtools.restart.server.DefaultSourceDirectoryUrlFilter;
 import org.springframework.boot.devtools.restart.server.HttpRestartServer;
 import org.springframework.boot.devtools.restart.server.HttpRestartServerHandler;
+import org.springframework.boot.devtools.restart.server.RestartServer;
 import org.springframework.boot.devtools.restart.server.SourceDirectoryUrlFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
@@ -115,8 +116,11 @@ public class RemoteDevToolsAutoConfiguration {
 
 		@Bean
 		@ConditionalOnMissingBean
-		HttpRestartServer remoteRestartHttpRestartServer(SourceDirectoryUrlFilter sourceDirectoryUrlFilter) {
-			return new HttpRestartServer(sourceDirectoryUrlFilter);
+		HttpRestartServer remoteRestartHttpRestartServer(SourceDirectoryUrlFilter sourceDirectoryUrlFilter,
+				DevToolsProperties properties) {
+			RestartServer restartServer = new RestartServer(sourceDirectoryUrlFilter);
+			restartServer.setRedefineClasses(properties.getRestart().isRedefineClasses());
+			return new HttpRestartServer(restartServer);
 		}
 
 		@Bean
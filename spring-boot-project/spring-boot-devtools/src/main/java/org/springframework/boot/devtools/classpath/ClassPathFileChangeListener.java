@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2019 the original author or authors.
+ * Copyright 2012-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.devtools.classpath;
 
+import java.io.IOException;
 import java.util.Set;
 
 import org.springframework.boot.devtools.filewatch.ChangedFile;
@@ -23,8 +24,13 @@ import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.boot.devtools.filewatch.FileChangeListener;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcher;
 import org.springframework.boot.devtools.restart.AgentReloader;
+import org.springframework.boot.devtools.restart.Restarter;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
 
 /**
  * A {@link FileChangeListener} to publish {@link ClassPathChangedEvent
@@ -41,6 +47,8 @@ class ClassPathFileChangeListener implements FileChangeListener {
 
 	private final FileSystemWatcher fileSystemWatcherToStop;
 
+	private final boolean redefineClasses;
+
 	/**
 	 * Create a new {@link ClassPathFileChangeListener} instance.
 	 * @param eventPublisher the event publisher used send events
@@ -50,16 +58,31 @@ class ClassPathFileChangeListener implements FileChangeListener {
 	 */
 	ClassPathFileChangeListener(ApplicationEventPublisher eventPublisher, ClassPathRestartStrategy restartStrategy,
 			FileSystemWatcher fileSystemWatcherToStop) {
+		this(eventPublisher, restartStrategy, fileSystemWatcherToStop, false);
+	}
+
+	/**
+	 * Create a new {@link ClassPathFileChangeListener} instance.
+	 * @param eventPublisher the event publisher used send events
+	 * @param restartStrategy the restart strategy to use
+	 * @param fileSystemWatcherToStop the file system watcher to stop on a restart (or
+	 * {@code null})
+	 * @param redefineClasses if changed classes should be redefined in place, when
+	 * possible, instead of restarting
+	 */
+	ClassPathFileChangeListener(ApplicationEventPublisher eventPublisher, ClassPathRestartStrategy restartStrategy,
+			FileSystemWatcher fileSystemWatcherToStop, boolean redefineClasses) {
 		Assert.notNull(eventPublisher, "EventPublisher must not be null");
 		Assert.notNull(restartStrategy, "RestartStrategy must not be null");
 		this.eventPublisher = eventPublisher;
 		this.restartStrategy = restartStrategy;
 		this.fileSystemWatcherToStop = fileSystemWatcherToStop;
+		this.redefineClasses = redefineClasses;
 	}
 
 	@Override
 	public void onChange(Set<ChangedFiles> changeSet) {
-		boolean restart = isRestartRequired(changeSet);
+		boolean restart = isRestartRequired(changeSet) && !redefineClasses(changeSet);
 		publishEvent(new ClassPathChangedEvent(this, changeSet, restart));
 	}
 
@@ -84,4 +107,30 @@ class ClassPathFileChangeListener implements FileChangeListener {
 		return false;
 	}
 
+	private boolean redefineClasses(Set<ChangedFiles> changeSet) {
+		if (!this.redefineClasses) {
+			return false;
+		}
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		for (ChangedFiles changedFiles : changeSet) {
+			String sourceDirectory = changedFiles.getSourceDirectory().getAbsolutePath();
+			for (ChangedFile changedFile : changedFiles) {
+				if (this.restartStrategy.isRestartRequired(changedFile)) {
+					if (changedFile.getType() != ChangedFile.Type.MODIFY) {
+						return false;
+					}
+					try {
+						byte[] bytes = FileCopyUtils.copyToByteArray(changedFile.getFile());
+						files.addFile(sourceDirectory, changedFile.getRelativeName(),
+								new ClassLoaderFile(Kind.MODIFIED, changedFile.getFile().lastModified(), bytes));
+					}
+					catch (IOException ex) {
+						return false;
+					}
+				}
+			}
+		}
+		return Restarter.getInstance().redefineClasses(files);
+	}
+
 }
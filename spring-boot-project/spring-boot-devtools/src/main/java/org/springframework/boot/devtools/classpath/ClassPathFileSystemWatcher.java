@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2020 the original author or authors.
+ * Copyright 2012-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,8 @@ public class ClassPathFileSystemWatcher implements InitializingBean, DisposableB
 
 	private boolean stopWatcherOnRestart;
 
+	private boolean redefineClasses;
+
 	/**
 	 * Create a new {@link ClassPathFileSystemWatcher} instance.
 	 * @param fileSystemWatcherFactory a factory to create the underlying
@@ -69,6 +71,16 @@ public class ClassPathFileSystemWatcher implements InitializingBean, DisposableB
 		this.stopWatcherOnRestart = stopWatcherOnRestart;
 	}
 
+	/**
+	 * Set if changed classes should be redefined in place, when possible, instead of
+	 * triggering a full restart.
+	 * @param redefineClasses if changed classes should be redefined
+	 * @since 3.0.0
+	 */
+	public void setRedefineClasses(boolean redefineClasses) {
+		this.redefineClasses = redefineClasses;
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.applicationContext = applicationContext;
@@ -81,8 +93,8 @@ public class ClassPathFileSystemWatcher implements InitializingBean, DisposableB
 			if (this.stopWatcherOnRestart) {
 				watcherToStop = this.fileSystemWatcher;
 			}
-			this.fileSystemWatcher.addListener(
-					new ClassPathFileChangeListener(this.applicationContext, this.restartStrategy, watcherToStop));
+			this.fileSystemWatcher.addListener(new ClassPathFileChangeListener(this.applicationContext,
+					this.restartStrategy, watcherToStop, this.redefineClasses));
 		}
 		this.fileSystemWatcher.start();
 	}
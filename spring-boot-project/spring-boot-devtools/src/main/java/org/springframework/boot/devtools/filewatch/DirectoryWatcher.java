@@ -0,0 +1,204 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Uses a {@link WatchService} to find the source directories that may contain changes so
+ * that only those directories need a new {@link DirectorySnapshot}. Every directory
+ * below a source directory is registered and directories that are created later are
+ * registered as they appear. Source directories that cannot be watched, for example
+ * because they do not exist yet, are reported on every poll so that they are still
+ * checked by snapshot. All source directories are reported when events have been lost.
+ *
+ * @author agent
+ */
+class DirectoryWatcher implements Closeable {
+
+	private static final Log logger = LogFactory.getLog(DirectoryWatcher.class);
+
+	private static final String POLLING_WATCH_SERVICE = "sun.nio.fs.PollingWatchService";
+
+	private final WatchService watchService;
+
+	private final Set<File> sourceDirectories;
+
+	private final Map<WatchKey, File> keys = new HashMap<>();
+
+	private final Map<WatchKey, Path> roots = new HashMap<>();
+
+	private final Set<File> unwatched = new LinkedHashSet<>();
+
+	private DirectoryWatcher(WatchService watchService, Collection<File> sourceDirectories) {
+		this.watchService = watchService;
+		this.sourceDirectories = Collections.unmodifiableSet(new LinkedHashSet<>(sourceDirectories));
+		this.sourceDirectories.forEach(this::register);
+	}
+
+	private void register(File sourceDirectory) {
+		Path root = sourceDirectory.toPath();
+		try {
+			if (!Files.isDirectory(root)) {
+				this.unwatched.add(sourceDirectory);
+				return;
+			}
+			register(sourceDirectory, root);
+			this.unwatched.remove(sourceDirectory);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to watch " + sourceDirectory + ", falling back to snapshots", ex);
+			this.unwatched.add(sourceDirectory);
+		}
+	}
+
+	private void register(File sourceDirectory, Path start) throws IOException {
+		Path root = sourceDirectory.toPath();
+		Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes)
+					throws IOException {
+				WatchKey key = directory.register(DirectoryWatcher.this.watchService,
+						StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+				DirectoryWatcher.this.keys.put(key, sourceDirectory);
+				if (directory.equals(root)) {
+					DirectoryWatcher.this.roots.put(key, root);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+	}
+
+	/**
+	 * Wait for changes and return the source directories that may contain changed files.
+	 * @param timeout the maximum time to wait, in milliseconds
+	 * @return the source directories that may contain changes, or an empty set if there
+	 * were none before the timeout elapsed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	Set<File> poll(long timeout) throws InterruptedException {
+		Set<File> changed = new LinkedHashSet<>();
+		WatchKey key = this.watchService.poll(timeout, TimeUnit.MILLISECONDS);
+		while (key != null) {
+			process(key, changed);
+			key = this.watchService.poll();
+		}
+		for (File sourceDirectory : new LinkedHashSet<>(this.unwatched)) {
+			register(sourceDirectory);
+			changed.add(sourceDirectory);
+		}
+		return changed;
+	}
+
+	private void process(WatchKey key, Set<File> changed) {
+		File sourceDirectory = this.keys.get(key);
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				changed.addAll(this.sourceDirectories);
+			}
+			else if (sourceDirectory != null) {
+				changed.add(sourceDirectory);
+				if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+					registerCreated(sourceDirectory, ((Path) key.watchable()).resolve((Path) event.context()));
+				}
+			}
+		}
+		if (!key.reset()) {
+			this.keys.remove(key);
+			if (this.roots.remove(key) != null) {
+				this.unwatched.add(sourceDirectory);
+			}
+		}
+	}
+
+	private void registerCreated(File sourceDirectory, Path created) {
+		if (Files.isDirectory(created)) {
+			try {
+				register(sourceDirectory, created);
+			}
+			catch (IOException ex) {
+				logger.debug("Unable to watch " + created + ", falling back to snapshots", ex);
+				this.unwatched.add(sourceDirectory);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			this.watchService.close();
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * Create a new {@link DirectoryWatcher} for the given source directories or return
+	 * {@code null} if the default file system does not provide native change
+	 * notifications.
+	 * @param sourceDirectories the source directories to watch
+	 * @return a new {@link DirectoryWatcher} or {@code null}
+	 */
+	static DirectoryWatcher create(Collection<File> sourceDirectories) {
+		WatchService watchService;
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			logger.debug("Unable to create watch service, falling back to polling", ex);
+			return null;
+		}
+		if (POLLING_WATCH_SERVICE.equals(watchService.getClass().getName())) {
+			logger.debug("Watch service does not use native change notifications, falling back to polling");
+			try {
+				watchService.close();
+			}
+			catch (IOException ex) {
+				// Ignore
+			}
+			return null;
+		}
+		return new DirectoryWatcher(watchService, sourceDirectories);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2020 the original author or authors.
+ * Copyright 2012-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,8 @@ public class FileSystemWatcher {
 
 	private FileFilter triggerFilter;
 
+	private boolean useWatchService;
+
 	private final Object monitor = new Object();
 
 	/**
@@ -157,6 +159,20 @@ public class FileSystemWatcher {
 		}
 	}
 
+	/**
+	 * Set if a {@link java.nio.file.WatchService} should be used to find the source
+	 * directories that may have changed so that only those directories are scanned. The
+	 * watcher falls back to scanning every source directory when the file system does not
+	 * provide native change notifications.
+	 * @param useWatchService if a watch service should be used
+	 * @since 3.0.0
+	 */
+	public void setUseWatchService(boolean useWatchService) {
+		synchronized (this.monitor) {
+			this.useWatchService = useWatchService;
+		}
+	}
+
 	private void checkNotStarted() {
 		synchronized (this.monitor) {
 			Assert.state(this.watchThread == null, "FileSystemWatcher already started");
@@ -168,11 +184,14 @@ public class FileSystemWatcher {
 	 */
 	public void start() {
 		synchronized (this.monitor) {
+			DirectoryWatcher directoryWatcher = (this.useWatchService && this.watchThread == null)
+					? DirectoryWatcher.create(this.directories.keySet()) : null;
 			createOrRestoreInitialSnapshots();
 			if (this.watchThread == null) {
 				Map<File, DirectorySnapshot> localDirectories = new HashMap<>(this.directories);
 				Watcher watcher = new Watcher(this.remainingScans, new ArrayList<>(this.listeners), this.triggerFilter,
-						this.pollInterval, this.quietPeriod, localDirectories, this.snapshotStateRepository);
+						this.pollInterval, this.quietPeriod, localDirectories, this.snapshotStateRepository,
+						directoryWatcher);
 				this.watchThread = new Thread(watcher);
 				this.watchThread.setName("File Watcher");
 				this.watchThread.setDaemon(this.daemon);
@@ -239,9 +258,13 @@ public class FileSystemWatcher {
 
 		private SnapshotStateRepository snapshotStateRepository;
 
+		private final DirectoryWatcher directoryWatcher;
+
+		private boolean initialScan = true;
+
 		private Watcher(AtomicInteger remainingScans, List<FileChangeListener> listeners, FileFilter triggerFilter,
 				long pollInterval, long quietPeriod, Map<File, DirectorySnapshot> directories,
-				SnapshotStateRepository snapshotStateRepository) {
+				SnapshotStateRepository snapshotStateRepository, DirectoryWatcher directoryWatcher) {
 			this.remainingScans = remainingScans;
 			this.listeners = listeners;
 			this.triggerFilter = triggerFilter;
@@ -249,7 +272,7 @@ public class FileSystemWatcher {
 			this.quietPeriod = quietPeriod;
 			this.directories = directories;
 			this.snapshotStateRepository = snapshotStateRepository;
-
+			this.directoryWatcher = directoryWatcher;
 		}
 
 		@Override
@@ -267,15 +290,31 @@ public class FileSystemWatcher {
 				}
 				remainingScans = this.remainingScans.get();
 			}
+			if (this.directoryWatcher != null) {
+				this.directoryWatcher.close();
+			}
 		}
 
 		private void scan() throws InterruptedException {
-			Thread.sleep(this.pollInterval - this.quietPeriod);
+			Set<File> candidates = null;
+			if (this.directoryWatcher != null) {
+				candidates = this.directoryWatcher.poll(this.pollInterval - this.quietPeriod);
+				if (this.initialScan) {
+					candidates = new LinkedHashSet<>(this.directories.keySet());
+					this.initialScan = false;
+				}
+				if (candidates.isEmpty()) {
+					return;
+				}
+			}
+			else {
+				Thread.sleep(this.pollInterval - this.quietPeriod);
+			}
 			Map<File, DirectorySnapshot> previous;
 			Map<File, DirectorySnapshot> current = this.directories;
 			do {
 				previous = current;
-				current = getCurrentSnapshots();
+				current = getCurrentSnapshots(candidates);
 				Thread.sleep(this.quietPeriod);
 			}
 			while (isDifferent(previous, current));
@@ -291,17 +330,20 @@ public class FileSystemWatcher {
 			for (Map.Entry<File, DirectorySnapshot> entry : previous.entrySet()) {
 				DirectorySnapshot previousDirectory = entry.getValue();
 				DirectorySnapshot currentDirectory = current.get(entry.getKey());
-				if (!previousDirectory.equals(currentDirectory, this.triggerFilter)) {
+				if (previousDirectory != currentDirectory
+						&& !previousDirectory.equals(currentDirectory, this.triggerFilter)) {
 					return true;
 				}
 			}
 			return false;
 		}
 
-		private Map<File, DirectorySnapshot> getCurrentSnapshots() {
+		private Map<File, DirectorySnapshot> getCurrentSnapshots(Set<File> candidates) {
 			Map<File, DirectorySnapshot> snapshots = new LinkedHashMap<>();
-			for (File directory : this.directories.keySet()) {
-				snapshots.put(directory, new DirectorySnapshot(directory));
+			for (Map.Entry<File, DirectorySnapshot> entry : this.directories.entrySet()) {
+				File directory = entry.getKey();
+				boolean changed = candidates == null || candidates.contains(directory);
+				snapshots.put(directory, changed ? new DirectorySnapshot(directory) : entry.getValue());
 			}
 			return snapshots;
 		}
@@ -312,6 +354,9 @@ public class FileSystemWatcher {
 			for (DirectorySnapshot snapshot : snapshots) {
 				DirectorySnapshot previous = this.directories.get(snapshot.getDirectory());
 				updated.put(snapshot.getDirectory(), snapshot);
+				if (previous == snapshot) {
+					continue;
+				}
 				ChangedFiles changedFiles = previous.getChangedFiles(snapshot, this.triggerFilter);
 				if (!changedFiles.getFiles().isEmpty()) {
 					changeSet.add(changedFiles);
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles.SourceDirectory;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Applies {@link ClassLoaderFiles} to a running application by redefining classes in
+ * place using {@link Instrumentation}. Classes are only redefined when every changed file
+ * is a modified class that has already been loaded by the {@link RestartClassLoader} of
+ * the application, that keeps the same type hierarchy, fields and methods, and that is
+ * not the type of a bean. Any other change requires a restart.
+ *
+ * @author agent
+ */
+class ClassRedefiner {
+
+	private static final String AGENT_CLASS = "org.springframework.instrument.InstrumentationSavingAgent";
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	private static final Log logger = LogFactory.getLog(ClassRedefiner.class);
+
+	private final Instrumentation instrumentation;
+
+	private final AtomicInteger redefinitions = new AtomicInteger();
+
+	private final AtomicInteger restarts = new AtomicInteger();
+
+	ClassRedefiner(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Redefine the classes of the given files if possible.
+	 * @param files the changed files
+	 * @param contexts the running application contexts
+	 * @return {@code true} if the classes were redefined or {@code false} if a restart is
+	 * required
+	 */
+	boolean redefine(ClassLoaderFiles files, Collection<ConfigurableApplicationContext> contexts) {
+		try {
+			List<ClassDefinition> definitions = getDefinitions(files, contexts);
+			if (definitions != null) {
+				this.instrumentation.redefineClasses(definitions.toArray(new ClassDefinition[0]));
+				this.redefinitions.incrementAndGet();
+				logger.info(LogMessage.format("Redefined %d classes without restarting (%s)", definitions.size(),
+						getStatistics()));
+				return true;
+			}
+		}
+		catch (Exception | LinkageError ex) {
+			logger.debug("Unable to redefine classes", ex);
+		}
+		this.restarts.incrementAndGet();
+		logger.debug(LogMessage.format("Classes cannot be redefined, restarting (%s)", getStatistics()));
+		return false;
+	}
+
+	private List<ClassDefinition> getDefinitions(ClassLoaderFiles files,
+			Collection<ConfigurableApplicationContext> contexts) {
+		Map<String, Class<?>> loadedClasses = getLoadedClasses(contexts);
+		Set<Class<?>> beanTypes = getBeanTypes(contexts);
+		List<ClassDefinition> definitions = new ArrayList<>();
+		for (SourceDirectory directory : files.getSourceDirectories()) {
+			for (Map.Entry<String, ClassLoaderFile> entry : directory.getFilesEntrySet()) {
+				ClassDefinition definition = getDefinition(entry.getKey(), entry.getValue(), loadedClasses, beanTypes);
+				if (definition == null) {
+					return null;
+				}
+				definitions.add(definition);
+			}
+		}
+		return (!definitions.isEmpty()) ? definitions : null;
+	}
+
+	private ClassDefinition getDefinition(String name, ClassLoaderFile file, Map<String, Class<?>> loadedClasses,
+			Set<Class<?>> beanTypes) {
+		if (file.getKind() != Kind.MODIFIED || !name.endsWith(CLASS_SUFFIX)) {
+			logger.debug(LogMessage.format("Change to %s cannot be applied without a restart", name));
+			return null;
+		}
+		String className = ClassUtils
+				.convertResourcePathToClassName(name.substring(0, name.length() - CLASS_SUFFIX.length()));
+		Class<?> type = loadedClasses.get(className);
+		if (type == null) {
+			logger.debug(LogMessage.format("Class %s has not been loaded", className));
+			return null;
+		}
+		if (beanTypes.stream().anyMatch(type::isAssignableFrom)) {
+			logger.debug(LogMessage.format("Class %s is used by a bean", className));
+			return null;
+		}
+		if (!ClassStructure.of(type).equals(ClassStructure.of(file.getContents()))) {
+			logger.debug(LogMessage.format("Structure of class %s has changed", className));
+			return null;
+		}
+		return new ClassDefinition(type, file.getContents());
+	}
+
+	private Map<String, Class<?>> getLoadedClasses(Collection<ConfigurableApplicationContext> contexts) {
+		Set<ClassLoader> classLoaders = new HashSet<>();
+		for (ConfigurableApplicationContext context : contexts) {
+			if (context.getClassLoader() instanceof RestartClassLoader) {
+				classLoaders.add(context.getClassLoader());
+			}
+		}
+		Map<String, Class<?>> loadedClasses = new HashMap<>();
+		if (!classLoaders.isEmpty()) {
+			for (Class<?> loadedClass : this.instrumentation.getAllLoadedClasses()) {
+				if (classLoaders.contains(loadedClass.getClassLoader())) {
+					loadedClasses.put(loadedClass.getName(), loadedClass);
+				}
+			}
+		}
+		return loadedClasses;
+	}
+
+	private Set<Class<?>> getBeanTypes(Collection<ConfigurableApplicationContext> contexts) {
+		Set<Class<?>> beanTypes = new HashSet<>();
+		for (ConfigurableApplicationContext context : contexts) {
+			if (context.isActive()) {
+				ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+				for (String name : beanFactory.getBeanDefinitionNames()) {
+					Class<?> type = beanFactory.getType(name, false);
+					if (type != null) {
+						beanTypes.add(ClassUtils.getUserClass(type));
+					}
+				}
+			}
+		}
+		return beanTypes;
+	}
+
+	private String getStatistics() {
+		int redefinitions = this.redefinitions.get();
+		return redefinitions + " of " + (redefinitions + this.restarts.get()) + " changes applied without a restart";
+	}
+
+	int getRedefinitions() {
+		return this.redefinitions.get();
+	}
+
+	int getRestarts() {
+		return this.restarts.get();
+	}
+
+	/**
+	 * Return a {@link ClassRedefiner} that uses the {@link Instrumentation} of the
+	 * {@code spring-instrument} agent or {@code null} if the JVM has not been started
+	 * with the agent.
+	 * @return a {@link ClassRedefiner} or {@code null}
+	 */
+	static ClassRedefiner get() {
+		Instrumentation instrumentation = getInstrumentation();
+		if (instrumentation == null || !instrumentation.isRedefineClassesSupported()) {
+			return null;
+		}
+		return new ClassRedefiner(instrumentation);
+	}
+
+	private static Instrumentation getInstrumentation() {
+		ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+		if (!ClassUtils.isPresent(AGENT_CLASS, classLoader)) {
+			return null;
+		}
+		try {
+			Method method = ClassUtils.forName(AGENT_CLASS, classLoader)
+					.getMethod("getInstrumentation");
+			return (Instrumentation) method.invoke(null);
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * The parts of a class that cannot be changed when it is redefined.
+	 */
+	static final class ClassStructure {
+
+		private static final int FIELD_MODIFIERS = Modifier.fieldModifiers();
+
+		private static final int METHOD_MODIFIERS = Modifier.methodModifiers();
+
+		private String superName;
+
+		private final Set<String> interfaces = new LinkedHashSet<>();
+
+		private final Set<String> members = new HashSet<>();
+
+		private void addField(String name, String descriptor, int access) {
+			this.members.add("field " + name + descriptor + " " + (access & FIELD_MODIFIERS));
+		}
+
+		private void addMethod(String name, String descriptor, int access) {
+			this.members.add("method " + name + descriptor + " " + (access & METHOD_MODIFIERS));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			ClassStructure other = (ClassStructure) obj;
+			return Objects.equals(this.superName, other.superName) && this.interfaces.equals(other.interfaces)
+					&& this.members.equals(other.members);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.superName, this.interfaces, this.members);
+		}
+
+		static ClassStructure of(Class<?> type) {
+			ClassStructure structure = new ClassStructure();
+			structure.superName = (type.getSuperclass() != null) ? Type.getInternalName(type.getSuperclass()) : null;
+			for (Class<?> implemented : type.getInterfaces()) {
+				structure.interfaces.add(Type.getInternalName(implemented));
+			}
+			for (Field field : type.getDeclaredFields()) {
+				structure.addField(field.getName(), Type.getDescriptor(field.getType()), field.getModifiers());
+			}
+			for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+				structure.addMethod("<init>", Type.getConstructorDescriptor(constructor), constructor.getModifiers());
+			}
+			for (Method method : type.getDeclaredMethods()) {
+				structure.addMethod(method.getName(), Type.getMethodDescriptor(method), method.getModifiers());
+			}
+			return structure;
+		}
+
+		static ClassStructure of(byte[] bytes) {
+			ClassStructure structure = new ClassStructure();
+			new ClassReader(bytes).accept(new ClassVisitor(SpringAsmInfo.ASM_VERSION) {
+
+				@Override
+				public void visit(int version, int access, String name, String signature, String superName,
+						String[] interfaces) {
+					structure.superName = superName;
+					structure.interfaces.addAll(List.of(interfaces));
+				}
+
+				@Override
+				public FieldVisitor visitField(int access, String name, String descriptor, String signature,
+						Object value) {
+					structure.addField(name, descriptor, access);
+					return null;
+				}
+
+				@Override
+				public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+						String[] exceptions) {
+					if (!"<clinit>".equals(name)) {
+						structure.addMethod(name, descriptor, access);
+					}
+					return null;
+				}
+
+			}, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+			return structure;
+		}
+
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.boot.devtools.restart;
 import java.beans.Introspector;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collection;
@@ -121,6 +122,10 @@ public class Restarter {
 
 	private final List<ConfigurableApplicationContext> rootContexts = new CopyOnWriteArrayList<>();
 
+	private ClassRedefiner classRedefiner;
+
+	private boolean classRedefinerResolved;
+
 	/**
 	 * Internal constructor to create a new {@link Restarter} instance.
 	 * @param thread the source thread
@@ -222,6 +227,45 @@ public class Restarter {
 		this.classLoaderFiles.addAll(classLoaderFiles);
 	}
 
+	/**
+	 * Attempt to apply the given changes to the running application without restarting
+	 * it by redefining the changed classes in place. Classes can only be redefined when
+	 * the JVM has been started with the {@code spring-instrument} agent and when every
+	 * change is a method body change to a loaded class that is not the type of a bean.
+	 * @param files the changed files
+	 * @return {@code true} if the changes have been applied or {@code false} if a
+	 * {@link #restart() restart} is required
+	 * @since 3.0.0
+	 */
+	public boolean redefineClasses(ClassLoaderFiles files) {
+		Assert.notNull(files, "Files must not be null");
+		if (!this.enabled) {
+			return false;
+		}
+		ClassRedefiner classRedefiner = getClassRedefiner();
+		if (classRedefiner == null) {
+			this.logger.debug("Classes cannot be redefined without the spring-instrument agent");
+			return false;
+		}
+		this.stopLock.lock();
+		try {
+			return classRedefiner.redefine(files, this.rootContexts);
+		}
+		finally {
+			this.stopLock.unlock();
+		}
+	}
+
+	private ClassRedefiner getClassRedefiner() {
+		synchronized (this.monitor) {
+			if (!this.classRedefinerResolved) {
+				this.classRedefiner = ClassRedefiner.get();
+				this.classRedefinerResolved = true;
+			}
+			return this.classRedefiner;
+		}
+	}
+
 	/**
 	 * Return a {@link ThreadFactory} that can be used to create leak safe threads.
 	 * @return a leak safe thread factory
@@ -333,6 +377,8 @@ public class Restarter {
 		cleanCachedIntrospectionResultsCache();
 		ReflectionUtils.clearCache();
 		clearAnnotationUtilsCache();
+		clear("org.springframework.boot.context.properties.bind.JavaBeanBinder$Bean", "cache");
+		clear("org.springframework.boot.context.properties.bind.ValueObjectBinder$ValueObject", "cache");
 		if (!JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.NINE)) {
 			clear("com.sun.naming.internal.ResourceManager", "propertiesCache");
 		}
@@ -385,6 +431,12 @@ public class Restarter {
 	}
 
 	private boolean isFromRestartClassLoader(Object object) {
+		if (object instanceof ResolvableType) {
+			object = ((ResolvableType) object).resolve();
+		}
+		if (object instanceof Member) {
+			object = ((Member) object).getDeclaringClass();
+		}
 		return (object instanceof Class && ((Class<?>) object).getClassLoader() instanceof RestartClassLoader);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2020 the original author or authors.
+ * Copyright 2012-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,8 @@ public class RestartServer {
 
 	private final ClassLoader classLoader;
 
+	private boolean redefineClasses;
+
 	/**
 	 * Create a new {@link RestartServer} instance.
 	 * @param sourceDirectoryUrlFilter the source filter used to link remote directory to
@@ -74,6 +76,17 @@ public class RestartServer {
 		this.classLoader = classLoader;
 	}
 
+	/**
+	 * Set if updated classes should be redefined in place, when possible, instead of
+	 * restarting the application.
+	 * @param redefineClasses if updated classes should be redefined
+	 * @since 3.0.0
+	 * @see Restarter#redefineClasses(ClassLoaderFiles)
+	 */
+	public void setRedefineClasses(boolean redefineClasses) {
+		this.redefineClasses = redefineClasses;
+	}
+
 	/**
 	 * Update the current running application with the specified {@link ClassLoaderFiles}
 	 * and trigger a reload.
@@ -172,6 +185,9 @@ public class RestartServer {
 		Restarter restarter = Restarter.getInstance();
 		restarter.addUrls(urls);
 		restarter.addClassLoaderFiles(files);
+		if (this.redefineClasses && restarter.redefineClasses(files)) {
+			return;
+		}
 		restarter.restart();
 	}
 
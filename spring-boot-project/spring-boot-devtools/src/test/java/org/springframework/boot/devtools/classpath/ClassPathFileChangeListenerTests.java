@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2020 the original author or authors.
+ * Copyright 2012-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
@@ -31,11 +32,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.devtools.filewatch.ChangedFile;
 import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcher;
+import org.springframework.boot.devtools.restart.MockRestarter;
+import org.springframework.boot.devtools.restart.Restarter;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.FileCopyUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -86,6 +93,44 @@ class ClassPathFileChangeListenerTests {
 		verify(this.fileSystemWatcher).stop();
 	}
 
+	@Test
+	@ExtendWith(MockRestarter.class)
+	void sendsEventWithoutRestartWhenClassesAreRedefined(Restarter restarter, @TempDir File directory)
+			throws Exception {
+		given(restarter.redefineClasses(any())).willReturn(true);
+		Set<ChangedFiles> changeSet = modifyClass(directory);
+		new ClassPathFileChangeListener(this.eventPublisher, this.restartStrategy, this.fileSystemWatcher, true)
+				.onChange(changeSet);
+		ArgumentCaptor<ClassLoaderFiles> files = ArgumentCaptor.forClass(ClassLoaderFiles.class);
+		verify(restarter).redefineClasses(files.capture());
+		assertThat(files.getValue().getFile("Example.class").getKind()).isEqualTo(Kind.MODIFIED);
+		assertThat(files.getValue().getFile("Example.class").getContents()).containsExactly(1, 2, 3);
+		verify(this.eventPublisher).publishEvent(this.eventCaptor.capture());
+		assertThat(((ClassPathChangedEvent) this.eventCaptor.getValue()).isRestartRequired()).isFalse();
+		verify(this.fileSystemWatcher, never()).stop();
+	}
+
+	@Test
+	@ExtendWith(MockRestarter.class)
+	void sendsEventWithRestartWhenClassesCannotBeRedefined(Restarter restarter, @TempDir File directory)
+			throws Exception {
+		given(restarter.redefineClasses(any())).willReturn(false);
+		Set<ChangedFiles> changeSet = modifyClass(directory);
+		new ClassPathFileChangeListener(this.eventPublisher, this.restartStrategy, this.fileSystemWatcher, true)
+				.onChange(changeSet);
+		verify(this.eventPublisher).publishEvent(this.eventCaptor.capture());
+		assertThat(((ClassPathChangedEvent) this.eventCaptor.getValue()).isRestartRequired()).isTrue();
+		verify(this.fileSystemWatcher).stop();
+	}
+
+	private Set<ChangedFiles> modifyClass(File directory) throws Exception {
+		File file = new File(directory, "Example.class");
+		FileCopyUtils.copy(new byte[] { 1, 2, 3 }, file);
+		ChangedFile changedFile = new ChangedFile(directory, file, ChangedFile.Type.MODIFY);
+		given(this.restartStrategy.isRestartRequired(changedFile)).willReturn(true);
+		return Collections.singleton(new ChangedFiles(directory, Collections.singleton(changedFile)));
+	}
+
 	private void testSendsEvent(boolean restart) {
 		ClassPathFileChangeListener listener = new ClassPathFileChangeListener(this.eventPublisher,
 				this.restartStrategy, this.fileSystemWatcher);
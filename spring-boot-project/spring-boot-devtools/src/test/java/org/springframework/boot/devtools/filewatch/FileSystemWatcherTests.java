@@ -290,6 +290,73 @@ class FileSystemWatcherTests {
 		assertThat(actual).isEqualTo(expected);
 	}
 
+	@Test
+	void addFileWithWatchService() throws Exception {
+		this.watcher.setUseWatchService(true);
+		File directory = startWithNewDirectory();
+		File file = touch(new File(directory, "test.txt"));
+		waitForChanges(1);
+		this.watcher.stop();
+		ChangedFile expected = new ChangedFile(directory, file, Type.ADD);
+		assertThat(getAllFileChanges()).containsExactly(expected);
+	}
+
+	@Test
+	void addFileInNewDirectoryWithWatchService() throws Exception {
+		this.watcher.setUseWatchService(true);
+		File directory = startWithNewDirectory();
+		File file = touch(new File(directory, "test.txt"));
+		waitForChanges(1);
+		File nested = touch(new File(new File(directory, "sub"), "test.txt"));
+		waitForChanges(2);
+		File nested2 = touch(new File(new File(directory, "sub"), "test2.txt"));
+		waitForChanges(3);
+		this.watcher.stop();
+		assertThat(getAllFileChanges()).containsOnly(new ChangedFile(directory, file, Type.ADD),
+				new ChangedFile(directory, nested, Type.ADD), new ChangedFile(directory, nested2, Type.ADD));
+	}
+
+	@Test
+	void createSourceDirectoryAndAddFileWithWatchService() throws Exception {
+		File directory = new File(this.tempDir, "does/not/exist");
+		this.watcher.setUseWatchService(true);
+		this.watcher.addSourceDirectory(directory);
+		this.watcher.start();
+		directory.mkdirs();
+		File file = touch(new File(directory, "text.txt"));
+		waitForChanges(1);
+		this.watcher.stop();
+		ChangedFile expected = new ChangedFile(directory, file, Type.ADD);
+		assertThat(getAllFileChanges()).containsExactly(expected);
+	}
+
+	@Test
+	void modifyDeleteAndAddWithWatchService() throws Exception {
+		File directory = new File(this.tempDir, UUID.randomUUID().toString());
+		directory.mkdir();
+		File modify = touch(new File(directory, "modify.txt"));
+		File delete = touch(new File(directory, "delete.txt"));
+		File unchanged = new File(this.tempDir, UUID.randomUUID().toString());
+		unchanged.mkdir();
+		touch(new File(unchanged, "unchanged.txt"));
+		this.watcher.setUseWatchService(true);
+		this.watcher.addSourceDirectory(directory);
+		this.watcher.addSourceDirectory(unchanged);
+		this.watcher.start();
+		FileCopyUtils.copy("abc".getBytes(), modify);
+		delete.delete();
+		File add = touch(new File(directory, "add.txt"));
+		waitForChanges(3);
+		this.watcher.stop();
+		Set<ChangedFile> expected = new HashSet<>();
+		expected.add(new ChangedFile(directory, modify, Type.MODIFY));
+		expected.add(new ChangedFile(directory, delete, Type.DELETE));
+		expected.add(new ChangedFile(directory, add, Type.ADD));
+		assertThat(getAllFileChanges()).isEqualTo(expected);
+		assertThat(this.changes).allSatisfy((changeSet) -> assertThat(changeSet)
+				.allSatisfy((changedFiles) -> assertThat(changedFiles.getSourceDirectory()).isEqualTo(directory)));
+	}
+
 	private void setupWatcher(long pollingInterval, long quietPeriod) {
 		setupWatcher(pollingInterval, quietPeriod, null);
 	}
@@ -300,6 +367,18 @@ class FileSystemWatcherTests {
 		this.watcher.addListener((changeSet) -> FileSystemWatcherTests.this.changes.add(changeSet));
 	}
 
+	private void waitForChanges(int count) throws InterruptedException {
+		while (getChangedFileCount() < count) {
+			Thread.sleep(10);
+		}
+	}
+
+	private int getChangedFileCount() {
+		synchronized (this.changes) {
+			return getAllFileChanges().size();
+		}
+	}
+
 	private File startWithNewDirectory() {
 		File directory = new File(this.tempDir, UUID.randomUUID().toString());
 		directory.mkdir();
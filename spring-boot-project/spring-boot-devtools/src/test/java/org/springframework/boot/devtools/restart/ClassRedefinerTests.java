@@ -0,0 +1,179 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.Instrumentation;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.devtools.restart.ClassRedefiner.ClassStructure;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ClassRedefiner}.
+ *
+ * @author agent
+ */
+class ClassRedefinerTests {
+
+	private static final String SAMPLE_PATH = Sample.class.getName().replace('.', '/') + ".class";
+
+	private final Instrumentation instrumentation = mock(Instrumentation.class);
+
+	private final ClassRedefiner redefiner = new ClassRedefiner(this.instrumentation);
+
+	private RestartClassLoader classLoader;
+
+	private GenericApplicationContext context;
+
+	private Class<?> sampleClass;
+
+	@BeforeEach
+	void setup() throws Exception {
+		URL url = Sample.class.getProtectionDomain().getCodeSource().getLocation();
+		this.classLoader = new RestartClassLoader(getClass().getClassLoader(), new URL[] { url });
+		this.sampleClass = this.classLoader.loadClass(Sample.class.getName());
+		this.context = new GenericApplicationContext();
+		this.context.setClassLoader(this.classLoader);
+		given(this.instrumentation.getAllLoadedClasses()).willReturn(new Class<?>[] { this.sampleClass });
+	}
+
+	@AfterEach
+	void close() throws IOException {
+		this.context.close();
+		this.classLoader.close();
+	}
+
+	@Test
+	void classStructureOfClassIsEqualToClassStructureOfItsBytes() throws Exception {
+		assertThat(ClassStructure.of(Sample.class)).isEqualTo(ClassStructure.of(getBytes(Sample.class)));
+	}
+
+	@Test
+	void classStructureWhenMethodAddedIsNotEqual() throws Exception {
+		assertThat(ClassStructure.of(Sample.class)).isNotEqualTo(ClassStructure.of(getBytes(ChangedSample.class)));
+	}
+
+	@Test
+	void redefineWhenMethodBodyChangedRedefinesClass() throws Exception {
+		this.context.refresh();
+		ClassLoaderFiles files = getFiles(Kind.MODIFIED, getBytes(Sample.class));
+		assertThat(this.redefiner.redefine(files, getContexts())).isTrue();
+		verify(this.instrumentation).redefineClasses(any(ClassDefinition.class));
+		assertThat(this.redefiner.getRedefinitions()).isEqualTo(1);
+		assertThat(this.redefiner.getRestarts()).isZero();
+	}
+
+	@Test
+	void redefineWhenClassAddedReturnsFalse() throws Exception {
+		this.context.refresh();
+		ClassLoaderFiles files = getFiles(Kind.ADDED, getBytes(Sample.class));
+		assertThat(this.redefiner.redefine(files, getContexts())).isFalse();
+		verify(this.instrumentation, never()).redefineClasses(any(ClassDefinition.class));
+		assertThat(this.redefiner.getRedefinitions()).isZero();
+		assertThat(this.redefiner.getRestarts()).isEqualTo(1);
+	}
+
+	@Test
+	void redefineWhenStructureChangedReturnsFalse() throws Exception {
+		this.context.refresh();
+		ClassLoaderFiles files = getFiles(Kind.MODIFIED, getBytes(ChangedSample.class));
+		assertThat(this.redefiner.redefine(files, getContexts())).isFalse();
+		verify(this.instrumentation, never()).redefineClasses(any(ClassDefinition.class));
+	}
+
+	@Test
+	void redefineWhenClassIsUsedByBeanReturnsFalse() throws Exception {
+		this.context.registerBean("sample", this.sampleClass);
+		this.context.refresh();
+		ClassLoaderFiles files = getFiles(Kind.MODIFIED, getBytes(Sample.class));
+		assertThat(this.redefiner.redefine(files, getContexts())).isFalse();
+		verify(this.instrumentation, never()).redefineClasses(any(ClassDefinition.class));
+	}
+
+	@Test
+	void redefineWhenClassHasNotBeenLoadedReturnsFalse() throws Exception {
+		given(this.instrumentation.getAllLoadedClasses()).willReturn(new Class<?>[0]);
+		this.context.refresh();
+		ClassLoaderFiles files = getFiles(Kind.MODIFIED, getBytes(Sample.class));
+		assertThat(this.redefiner.redefine(files, getContexts())).isFalse();
+		verify(this.instrumentation, never()).redefineClasses(any(ClassDefinition.class));
+	}
+
+	private List<ConfigurableApplicationContext> getContexts() {
+		return Collections.singletonList(this.context);
+	}
+
+	private ClassLoaderFiles getFiles(Kind kind, byte[] bytes) {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("source", SAMPLE_PATH, new ClassLoaderFile(kind, bytes));
+		return files;
+	}
+
+	private byte[] getBytes(Class<?> type) throws IOException {
+		String path = type.getName().replace('.', '/') + ".class";
+		try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(path)) {
+			return FileCopyUtils.copyToByteArray(inputStream);
+		}
+	}
+
+	public static class Sample {
+
+		private String name = "sample";
+
+		public String getName() {
+			return this.name;
+		}
+
+	}
+
+	public static class ChangedSample {
+
+		private String name = "sample";
+
+		public String getName() {
+			return this.name;
+		}
+
+		public String getUpperCaseName() {
+			return this.name.toUpperCase();
+		}
+
+	}
+
+}
@@ -20,12 +20,22 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributeView;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 
 import org.springframework.util.Assert;
@@ -40,19 +50,29 @@ class ExtractCommand extends Command {
 
 	static final Option DESTINATION_OPTION = Option.of("destination", "string", "The destination to extract files to");
 
+	static final Option PARALLEL_OPTION = Option.flag("parallel",
+			"Extract layers concurrently, reporting progress and timings");
+
 	private final Context context;
 
 	private final Layers layers;
 
+	private final PrintStream out;
+
 	ExtractCommand(Context context) {
 		this(context, Layers.get(context));
 	}
 
 	ExtractCommand(Context context, Layers layers) {
-		super("extract", "Extracts layers from the jar for image creation", Options.of(DESTINATION_OPTION),
-				Parameters.of("[<layer>...]"));
+		this(context, layers, System.out);
+	}
+
+	ExtractCommand(Context context, Layers layers, PrintStream out) {
+		super("extract", "Extracts layers from the jar for image creation",
+				Options.of(DESTINATION_OPTION, PARALLEL_OPTION), Parameters.of("[<layer>...]"));
 		this.context = context;
 		this.layers = layers;
+		this.out = out;
 	}
 
 	@Override
@@ -65,19 +85,11 @@ class ExtractCommand extends Command {
 					mkDirs(new File(destination, layer));
 				}
 			}
-			try (ZipInputStream zip = new ZipInputStream(new FileInputStream(this.context.getArchiveFile()))) {
-				ZipEntry entry = zip.getNextEntry();
-				Assert.state(entry != null, "File '" + this.context.getArchiveFile().toString()
-						+ "' is not compatible with layertools; ensure jar file is valid and launch script is not enabled");
-				while (entry != null) {
-					if (!entry.isDirectory()) {
-						String layer = this.layers.getLayer(entry);
-						if (parameters.isEmpty() || parameters.contains(layer)) {
-							write(zip, entry, new File(destination, layer));
-						}
-					}
-					entry = zip.getNextEntry();
-				}
+			if (options.containsKey(PARALLEL_OPTION)) {
+				extractInParallel(destination, parameters);
+			}
+			else {
+				extract(destination, parameters);
 			}
 		}
 		catch (IOException ex) {
@@ -85,7 +97,137 @@ class ExtractCommand extends Command {
 		}
 	}
 
+	private void extract(File destination, List<String> parameters) throws IOException {
+		try (ZipInputStream zip = new ZipInputStream(new FileInputStream(this.context.getArchiveFile()))) {
+			ZipEntry entry = zip.getNextEntry();
+			Assert.state(entry != null, this::getIncompatibleArchiveMessage);
+			while (entry != null) {
+				if (!entry.isDirectory()) {
+					String layer = this.layers.getLayer(entry);
+					if (parameters.isEmpty() || parameters.contains(layer)) {
+						write(zip, entry, new File(destination, layer));
+					}
+				}
+				entry = zip.getNextEntry();
+			}
+		}
+	}
+
 	private void write(ZipInputStream zip, ZipEntry entry, File destination) throws IOException {
+		File file = getFile(entry, destination);
+		mkParentDirs(file);
+		try (OutputStream out = new FileOutputStream(file)) {
+			StreamUtils.copy(zip, out);
+		}
+		setTimes(file, entry);
+	}
+
+	private void extractInParallel(File destination, List<String> parameters) throws IOException {
+		long start = System.nanoTime();
+		try (ZipArchive archive = openArchive()) {
+			List<ZipEntry> entries = archive.getEntries();
+			Assert.state(!entries.isEmpty(), this::getIncompatibleArchiveMessage);
+			Map<String, List<ZipEntry>> layerEntries = new LinkedHashMap<>();
+			for (String layer : this.layers) {
+				if (parameters.isEmpty() || parameters.contains(layer)) {
+					layerEntries.put(layer, new ArrayList<>());
+				}
+			}
+			for (ZipEntry entry : entries) {
+				if (!entry.isDirectory()) {
+					String layer = this.layers.getLayer(entry);
+					List<ZipEntry> layerEntry = layerEntries.get(layer);
+					if (layerEntry != null) {
+						// Check every entry before any content is written
+						getFile(entry, new File(destination, layer));
+						layerEntry.add(entry);
+					}
+				}
+			}
+			extractInParallel(archive, destination, layerEntries);
+			this.out.println("Extracted " + layerEntries.size() + " layers in " + getElapsed(start));
+		}
+	}
+
+	private void extractInParallel(ZipArchive archive, File destination, Map<String, List<ZipEntry>> layerEntries)
+			throws IOException {
+		int threads = Math.max(1, Math.min(layerEntries.size(), Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads, (runnable) -> {
+			Thread thread = new Thread(runnable, "layertools-extract");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> extractions = new ArrayList<>();
+			layerEntries.forEach((layer, entries) -> extractions.add(executor.submit(() -> {
+				extractLayer(archive, layer, entries, new File(destination, layer));
+				return null;
+			})));
+			for (Future<?> extraction : extractions) {
+				get(extraction);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void extractLayer(ZipArchive archive, String layer, List<ZipEntry> entries, File destination)
+			throws IOException {
+		long start = System.nanoTime();
+		for (ZipEntry entry : entries) {
+			File file = getFile(entry, destination);
+			mkParentDirs(file);
+			setTimes(file, archive.extract(entry, file));
+		}
+		this.out.println("Extracted layer '" + layer + "' (" + entries.size() + " entries, " + getTotalSize(entries)
+				+ ") in " + getElapsed(start));
+	}
+
+	private void get(Future<?> extraction) throws IOException {
+		try {
+			extraction.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while extracting layers");
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private ZipArchive openArchive() throws IOException {
+		try {
+			return new ZipArchive(this.context.getArchiveFile());
+		}
+		catch (ZipException ex) {
+			throw new IllegalStateException(getIncompatibleArchiveMessage(), ex);
+		}
+	}
+
+	private String getIncompatibleArchiveMessage() {
+		return "File '" + this.context.getArchiveFile().toString()
+				+ "' is not compatible with layertools; ensure jar file is valid and launch script is not enabled";
+	}
+
+	private String getTotalSize(List<ZipEntry> entries) {
+		long size = entries.stream().mapToLong(ZipEntry::getSize).filter((entrySize) -> entrySize > 0).sum();
+		return (size / 1024) + " KB";
+	}
+
+	private String getElapsed(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms";
+	}
+
+	private File getFile(ZipEntry entry, File destination) throws IOException {
 		String canonicalOutputPath = destination.getCanonicalPath() + File.separator;
 		File file = new File(destination, entry.getName());
 		String canonicalEntryPath = file.getCanonicalPath();
@@ -93,10 +235,10 @@ class ExtractCommand extends Command {
 				() -> "Entry '" + entry.getName() + "' would be written to '" + canonicalEntryPath
 						+ "'. This is outside the output location of '" + canonicalOutputPath
 						+ "'. Verify the contents of your archive.");
-		mkParentDirs(file);
-		try (OutputStream out = new FileOutputStream(file)) {
-			StreamUtils.copy(zip, out);
-		}
+		return file;
+	}
+
+	private void setTimes(File file, ZipEntry entry) {
 		try {
 			Files.getFileAttributeView(file.toPath(), BasicFileAttributeView.class)
 					.setTimes(entry.getLastModifiedTime(), entry.getLastAccessTime(), entry.getCreationTime());
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.jarmode.layertools;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * Random access to the entries of a zip archive that can be used from multiple threads.
+ * Stored entries are transferred directly from the archive file using
+ * {@link FileChannel#transferTo} and the time attributes that are only held in local
+ * file headers are applied to the returned entries. Archives whose central directory
+ * cannot be located, for example those using zip64, fall back to streaming the content
+ * of every entry.
+ *
+ * @author agent
+ */
+class ZipArchive implements Closeable {
+
+	private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+
+	private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+	private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+	private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+	private final ZipFile zipFile;
+
+	private final FileChannel channel;
+
+	private final Map<String, Long> localFileHeaderOffsets;
+
+	ZipArchive(File file) throws IOException {
+		this.zipFile = new ZipFile(file);
+		try {
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			this.localFileHeaderOffsets = readLocalFileHeaderOffsets(this.channel);
+		}
+		catch (IOException ex) {
+			this.zipFile.close();
+			throw ex;
+		}
+	}
+
+	private static Map<String, Long> readLocalFileHeaderOffsets(FileChannel channel) throws IOException {
+		ByteBuffer end = findEndOfCentralDirectory(channel);
+		if (end == null) {
+			return Collections.emptyMap();
+		}
+		long size = Integer.toUnsignedLong(end.getInt(12));
+		long offset = Integer.toUnsignedLong(end.getInt(16));
+		if (size == ZIP64_MAGIC || offset == ZIP64_MAGIC || size > Integer.MAX_VALUE) {
+			return Collections.emptyMap();
+		}
+		ByteBuffer centralDirectory = read(channel, offset, (int) size);
+		Map<String, Long> offsets = new HashMap<>();
+		int position = 0;
+		while (position + CENTRAL_DIRECTORY_HEADER_SIZE <= size
+				&& centralDirectory.getInt(position) == CENTRAL_DIRECTORY_SIGNATURE) {
+			int nameLength = Short.toUnsignedInt(centralDirectory.getShort(position + 28));
+			int extraLength = Short.toUnsignedInt(centralDirectory.getShort(position + 30));
+			int commentLength = Short.toUnsignedInt(centralDirectory.getShort(position + 32));
+			long localFileHeaderOffset = Integer.toUnsignedLong(centralDirectory.getInt(position + 42));
+			byte[] name = new byte[nameLength];
+			centralDirectory.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+			centralDirectory.get(name);
+			if (localFileHeaderOffset != ZIP64_MAGIC) {
+				offsets.putIfAbsent(new String(name, StandardCharsets.UTF_8), localFileHeaderOffset);
+			}
+			position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+		}
+		return offsets;
+	}
+
+	private static ByteBuffer findEndOfCentralDirectory(FileChannel channel) throws IOException {
+		long fileSize = channel.size();
+		int length = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+		ByteBuffer tail = read(channel, fileSize - length, length);
+		for (int position = length - END_OF_CENTRAL_DIRECTORY_SIZE; position >= 0; position--) {
+			if (tail.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+				tail.position(position);
+				return tail.slice().order(ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the entries of the archive in the order of its central directory.
+	 * @return the entries
+	 */
+	List<ZipEntry> getEntries() {
+		return this.zipFile.stream().collect(Collectors.toList());
+	}
+
+	/**
+	 * Extract the content of the given entry to a file.
+	 * @param entry the entry to extract
+	 * @param file the destination file
+	 * @return the entry including the time attributes held in its local file header
+	 * @throws IOException on IO error
+	 */
+	ZipEntry extract(ZipEntry entry, File file) throws IOException {
+		LocalFileHeader header = getLocalFileHeader(entry);
+		if (header != null && entry.getMethod() == ZipEntry.STORED) {
+			transfer(header.dataOffset, entry.getSize(), file);
+		}
+		else {
+			try (InputStream in = this.zipFile.getInputStream(entry); OutputStream out = new FileOutputStream(file)) {
+				StreamUtils.copy(in, out);
+			}
+		}
+		return (header != null) ? header.apply(entry) : entry;
+	}
+
+	private LocalFileHeader getLocalFileHeader(ZipEntry entry) throws IOException {
+		Long offset = this.localFileHeaderOffsets.get(entry.getName());
+		if (offset == null) {
+			return null;
+		}
+		ByteBuffer header = read(this.channel, offset, LOCAL_FILE_HEADER_SIZE);
+		if (header.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+			return null;
+		}
+		int nameLength = Short.toUnsignedInt(header.getShort(26));
+		int extraLength = Short.toUnsignedInt(header.getShort(28));
+		long extraOffset = offset + LOCAL_FILE_HEADER_SIZE + nameLength;
+		byte[] extra = new byte[extraLength];
+		read(this.channel, extraOffset, extraLength).get(extra);
+		return new LocalFileHeader(extraOffset + extraLength, extra);
+	}
+
+	private void transfer(long position, long size, File file) throws IOException {
+		try (FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			long transferred = 0;
+			while (transferred < size) {
+				long count = this.channel.transferTo(position + transferred, size - transferred, out);
+				if (count <= 0) {
+					throw new EOFException("Unexpected end of archive when extracting to " + file);
+				}
+				transferred += count;
+			}
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException("Unexpected end of archive");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			this.channel.close();
+		}
+		finally {
+			this.zipFile.close();
+		}
+	}
+
+	/**
+	 * Details of a local file header.
+	 */
+	private static final class LocalFileHeader {
+
+		private final long dataOffset;
+
+		private final byte[] extra;
+
+		private LocalFileHeader(long dataOffset, byte[] extra) {
+			this.dataOffset = dataOffset;
+			this.extra = extra;
+		}
+
+		ZipEntry apply(ZipEntry entry) {
+			if (this.extra.length == 0) {
+				return entry;
+			}
+			ZipEntry localEntry = new ZipEntry(entry);
+			try {
+				localEntry.setExtra(this.extra);
+				return localEntry;
+			}
+			catch (IllegalArgumentException ex) {
+				return entry;
+			}
+		}
+
+	}
+
+}
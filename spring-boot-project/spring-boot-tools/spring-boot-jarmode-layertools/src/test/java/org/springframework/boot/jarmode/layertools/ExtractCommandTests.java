@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -172,6 +173,88 @@ class ExtractCommandTests {
 				.withMessageContaining("Entry 'e/../../e.jar' would be written");
 	}
 
+	@Test
+	void runWhenParallelExtractsLayers() {
+		given(this.context.getArchiveFile()).willReturn(this.jarFile);
+		given(this.context.getWorkingDir()).willReturn(this.extract);
+		TestPrintStream out = new TestPrintStream(this);
+		new ExtractCommand(this.context, this.layers, out)
+				.run(Collections.singletonMap(ExtractCommand.PARALLEL_OPTION, null), Collections.emptyList());
+		assertThat(this.extract.list()).containsOnly("a", "b", "c", "d");
+		assertThat(new File(this.extract, "a/a/a.jar")).exists().satisfies(this::timeAttributes);
+		assertThat(new File(this.extract, "b/b/b.jar")).exists().satisfies(this::timeAttributes);
+		assertThat(new File(this.extract, "c/c/c.jar")).exists().satisfies(this::timeAttributes);
+		assertThat(new File(this.extract, "d")).isDirectory();
+		assertThat(out.toString()).contains("Extracted layer 'a' (1 entries").contains("Extracted 4 layers in ");
+	}
+
+	@Test
+	void runWhenParallelExtractsStoredAndDeflatedContent() throws Exception {
+		byte[] stored = "stored".getBytes();
+		byte[] deflated = "deflated".getBytes();
+		this.jarFile = createJarFile("test.jar", (out) -> {
+			try {
+				ZipEntry storedEntry = entry("a/stored.jar");
+				storedEntry.setMethod(ZipEntry.STORED);
+				storedEntry.setSize(stored.length);
+				CRC32 crc = new CRC32();
+				crc.update(stored);
+				storedEntry.setCrc(crc.getValue());
+				out.putNextEntry(storedEntry);
+				out.write(stored);
+				out.closeEntry();
+				out.putNextEntry(entry("b/deflated.jar"));
+				out.write(deflated);
+				out.closeEntry();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		given(this.context.getArchiveFile()).willReturn(this.jarFile);
+		given(this.context.getWorkingDir()).willReturn(this.extract);
+		new ExtractCommand(this.context, this.layers, new TestPrintStream(this))
+				.run(Collections.singletonMap(ExtractCommand.PARALLEL_OPTION, null), Arrays.asList("a", "b"));
+		assertThat(new File(this.extract, "a/a/stored.jar")).satisfies(this::timeAttributes).hasBinaryContent(stored);
+		assertThat(new File(this.extract, "b/b/deflated.jar")).satisfies(this::timeAttributes)
+				.hasBinaryContent(deflated);
+		assertThat(this.extract.list()).containsOnly("a", "b");
+	}
+
+	@Test
+	void runWhenParallelWithJarFileContainingNoEntriesFails() throws IOException {
+		File file = new File(this.temp, "empty.jar");
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write("text");
+		}
+		given(this.context.getArchiveFile()).willReturn(file);
+		given(this.context.getWorkingDir()).willReturn(this.extract);
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.command.run(Collections.singletonMap(ExtractCommand.PARALLEL_OPTION, null),
+						Collections.emptyList()))
+				.withMessageContaining("not compatible with layertools");
+	}
+
+	@Test
+	void runWhenParallelWithJarFileThatWouldWriteEntriesOutsideDestinationFails() throws Exception {
+		this.jarFile = createJarFile("test.jar", (out) -> {
+			try {
+				out.putNextEntry(new ZipEntry("e/../../e.jar"));
+				out.closeEntry();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		given(this.context.getArchiveFile()).willReturn(this.jarFile);
+		given(this.context.getWorkingDir()).willReturn(this.extract);
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.command.run(Collections.singletonMap(ExtractCommand.PARALLEL_OPTION, null),
+						Collections.emptyList()))
+				.withMessageContaining("Entry 'e/../../e.jar' would be written");
+		assertThat(new File(this.extract, "a/a/a.jar")).doesNotExist();
+	}
+
 	private File createJarFile(String name) throws Exception {
 		return createJarFile(name, (out) -> {
 		});
@@ -29,6 +29,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.jar.JarEntry;
@@ -55,6 +56,8 @@ public abstract class AbstractJarWriter implements LoaderClassesWriter {
 
 	private static final int BUFFER_SIZE = 32 * 1024;
 
+	private static final int MAX_PREPARED_SIZE = 1024 * 1024;
+
 	private static final int UNIX_FILE_MODE = UnixStat.FILE_FLAG | UnixStat.DEFAULT_FILE_PERM;
 
 	private static final int UNIX_DIR_MODE = UnixStat.DIR_FLAG | UnixStat.DEFAULT_DIR_PERM;
@@ -65,6 +68,8 @@ public abstract class AbstractJarWriter implements LoaderClassesWriter {
 
 	private LayersIndex layersIndex;
 
+	private NestedLibraryIndex libraryIndex;
+
 	/**
 	 * Update this writer to use specific layers.
 	 * @param layers the layers to use
@@ -75,6 +80,15 @@ public abstract class AbstractJarWriter implements LoaderClassesWriter {
 		this.layersIndex = layersIndex;
 	}
 
+	/**
+	 * Update this writer to use an index of the nested libraries written by a previous
+	 * repackage.
+	 * @param libraryIndex the library index to use and update
+	 */
+	void useLibraryIndex(NestedLibraryIndex libraryIndex) {
+		this.libraryIndex = libraryIndex;
+	}
+
 	/**
 	 * Write the specified manifest.
 	 * @param manifest the manifest to write
@@ -87,26 +101,52 @@ public abstract class AbstractJarWriter implements LoaderClassesWriter {
 
 	final void writeEntries(JarFile jarFile, EntryTransformer entryTransformer, UnpackHandler unpackHandler,
 			Function<JarEntry, Library> libraryLookup) throws IOException {
-		Enumeration<JarEntry> entries = jarFile.entries();
-		while (entries.hasMoreElements()) {
-			JarEntry entry = entries.nextElement();
-			Library library = libraryLookup.apply(entry);
-			if (library == null || library.isIncluded()) {
-				writeEntry(jarFile, entryTransformer, unpackHandler, new JarArchiveEntry(entry), library);
+		try (OrderedParallelPreparer<PreparedEntry> preparer = new OrderedParallelPreparer<>(
+				(prepared) -> writeEntry(jarFile, entryTransformer, unpackHandler, prepared))) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				Library library = libraryLookup.apply(entry);
+				if (library == null || library.isIncluded()) {
+					JarArchiveEntry archiveEntry = new JarArchiveEntry(entry);
+					preparer.submit(() -> prepareEntry(jarFile, archiveEntry, library));
+				}
 			}
+			preparer.finish();
 		}
 	}
 
-	private void writeEntry(JarFile jarFile, EntryTransformer entryTransformer, UnpackHandler unpackHandler,
-			JarArchiveEntry entry, Library library) throws IOException {
+	private PreparedEntry prepareEntry(JarFile jarFile, JarArchiveEntry entry, Library library) throws IOException {
 		setUpEntry(jarFile, entry);
-		try (ZipHeaderPeekInputStream inputStream = new ZipHeaderPeekInputStream(jarFile.getInputStream(entry))) {
-			EntryWriter entryWriter = new InputStreamEntryWriter(inputStream);
-			JarArchiveEntry transformedEntry = entryTransformer.transform(entry);
-			if (transformedEntry != null) {
-				writeEntry(transformedEntry, library, entryWriter, unpackHandler);
+		if (isDeflatedEntryWriterSupported() && entry.getMethod() == ZipEntry.DEFLATED && !entry.isDirectory()
+				&& entry.getSize() >= 0 && entry.getSize() <= MAX_PREPARED_SIZE) {
+			try (InputStream inputStream = jarFile.getInputStream(entry)) {
+				DeflatedEntryWriter entryWriter = DeflatedEntryWriter.of(inputStream);
+				entry.setSize(entryWriter.size());
+				return new PreparedEntry(entry, library, entryWriter, false);
 			}
 		}
+		return new PreparedEntry(entry, library, null, false);
+	}
+
+	private void writeEntry(JarFile jarFile, EntryTransformer entryTransformer, UnpackHandler unpackHandler,
+			PreparedEntry prepared) throws IOException {
+		if (prepared.entryWriter != null) {
+			writeEntry(entryTransformer, unpackHandler, prepared, prepared.entryWriter);
+			return;
+		}
+		try (ZipHeaderPeekInputStream inputStream = new ZipHeaderPeekInputStream(
+				jarFile.getInputStream(prepared.entry))) {
+			writeEntry(entryTransformer, unpackHandler, prepared, new InputStreamEntryWriter(inputStream));
+		}
+	}
+
+	private void writeEntry(EntryTransformer entryTransformer, UnpackHandler unpackHandler, PreparedEntry prepared,
+			EntryWriter entryWriter) throws IOException {
+		JarArchiveEntry transformedEntry = entryTransformer.transform(prepared.entry);
+		if (transformedEntry != null) {
+			writeEntry(transformedEntry, prepared.library, entryWriter, unpackHandler);
+		}
 	}
 
 	private void setUpEntry(JarFile jarFile, JarArchiveEntry entry) throws IOException {
@@ -120,6 +160,16 @@ public abstract class AbstractJarWriter implements LoaderClassesWriter {
 		}
 	}
 
+	/**
+	 * Return whether {@link #writeToArchive(ZipEntry, EntryWriter)} can write the
+	 * already deflated content of a {@link DeflatedEntryWriter}. When supported, entries
+	 * from the source jar are deflated in parallel before they are written.
+	 * @return {@code true} if deflated entry writers are supported
+	 */
+	boolean isDeflatedEntryWriterSupported() {
+		return false;
+	}
+
 	/**
 	 * Writes an entry. The {@code inputStream} is closed once the entry has been written
 	 * @param entryName the name of the entry
@@ -154,12 +204,54 @@ public abstract class AbstractJarWriter implements LoaderClassesWriter {
 	 * @throws IOException if the write fails
 	 */
 	public void writeNestedLibrary(String location, Library library) throws IOException {
-		JarArchiveEntry entry = new JarArchiveEntry(location + library.getName());
-		entry.setTime(getNestedLibraryTime(library));
-		new CrcAndSize(library::openStream).setupStoredEntry(entry);
-		try (InputStream inputStream = library.openStream()) {
+		writeNestedLibrary(prepareNestedLibrary(location + library.getName(), library));
+	}
+
+	/**
+	 * Write nested libraries, calculating their CRCs in parallel whilst still writing
+	 * them in iteration order.
+	 * @param libraries the libraries to write, keyed by the path of their entry
+	 * @throws IOException if the write fails
+	 */
+	final void writeNestedLibraries(Map<String, Library> libraries) throws IOException {
+		try (OrderedParallelPreparer<PreparedEntry> preparer = new OrderedParallelPreparer<>(
+				this::writeNestedLibrary)) {
+			for (Map.Entry<String, Library> entry : libraries.entrySet()) {
+				preparer.submit(() -> prepareNestedLibrary(entry.getKey(), entry.getValue()));
+			}
+			preparer.finish();
+		}
+	}
+
+	private PreparedEntry prepareNestedLibrary(String name, Library library) throws IOException {
+		JarArchiveEntry entry = new JarArchiveEntry(name);
+		boolean indexed = this.libraryIndex != null && this.libraryIndex.setupStoredEntry(entry, library);
+		if (!indexed) {
+			entry.setTime(getNestedLibraryTime(library));
+			new CrcAndSize(library::openStream).setupStoredEntry(entry);
+		}
+		return new PreparedEntry(entry, library, null, indexed);
+	}
+
+	private void writeNestedLibrary(PreparedEntry prepared) throws IOException {
+		JarArchiveEntry entry = prepared.entry;
+		Library library = prepared.library;
+		try (InputStream inputStream = openNestedLibrary(prepared)) {
 			writeEntry(entry, library, new InputStreamEntryWriter(inputStream), new LibraryUnpackHandler(library));
 		}
+		catch (IOException ex) {
+			if (prepared.indexed && !(ex instanceof NestedLibraryIndex.StaleIndexException)) {
+				throw new NestedLibraryIndex.StaleIndexException(entry.getName(), ex);
+			}
+			throw ex;
+		}
+	}
+
+	private InputStream openNestedLibrary(PreparedEntry prepared) throws IOException {
+		if (this.libraryIndex != null) {
+			return this.libraryIndex.openStream(prepared.entry, prepared.library, prepared.indexed);
+		}
+		return prepared.library.openStream();
 	}
 
 	/**
@@ -321,6 +413,28 @@ public abstract class AbstractJarWriter implements LoaderClassesWriter {
 
 	}
 
+	/**
+	 * An entry that has been prepared for writing.
+	 */
+	private static final class PreparedEntry {
+
+		private final JarArchiveEntry entry;
+
+		private final Library library;
+
+		private final EntryWriter entryWriter;
+
+		private final boolean indexed;
+
+		private PreparedEntry(JarArchiveEntry entry, Library library, EntryWriter entryWriter, boolean indexed) {
+			this.entry = entry;
+			this.library = library;
+			this.entryWriter = entryWriter;
+			this.indexed = indexed;
+		}
+
+	}
+
 	/**
 	 * Data holder for CRC and Size.
 	 */
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link EntryWriter} for content that has already been deflated so that it can be
+ * written to an archive without being compressed again. The content is also available
+ * uncompressed for writers that cannot use the deflated form.
+ *
+ * @author agent
+ */
+final class DeflatedEntryWriter implements EntryWriter {
+
+	private static final int BUFFER_SIZE = 32 * 1024;
+
+	private final byte[] content;
+
+	private final byte[] deflated;
+
+	private final long crc;
+
+	private DeflatedEntryWriter(byte[] content) {
+		this.content = content;
+		this.deflated = deflate(content);
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		this.crc = crc.getValue();
+	}
+
+	private static byte[] deflate(byte[] content) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			deflater.setInput(content);
+			deflater.finish();
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length / 2 + 64);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			while (!deflater.finished()) {
+				int length = deflater.deflate(buffer);
+				outputStream.write(buffer, 0, length);
+			}
+			return outputStream.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	@Override
+	public void write(OutputStream outputStream) throws IOException {
+		outputStream.write(this.content);
+		outputStream.flush();
+	}
+
+	@Override
+	public int size() {
+		return this.content.length;
+	}
+
+	/**
+	 * Set up the given entry so that it describes the deflated content.
+	 * @param entry the entry to set up
+	 */
+	void setUpEntry(ZipEntry entry) {
+		entry.setMethod(ZipEntry.DEFLATED);
+		entry.setSize(this.content.length);
+		entry.setCompressedSize(this.deflated.length);
+		entry.setCrc(this.crc);
+	}
+
+	/**
+	 * Return a stream of the deflated content.
+	 * @return the deflated content
+	 */
+	InputStream getDeflatedContent() {
+		return new ByteArrayInputStream(this.deflated);
+	}
+
+	/**
+	 * Read and deflate the content of the given stream.
+	 * @param inputStream the source stream, which is not closed
+	 * @return a new {@link DeflatedEntryWriter}
+	 * @throws IOException on IO error
+	 */
+	static DeflatedEntryWriter of(InputStream inputStream) throws IOException {
+		return new DeflatedEntryWriter(StreamUtils.copyToByteArray(inputStream));
+	}
+
+}
@@ -53,7 +53,7 @@ final class Digest {
 		}
 	}
 
-	private static String bytesToHex(byte[] bytes) {
+	static String bytesToHex(byte[] bytes) {
 		StringBuilder hex = new StringBuilder();
 		for (byte b : bytes) {
 			hex.append(String.format("%02x", b));
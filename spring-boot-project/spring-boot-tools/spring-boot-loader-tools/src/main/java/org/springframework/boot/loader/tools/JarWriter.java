@@ -91,6 +91,12 @@ public class JarWriter extends AbstractJarWriter implements AutoCloseable {
 		if (this.lastModifiedTime != null) {
 			jarEntry.setLastModifiedTime(this.lastModifiedTime);
 		}
+		if (entryWriter instanceof DeflatedEntryWriter && jarEntry.getMethod() == ZipEntry.DEFLATED) {
+			DeflatedEntryWriter deflatedEntryWriter = (DeflatedEntryWriter) entryWriter;
+			deflatedEntryWriter.setUpEntry(jarEntry);
+			this.jarOutputStream.addRawArchiveEntry(jarEntry, deflatedEntryWriter.getDeflatedContent());
+			return;
+		}
 		this.jarOutputStream.putArchiveEntry(jarEntry);
 		if (entryWriter != null) {
 			entryWriter.write(this.jarOutputStream);
@@ -98,6 +104,11 @@ public class JarWriter extends AbstractJarWriter implements AutoCloseable {
 		this.jarOutputStream.closeArchiveEntry();
 	}
 
+	@Override
+	boolean isDeflatedEntryWriterSupported() {
+		return true;
+	}
+
 	private JarArchiveEntry asJarArchiveEntry(ZipEntry entry) throws ZipException {
 		if (entry instanceof JarArchiveEntry) {
 			return (JarArchiveEntry) entry;
@@ -61,6 +61,17 @@ public interface Layout {
 		return null;
 	}
 
+	/**
+	 * Returns the location of the package index file that should be written or
+	 * {@code null} if not index is required. The result should include the filename and
+	 * is relative to the root of the jar.
+	 * @return the package index file location
+	 * @since 3.0.0
+	 */
+	default String getPackageIndexFileLocation() {
+		return null;
+	}
+
 	/**
 	 * Returns the location of the layer index file that should be written or {@code null}
 	 * if not index is required. The result should include the filename and is relative to
@@ -89,6 +89,11 @@ public final class Layouts {
 			return "BOOT-INF/classpath.idx";
 		}
 
+		@Override
+		public String getPackageIndexFileLocation() {
+			return "BOOT-INF/packages.idx";
+		}
+
 		@Override
 		public String getLayersIndexFileLocation() {
 			return "BOOT-INF/layers.idx";
@@ -166,6 +171,11 @@ public final class Layouts {
 			return "WEB-INF/classpath.idx";
 		}
 
+		@Override
+		public String getPackageIndexFileLocation() {
+			return "WEB-INF/packages.idx";
+		}
+
 		@Override
 		public String getLayersIndexFileLocation() {
 			return "WEB-INF/layers.idx";
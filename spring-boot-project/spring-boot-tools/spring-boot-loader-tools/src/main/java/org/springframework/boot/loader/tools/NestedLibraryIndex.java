@@ -0,0 +1,297 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
+
+/**
+ * Index of the nested libraries written by a previous repackage. The index is kept in its
+ * own file so that it survives the repackaged archive being replaced, for example when
+ * repackaging in place. A library whose file has the same path, length and last modified
+ * time as when it was indexed is written using the indexed CRC and time rather than
+ * being read to calculate them first. The SHA-256 digest of every library is calculated
+ * as it is written. For an indexed library it must match the indexed digest, otherwise a
+ * {@link StaleIndexException} is thrown and the archive should be written again
+ * {@link #withoutIndexedLibraries() without} the indexed libraries.
+ *
+ * @author agent
+ */
+final class NestedLibraryIndex {
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	private static final int BUFFER_SIZE = 32 * 1024;
+
+	private final File file;
+
+	private final Map<String, Record> indexed;
+
+	private final Map<String, Record> written = Collections.synchronizedMap(new TreeMap<>());
+
+	private NestedLibraryIndex(File file, Map<String, Record> indexed) {
+		this.file = file;
+		this.indexed = indexed;
+	}
+
+	/**
+	 * Set up the given stored entry using the index if its library is unchanged since it
+	 * was indexed.
+	 * @param entry the entry to set up
+	 * @param library the library of the entry
+	 * @return {@code true} if the entry was set up using the index
+	 */
+	boolean setupStoredEntry(JarArchiveEntry entry, Library library) {
+		Record record = this.indexed.get(entry.getName());
+		if (record == null || !record.isFor(library.getFile())) {
+			return false;
+		}
+		entry.setTime(record.time);
+		entry.setSize(record.length);
+		entry.setCompressedSize(record.length);
+		entry.setCrc(record.crc);
+		entry.setMethod(ZipEntry.STORED);
+		return true;
+	}
+
+	/**
+	 * Open a stream that provides the content of the library of the given entry and adds
+	 * the library to the index once the stream has been read in full and closed.
+	 * @param entry the entry of the library
+	 * @param library the library
+	 * @param verify if the content must match the indexed digest
+	 * @return the library content
+	 * @throws IOException if the library cannot be opened
+	 */
+	InputStream openStream(JarArchiveEntry entry, Library library, boolean verify) throws IOException {
+		File file = library.getFile();
+		Record record = new Record(file.getAbsolutePath(), file.length(), file.lastModified(), entry.getTime(), 0,
+				null);
+		Record expected = (verify) ? this.indexed.get(entry.getName()) : null;
+		return new IndexingInputStream(library.openStream(), entry.getName(), record, expected);
+	}
+
+	/**
+	 * Return a new index that writes to the same file but that has no indexed libraries.
+	 * @return the new index
+	 */
+	NestedLibraryIndex withoutIndexedLibraries() {
+		return new NestedLibraryIndex(this.file, Collections.emptyMap());
+	}
+
+	/**
+	 * Save the libraries that have been written to the index file.
+	 */
+	void save() {
+		Properties properties = new Properties();
+		synchronized (this.written) {
+			this.written.forEach((name, record) -> properties.setProperty(name, record.toString()));
+		}
+		try (OutputStream outputStream = new FileOutputStream(this.file)) {
+			properties.store(outputStream, null);
+		}
+		catch (IOException ex) {
+			// Ignore, the next repackage will read all libraries
+			this.file.delete();
+		}
+	}
+
+	/**
+	 * Load the index from the given file. An index that cannot be read is ignored.
+	 * @param file the index file
+	 * @return the loaded index
+	 */
+	static NestedLibraryIndex load(File file) {
+		Map<String, Record> indexed = new HashMap<>();
+		if (file.isFile()) {
+			Properties properties = new Properties();
+			try (InputStream inputStream = new FileInputStream(file)) {
+				properties.load(inputStream);
+				for (String name : properties.stringPropertyNames()) {
+					Record record = Record.parse(properties.getProperty(name));
+					if (record != null) {
+						indexed.put(name, record);
+					}
+				}
+			}
+			catch (IOException | IllegalArgumentException ex) {
+				indexed.clear();
+			}
+		}
+		return new NestedLibraryIndex(file, indexed);
+	}
+
+	/**
+	 * A library that has been indexed.
+	 */
+	private static final class Record {
+
+		private final String path;
+
+		private final long length;
+
+		private final long lastModified;
+
+		private final long time;
+
+		private final long crc;
+
+		private final String digest;
+
+		private Record(String path, long length, long lastModified, long time, long crc, String digest) {
+			this.path = path;
+			this.length = length;
+			this.lastModified = lastModified;
+			this.time = time;
+			this.crc = crc;
+			this.digest = digest;
+		}
+
+		Record withContent(long crc, String digest) {
+			return new Record(this.path, this.length, this.lastModified, this.time, crc, digest);
+		}
+
+		boolean isFor(File file) {
+			return file.getAbsolutePath().equals(this.path) && file.length() == this.length
+					&& file.lastModified() == this.lastModified;
+		}
+
+		@Override
+		public String toString() {
+			return this.length + "," + this.lastModified + "," + this.time + "," + this.crc + "," + this.digest + ","
+					+ this.path;
+		}
+
+		static Record parse(String value) {
+			String[] fields = value.split(",", 6);
+			if (fields.length != 6) {
+				return null;
+			}
+			return new Record(fields[5], Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+					Long.parseLong(fields[2]), Long.parseLong(fields[3]), fields[4]);
+		}
+
+	}
+
+	/**
+	 * {@link InputStream} that calculates the CRC and digest of a library as it is read.
+	 */
+	private final class IndexingInputStream extends FilterInputStream {
+
+		private final String name;
+
+		private final Record record;
+
+		private final Record expected;
+
+		private final CRC32 crc = new CRC32();
+
+		private final MessageDigest digest;
+
+		private boolean finished;
+
+		IndexingInputStream(InputStream in, String name, Record record, Record expected) {
+			super(in);
+			this.name = name;
+			this.record = record;
+			this.expected = expected;
+			try {
+				this.digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			}
+			catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] buffer = new byte[1];
+			return (read(buffer, 0, 1) != -1) ? buffer[0] & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int bytesRead = super.read(b, off, len);
+			if (bytesRead == -1) {
+				this.finished = true;
+			}
+			else {
+				this.crc.update(b, off, bytesRead);
+				this.digest.update(b, off, bytesRead);
+			}
+			return bytesRead;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+			int bytesRead = read(buffer, 0, buffer.length);
+			return Math.max(bytesRead, 0);
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		@Override
+		public void close() throws IOException {
+			super.close();
+			if (!this.finished) {
+				return;
+			}
+			String hex = Digest.bytesToHex(this.digest.digest());
+			if (this.expected != null && !this.expected.digest.equals(hex)) {
+				throw new StaleIndexException(this.name);
+			}
+			NestedLibraryIndex.this.written.put(this.name, this.record.withContent(this.crc.getValue(), hex));
+		}
+
+	}
+
+	/**
+	 * Exception thrown when an indexed library has changed since it was indexed.
+	 */
+	static final class StaleIndexException extends IOException {
+
+		StaleIndexException(String name) {
+			this(name, null);
+		}
+
+		StaleIndexException(String name, Throwable cause) {
+			super("Nested library '" + name + "' has changed since it was indexed", cause);
+		}
+
+	}
+
+}
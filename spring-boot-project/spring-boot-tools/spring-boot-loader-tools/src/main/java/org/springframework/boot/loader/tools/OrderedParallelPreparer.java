@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prepares items on multiple threads and hands them to a {@link Consumer} in the order
+ * in which they were submitted. Allows expensive work such as CRC calculation and
+ * compression to use all available cores while archive entries are still written in a
+ * deterministic order. The number of prepared items that are waiting to be consumed is
+ * bounded.
+ *
+ * @param <T> the type of prepared item
+ * @author agent
+ */
+final class OrderedParallelPreparer<T> implements AutoCloseable {
+
+	private final Consumer<T> consumer;
+
+	private final ExecutorService executor;
+
+	private final int maxPending;
+
+	private final Deque<Future<T>> pending = new ArrayDeque<>();
+
+	OrderedParallelPreparer(Consumer<T> consumer) {
+		this(consumer, Runtime.getRuntime().availableProcessors());
+	}
+
+	OrderedParallelPreparer(Consumer<T> consumer, int threads) {
+		AtomicInteger threadCount = new AtomicInteger();
+		this.consumer = consumer;
+		this.executor = Executors.newFixedThreadPool(threads, (runnable) -> {
+			Thread thread = new Thread(runnable, "jar-writer-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.maxPending = threads * 4;
+	}
+
+	/**
+	 * Submit a preparation, consuming earlier prepared items if too many are pending.
+	 * @param preparation the preparation to submit
+	 * @throws IOException if an earlier item cannot be prepared or consumed
+	 */
+	void submit(Callable<T> preparation) throws IOException {
+		this.pending.add(this.executor.submit(preparation));
+		while (this.pending.size() > this.maxPending) {
+			consumeNext();
+		}
+	}
+
+	/**
+	 * Wait for all submitted preparations and consume the prepared items.
+	 * @throws IOException if an item cannot be prepared or consumed
+	 */
+	void finish() throws IOException {
+		while (!this.pending.isEmpty()) {
+			consumeNext();
+		}
+	}
+
+	private void consumeNext() throws IOException {
+		this.consumer.accept(get(this.pending.remove()));
+	}
+
+	private T get(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while preparing archive entries");
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	@Override
+	public void close() {
+		this.pending.forEach((future) -> future.cancel(true));
+		this.pending.clear();
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Consumer of prepared items.
+	 *
+	 * @param <T> the type of prepared item
+	 */
+	@FunctionalInterface
+	interface Consumer<T> {
+
+		void accept(T item) throws IOException;
+
+	}
+
+}
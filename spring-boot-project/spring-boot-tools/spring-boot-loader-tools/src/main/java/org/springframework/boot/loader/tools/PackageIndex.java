@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Index describing the locations (nested jars or directories) that contain each package
+ * of an archive. The index allows the launcher to route class and resource lookups
+ * directly to the nested jars that can contain them. Package names are written as quoted
+ * strings prefixed by a dash space ({@code "- "}) and with a colon ({@code ":"}) suffix.
+ * Locations are written as quoted strings prefixed by space space dash space
+ * ({@code "  - "}). A location is listed for a package if it contains any entry in that
+ * package or in one of its sub-packages. The root package is written as an empty string.
+ * <p>
+ * Index files are designed to be compatible with YAML and may be read into a list of
+ * {@code Map<String, List<String>>} instances.
+ *
+ * @author agent
+ */
+class PackageIndex {
+
+	private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+	private final Map<String, Set<String>> packages = new TreeMap<>();
+
+	/**
+	 * Add an entry to the index.
+	 * @param location the location containing the entry (for example
+	 * {@code BOOT-INF/classes/})
+	 * @param name the name of the entry relative to the location
+	 */
+	void add(String location, String name) {
+		addAncestors(location, name);
+		if (name.startsWith(VERSIONS_PREFIX)) {
+			int versionEnd = name.indexOf('/', VERSIONS_PREFIX.length());
+			if (versionEnd != -1) {
+				addAncestors(location, name.substring(versionEnd + 1));
+			}
+		}
+	}
+
+	private void addAncestors(String location, String name) {
+		String path = name.endsWith("/") ? name.substring(0, name.length() - 1) : name;
+		if (path.isEmpty()) {
+			return;
+		}
+		int lastSlash = path.lastIndexOf('/');
+		while (lastSlash != -1) {
+			path = path.substring(0, lastSlash);
+			this.packages.computeIfAbsent(path, (key) -> new LinkedHashSet<>()).add(location);
+			lastSlash = path.lastIndexOf('/');
+		}
+		this.packages.computeIfAbsent("", (key) -> new LinkedHashSet<>()).add(location);
+	}
+
+	/**
+	 * Add all entries of the given library to the index.
+	 * @param location the location of the library within the archive
+	 * @param library the library to add
+	 * @throws IOException on IO error
+	 */
+	void add(String location, Library library) throws IOException {
+		try (ZipInputStream inputStream = new ZipInputStream(library.openStream())) {
+			ZipEntry entry = inputStream.getNextEntry();
+			while (entry != null) {
+				add(location, entry.getName());
+				entry = inputStream.getNextEntry();
+			}
+		}
+	}
+
+	/**
+	 * Write the package index to an output stream.
+	 * @param out the destination stream
+	 * @throws IOException on IO error
+	 */
+	void writeTo(OutputStream out) throws IOException {
+		BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		for (Map.Entry<String, Set<String>> entry : this.packages.entrySet()) {
+			writer.write("- \"" + entry.getKey() + "\":\n");
+			for (String location : entry.getValue()) {
+				writer.write("  - \"" + location + "\"\n");
+			}
+		}
+		writer.flush();
+	}
+
+}
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +68,8 @@ public abstract class Packager {
 
 	private static final String BOOT_LAYERS_INDEX_ATTRIBUTE = "Spring-Boot-Layers-Index";
 
+	private static final String BOOT_PACKAGE_INDEX_ATTRIBUTE = "Spring-Boot-Package-Index";
+
 	private static final byte[] ZIP_FILE_HEADER = new byte[] { 'P', 'K', 3, 4 };
 
 	private static final long FIND_WARNING_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
@@ -91,6 +94,8 @@ public abstract class Packager {
 
 	private boolean includeRelevantJarModeJars = true;
 
+	private boolean includePackageIndex;
+
 	/**
 	 * Create a new {@link Packager} instance.
 	 * @param source the source archive file to package
@@ -178,6 +183,18 @@ public abstract class Packager {
 		this.includeRelevantJarModeJars = includeRelevantJarModeJars;
 	}
 
+	/**
+	 * Sets if a package index should be written so that the launcher can route class and
+	 * resource lookups to the nested jars that contain them. Only applies when the layout
+	 * provides a {@link Layout#getPackageIndexFileLocation() package index location}.
+	 * Defaults to {@code false}.
+	 * @param includePackageIndex if the package index is included
+	 * @since 3.0.0
+	 */
+	public void setIncludePackageIndex(boolean includePackageIndex) {
+		this.includePackageIndex = includePackageIndex;
+	}
+
 	protected final boolean isAlreadyPackaged() {
 		return isAlreadyPackaged(this.source);
 	}
@@ -211,11 +228,43 @@ public abstract class Packager {
 		writer.writeEntries(sourceJar, getEntityTransformer(), libraries.getUnpackHandler(),
 				libraries.getLibraryLookup());
 		libraries.write(writer);
+		writePackageIndexIfNecessary(sourceJar, writer, libraries);
 		if (isLayered()) {
 			writeLayerIndex(writer);
 		}
 	}
 
+	private void writePackageIndexIfNecessary(JarFile sourceJar, AbstractJarWriter writer,
+			PackagedLibraries libraries) throws IOException {
+		String location = getPackageIndexFileLocation();
+		if (StringUtils.hasLength(location)) {
+			PackageIndex packageIndex = new PackageIndex();
+			String classesLocation = getClassesLocation();
+			EntryTransformer entryTransformer = getEntityTransformer();
+			Enumeration<JarEntry> entries = sourceJar.entries();
+			while (entries.hasMoreElements()) {
+				JarArchiveEntry entry = entryTransformer.transform(new JarArchiveEntry(entries.nextElement()));
+				if (entry != null && entry.getName().startsWith(classesLocation)) {
+					packageIndex.add(classesLocation, entry.getName().substring(classesLocation.length()));
+				}
+			}
+			libraries.addTo(packageIndex);
+			writer.writeEntry(location, packageIndex::writeTo);
+		}
+	}
+
+	private String getPackageIndexFileLocation() {
+		return (this.includePackageIndex) ? getLayout().getPackageIndexFileLocation() : null;
+	}
+
+	private String getClassesLocation() {
+		Layout layout = getLayout();
+		if (layout instanceof RepackagingLayout) {
+			return ((RepackagingLayout) layout).getRepackagedClassesLocation();
+		}
+		return layout.getClassesLocation();
+	}
+
 	private void writeLoaderClasses(AbstractJarWriter writer) throws IOException {
 		Layout layout = getLayout();
 		if (layout instanceof CustomLoaderLayout) {
@@ -370,6 +419,7 @@ public abstract class Packager {
 		}
 		putIfHasLength(attributes, BOOT_LIB_ATTRIBUTE, getLayout().getLibraryLocation("", LibraryScope.COMPILE));
 		putIfHasLength(attributes, BOOT_CLASSPATH_INDEX_ATTRIBUTE, layout.getClasspathIndexFileLocation());
+		putIfHasLength(attributes, BOOT_PACKAGE_INDEX_ATTRIBUTE, getPackageIndexFileLocation());
 		if (isLayered()) {
 			putIfHasLength(attributes, BOOT_LAYERS_INDEX_ATTRIBUTE, layout.getLayersIndexFileLocation());
 		}
@@ -506,17 +556,22 @@ public abstract class Packager {
 		}
 
 		void write(AbstractJarWriter writer) throws IOException {
-			List<String> writtenPaths = new ArrayList<>();
+			Map<String, Library> included = new LinkedHashMap<>();
+			for (Entry<String, Library> entry : this.libraries.entrySet()) {
+				if (entry.getValue().isIncluded()) {
+					included.put(entry.getKey(), entry.getValue());
+				}
+			}
+			writer.writeNestedLibraries(included);
+			writeClasspathIndexIfNecessary(new ArrayList<>(included.keySet()), getLayout(), writer);
+		}
+
+		void addTo(PackageIndex packageIndex) throws IOException {
 			for (Entry<String, Library> entry : this.libraries.entrySet()) {
-				String path = entry.getKey();
-				Library library = entry.getValue();
-				if (library.isIncluded()) {
-					String location = path.substring(0, path.lastIndexOf('/') + 1);
-					writer.writeNestedLibrary(location, library);
-					writtenPaths.add(path);
+				if (entry.getValue().isIncluded()) {
+					packageIndex.add(entry.getKey(), entry.getValue());
 				}
 			}
-			writeClasspathIndexIfNecessary(writtenPaths, getLayout(), writer);
 		}
 
 		private void writeClasspathIndexIfNecessary(List<String> paths, Layout layout, AbstractJarWriter writer)
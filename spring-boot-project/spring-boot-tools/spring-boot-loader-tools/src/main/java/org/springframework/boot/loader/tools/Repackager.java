@@ -101,7 +101,12 @@ public class Repackager extends Packager {
 
 	/**
 	 * Repackage to the given destination so that it can be launched using '
-	 * {@literal java -jar}'.
+	 * {@literal java -jar}'. The nested libraries that are written are recorded in an
+	 * index file alongside the destination, named after it with a
+	 * {@code .libraries.idx} suffix. When repackaging again, including in place, a
+	 * library that is unchanged since it was indexed is not read to calculate its CRC.
+	 * Its SHA-256 digest is checked as it is written and, if it does not match, the
+	 * archive is written again without using the index.
 	 * @param destination the destination file (may be the same as the source)
 	 * @param libraries the libraries required to run the archive
 	 * @param launchScript an optional launch script prepended to the front of the jar
@@ -125,11 +130,20 @@ public class Repackager extends Packager {
 			workingSource.delete();
 			renameFile(source, workingSource);
 		}
+		NestedLibraryIndex libraryIndex = NestedLibraryIndex.load(getLibraryIndexFile(destination));
 		destination.delete();
 		try {
 			try (JarFile sourceJar = new JarFile(workingSource)) {
-				repackage(sourceJar, destination, libraries, launchScript, lastModifiedTime);
+				try {
+					repackage(sourceJar, destination, libraryIndex, libraries, launchScript, lastModifiedTime);
+				}
+				catch (NestedLibraryIndex.StaleIndexException ex) {
+					libraryIndex = libraryIndex.withoutIndexedLibraries();
+					destination.delete();
+					repackage(sourceJar, destination, libraryIndex, libraries, launchScript, lastModifiedTime);
+				}
 			}
+			libraryIndex.save();
 		}
 		finally {
 			if (!this.backupSource && !source.equals(workingSource)) {
@@ -138,9 +152,14 @@ public class Repackager extends Packager {
 		}
 	}
 
-	private void repackage(JarFile sourceJar, File destination, Libraries libraries, LaunchScript launchScript,
-			FileTime lastModifiedTime) throws IOException {
+	private File getLibraryIndexFile(File destination) {
+		return new File(destination.getParentFile(), destination.getName() + ".libraries.idx");
+	}
+
+	private void repackage(JarFile sourceJar, File destination, NestedLibraryIndex libraryIndex, Libraries libraries,
+			LaunchScript launchScript, FileTime lastModifiedTime) throws IOException {
 		try (JarWriter writer = new JarWriter(destination, launchScript, lastModifiedTime)) {
+			writer.useLibraryIndex(libraryIndex);
 			write(sourceJar, libraries, writer, lastModifiedTime != null);
 		}
 		if (lastModifiedTime != null) {
@@ -238,6 +238,70 @@ abstract class AbstractPackagerTests<P extends Packager> {
 		assertThat(Arrays.asList(libraries)).containsExactlyElementsOf(expected);
 	}
 
+	@Test
+	void packageIndexIsNotWrittenByDefault() throws Exception {
+		TestJarFile libJar = new TestJarFile(this.tempDir);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class, JAN_1_1985);
+		File libJarFile = libJar.getFile();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		P packager = createPackager();
+		execute(packager, (callback) -> callback.library(newLibrary(libJarFile, LibraryScope.COMPILE, false)));
+		assertThat(getPackagedManifest().getMainAttributes().getValue("Spring-Boot-Package-Index")).isNull();
+		assertThat(hasPackagedEntry("BOOT-INF/packages.idx")).isFalse();
+	}
+
+	@Test
+	void packageIndex() throws Exception {
+		TestJarFile libJar1 = new TestJarFile(this.tempDir);
+		libJar1.addClass("a/b/C.class", ClassWithoutMainMethod.class, JAN_1_1985);
+		File libJarFile1 = libJar1.getFile();
+		TestJarFile libJar2 = new TestJarFile(this.tempDir);
+		libJar2.addClass("a/d/E.class", ClassWithoutMainMethod.class, JAN_1_1985);
+		libJar2.addFile("META-INF/versions/11/a/f/G.class", libJarFile1);
+		File libJarFile2 = libJar2.getFile();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		this.testJarFile.addFile("x.properties", libJarFile1);
+		P packager = createPackager();
+		packager.setIncludePackageIndex(true);
+		execute(packager, (callback) -> {
+			callback.library(newLibrary(libJarFile1, LibraryScope.COMPILE, false));
+			callback.library(newLibrary(libJarFile2, LibraryScope.COMPILE, false));
+		});
+		assertThat(getPackagedManifest().getMainAttributes().getValue("Spring-Boot-Package-Index"))
+				.isEqualTo("BOOT-INF/packages.idx");
+		String index = getPackagedEntryContent("BOOT-INF/packages.idx");
+		String lib1 = "BOOT-INF/lib/" + libJarFile1.getName();
+		String lib2 = "BOOT-INF/lib/" + libJarFile2.getName();
+		List<String> expected = new ArrayList<>();
+		expected.add("- '':");
+		expected.add("  - 'BOOT-INF/classes/'");
+		expected.add("  - '" + lib1 + "'");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'META-INF':");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'META-INF/versions':");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'META-INF/versions/11':");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'META-INF/versions/11/a':");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'META-INF/versions/11/a/f':");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'a':");
+		expected.add("  - 'BOOT-INF/classes/'");
+		expected.add("  - '" + lib1 + "'");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'a/b':");
+		expected.add("  - 'BOOT-INF/classes/'");
+		expected.add("  - '" + lib1 + "'");
+		expected.add("- 'a/d':");
+		expected.add("  - '" + lib2 + "'");
+		expected.add("- 'a/f':");
+		expected.add("  - '" + lib2 + "'");
+		assertThat(index.split("\\n"))
+				.containsExactly(expected.stream().map((s) -> s.replace('\'', '"')).toArray(String[]::new));
+	}
+
 	@Test
 	void layersIndex() throws Exception {
 		TestJarFile libJar1 = new TestJarFile(this.tempDir);
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link NestedLibraryIndex}.
+ *
+ * @author agent
+ */
+class NestedLibraryIndexTests {
+
+	private static final byte[] CONTENT = "library".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	File tempDir;
+
+	private File indexFile;
+
+	private File libraryFile;
+
+	private Library library;
+
+	@BeforeEach
+	void setup() throws IOException {
+		this.indexFile = new File(this.tempDir, "app.jar.libraries.idx");
+		this.libraryFile = new File(this.tempDir, "library.jar");
+		Files.write(this.libraryFile.toPath(), CONTENT);
+		this.library = new Library(this.libraryFile, LibraryScope.COMPILE);
+	}
+
+	@Test
+	void setupStoredEntryWhenNotIndexedReturnsFalse() {
+		NestedLibraryIndex index = NestedLibraryIndex.load(this.indexFile);
+		assertThat(index.setupStoredEntry(new JarArchiveEntry("BOOT-INF/lib/library.jar"), this.library)).isFalse();
+	}
+
+	@Test
+	void setupStoredEntryWhenIndexedAndUnchangedUsesIndex() throws IOException {
+		writeIndex(123456000L);
+		JarArchiveEntry entry = new JarArchiveEntry("BOOT-INF/lib/library.jar");
+		assertThat(NestedLibraryIndex.load(this.indexFile).setupStoredEntry(entry, this.library)).isTrue();
+		CRC32 crc = new CRC32();
+		crc.update(CONTENT);
+		assertThat(entry.getCrc()).isEqualTo(crc.getValue());
+		assertThat(entry.getSize()).isEqualTo(CONTENT.length);
+		assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+		assertThat(entry.getTime()).isEqualTo(123456000L);
+	}
+
+	@Test
+	void setupStoredEntryWhenLibraryLengthChangedReturnsFalse() throws IOException {
+		writeIndex(0);
+		Files.write(this.libraryFile.toPath(), "changed library".getBytes(StandardCharsets.UTF_8));
+		JarArchiveEntry entry = new JarArchiveEntry("BOOT-INF/lib/library.jar");
+		assertThat(NestedLibraryIndex.load(this.indexFile).setupStoredEntry(entry, this.library)).isFalse();
+	}
+
+	@Test
+	void openStreamWhenContentDoesNotMatchDigestThrowsException() throws IOException {
+		writeIndex(0);
+		long lastModified = this.libraryFile.lastModified();
+		Files.write(this.libraryFile.toPath(), "LIBRARY".getBytes(StandardCharsets.UTF_8));
+		this.libraryFile.setLastModified(lastModified);
+		NestedLibraryIndex index = NestedLibraryIndex.load(this.indexFile);
+		JarArchiveEntry entry = new JarArchiveEntry("BOOT-INF/lib/library.jar");
+		assertThat(index.setupStoredEntry(entry, this.library)).isTrue();
+		assertThatExceptionOfType(NestedLibraryIndex.StaleIndexException.class).isThrownBy(() -> {
+			try (InputStream inputStream = index.openStream(entry, this.library, true)) {
+				StreamUtils.drain(inputStream);
+			}
+		});
+	}
+
+	@Test
+	void saveWhenStreamNotReadInFullDoesNotIndexLibrary() throws IOException {
+		NestedLibraryIndex index = NestedLibraryIndex.load(this.indexFile);
+		JarArchiveEntry entry = new JarArchiveEntry("BOOT-INF/lib/library.jar");
+		index.openStream(entry, this.library, false).close();
+		index.save();
+		assertThat(NestedLibraryIndex.load(this.indexFile).setupStoredEntry(entry, this.library)).isFalse();
+	}
+
+	@Test
+	void loadWhenIndexIsInvalidIgnoresIt() throws IOException {
+		Files.write(this.indexFile.toPath(), "BOOT-INF/lib/library.jar=invalid,1,2,3,4,5".getBytes());
+		JarArchiveEntry entry = new JarArchiveEntry("BOOT-INF/lib/library.jar");
+		assertThat(NestedLibraryIndex.load(this.indexFile).setupStoredEntry(entry, this.library)).isFalse();
+	}
+
+	private void writeIndex(long time) throws IOException {
+		NestedLibraryIndex index = NestedLibraryIndex.load(this.indexFile);
+		JarArchiveEntry entry = new JarArchiveEntry("BOOT-INF/lib/library.jar");
+		entry.setTime(time);
+		try (InputStream inputStream = index.openStream(entry, this.library, false)) {
+			StreamUtils.drain(inputStream);
+		}
+		index.save();
+	}
+
+}
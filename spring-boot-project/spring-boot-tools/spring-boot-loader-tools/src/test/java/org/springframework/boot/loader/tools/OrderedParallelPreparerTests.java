@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Tests for {@link OrderedParallelPreparer}.
+ *
+ * @author agent
+ */
+class OrderedParallelPreparerTests {
+
+	@Test
+	void preparedItemsAreConsumedInSubmissionOrder() throws Exception {
+		List<Integer> consumed = new ArrayList<>();
+		List<Integer> expected = new ArrayList<>();
+		try (OrderedParallelPreparer<Integer> preparer = new OrderedParallelPreparer<>(consumed::add, 4)) {
+			for (int i = 0; i < 100; i++) {
+				int item = i;
+				expected.add(item);
+				preparer.submit(() -> {
+					Thread.sleep((100 - item) % 7);
+					return item;
+				});
+			}
+			preparer.finish();
+		}
+		assertThat(consumed).isEqualTo(expected);
+	}
+
+	@Test
+	void failedPreparationIsRethrown() throws Exception {
+		List<String> consumed = new ArrayList<>();
+		try (OrderedParallelPreparer<String> preparer = new OrderedParallelPreparer<>(consumed::add, 2)) {
+			preparer.submit(() -> "a");
+			preparer.submit(() -> {
+				throw new IOException("Failed");
+			});
+			assertThatIOException().isThrownBy(preparer::finish).withMessage("Failed");
+		}
+		assertThat(consumed).containsExactly("a");
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.boot.loader.tools;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
@@ -28,15 +29,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
+import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
@@ -202,6 +207,86 @@ class RepackagerTests extends AbstractPackagerTests<Repackager> {
 		}
 	}
 
+	@Test
+	void repackagingIsReproducible() throws IOException {
+		this.testJarFile.addClass("A.class", ClassWithMainMethod.class);
+		for (int i = 0; i < 50; i++) {
+			this.testJarFile.addClass("a/b/C" + i + ".class", ClassWithoutMainMethod.class);
+		}
+		TestJarFile nested = new TestJarFile(this.tempDir);
+		nested.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		File nestedFile = nested.getFile();
+		Repackager repackager = createRepackager(this.testJarFile.getFile(), true);
+		FileTime lastModifiedTime = FileTime.fromMillis(
+				OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli());
+		Libraries libraries = (callback) -> callback
+				.library(new Library(null, nestedFile, LibraryScope.COMPILE, null, false, false, true));
+		repackager.repackage(this.destination, libraries, null, lastModifiedTime);
+		byte[] first = Files.readAllBytes(this.destination.toPath());
+		repackager.repackage(this.destination, libraries, null, lastModifiedTime);
+		assertThat(Files.readAllBytes(this.destination.toPath())).isEqualTo(first);
+		assertThat(getPackagedEntry("BOOT-INF/classes/a/b/C1.class").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+		assertThat(getPackagedEntry("BOOT-INF/lib/" + nestedFile.getName()).getMethod()).isEqualTo(ZipEntry.STORED);
+		try (JarFile jarFile = new JarFile(this.destination)) {
+			JarEntry entry = jarFile.getJarEntry("BOOT-INF/classes/a/b/C1.class");
+			assertThat(FileCopyUtils.copyToByteArray(jarFile.getInputStream(entry))).hasSize((int) entry.getSize());
+		}
+	}
+
+	@Test
+	void repackageInPlaceUsesLibraryIndexOfPreviousRepackage() throws IOException {
+		this.testJarFile.addClass("A.class", ClassWithMainMethod.class);
+		TestJarFile nested = new TestJarFile(this.tempDir);
+		nested.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		File nestedFile = nested.getFile();
+		AtomicInteger opened = new AtomicInteger();
+		Libraries libraries = (callback) -> callback
+				.library(new Library(null, nestedFile, LibraryScope.COMPILE, null, false, false, true) {
+
+					@Override
+					InputStream openStream() throws IOException {
+						opened.incrementAndGet();
+						return super.openStream();
+					}
+
+				});
+		File source = this.testJarFile.getFile();
+		createRepackager(source, false).repackage(this.destination, libraries);
+		int openedWhenNotIndexed = opened.getAndSet(0);
+		assertThat(new File(source.getParentFile(), source.getName() + ".libraries.idx")).isFile();
+		FileCopyUtils.copy(this.testJarFile.getFile(), source);
+		createRepackager(source, false).repackage(this.destination, libraries);
+		assertThat(opened.get()).isLessThan(openedWhenNotIndexed);
+		try (JarFile jarFile = new JarFile(this.destination)) {
+			JarEntry entry = jarFile.getJarEntry("BOOT-INF/lib/" + nestedFile.getName());
+			assertThat(entry.getSize()).isEqualTo(nestedFile.length());
+			assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+		}
+	}
+
+	@Test
+	void repackageWhenIndexedLibraryChangesWithoutChangingLengthOrTimestampWritesCurrentContent()
+			throws IOException {
+		this.testJarFile.addClass("A.class", ClassWithMainMethod.class);
+		File nestedFile = new File(this.tempDir, "nested.jar");
+		Files.write(nestedFile.toPath(), "PK\u0003\u0004first".getBytes(StandardCharsets.ISO_8859_1));
+		long lastModified = nestedFile.lastModified();
+		Libraries libraries = (callback) -> callback.library(new Library(nestedFile, LibraryScope.COMPILE));
+		Repackager repackager = createRepackager(this.testJarFile.getFile(), true);
+		repackager.repackage(this.destination, libraries);
+		byte[] changed = "PK\u0003\u0004other".getBytes(StandardCharsets.ISO_8859_1);
+		Files.write(nestedFile.toPath(), changed);
+		nestedFile.setLastModified(lastModified);
+		repackager.repackage(this.destination, libraries);
+		try (JarFile jarFile = new JarFile(this.destination)) {
+			JarEntry entry = jarFile.getJarEntry("BOOT-INF/lib/nested.jar");
+			CRC32 crc = new CRC32();
+			crc.update(changed);
+			assertThat(entry.getCrc()).isEqualTo(crc.getValue());
+			assertThat(FileCopyUtils.copyToByteArray(jarFile.getInputStream(entry))).isEqualTo(changed);
+		}
+	}
+
 	private boolean hasLauncherClasses(File file) throws IOException {
 		return hasEntry(file, "org/springframework/boot/")
 				&& hasEntry(file, "org/springframework/boot/loader/JarLauncher.class");
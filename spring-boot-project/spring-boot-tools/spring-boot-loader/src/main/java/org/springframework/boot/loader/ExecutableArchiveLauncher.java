@@ -44,10 +44,16 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 
 	protected static final String DEFAULT_CLASSPATH_INDEX_FILE_NAME = "classpath.idx";
 
+	protected static final String BOOT_PACKAGE_INDEX_ATTRIBUTE = "Spring-Boot-Package-Index";
+
+	private static final String DEBUG = "loader.debug";
+
 	private final Archive archive;
 
 	private final ClassPathIndexFile classPathIndex;
 
+	private PackageIndexFile packageIndex;
+
 	public ExecutableArchiveLauncher() {
 		try {
 			this.archive = createArchive();
@@ -84,6 +90,20 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		return (location != null) ? location : getArchiveEntryPathPrefix() + DEFAULT_CLASSPATH_INDEX_FILE_NAME;
 	}
 
+	/**
+	 * Return the {@link PackageIndexFile} that should be used to route class and resource
+	 * lookups or {@code null} if the archive does not contain a package index.
+	 * @param archive the source archive
+	 * @return the package index or {@code null}
+	 * @throws IOException on IO error
+	 */
+	PackageIndexFile getPackageIndex(Archive archive) throws IOException {
+		Manifest manifest = archive.getManifest();
+		Attributes attributes = (manifest != null) ? manifest.getMainAttributes() : null;
+		String location = (attributes != null) ? attributes.getValue(BOOT_PACKAGE_INDEX_ATTRIBUTE) : null;
+		return (location != null) ? PackageIndexFile.loadIfPossible(archive.getUrl(), location) : null;
+	}
+
 	@Override
 	protected String getMainClass() throws Exception {
 		Manifest manifest = this.archive.getManifest();
@@ -106,9 +126,35 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		if (this.classPathIndex != null) {
 			urls.addAll(this.classPathIndex.getUrls());
 		}
+		this.packageIndex = getPackageIndex(this.archive);
 		return createClassLoader(urls.toArray(new URL[0]));
 	}
 
+	@Override
+	protected ClassLoader createClassLoader(URL[] urls) throws Exception {
+		return new LaunchedURLClassLoader(isExploded(), getArchive(), urls, getClass().getClassLoader(),
+				this.packageIndex);
+	}
+
+	@Override
+	protected void launch(String[] args, String launchClass, ClassLoader classLoader) throws Exception {
+		try {
+			super.launch(args, launchClass, classLoader);
+		}
+		finally {
+			debugPackageIndexLookups(classLoader);
+		}
+	}
+
+	private void debugPackageIndexLookups(ClassLoader classLoader) {
+		if (this.packageIndex != null && classLoader instanceof LaunchedURLClassLoader && Boolean.getBoolean(DEBUG)) {
+			LaunchedURLClassLoader launchedClassLoader = (LaunchedURLClassLoader) classLoader;
+			System.out.println("Package index resolved " + launchedClassLoader.getIndexedLookupCount()
+					+ " lookups and skipped " + launchedClassLoader.getSkippedLookupCount()
+					+ " class path entry lookups");
+		}
+	}
+
 	private int guessClassPathSize() {
 		if (this.classPathIndex != null) {
 			return this.classPathIndex.size() + 10;
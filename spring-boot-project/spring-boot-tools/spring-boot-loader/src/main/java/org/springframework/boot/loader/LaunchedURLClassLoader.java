@@ -23,8 +23,12 @@ import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.security.CodeSource;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
@@ -55,6 +59,10 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 
 	private volatile DefinePackageCallType definePackageCallType;
 
+	private final PackageIndex packageIndex;
+
+	private final AtomicReferenceArray<JarFile> indexedJarFiles;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
@@ -83,13 +91,52 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 	 * @since 2.3.1
 	 */
 	public LaunchedURLClassLoader(boolean exploded, Archive rootArchive, URL[] urls, ClassLoader parent) {
+		this(exploded, rootArchive, urls, parent, null);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param exploded if the underlying archive is exploded
+	 * @param rootArchive the root archive or {@code null}
+	 * @param urls the URLs from which to load classes and resources
+	 * @param parent the parent class loader for delegation
+	 * @param packageIndexFile the package index used to route lookups or {@code null}
+	 */
+	LaunchedURLClassLoader(boolean exploded, Archive rootArchive, URL[] urls, ClassLoader parent,
+			PackageIndexFile packageIndexFile) {
 		super(urls, parent);
 		this.exploded = exploded;
 		this.rootArchive = rootArchive;
+		this.packageIndex = PackageIndex.get(packageIndexFile, urls);
+		this.indexedJarFiles = (this.packageIndex != null) ? new AtomicReferenceArray<>(urls.length) : null;
+	}
+
+	/**
+	 * Return the number of class and resource lookups that were resolved using the
+	 * package index written when the archive was packaged.
+	 * @return the number of indexed lookups
+	 * @since 3.0.0
+	 */
+	public long getIndexedLookupCount() {
+		return (this.packageIndex != null) ? this.packageIndex.getIndexedLookupCount() : 0;
+	}
+
+	/**
+	 * Return the number of class path entries that did not need to be searched because
+	 * the package index showed that they could not contain the requested class or
+	 * resource.
+	 * @return the number of skipped class path entry lookups
+	 * @since 3.0.0
+	 */
+	public long getSkippedLookupCount() {
+		return (this.packageIndex != null) ? this.packageIndex.getSkippedLookupCount() : 0;
 	}
 
 	@Override
 	public URL findResource(String name) {
+		if (isKnownMissing(name)) {
+			return null;
+		}
 		if (this.exploded) {
 			return super.findResource(name);
 		}
@@ -104,6 +151,9 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 
 	@Override
 	public Enumeration<URL> findResources(String name) throws IOException {
+		if (isKnownMissing(name)) {
+			return Collections.emptyEnumeration();
+		}
 		if (this.exploded) {
 			return super.findResources(name);
 		}
@@ -153,6 +203,73 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		if (this.packageIndex == null) {
+			return super.findClass(name);
+		}
+		String classEntryName = name.replace('.', '/') + ".class";
+		int[] candidates = this.packageIndex.getCandidates(classEntryName);
+		if (candidates == null || (candidates.length > 0 && this.exploded)) {
+			return super.findClass(name);
+		}
+		this.packageIndex.recordLookup(candidates);
+		for (int candidate : candidates) {
+			Class<?> definedClass = defineIndexedClass(name, classEntryName, candidate);
+			if (definedClass != null) {
+				return definedClass;
+			}
+		}
+		throw new ClassNotFoundException(name);
+	}
+
+	private Class<?> defineIndexedClass(String name, String classEntryName, int candidate)
+			throws ClassNotFoundException {
+		try {
+			JarFile jarFile = getIndexedJarFile(candidate);
+			JarEntry entry = (jarFile != null) ? jarFile.getJarEntry(classEntryName) : null;
+			if (entry == null) {
+				return null;
+			}
+			byte[] bytes;
+			try (InputStream inputStream = jarFile.getInputStream(entry)) {
+				bytes = inputStream.readAllBytes();
+			}
+			CodeSource codeSource = new CodeSource(this.packageIndex.getUrl(candidate), entry.getCodeSigners());
+			return defineClass(name, bytes, 0, bytes.length, codeSource);
+		}
+		catch (IOException ex) {
+			throw new ClassNotFoundException(name, ex);
+		}
+	}
+
+	private JarFile getIndexedJarFile(int candidate) throws IOException {
+		JarFile jarFile = this.indexedJarFiles.get(candidate);
+		if (jarFile == null) {
+			URLConnection connection = this.packageIndex.getUrl(candidate).openConnection();
+			if (!(connection instanceof JarURLConnection)) {
+				return null;
+			}
+			jarFile = ((JarURLConnection) connection).getJarFile();
+			if (!this.indexedJarFiles.compareAndSet(candidate, null, jarFile)) {
+				jarFile = this.indexedJarFiles.get(candidate);
+			}
+		}
+		return jarFile;
+	}
+
+	private boolean isKnownMissing(String name) {
+		if (this.packageIndex == null) {
+			return false;
+		}
+		int[] candidates = this.packageIndex.getCandidates(name);
+		if (candidates == null || candidates.length > 0) {
+			return false;
+		}
+		this.packageIndex.recordLookup(candidates);
+		return true;
+	}
+
 	private Class<?> loadClassInLaunchedClassLoader(String name) throws ClassNotFoundException {
 		String internalName = name.replace('.', '/') + ".class";
 		InputStream inputStream = getParent().getResourceAsStream(internalName);
@@ -214,7 +331,7 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 	private void definePackage(String className, String packageName) {
 		String packageEntryName = packageName.replace('.', '/') + "/";
 		String classEntryName = className.replace('.', '/') + ".class";
-		for (URL url : getURLs()) {
+		for (URL url : getPackageCandidateUrls(classEntryName)) {
 			try {
 				URLConnection connection = url.openConnection();
 				if (connection instanceof JarURLConnection) {
@@ -232,6 +349,19 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	private URL[] getPackageCandidateUrls(String classEntryName) {
+		int[] candidates = (this.packageIndex != null) ? this.packageIndex.getCandidates(classEntryName) : null;
+		if (candidates == null) {
+			return getURLs();
+		}
+		this.packageIndex.recordLookup(candidates);
+		URL[] urls = new URL[candidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			urls[i] = this.packageIndex.getUrl(candidates[i]);
+		}
+		return urls;
+	}
+
 	@Override
 	protected Package definePackage(String name, Manifest man, URL url) throws IllegalArgumentException {
 		if (!this.exploded) {
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link PackageIndexFile} resolved against the URLs of a
+ * {@link LaunchedURLClassLoader}. Provides the URLs that can contain a given resource so
+ * that lookups can skip URLs that are known not to contain it.
+ *
+ * @author agent
+ */
+final class PackageIndex {
+
+	private static final int[] NONE = {};
+
+	private final URL[] urls;
+
+	private final Map<String, int[]> packages;
+
+	private final AtomicLong indexedLookups = new AtomicLong();
+
+	private final AtomicLong skippedLookups = new AtomicLong();
+
+	private PackageIndex(URL[] urls, Map<String, int[]> packages) {
+		this.urls = urls;
+		this.packages = packages;
+	}
+
+	/**
+	 * Return the URL at the given index.
+	 * @param index the URL index
+	 * @return the URL
+	 */
+	URL getUrl(int index) {
+		return this.urls[index];
+	}
+
+	/**
+	 * Return the indexes of the URLs that may contain the given resource, in class path
+	 * order. Directory resources and names that refer to nested jars cannot be resolved
+	 * using the index.
+	 * @param name the resource name
+	 * @return the URL indexes (empty if no URL contains the resource) or {@code null}
+	 * if the index cannot be used for the resource
+	 */
+	int[] getCandidates(String name) {
+		if (name.isEmpty() || name.endsWith("/") || name.contains("!/")) {
+			return null;
+		}
+		int lastSlash = name.lastIndexOf('/');
+		String packageName = (lastSlash != -1) ? name.substring(0, lastSlash) : "";
+		return this.packages.getOrDefault(packageName, NONE);
+	}
+
+	/**
+	 * Record that a lookup was performed using the given candidates rather than all
+	 * URLs.
+	 * @param candidates the candidates that were used
+	 */
+	void recordLookup(int[] candidates) {
+		this.indexedLookups.incrementAndGet();
+		this.skippedLookups.addAndGet(this.urls.length - candidates.length);
+	}
+
+	/**
+	 * Return the number of lookups that were resolved using the index.
+	 * @return the number of indexed lookups
+	 */
+	long getIndexedLookupCount() {
+		return this.indexedLookups.get();
+	}
+
+	/**
+	 * Return the number of URL lookups that the index allowed to be skipped.
+	 * @return the number of skipped lookups
+	 */
+	long getSkippedLookupCount() {
+		return this.skippedLookups.get();
+	}
+
+	/**
+	 * Resolve the given index file against the class loader URLs. The index can only be
+	 * used if it covers every URL so {@code null} is returned if any URL is missing from
+	 * the index.
+	 * @param indexFile the index file
+	 * @param urls the class loader URLs
+	 * @return a resolved {@link PackageIndex} or {@code null}
+	 */
+	static PackageIndex get(PackageIndexFile indexFile, URL[] urls) {
+		if (indexFile == null || urls.length == 0) {
+			return null;
+		}
+		Map<String, Integer> urlIndexes = new HashMap<>();
+		for (String location : indexFile.getLocations()) {
+			urlIndexes.put(stripTrailingSlash(location), null);
+		}
+		for (int i = 0; i < urls.length; i++) {
+			String location = findLocation(urls[i], urlIndexes);
+			if (location == null || urlIndexes.get(location) != null) {
+				return null;
+			}
+			urlIndexes.put(location, i);
+		}
+		Map<String, int[]> packages = new HashMap<>();
+		indexFile.getPackages().forEach((packageName) -> {
+			int[] candidates = getCandidates(indexFile.getLocations(packageName), urlIndexes);
+			if (candidates.length > 0) {
+				packages.put(packageName, candidates);
+			}
+		});
+		return new PackageIndex(urls.clone(), packages);
+	}
+
+	private static String findLocation(URL url, Map<String, Integer> urlIndexes) {
+		String candidate = url.toString();
+		if (candidate.endsWith("!/")) {
+			candidate = candidate.substring(0, candidate.length() - 2);
+		}
+		candidate = stripTrailingSlash(candidate);
+		int slash = candidate.indexOf('/');
+		while (slash != -1) {
+			String location = candidate.substring(slash + 1);
+			if (urlIndexes.containsKey(location)) {
+				return location;
+			}
+			slash = candidate.indexOf('/', slash + 1);
+		}
+		return null;
+	}
+
+	private static int[] getCandidates(List<String> locations, Map<String, Integer> urlIndexes) {
+		int[] candidates = new int[locations.size()];
+		int size = 0;
+		for (String location : locations) {
+			Integer index = urlIndexes.get(stripTrailingSlash(location));
+			if (index != null) {
+				candidates[size++] = index;
+			}
+		}
+		candidates = Arrays.copyOf(candidates, size);
+		Arrays.sort(candidates);
+		return candidates;
+	}
+
+	private static String stripTrailingSlash(String location) {
+		return location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+	}
+
+}
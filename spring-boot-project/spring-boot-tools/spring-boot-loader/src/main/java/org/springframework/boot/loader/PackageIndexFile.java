@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A package index file that maps each package (directory) to the nested JARs and
+ * directories that contain it. Each package lists every location with entries in that
+ * package or any of its sub-packages. Package names use {@code '/'} separators and the
+ * root package is represented by an empty string.
+ *
+ * @author agent
+ */
+final class PackageIndexFile {
+
+	private final Map<String, List<String>> packages;
+
+	private final Set<String> locations;
+
+	private PackageIndexFile(Map<String, List<String>> packages) {
+		this.packages = packages;
+		Set<String> locations = new LinkedHashSet<>();
+		packages.values().forEach(locations::addAll);
+		this.locations = Collections.unmodifiableSet(locations);
+	}
+
+	/**
+	 * Return all packages contained in the index.
+	 * @return the package names
+	 */
+	Set<String> getPackages() {
+		return this.packages.keySet();
+	}
+
+	/**
+	 * Return all locations referenced by the index.
+	 * @return the locations
+	 */
+	Set<String> getLocations() {
+		return this.locations;
+	}
+
+	/**
+	 * Return the locations that contain the given package.
+	 * @param packageName the package name using {@code '/'} separators
+	 * @return the locations or an empty list if no location contains the package
+	 */
+	List<String> getLocations(String packageName) {
+		return this.packages.getOrDefault(packageName, Collections.emptyList());
+	}
+
+	int size() {
+		return this.packages.size();
+	}
+
+	static PackageIndexFile loadIfPossible(URL root, String location) throws IOException {
+		try (InputStream inputStream = new URL(root, location).openStream()) {
+			return new PackageIndexFile(loadPackages(inputStream));
+		}
+		catch (FileNotFoundException ex) {
+			return null;
+		}
+	}
+
+	private static Map<String, List<String>> loadPackages(InputStream inputStream) throws IOException {
+		Map<String, List<String>> packages = new LinkedHashMap<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		List<String> locations = null;
+		String line = reader.readLine();
+		while (line != null) {
+			if (line.startsWith("- \"") && line.endsWith("\":")) {
+				locations = new ArrayList<>();
+				packages.put(line.substring(3, line.length() - 2), locations);
+			}
+			else if (line.startsWith("  - \"") && line.endsWith("\"") && locations != null) {
+				locations.add(line.substring(5, line.length() - 1));
+			}
+			else if (!line.trim().isEmpty()) {
+				throw new IllegalStateException("Malformed package index line [" + line + "]");
+			}
+			line = reader.readLine();
+		}
+		return Collections.unmodifiableMap(packages);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2019 the original author or authors.
+ * Copyright 2012-2021 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,9 +22,14 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 
 /**
- * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}.
+ * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}. If
+ * {@code loader.mapped} is set to {@code true} the file is instead memory-mapped so that
+ * concurrent reads do not need to contend on a single file pointer.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -32,6 +37,11 @@ import java.io.RandomAccessFile;
  */
 public class RandomAccessDataFile implements RandomAccessData {
 
+	/**
+	 * The name of the system property that can be used to enable memory-mapped access.
+	 */
+	public static final String MAPPED_PROPERTY = "loader.mapped";
+
 	private final FileAccess fileAccess;
 
 	private final long offset;
@@ -44,10 +54,24 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 * @throws IllegalArgumentException if the file is null or does not exist
 	 */
 	public RandomAccessDataFile(File file) {
+		this(file, Boolean.getBoolean(MAPPED_PROPERTY));
+	}
+
+	/**
+	 * Create a new {@link RandomAccessDataFile} backed by the specified file.
+	 * @param file the underlying file
+	 * @param mapped if the file should be memory-mapped rather than read using a
+	 * {@link RandomAccessFile}. Files larger than {@link Integer#MAX_VALUE} bytes are
+	 * never mapped.
+	 * @throws IllegalArgumentException if the file is null or does not exist
+	 * @since 3.0.0
+	 */
+	public RandomAccessDataFile(File file, boolean mapped) {
 		if (file == null) {
 			throw new IllegalArgumentException("File must not be null");
 		}
-		this.fileAccess = new FileAccess(file);
+		this.fileAccess = (mapped && file.length() <= Integer.MAX_VALUE) ? new MappedFileAccess(file)
+				: new RandomAccessFileAccess(file);
 		this.offset = 0L;
 		this.length = file.length();
 	}
@@ -69,7 +93,16 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 * @return the underlying file
 	 */
 	public File getFile() {
-		return this.fileAccess.file;
+		return this.fileAccess.getFile();
+	}
+
+	/**
+	 * Returns if the underlying file is memory-mapped.
+	 * @return if the file is memory-mapped
+	 * @since 3.0.0
+	 */
+	public boolean isMapped() {
+		return this.fileAccess instanceof MappedFileAccess;
 	}
 
 	@Override
@@ -202,7 +235,26 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	}
 
-	private static final class FileAccess {
+	/**
+	 * Strategy used to access the underlying file.
+	 */
+	private interface FileAccess {
+
+		File getFile();
+
+		int read(byte[] bytes, long position, int offset, int length) throws IOException;
+
+		int readByte(long position) throws IOException;
+
+		void close() throws IOException;
+
+	}
+
+	/**
+	 * {@link FileAccess} backed by a {@link RandomAccessFile}. Reads are serialized since
+	 * they share a single file pointer.
+	 */
+	private static final class RandomAccessFileAccess implements FileAccess {
 
 		private final Object monitor = new Object();
 
@@ -210,12 +262,18 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 		private RandomAccessFile randomAccessFile;
 
-		private FileAccess(File file) {
+		private RandomAccessFileAccess(File file) {
 			this.file = file;
 			openIfNecessary();
 		}
 
-		private int read(byte[] bytes, long position, int offset, int length) throws IOException {
+		@Override
+		public File getFile() {
+			return this.file;
+		}
+
+		@Override
+		public int read(byte[] bytes, long position, int offset, int length) throws IOException {
 			synchronized (this.monitor) {
 				openIfNecessary();
 				this.randomAccessFile.seek(position);
@@ -235,7 +293,8 @@ public class RandomAccessDataFile implements RandomAccessData {
 			}
 		}
 
-		private void close() throws IOException {
+		@Override
+		public void close() throws IOException {
 			synchronized (this.monitor) {
 				if (this.randomAccessFile != null) {
 					this.randomAccessFile.close();
@@ -244,7 +303,8 @@ public class RandomAccessDataFile implements RandomAccessData {
 			}
 		}
 
-		private int readByte(long position) throws IOException {
+		@Override
+		public int readByte(long position) throws IOException {
 			synchronized (this.monitor) {
 				openIfNecessary();
 				this.randomAccessFile.seek(position);
@@ -254,4 +314,79 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	}
 
+	/**
+	 * {@link FileAccess} backed by a read-only memory-mapped {@link ByteBuffer}. Reads
+	 * use absolute positions and do not require any locking. Since mapped buffers cannot
+	 * be released explicitly, {@link #close()} only drops the mapping so that it can be
+	 * reclaimed by the garbage collector.
+	 */
+	private static final class MappedFileAccess implements FileAccess {
+
+		private final Object monitor = new Object();
+
+		private final File file;
+
+		private volatile ByteBuffer buffer;
+
+		private MappedFileAccess(File file) {
+			this.file = file;
+			getBuffer();
+		}
+
+		@Override
+		public File getFile() {
+			return this.file;
+		}
+
+		@Override
+		public int read(byte[] bytes, long position, int offset, int length) throws IOException {
+			ByteBuffer buffer = getBuffer();
+			if (position >= buffer.limit()) {
+				return -1;
+			}
+			int count = (int) Math.min(length, buffer.limit() - position);
+			buffer.get((int) position, bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public int readByte(long position) throws IOException {
+			ByteBuffer buffer = getBuffer();
+			return (position < buffer.limit()) ? buffer.get((int) position) & 0xFF : -1;
+		}
+
+		private ByteBuffer getBuffer() {
+			ByteBuffer buffer = this.buffer;
+			if (buffer != null) {
+				return buffer;
+			}
+			synchronized (this.monitor) {
+				if (this.buffer == null) {
+					this.buffer = map();
+				}
+				return this.buffer;
+			}
+		}
+
+		private ByteBuffer map() {
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r")) {
+				FileChannel channel = randomAccessFile.getChannel();
+				return channel.map(MapMode.READ_ONLY, 0, channel.size());
+			}
+			catch (FileNotFoundException ex) {
+				throw new IllegalArgumentException(String.format("File %s must exist", this.file.getAbsolutePath()));
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(String.format("Unable to map file %s", this.file.getAbsolutePath()),
+						ex);
+			}
+		}
+
+		@Override
+		public void close() {
+			this.buffer = null;
+		}
+
+	}
+
 }
@@ -19,11 +19,9 @@ package org.springframework.boot.loader.jar;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.jar.Attributes;
 import java.util.jar.Attributes.Name;
 import java.util.jar.JarInputStream;
@@ -42,6 +40,9 @@ import org.springframework.boot.loader.data.RandomAccessData;
  * <p>
  * A typical Spring Boot application will have somewhere in the region of 10,500 entries
  * which should consume about 122K.
+ * <p>
+ * Recently accessed entries are held in a small lock-free table indexed by entry position
+ * so that concurrent class loading does not contend on a shared cache monitor.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -77,7 +78,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private static final char NO_SUFFIX = 0;
 
-	protected static final int ENTRY_CACHE_SIZE = 25;
+	protected static final int ENTRY_CACHE_SIZE = 32;
 
 	private final JarFile jarFile;
 
@@ -97,15 +98,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private JarEntryCertification[] certifications;
 
-	private final Map<Integer, FileHeader> entriesCache = Collections
-			.synchronizedMap(new LinkedHashMap<Integer, FileHeader>(16, 0.75f, true) {
-
-				@Override
-				protected boolean removeEldestEntry(Map.Entry<Integer, FileHeader> eldest) {
-					return size() >= ENTRY_CACHE_SIZE;
-				}
-
-			});
+	private final AtomicReferenceArray<CachedEntry> entriesCache = new AtomicReferenceArray<>(ENTRY_CACHE_SIZE);
 
 	JarFileEntries(JarFile jarFile, JarEntryFilter filter) {
 		this.jarFile = jarFile;
@@ -311,14 +304,14 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	private <T extends FileHeader> T getEntry(int index, Class<T> type, boolean cacheEntry, AsciiBytes nameAlias) {
 		try {
 			long offset = this.centralDirectoryOffsets.get(index);
-			FileHeader cached = this.entriesCache.get(index);
+			FileHeader cached = getCachedEntry(index);
 			FileHeader entry = (cached != null) ? cached
 					: CentralDirectoryFileHeader.fromRandomAccessData(this.centralDirectoryData, offset, this.filter);
 			if (CentralDirectoryFileHeader.class.equals(entry.getClass()) && type.equals(JarEntry.class)) {
 				entry = new JarEntry(this.jarFile, index, (CentralDirectoryFileHeader) entry, nameAlias);
 			}
 			if (cacheEntry && cached != entry) {
-				this.entriesCache.put(index, entry);
+				this.entriesCache.set(getCacheSlot(index), new CachedEntry(index, entry));
 			}
 			return (T) entry;
 		}
@@ -338,8 +331,19 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		return index;
 	}
 
+	private FileHeader getCachedEntry(int index) {
+		CachedEntry cached = this.entriesCache.get(getCacheSlot(index));
+		return (cached != null && cached.index == index) ? cached.entry : null;
+	}
+
+	private int getCacheSlot(int index) {
+		return index & (ENTRY_CACHE_SIZE - 1);
+	}
+
 	void clearCache() {
-		this.entriesCache.clear();
+		for (int i = 0; i < ENTRY_CACHE_SIZE; i++) {
+			this.entriesCache.set(i, null);
+		}
 	}
 
 	private AsciiBytes applyFilter(AsciiBytes name) {
@@ -427,6 +431,22 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	}
 
+	/**
+	 * An entry held in the {@code entriesCache} along with its index.
+	 */
+	private static final class CachedEntry {
+
+		private final int index;
+
+		private final FileHeader entry;
+
+		private CachedEntry(int index, FileHeader entry) {
+			this.index = index;
+			this.entry = entry;
+		}
+
+	}
+
 	/**
 	 * Interface to manage offsets to central directory records. Regular zip files are
 	 * backed by an {@code int[]} based implementation, Zip64 files are backed by a
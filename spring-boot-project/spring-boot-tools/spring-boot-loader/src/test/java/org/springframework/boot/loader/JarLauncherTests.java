@@ -19,6 +19,8 @@ package org.springframework.boot.loader;
 import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -29,11 +31,14 @@ import java.util.jar.Attributes.Name;
 import java.util.jar.Manifest;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.springframework.boot.loader.archive.Archive;
 import org.springframework.boot.loader.archive.ExplodedArchive;
 import org.springframework.boot.loader.archive.JarFileArchive;
 import org.springframework.boot.testsupport.compiler.TestCompiler;
+import org.springframework.boot.testsupport.system.CapturedOutput;
+import org.springframework.boot.testsupport.system.OutputCaptureExtension;
 import org.springframework.util.FileCopyUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +49,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * @author Andy Wilkinson
  * @author Madhura Bhave
  */
+@ExtendWith(OutputCaptureExtension.class)
 class JarLauncherTests extends AbstractExecutableArchiveLauncherTests {
 
 	@Test
@@ -120,6 +126,29 @@ class JarLauncherTests extends AbstractExecutableArchiveLauncherTests {
 		assertThat(loaded.getPackage().getImplementationTitle()).isEqualTo("test");
 	}
 
+	@Test
+	void launchWhenDebugAndPackageIndexPresentPrintsLookupCounts(CapturedOutput output) throws Exception {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue("Spring-Boot-Package-Index", "BOOT-INF/packages.idx");
+		File explodedRoot = explode(
+				createJarArchive("archive.jar", manifest, "BOOT-INF", false, Collections.emptyList()));
+		String index = "- \"\":\n  - \"BOOT-INF/classes/\"\n  - \"BOOT-INF/lib/foo.jar\"\n"
+				+ "  - \"BOOT-INF/lib/bar.jar\"\n  - \"BOOT-INF/lib/baz.jar\"\n";
+		Files.write(new File(explodedRoot, "BOOT-INF/packages.idx").toPath(), index.getBytes(StandardCharsets.UTF_8));
+		JarLauncher launcher = new JarLauncher(new ExplodedArchive(explodedRoot, true));
+		ClassLoader classLoader = launcher.createClassLoader(launcher.getClassPathArchivesIterator());
+		System.setProperty("loader.debug", "true");
+		try {
+			launcher.launch(new String[0], MissingResourceMain.class.getName(), classLoader);
+		}
+		finally {
+			System.clearProperty("loader.debug");
+		}
+		assertThat(output).contains("Package index resolved 1 lookups and skipped 4 class path entry lookups");
+	}
+
 	protected final URL[] getExpectedFileUrls(File explodedRoot) {
 		return getExpectedFiles(explodedRoot).stream().map(this::toUrl).toArray(URL[]::new);
 	}
@@ -144,4 +173,12 @@ class JarLauncherTests extends AbstractExecutableArchiveLauncherTests {
 		return expected;
 	}
 
+	public static class MissingResourceMain {
+
+		public static void main(String[] args) {
+			Thread.currentThread().getContextClassLoader().getResource("missing/resource.txt");
+		}
+
+	}
+
 }
@@ -16,18 +16,31 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.boot.testsupport.compiler.TestCompiler;
+import org.springframework.util.FileCopyUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * Tests for {@link LaunchedURLClassLoader}.
@@ -108,4 +121,88 @@ class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	void loadClassUsingPackageIndex() throws Exception {
+		File file = createIndexedJar();
+		PackageIndexFile indexFile = PackageIndexFile.loadIfPossible(this.tempDir.toURI().toURL(), "packages.idx");
+		try (JarFile jarFile = new JarFile(file)) {
+			URL[] urls = { jarFile.getNestedJarFile(jarFile.getEntry("lib/a.jar")).getUrl(),
+					jarFile.getNestedJarFile(jarFile.getEntry("lib/b.jar")).getUrl() };
+			try (LaunchedURLClassLoader loader = new LaunchedURLClassLoader(false, null, urls, null, indexFile)) {
+				Class<?> loaded = loader.loadClass("explodedsample.ExampleClass");
+				assertThat(loaded.getClassLoader()).isSameAs(loader);
+				assertThat(loaded.getProtectionDomain().getCodeSource().getLocation()).isEqualTo(urls[0]);
+				assertThat(loader.getResource("other/1.dat")).isNotNull();
+				assertThat(loader.getIndexedLookupCount()).isGreaterThan(0);
+				assertThat(loader.getSkippedLookupCount()).isGreaterThan(0);
+			}
+		}
+	}
+
+	@Test
+	void missingPackageIsSkippedUsingPackageIndex() throws Exception {
+		File file = createIndexedJar();
+		PackageIndexFile indexFile = PackageIndexFile.loadIfPossible(this.tempDir.toURI().toURL(), "packages.idx");
+		try (JarFile jarFile = new JarFile(file)) {
+			URL[] urls = { jarFile.getNestedJarFile(jarFile.getEntry("lib/a.jar")).getUrl(),
+					jarFile.getNestedJarFile(jarFile.getEntry("lib/b.jar")).getUrl() };
+			try (LaunchedURLClassLoader loader = new LaunchedURLClassLoader(false, null, urls, null, indexFile)) {
+				assertThatExceptionOfType(ClassNotFoundException.class)
+						.isThrownBy(() -> loader.loadClass("missing.ExampleClass"));
+				assertThat(loader.getResource("missing/1.dat")).isNull();
+				assertThat(loader.getResources("missing/1.dat").hasMoreElements()).isFalse();
+				assertThat(loader.getSkippedLookupCount()).isEqualTo(8);
+			}
+		}
+	}
+
+	@Test
+	void packageIndexIsIgnoredWhenItDoesNotCoverAllUrls() throws Exception {
+		File file = createIndexedJar();
+		PackageIndexFile indexFile = PackageIndexFile.loadIfPossible(this.tempDir.toURI().toURL(), "packages.idx");
+		try (JarFile jarFile = new JarFile(file)) {
+			URL[] urls = { jarFile.getNestedJarFile(jarFile.getEntry("lib/a.jar")).getUrl(), jarFile.getUrl() };
+			try (LaunchedURLClassLoader loader = new LaunchedURLClassLoader(false, null, urls, null, indexFile)) {
+				assertThat(loader.getResource("lib/b.jar")).isNotNull();
+				assertThat(loader.getIndexedLookupCount()).isZero();
+			}
+		}
+	}
+
+	private File createIndexedJar() throws IOException {
+		File classes = new File(this.tempDir, "classes");
+		File source = new File(this.tempDir, "explodedsample/ExampleClass.java");
+		source.getParentFile().mkdirs();
+		FileCopyUtils.copy(new File("src/test/resources/explodedsample/ExampleClass.txt"), source);
+		new TestCompiler(classes).getTask(Collections.singleton(source)).call();
+		File file = new File(this.tempDir, "indexed.jar");
+		try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file))) {
+			writeNestedJar(jarOutputStream, "lib/a.jar", "explodedsample/ExampleClass.class",
+					Files.readAllBytes(new File(classes, "explodedsample/ExampleClass.class").toPath()));
+			writeNestedJar(jarOutputStream, "lib/b.jar", "other/1.dat", new byte[] { 1 });
+		}
+		String index = "- \"\":\n  - \"lib/a.jar\"\n  - \"lib/b.jar\"\n- \"explodedsample\":\n  - \"lib/a.jar\"\n"
+				+ "- \"other\":\n  - \"lib/b.jar\"\n";
+		Files.write(new File(this.tempDir, "packages.idx").toPath(), index.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private void writeNestedJar(JarOutputStream jarOutputStream, String name, String entryName, byte[] content)
+			throws IOException {
+		ByteArrayOutputStream nestedJarStream = new ByteArrayOutputStream();
+		try (JarOutputStream nestedJarOutputStream = new JarOutputStream(nestedJarStream)) {
+			nestedJarOutputStream.putNextEntry(new JarEntry(entryName));
+			nestedJarOutputStream.write(content);
+		}
+		byte[] nestedJar = nestedJarStream.toByteArray();
+		JarEntry entry = new JarEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(nestedJar.length);
+		CRC32 crc32 = new CRC32();
+		crc32.update(nestedJar);
+		entry.setCrc(crc32.getValue());
+		jarOutputStream.putNextEntry(entry);
+		jarOutputStream.write(nestedJar);
+	}
+
 }
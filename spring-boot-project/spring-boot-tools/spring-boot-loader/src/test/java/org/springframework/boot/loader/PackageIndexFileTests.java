@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PackageIndexFile} and {@link PackageIndex}.
+ *
+ * @author agent
+ */
+class PackageIndexFileTests {
+
+	private static final String INDEX = "- \"\":\n  - \"BOOT-INF/classes/\"\n  - \"BOOT-INF/lib/a.jar\"\n"
+			+ "  - \"BOOT-INF/lib/b.jar\"\n- \"com\":\n  - \"BOOT-INF/lib/b.jar\"\n  - \"BOOT-INF/classes/\"\n"
+			+ "- \"com/example\":\n  - \"BOOT-INF/classes/\"\n";
+
+	@TempDir
+	File temp;
+
+	@Test
+	void loadIfPossibleWhenMissingReturnsNull() throws Exception {
+		assertThat(PackageIndexFile.loadIfPossible(this.temp.toURI().toURL(), "packages.idx")).isNull();
+	}
+
+	@Test
+	void loadIfPossibleReturnsInstance() throws Exception {
+		PackageIndexFile indexFile = load(INDEX);
+		assertThat(indexFile.size()).isEqualTo(3);
+		assertThat(indexFile.getLocations()).containsExactly("BOOT-INF/classes/", "BOOT-INF/lib/a.jar",
+				"BOOT-INF/lib/b.jar");
+		assertThat(indexFile.getLocations("com")).containsExactly("BOOT-INF/lib/b.jar", "BOOT-INF/classes/");
+		assertThat(indexFile.getLocations("org")).isEmpty();
+	}
+
+	@Test
+	void loadIfPossibleWhenMalformedThrowsException() throws Exception {
+		assertThatIllegalStateException().isThrownBy(() -> load("- \"com\":\n  bad\n"))
+				.withMessage("Malformed package index line [  bad]");
+	}
+
+	@Test
+	void getCandidatesReturnsUrlsInClassPathOrder() throws Exception {
+		URL[] urls = { new URL("jar:file:/app.jar!/BOOT-INF/classes!/"),
+				new URL("jar:file:/app.jar!/BOOT-INF/lib/a.jar!/"),
+				new URL("jar:file:/app.jar!/BOOT-INF/lib/b.jar!/") };
+		PackageIndex packageIndex = PackageIndex.get(load(INDEX), urls);
+		assertThat(packageIndex.getCandidates("com/Example.class")).containsExactly(0, 2);
+		assertThat(packageIndex.getCandidates("com/example/Example.class")).containsExactly(0);
+		assertThat(packageIndex.getCandidates("org/Example.class")).isEmpty();
+		assertThat(packageIndex.getCandidates("application.properties")).containsExactly(0, 1, 2);
+		assertThat(packageIndex.getCandidates("com/")).isNull();
+		assertThat(packageIndex.getCandidates("a.jar!/com/Example.class")).isNull();
+	}
+
+	@Test
+	void getWhenExplodedResolvesUrls() throws Exception {
+		URL[] urls = { new File(this.temp, "BOOT-INF/classes").toURI().toURL(),
+				new File(this.temp, "BOOT-INF/lib/a.jar").toURI().toURL(),
+				new File(this.temp, "BOOT-INF/lib/b.jar").toURI().toURL() };
+		PackageIndex packageIndex = PackageIndex.get(load(INDEX), urls);
+		assertThat(packageIndex.getCandidates("com/Example.class")).containsExactly(0, 2);
+	}
+
+	@Test
+	void getWhenUrlIsNotIndexedReturnsNull() throws Exception {
+		URL[] urls = { new URL("jar:file:/app.jar!/BOOT-INF/classes!/"),
+				new URL("jar:file:/app.jar!/BOOT-INF/lib/c.jar!/") };
+		assertThat(PackageIndex.get(load(INDEX), urls)).isNull();
+	}
+
+	@Test
+	void recordLookupUpdatesCounts() throws Exception {
+		URL[] urls = { new URL("jar:file:/app.jar!/BOOT-INF/classes!/"),
+				new URL("jar:file:/app.jar!/BOOT-INF/lib/a.jar!/"),
+				new URL("jar:file:/app.jar!/BOOT-INF/lib/b.jar!/") };
+		PackageIndex packageIndex = PackageIndex.get(load(INDEX), urls);
+		packageIndex.recordLookup(packageIndex.getCandidates("com/example/Example.class"));
+		packageIndex.recordLookup(packageIndex.getCandidates("org/Example.class"));
+		assertThat(packageIndex.getIndexedLookupCount()).isEqualTo(2);
+		assertThat(packageIndex.getSkippedLookupCount()).isEqualTo(5);
+	}
+
+	private PackageIndexFile load(String content) throws IOException {
+		Files.write(new File(this.temp, "packages.idx").toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return PackageIndexFile.loadIfPossible(this.temp.toURI().toURL(), "packages.idx");
+	}
+
+}
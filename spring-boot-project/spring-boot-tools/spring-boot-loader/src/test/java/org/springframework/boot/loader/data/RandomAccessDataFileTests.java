@@ -288,4 +288,74 @@ class RandomAccessDataFileTests {
 		}
 	}
 
+	@Test
+	void isMappedWhenNotMapped() {
+		assertThat(this.file.isMapped()).isFalse();
+	}
+
+	@Test
+	void mappedReadWithOffsetAndLengthShouldRead() throws Exception {
+		RandomAccessDataFile mapped = new RandomAccessDataFile(this.tempFile, true);
+		try {
+			assertThat(mapped.isMapped()).isTrue();
+			assertThat(mapped.read(2, 3)).isEqualTo(new byte[] { 2, 3, 4 });
+			assertThat(mapped.getSubsection(250, 6).read()).isEqualTo(new byte[] { -6, -5, -4, -3, -2, -1 });
+		}
+		finally {
+			mapped.close();
+		}
+	}
+
+	@Test
+	void mappedInputStreamReadPastEnd() throws Exception {
+		RandomAccessDataFile mapped = new RandomAccessDataFile(this.tempFile, true);
+		try (InputStream inputStream = mapped.getInputStream()) {
+			byte[] b = new byte[300];
+			assertThat(inputStream.read(b)).isEqualTo(256);
+			assertThat(inputStream.read()).isEqualTo(-1);
+		}
+		finally {
+			mapped.close();
+		}
+	}
+
+	@Test
+	void mappedReadAfterClose() throws Exception {
+		RandomAccessDataFile mapped = new RandomAccessDataFile(this.tempFile, true);
+		mapped.close();
+		assertThat(mapped.read(255, 1)).isEqualTo(new byte[] { -1 });
+		mapped.close();
+	}
+
+	@Test
+	void mappedFileExists() {
+		File file = new File("/does/not/exist");
+		assertThatIllegalArgumentException().isThrownBy(() -> new RandomAccessDataFile(file, true))
+				.withMessageContaining(String.format("File %s must exist", file.getAbsolutePath()));
+	}
+
+	@Test
+	void mappedConcurrentReads() throws Exception {
+		RandomAccessDataFile mapped = new RandomAccessDataFile(this.tempFile, true);
+		ExecutorService executorService = Executors.newFixedThreadPool(20);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				results.add(executorService.submit(() -> {
+					InputStream subsectionInputStream = mapped.getSubsection(0, 256).getInputStream();
+					byte[] b = new byte[256];
+					subsectionInputStream.read(b);
+					return Arrays.equals(b, BYTES);
+				}));
+			}
+			for (Future<Boolean> future : results) {
+				assertThat(future.get()).isTrue();
+			}
+		}
+		finally {
+			executorService.shutdown();
+			mapped.close();
+		}
+	}
+
 }
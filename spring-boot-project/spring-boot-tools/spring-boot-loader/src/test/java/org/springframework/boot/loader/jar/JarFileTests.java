@@ -333,6 +333,19 @@ class JarFileTests {
 		}
 	}
 
+	@Test
+	void getNestedJarFileWhenMapped() throws Exception {
+		try (JarFile mappedJarFile = new JarFile(new RandomAccessDataFile(this.rootJarFile, true));
+				JarFile nestedJarFile = mappedJarFile.getNestedJarFile(mappedJarFile.getEntry("nested.jar"))) {
+			assertThat(mappedJarFile.getRootJarFile().isMapped()).isTrue();
+			assertThat(nestedJarFile.getComment()).isEqualTo("nested");
+			assertThat(nestedJarFile.size()).isEqualTo(5);
+			InputStream inputStream = nestedJarFile.getInputStream(nestedJarFile.getEntry("3.dat"));
+			assertThat(inputStream.read()).isEqualTo(3);
+			assertThat(inputStream.read()).isEqualTo(-1);
+		}
+	}
+
 	@Test
 	void getNestedJarDirectory() throws Exception {
 		try (JarFile nestedJarFile = this.jarFile.getNestedJarFile(this.jarFile.getEntry("d/"))) {
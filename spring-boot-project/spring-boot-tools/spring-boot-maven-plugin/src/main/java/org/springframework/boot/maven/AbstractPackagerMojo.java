@@ -112,6 +112,14 @@ public abstract class AbstractPackagerMojo extends AbstractDependencyFilterMojo
 	@Parameter
 	private Layers layers;
 
+	/**
+	 * Include a package index that allows the launcher to route class and resource
+	 * lookups to the nested jars that contain them.
+	 * @since 3.0.0
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean includePackageIndex;
+
 	/**
 	 * Return the type of archive that should be packaged by this MOJO.
 	 * @return {@code null}, indicating a layout type will be chosen based on the original
@@ -141,6 +149,7 @@ public abstract class AbstractPackagerMojo extends AbstractDependencyFilterMojo
 		packager.setLayoutFactory(getLayoutFactory());
 		packager.addMainClassTimeoutWarningListener(new LoggingMainClassTimeoutWarningListener(this::getLog));
 		packager.setMainClass(this.mainClass);
+		packager.setIncludePackageIndex(this.includePackageIndex);
 		LayoutType layout = getLayout();
 		if (layout != null) {
 			getLog().info("Layout: " + layout);
@@ -47,6 +47,12 @@ import org.springframework.core.Ordered;
  */
 public final class LazyInitializationBeanFactoryPostProcessor implements BeanFactoryPostProcessor, Ordered {
 
+	/**
+	 * Attribute set on the bean definitions that have been made lazy.
+	 */
+	static final String LAZY_INIT_ATTRIBUTE = LazyInitializationBeanFactoryPostProcessor.class.getName()
+			+ ".lazyInit";
+
 	@Override
 	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
 		Collection<LazyInitializationExcludeFilter> filters = getFilters(beanFactory);
@@ -76,6 +82,7 @@ public final class LazyInitializationBeanFactoryPostProcessor implements BeanFac
 		Class<?> beanType = getBeanType(beanFactory, beanName);
 		if (!isExcluded(filters, beanName, beanDefinition, beanType)) {
 			beanDefinition.setLazyInit(true);
+			beanDefinition.setAttribute(LAZY_INIT_ATTRIBUTE, Boolean.TRUE);
 		}
 	}
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+/**
+ * An enumeration of the ways in which singletons that have been made lazy by
+ * {@link SpringApplication#setLazyInitialization(boolean) lazy initialization} can be
+ * warmed up once the application is ready.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+public enum LazyInitializationWarmUp {
+
+	/**
+	 * Lazy singletons are not warmed up and are created when first required.
+	 */
+	NONE,
+
+	/**
+	 * Lazy singletons are created in the background once the
+	 * {@link ApplicationReadyEvent} has been published. The application accepts traffic
+	 * while the warm-up is in progress.
+	 */
+	BACKGROUND,
+
+	/**
+	 * Lazy singletons are created in the background once the
+	 * {@link ApplicationReadyEvent} has been published and the
+	 * {@link ReadinessState#ACCEPTING_TRAFFIC} state is only published once the warm-up
+	 * has completed.
+	 */
+	BEFORE_READINESS
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * {@link ApplicationListener} that creates the singletons that have been made lazy by the
+ * {@link LazyInitializationBeanFactoryPostProcessor} once the application is ready.
+ * Singletons are requested concurrently from a pool that is bounded by the number of
+ * available processors. Dependencies are created by the bean factory as they are needed
+ * so beans that share dependencies do not need to be ordered. When awaiting completion,
+ * the listener waits at most for the given timeout and then lets the application proceed
+ * while the warm-up continues in the background.
+ *
+ * @author agent
+ * @see LazyInitializationWarmUp
+ */
+class LazyInitializationWarmUpListener implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Log logger = LogFactory.getLog(LazyInitializationWarmUpListener.class);
+
+	private final ConfigurableApplicationContext context;
+
+	private final boolean awaitCompletion;
+
+	private final Duration awaitTimeout;
+
+	LazyInitializationWarmUpListener(ConfigurableApplicationContext context, boolean awaitCompletion,
+			Duration awaitTimeout) {
+		this.context = context;
+		this.awaitCompletion = awaitCompletion;
+		this.awaitTimeout = awaitTimeout;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		if (event.getApplicationContext() != this.context) {
+			return;
+		}
+		ConfigurableListableBeanFactory beanFactory = this.context.getBeanFactory();
+		List<String> beanNames = getBeanNames(beanFactory);
+		if (beanNames.isEmpty()) {
+			return;
+		}
+		CountDownLatch complete = warmUp(beanFactory, beanNames);
+		if (this.awaitCompletion) {
+			try {
+				if (!complete.await(this.awaitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+					logger.warn("Lazy singletons were not warmed up within " + this.awaitTimeout.toMillis()
+							+ "ms, continuing the warm-up in the background");
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private List<String> getBeanNames(ConfigurableListableBeanFactory beanFactory) {
+		List<String> beanNames = new ArrayList<>();
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			try {
+				BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+				if (beanDefinition.getAttribute(LazyInitializationBeanFactoryPostProcessor.LAZY_INIT_ATTRIBUTE) != null
+						&& beanDefinition.isSingleton() && !beanDefinition.isAbstract()
+						&& !beanFactory.containsSingleton(beanName)) {
+					beanNames.add(beanName);
+				}
+			}
+			catch (NoSuchBeanDefinitionException ex) {
+				// Ignore
+			}
+		}
+		return beanNames;
+	}
+
+	private CountDownLatch warmUp(ConfigurableListableBeanFactory beanFactory, List<String> beanNames) {
+		CountDownLatch complete = new CountDownLatch(beanNames.size());
+		long startTime = System.nanoTime();
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("lazy-init-warm-up-");
+		threadFactory.setDaemon(true);
+		int threads = Math.min(beanNames.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+		try {
+			for (String beanName : beanNames) {
+				executor.execute(() -> {
+					try {
+						warmUp(beanFactory, beanName);
+					}
+					finally {
+						complete.countDown();
+						if (complete.getCount() == 0 && logger.isDebugEnabled()) {
+							logger.debug("Warmed up " + beanNames.size() + " lazy singletons in "
+									+ (System.nanoTime() - startTime) / 1000000 + "ms");
+						}
+					}
+				});
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		return complete;
+	}
+
+	private void warmUp(ConfigurableListableBeanFactory beanFactory, String beanName) {
+		if (!this.context.isActive() || beanFactory.containsSingleton(beanName)) {
+			return;
+		}
+		try {
+			beanFactory.getBean(beanName);
+		}
+		catch (Exception ex) {
+			// The failure will be reported when the bean is first used
+			logger.debug("Unable to warm up lazy singleton '" + beanName + "'", ex);
+		}
+	}
+
+}
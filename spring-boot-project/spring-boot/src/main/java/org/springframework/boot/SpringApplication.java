@@ -220,6 +220,10 @@ public class SpringApplication {
 
 	private boolean lazyInitialization = false;
 
+	private LazyInitializationWarmUp lazyInitializationWarmUp = LazyInitializationWarmUp.NONE;
+
+	private Duration lazyInitializationWarmUpTimeout = Duration.ofSeconds(30);
+
 	private String environmentPrefix;
 
 	private ApplicationContextFactory applicationContextFactory = ApplicationContextFactory.DEFAULT;
@@ -397,6 +401,11 @@ public class SpringApplication {
 		}
 		if (this.lazyInitialization) {
 			context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+			if (this.lazyInitializationWarmUp != LazyInitializationWarmUp.NONE) {
+				context.addApplicationListener(new LazyInitializationWarmUpListener(context,
+						this.lazyInitializationWarmUp == LazyInitializationWarmUp.BEFORE_READINESS,
+						this.lazyInitializationWarmUpTimeout));
+			}
 		}
 		// Load the sources
 		Set<Object> sources = getAllSources();
@@ -956,6 +965,32 @@ public class SpringApplication {
 		this.lazyInitialization = lazyInitialization;
 	}
 
+	/**
+	 * Sets how singletons that have been made lazy should be warmed up once the
+	 * application is ready. Only applies when {@link #setLazyInitialization(boolean) lazy
+	 * initialization} is enabled. Defaults to {@link LazyInitializationWarmUp#NONE}.
+	 * @param lazyInitializationWarmUp the warm-up mode
+	 * @since 3.0.0
+	 */
+	public void setLazyInitializationWarmUp(LazyInitializationWarmUp lazyInitializationWarmUp) {
+		Assert.notNull(lazyInitializationWarmUp, "LazyInitializationWarmUp must not be null");
+		this.lazyInitializationWarmUp = lazyInitializationWarmUp;
+	}
+
+	/**
+	 * Sets the maximum time to wait for lazy singletons to be warmed up before the
+	 * application is marked as ready to accept traffic. Only applies when the
+	 * {@link #setLazyInitializationWarmUp(LazyInitializationWarmUp) warm-up mode} is
+	 * {@link LazyInitializationWarmUp#BEFORE_READINESS}. When the timeout expires, the
+	 * warm-up continues in the background. Defaults to 30 seconds.
+	 * @param lazyInitializationWarmUpTimeout the warm-up timeout
+	 * @since 3.0.0
+	 */
+	public void setLazyInitializationWarmUpTimeout(Duration lazyInitializationWarmUpTimeout) {
+		Assert.notNull(lazyInitializationWarmUpTimeout, "LazyInitializationWarmUpTimeout must not be null");
+		this.lazyInitializationWarmUpTimeout = lazyInitializationWarmUpTimeout;
+	}
+
 	/**
 	 * Sets if the application is headless and should not instantiate AWT. Defaults to
 	 * {@code true} to prevent java icons appearing.
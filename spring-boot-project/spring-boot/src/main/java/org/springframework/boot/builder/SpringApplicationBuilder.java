@@ -33,6 +33,7 @@ import org.springframework.boot.ApplicationContextFactory;
 import org.springframework.boot.Banner;
 import org.springframework.boot.BootstrapRegistry;
 import org.springframework.boot.BootstrapRegistryInitializer;
+import org.springframework.boot.LazyInitializationWarmUp;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.convert.ApplicationConversionService;
@@ -430,6 +431,18 @@ public class SpringApplicationBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets how singletons that have been made lazy should be warmed up once the
+	 * application is ready.
+	 * @param lazyInitializationWarmUp the warm-up mode
+	 * @return the current builder
+	 * @since 3.0.0
+	 */
+	public SpringApplicationBuilder lazyInitializationWarmUp(LazyInitializationWarmUp lazyInitializationWarmUp) {
+		this.application.setLazyInitializationWarmUp(lazyInitializationWarmUp);
+		return this;
+	}
+
 	/**
 	 * Default properties for the environment in the form {@code key=value} or
 	 * {@code key:value}. Multiple calls to this method are cumulative and will not clear
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.context.config;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -81,6 +82,14 @@ class ConfigDataEnvironment {
 	 */
 	static final String ON_NOT_FOUND_PROPERTY = "spring.config.on-not-found";
 
+	/**
+	 * Property used to enable a binary snapshot of loaded config data resources that is
+	 * stored in the given file so that unchanged resources are not parsed on later
+	 * starts.
+	 * @see ConfigDataSnapshot
+	 */
+	static final String SNAPSHOT_LOCATION_PROPERTY = "spring.config.snapshot.location";
+
 	/**
 	 * Default search locations used if not {@link #LOCATION_PROPERTY} is found.
 	 */
@@ -121,6 +130,8 @@ class ConfigDataEnvironment {
 
 	private final ConfigDataLoaders loaders;
 
+	private final ConfigDataSnapshot snapshot;
+
 	private final ConfigDataEnvironmentContributors contributors;
 
 	/**
@@ -150,9 +161,21 @@ class ConfigDataEnvironment {
 		this.environmentUpdateListener = (environmentUpdateListener != null) ? environmentUpdateListener
 				: ConfigDataEnvironmentUpdateListener.NONE;
 		this.loaders = new ConfigDataLoaders(logFactory, bootstrapContext, resourceLoader.getClassLoader());
+		this.snapshot = createSnapshot(binder);
 		this.contributors = createContributors(binder);
 	}
 
+	private ConfigDataSnapshot createSnapshot(Binder binder) {
+		String location = binder.bind(SNAPSHOT_LOCATION_PROPERTY, String.class).orElse(null);
+		if (!StringUtils.hasText(location)) {
+			return null;
+		}
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(this.logFactory.getLog(ConfigDataSnapshot.class),
+				Paths.get(location));
+		this.bootstrapContext.register(ConfigDataSnapshot.class, InstanceSupplier.of(snapshot));
+		return snapshot;
+	}
+
 	protected ConfigDataLocationResolvers createConfigDataLocationResolvers(DeferredLogFactory logFactory,
 			ConfigurableBootstrapContext bootstrapContext, Binder binder, ResourceLoader resourceLoader) {
 		return new ConfigDataLocationResolvers(logFactory, bootstrapContext, binder, resourceLoader);
@@ -232,6 +255,9 @@ class ConfigDataEnvironment {
 		contributors = processWithProfiles(contributors, importer, activationContext);
 		applyToEnvironment(contributors, activationContext, importer.getLoadedLocations(),
 				importer.getOptionalLocations());
+		if (this.snapshot != null) {
+			this.snapshot.save();
+		}
 	}
 
 	private ConfigDataEnvironmentContributors processInitial(ConfigDataEnvironmentContributors contributors,
@@ -17,22 +17,33 @@
 package org.springframework.boot.context.config;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 
 import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.log.LogMessage;
 
 /**
  * Imports {@link ConfigData} by {@link ConfigDataLocationResolver resolving} and
  * {@link ConfigDataLoader loading} locations. {@link ConfigDataResource resources} are
- * tracked to ensure that they are not imported multiple times.
+ * tracked to ensure that they are not imported multiple times. Resources resolved from
+ * the same set of locations are loaded concurrently when their loader supports it, but
+ * the results are always processed in the order in which the resources were resolved.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -112,32 +123,104 @@ class ConfigDataImporter {
 
 	private Map<ConfigDataResolutionResult, ConfigData> load(ConfigDataLoaderContext loaderContext,
 			List<ConfigDataResolutionResult> candidates) throws IOException {
-		Map<ConfigDataResolutionResult, ConfigData> result = new LinkedHashMap<>();
+		Map<ConfigDataResource, Future<ConfigData>> concurrentLoads = loadConcurrently(loaderContext, candidates);
+		try {
+			Map<ConfigDataResolutionResult, ConfigData> result = new LinkedHashMap<>();
+			for (int i = candidates.size() - 1; i >= 0; i--) {
+				ConfigDataResolutionResult candidate = candidates.get(i);
+				ConfigDataLocation location = candidate.getLocation();
+				ConfigDataResource resource = candidate.getResource();
+				if (resource.isOptional()) {
+					this.optionalLocations.add(location);
+				}
+				if (this.loaded.contains(resource)) {
+					this.loadedLocations.add(location);
+				}
+				else {
+					try {
+						ConfigData loaded = load(loaderContext, resource, concurrentLoads);
+						if (loaded != null) {
+							this.loaded.add(resource);
+							this.loadedLocations.add(location);
+							result.put(candidate, loaded);
+						}
+					}
+					catch (ConfigDataNotFoundException ex) {
+						handle(ex, location, resource);
+					}
+				}
+			}
+			return Collections.unmodifiableMap(result);
+		}
+		finally {
+			concurrentLoads.values().forEach((load) -> load.cancel(true));
+		}
+	}
+
+	private Map<ConfigDataResource, Future<ConfigData>> loadConcurrently(ConfigDataLoaderContext loaderContext,
+			List<ConfigDataResolutionResult> candidates) {
+		Set<ConfigDataResource> resources = new LinkedHashSet<>();
 		for (int i = candidates.size() - 1; i >= 0; i--) {
-			ConfigDataResolutionResult candidate = candidates.get(i);
-			ConfigDataLocation location = candidate.getLocation();
-			ConfigDataResource resource = candidate.getResource();
-			if (resource.isOptional()) {
-				this.optionalLocations.add(location);
+			ConfigDataResource resource = candidates.get(i).getResource();
+			if (!this.loaded.contains(resource) && this.loaders.isConcurrentLoadingSupported(loaderContext, resource)) {
+				resources.add(resource);
 			}
-			if (this.loaded.contains(resource)) {
-				this.loadedLocations.add(location);
+		}
+		int threads = Math.min(resources.size(), Runtime.getRuntime().availableProcessors());
+		if (threads < 2) {
+			return Collections.emptyMap();
+		}
+		this.logger.trace(LogMessage.format("Loading %d config data resources concurrently", resources.size()));
+		ExecutorService executor = createExecutor(threads);
+		try {
+			Map<ConfigDataResource, Future<ConfigData>> loads = new HashMap<>();
+			for (ConfigDataResource resource : resources) {
+				loads.put(resource, executor.submit(() -> this.loaders.load(loaderContext, resource)));
 			}
-			else {
-				try {
-					ConfigData loaded = this.loaders.load(loaderContext, resource);
-					if (loaded != null) {
-						this.loaded.add(resource);
-						this.loadedLocations.add(location);
-						result.put(candidate, loaded);
-					}
-				}
-				catch (ConfigDataNotFoundException ex) {
-					handle(ex, location, resource);
-				}
+			return loads;
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private ExecutorService createExecutor(int threads) {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		AtomicInteger threadCount = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, (runnable) -> {
+			Thread thread = new Thread(runnable, "config-data-loader-" + threadCount.incrementAndGet());
+			thread.setContextClassLoader(classLoader);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private ConfigData load(ConfigDataLoaderContext loaderContext, ConfigDataResource resource,
+			Map<ConfigDataResource, Future<ConfigData>> concurrentLoads) throws IOException {
+		Future<ConfigData> load = concurrentLoads.remove(resource);
+		if (load == null) {
+			return this.loaders.load(loaderContext, resource);
+		}
+		try {
+			return load.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while loading " + resource);
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
 			}
+			throw new IllegalStateException(cause);
 		}
-		return Collections.unmodifiableMap(result);
 	}
 
 	private void handle(ConfigDataNotFoundException ex, ConfigDataLocation location, ConfigDataResource resource) {
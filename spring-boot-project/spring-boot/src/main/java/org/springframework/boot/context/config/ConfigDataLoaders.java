@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 
@@ -41,6 +42,9 @@ import org.springframework.util.Assert;
  */
 class ConfigDataLoaders {
 
+	private static final Set<Class<?>> CONCURRENT_LOADERS = Set.of(StandardConfigDataLoader.class,
+			ConfigTreeConfigDataLoader.class);
+
 	private final Log logger;
 
 	private final List<ConfigDataLoader<?>> loaders;
@@ -107,6 +111,23 @@ class ConfigDataLoaders {
 		return loader.load(context, resource);
 	}
 
+	/**
+	 * Return if the given resource is loaded by a {@link ConfigDataLoader} that is known
+	 * to support being called concurrently with other loads.
+	 * @param <R> the resource type
+	 * @param context the loader context
+	 * @param resource the resource to check
+	 * @return if the resource can be loaded concurrently
+	 */
+	<R extends ConfigDataResource> boolean isConcurrentLoadingSupported(ConfigDataLoaderContext context, R resource) {
+		try {
+			return CONCURRENT_LOADERS.contains(getLoader(context, resource).getClass());
+		}
+		catch (IllegalStateException ex) {
+			return false;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private <R extends ConfigDataResource> ConfigDataLoader<R> getLoader(ConfigDataLoaderContext context, R resource) {
 		ConfigDataLoader<R> result = null;
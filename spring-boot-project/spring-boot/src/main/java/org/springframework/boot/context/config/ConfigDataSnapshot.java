@@ -0,0 +1,540 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+
+import org.springframework.boot.SpringBootVersion;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.boot.origin.TextResourceOrigin.Location;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Binary snapshot of the property sources loaded from config data resources that is
+ * stored in a file between starts so that unchanged resources do not need to be parsed
+ * again. Entries are keyed by a SHA-256 hash of the content of the resource so that they
+ * are discarded as soon as the resource changes. Only the parsing of resources is
+ * skipped: locations are still resolved and profiles are still activated on every start.
+ * Resources that contain values that cannot be held in the snapshot are always parsed.
+ *
+ * @author agent
+ * @see ConfigDataEnvironment#SNAPSHOT_LOCATION_PROPERTY
+ */
+final class ConfigDataSnapshot {
+
+	private static final int MAGIC = 0x53424344;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final Set<String> SUPPORTED_LOADERS = Set.of(PropertiesPropertySourceLoader.class.getName(),
+			YamlPropertySourceLoader.class.getName());
+
+	private static final byte STRING = 0;
+
+	private static final byte BOOLEAN = 1;
+
+	private static final byte INTEGER = 2;
+
+	private static final byte LONG = 3;
+
+	private static final byte FLOAT = 4;
+
+	private static final byte DOUBLE = 5;
+
+	private static final byte BIG_INTEGER = 6;
+
+	private static final byte BIG_DECIMAL = 7;
+
+	private static final byte EMPTY_LIST = 8;
+
+	private static final byte EMPTY_MAP = 9;
+
+	private final Log logger;
+
+	private final Path location;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final Set<String> loadedKeys = new HashSet<>();
+
+	private final Map<String, Entry> usedEntries = new ConcurrentHashMap<>();
+
+	private final AtomicInteger hits = new AtomicInteger();
+
+	private final AtomicInteger misses = new AtomicInteger();
+
+	ConfigDataSnapshot(Log logger, Path location) {
+		this.logger = logger;
+		this.location = location;
+		load();
+	}
+
+	private void load() {
+		if (!Files.isRegularFile(this.location)) {
+			return;
+		}
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(this.location)))) {
+			if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION
+					|| !getBootVersion().equals(readString(input))) {
+				this.logger.debug(LogMessage.format("Ignoring incompatible config data snapshot '%s'", this.location));
+				return;
+			}
+			Map<String, Entry> entries = new LinkedHashMap<>();
+			int count = input.readInt();
+			for (int i = 0; i < count; i++) {
+				entries.put(readString(input), Entry.read(input));
+			}
+			this.entries.putAll(entries);
+			this.loadedKeys.addAll(entries.keySet());
+		}
+		catch (IOException | RuntimeException ex) {
+			this.logger.debug(LogMessage.format("Unable to read config data snapshot '%s'", this.location), ex);
+		}
+	}
+
+	/**
+	 * Load property sources from the given resource, using the snapshot when it holds an
+	 * entry for the current content of the resource.
+	 * @param loader the loader used to parse the resource
+	 * @param name the name of the property source
+	 * @param resource the resource to load
+	 * @return the loaded property sources
+	 * @throws IOException on IO error
+	 */
+	List<PropertySource<?>> load(PropertySourceLoader loader, String name, Resource resource) throws IOException {
+		if (!SUPPORTED_LOADERS.contains(loader.getClass().getName())) {
+			return loader.load(name, resource);
+		}
+		String key = getKey(loader, resource);
+		Entry entry = this.entries.get(key);
+		if (entry != null) {
+			this.hits.incrementAndGet();
+			this.usedEntries.put(key, entry);
+			return entry.getPropertySources(name, resource);
+		}
+		this.misses.incrementAndGet();
+		List<PropertySource<?>> propertySources = loader.load(name, resource);
+		entry = Entry.of(name, resource, propertySources);
+		if (entry != null) {
+			this.entries.put(key, entry);
+			this.usedEntries.put(key, entry);
+		}
+		else {
+			this.logger.trace(LogMessage.format("Config resource '%s' cannot be held in snapshot", resource));
+		}
+		return propertySources;
+	}
+
+	private String getKey(PropertySourceLoader loader, Resource resource) throws IOException {
+		try (InputStream inputStream = resource.getInputStream()) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(StreamUtils.copyToByteArray(inputStream));
+			StringBuilder key = new StringBuilder(loader.getClass().getName());
+			key.append(':').append(StringUtils.getFilenameExtension(resource.getFilename())).append(':');
+			for (byte b : digest.digest()) {
+				key.append(String.format("%02x", b));
+			}
+			return key.toString();
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	int getHits() {
+		return this.hits.get();
+	}
+
+	int getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Write the entries that have been used since the snapshot was created to its
+	 * location if they differ from those that were loaded. The file is replaced
+	 * atomically so that concurrently starting applications never read a partially
+	 * written snapshot.
+	 */
+	void save() {
+		this.logger.debug(LogMessage.format("Loaded %d of %d config data resources from snapshot '%s'",
+				this.hits.get(), this.hits.get() + this.misses.get(), this.location));
+		Map<String, Entry> entries = new LinkedHashMap<>(this.usedEntries);
+		if (entries.keySet().equals(this.loadedKeys)) {
+			return;
+		}
+		try {
+			Path directory = this.location.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, this.location.getFileName().toString(), ".tmp");
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				writeString(output, getBootVersion());
+				output.writeInt(entries.size());
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					writeString(output, entry.getKey());
+					entry.getValue().write(output);
+				}
+			}
+			Files.move(temp, this.location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			this.loadedKeys.clear();
+			this.loadedKeys.addAll(entries.keySet());
+		}
+		catch (IOException ex) {
+			this.logger.debug(LogMessage.format("Unable to write config data snapshot '%s'", this.location), ex);
+		}
+	}
+
+	private static String getBootVersion() {
+		return String.valueOf(SpringBootVersion.getVersion());
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * The property sources loaded from a single resource.
+	 */
+	private static final class Entry {
+
+		private final List<Source> sources;
+
+		private Entry(List<Source> sources) {
+			this.sources = sources;
+		}
+
+		List<PropertySource<?>> getPropertySources(String name, Resource resource) {
+			List<PropertySource<?>> propertySources = new ArrayList<>(this.sources.size());
+			for (Source source : this.sources) {
+				propertySources.add(source.getPropertySource(name, resource));
+			}
+			return propertySources;
+		}
+
+		void write(DataOutputStream output) throws IOException {
+			output.writeInt(this.sources.size());
+			for (Source source : this.sources) {
+				source.write(output);
+			}
+		}
+
+		static Entry read(DataInputStream input) throws IOException {
+			int count = input.readInt();
+			List<Source> sources = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				sources.add(Source.read(input));
+			}
+			return new Entry(sources);
+		}
+
+		static Entry of(String name, Resource resource, List<PropertySource<?>> propertySources) {
+			List<Source> sources = new ArrayList<>(propertySources.size());
+			for (PropertySource<?> propertySource : propertySources) {
+				Source source = Source.of(name, resource, propertySource);
+				if (source == null) {
+					return null;
+				}
+				sources.add(source);
+			}
+			return new Entry(sources);
+		}
+
+	}
+
+	/**
+	 * A single {@link OriginTrackedMapPropertySource}.
+	 */
+	private static final class Source {
+
+		private final String nameSuffix;
+
+		private final boolean immutable;
+
+		private final List<Property> properties;
+
+		private Source(String nameSuffix, boolean immutable, List<Property> properties) {
+			this.nameSuffix = nameSuffix;
+			this.immutable = immutable;
+			this.properties = properties;
+		}
+
+		PropertySource<?> getPropertySource(String name, Resource resource) {
+			Map<String, Object> map = new LinkedHashMap<>();
+			for (Property property : this.properties) {
+				map.put(property.name, property.getValue(resource));
+			}
+			return new OriginTrackedMapPropertySource(name + this.nameSuffix, Collections.unmodifiableMap(map),
+					this.immutable);
+		}
+
+		void write(DataOutputStream output) throws IOException {
+			writeString(output, this.nameSuffix);
+			output.writeBoolean(this.immutable);
+			output.writeInt(this.properties.size());
+			for (Property property : this.properties) {
+				property.write(output);
+			}
+		}
+
+		static Source read(DataInputStream input) throws IOException {
+			String nameSuffix = readString(input);
+			boolean immutable = input.readBoolean();
+			int count = input.readInt();
+			List<Property> properties = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				properties.add(Property.read(input));
+			}
+			return new Source(nameSuffix, immutable, properties);
+		}
+
+		static Source of(String name, Resource resource, PropertySource<?> propertySource) {
+			if (!(propertySource instanceof OriginTrackedMapPropertySource)
+					|| !propertySource.getName().startsWith(name)) {
+				return null;
+			}
+			OriginTrackedMapPropertySource mapPropertySource = (OriginTrackedMapPropertySource) propertySource;
+			List<Property> properties = new ArrayList<>(mapPropertySource.getSource().size());
+			for (String propertyName : mapPropertySource.getSource().keySet()) {
+				Property property = Property.of(propertyName, mapPropertySource.getProperty(propertyName),
+						mapPropertySource.getOrigin(propertyName), resource);
+				if (property == null) {
+					return null;
+				}
+				properties.add(property);
+			}
+			return new Source(propertySource.getName().substring(name.length()), mapPropertySource.isImmutable(),
+					properties);
+		}
+
+	}
+
+	/**
+	 * A single property value and the location of its {@link TextResourceOrigin}.
+	 */
+	private static final class Property {
+
+		private static final byte UNTRACKED = 0;
+
+		private static final byte TRACKED = 1;
+
+		private static final byte TRACKED_WITH_LOCATION = 2;
+
+		private final String name;
+
+		private final Object value;
+
+		private final byte tracking;
+
+		private final Location location;
+
+		private Property(String name, Object value, byte tracking, Location location) {
+			this.name = name;
+			this.value = value;
+			this.tracking = tracking;
+			this.location = location;
+		}
+
+		Object getValue(Resource resource) {
+			Object value = copy(this.value);
+			if (this.tracking == UNTRACKED) {
+				return value;
+			}
+			return OriginTrackedValue.of(value, new TextResourceOrigin(resource, this.location));
+		}
+
+		private static Object copy(Object value) {
+			if (value instanceof List) {
+				return new ArrayList<>();
+			}
+			if (value instanceof Map) {
+				return new LinkedHashMap<>();
+			}
+			return value;
+		}
+
+		void write(DataOutputStream output) throws IOException {
+			writeString(output, this.name);
+			output.writeByte(this.tracking);
+			if (this.tracking == TRACKED_WITH_LOCATION) {
+				output.writeInt(this.location.getLine());
+				output.writeInt(this.location.getColumn());
+			}
+			writeValue(output, this.value);
+		}
+
+		private static void writeValue(DataOutputStream output, Object value) throws IOException {
+			byte type = getType(value);
+			output.writeByte(type);
+			switch (type) {
+				case STRING:
+				case BIG_INTEGER:
+				case BIG_DECIMAL:
+					writeString(output, value.toString());
+					break;
+				case BOOLEAN:
+					output.writeBoolean((Boolean) value);
+					break;
+				case INTEGER:
+					output.writeInt((Integer) value);
+					break;
+				case LONG:
+					output.writeLong((Long) value);
+					break;
+				case FLOAT:
+					output.writeFloat((Float) value);
+					break;
+				case DOUBLE:
+					output.writeDouble((Double) value);
+					break;
+			}
+		}
+
+		static Property read(DataInputStream input) throws IOException {
+			String name = readString(input);
+			byte tracking = input.readByte();
+			Location location = null;
+			if (tracking == TRACKED_WITH_LOCATION) {
+				location = new Location(input.readInt(), input.readInt());
+			}
+			return new Property(name, readValue(input), tracking, location);
+		}
+
+		private static Object readValue(DataInputStream input) throws IOException {
+			byte type = input.readByte();
+			switch (type) {
+				case STRING:
+					return readString(input);
+				case BOOLEAN:
+					return input.readBoolean();
+				case INTEGER:
+					return input.readInt();
+				case LONG:
+					return input.readLong();
+				case FLOAT:
+					return input.readFloat();
+				case DOUBLE:
+					return input.readDouble();
+				case BIG_INTEGER:
+					return new BigInteger(readString(input));
+				case BIG_DECIMAL:
+					return new BigDecimal(readString(input));
+				case EMPTY_LIST:
+					return Collections.emptyList();
+				case EMPTY_MAP:
+					return Collections.emptyMap();
+			}
+			throw new IOException("Unknown value type " + type);
+		}
+
+		static Property of(String name, Object value, Origin origin, Resource resource) {
+			if (origin == null) {
+				return (getType(value) != -1) ? new Property(name, value, UNTRACKED, null) : null;
+			}
+			if (!(origin instanceof TextResourceOrigin) || ((TextResourceOrigin) origin).getResource() != resource
+					|| getType(value) == -1) {
+				return null;
+			}
+			Location location = ((TextResourceOrigin) origin).getLocation();
+			return new Property(name, value, (location != null) ? TRACKED_WITH_LOCATION : TRACKED, location);
+		}
+
+		private static byte getType(Object value) {
+			if (value == null) {
+				return -1;
+			}
+			Class<?> type = value.getClass();
+			if (type == String.class) {
+				return STRING;
+			}
+			if (type == Boolean.class) {
+				return BOOLEAN;
+			}
+			if (type == Integer.class) {
+				return INTEGER;
+			}
+			if (type == Long.class) {
+				return LONG;
+			}
+			if (type == Float.class) {
+				return FLOAT;
+			}
+			if (type == Double.class) {
+				return DOUBLE;
+			}
+			if (type == BigInteger.class) {
+				return BIG_INTEGER;
+			}
+			if (type == BigDecimal.class) {
+				return BIG_DECIMAL;
+			}
+			if (value instanceof List && ((List<?>) value).isEmpty()) {
+				return EMPTY_LIST;
+			}
+			if (value instanceof Map && ((Map<?, ?>) value).isEmpty()) {
+				return EMPTY_MAP;
+			}
+			return -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.env.ConfigTreePropertySource;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * {@link ApplicationEvent} published when a watched config tree has been reloaded and
+ * some of its properties have been added, removed or changed.
+ *
+ * @author agent
+ * @since 3.0.0
+ * @see ConfigTreePropertySource#reload()
+ */
+public class ConfigTreeChangedEvent extends ApplicationEvent {
+
+	private final Set<ConfigurationPropertyName> changedPropertyNames;
+
+	/**
+	 * Create a new {@link ConfigTreeChangedEvent} instance.
+	 * @param source the property source that was reloaded
+	 * @param changedNames the names of the properties that changed
+	 */
+	public ConfigTreeChangedEvent(ConfigTreePropertySource source, Collection<String> changedNames) {
+		super(source);
+		Set<ConfigurationPropertyName> changedPropertyNames = new LinkedHashSet<>();
+		for (String changedName : changedNames) {
+			ConfigurationPropertyName name = ConfigurationPropertyName.adapt(changedName, '.');
+			if (!name.isEmpty()) {
+				changedPropertyNames.add(name);
+			}
+		}
+		this.changedPropertyNames = Collections.unmodifiableSet(changedPropertyNames);
+	}
+
+	/**
+	 * Return the {@link ConfigTreePropertySource} that was reloaded.
+	 * @return the property source
+	 */
+	public ConfigTreePropertySource getPropertySource() {
+		return (ConfigTreePropertySource) this.source;
+	}
+
+	/**
+	 * Return the names of the properties that were added, removed or changed.
+	 * @return the changed property names
+	 */
+	public Set<ConfigurationPropertyName> getChangedPropertyNames() {
+		return this.changedPropertyNames;
+	}
+
+}
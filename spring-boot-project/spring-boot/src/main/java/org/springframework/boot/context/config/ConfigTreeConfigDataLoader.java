@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
 
+import org.springframework.boot.ConfigurableBootstrapContext;
 import org.springframework.boot.env.ConfigTreePropertySource;
 import org.springframework.boot.env.ConfigTreePropertySource.Option;
 
@@ -38,8 +39,22 @@ public class ConfigTreeConfigDataLoader implements ConfigDataLoader<ConfigTreeCo
 		Path path = resource.getPath();
 		ConfigDataResourceNotFoundException.throwIfDoesNotExist(resource, path);
 		String name = "Config tree '" + path + "'";
-		ConfigTreePropertySource source = new ConfigTreePropertySource(name, path, Option.AUTO_TRIM_TRAILING_NEW_LINE);
+		ConfigTreeWatcher watcher = getWatcher(context);
+		ConfigTreePropertySource source = (watcher != null)
+				? new ConfigTreePropertySource(name, path, Option.AUTO_TRIM_TRAILING_NEW_LINE, Option.RELOADABLE)
+				: new ConfigTreePropertySource(name, path, Option.AUTO_TRIM_TRAILING_NEW_LINE);
+		if (watcher != null) {
+			watcher.watch(source);
+		}
 		return new ConfigData(Collections.singletonList(source));
 	}
 
+	private ConfigTreeWatcher getWatcher(ConfigDataLoaderContext context) {
+		ConfigurableBootstrapContext bootstrapContext = (context != null) ? context.getBootstrapContext() : null;
+		if (bootstrapContext == null || !bootstrapContext.isRegistered(ConfigTreeWatcher.class)) {
+			return null;
+		}
+		return bootstrapContext.get(ConfigTreeWatcher.class);
+	}
+
 }
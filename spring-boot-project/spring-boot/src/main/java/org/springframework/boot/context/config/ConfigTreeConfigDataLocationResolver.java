@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.springframework.boot.BootstrapRegistry.InstanceSupplier;
+import org.springframework.boot.ConfigurableBootstrapContext;
 import org.springframework.boot.context.config.LocationResourceLoader.ResourceType;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -51,6 +53,7 @@ public class ConfigTreeConfigDataLocationResolver implements ConfigDataLocationR
 	@Override
 	public List<ConfigTreeConfigDataResource> resolve(ConfigDataLocationResolverContext context,
 			ConfigDataLocation location) {
+		registerWatcherIfEnabled(context);
 		try {
 			return resolve(location.getNonPrefixedValue(PREFIX));
 		}
@@ -59,6 +62,18 @@ public class ConfigTreeConfigDataLocationResolver implements ConfigDataLocationR
 		}
 	}
 
+	private void registerWatcherIfEnabled(ConfigDataLocationResolverContext context) {
+		ConfigurableBootstrapContext bootstrapContext = (context != null) ? context.getBootstrapContext() : null;
+		if (bootstrapContext == null || bootstrapContext.isRegistered(ConfigTreeWatcher.class)) {
+			return;
+		}
+		ConfigTreeWatcher watcher = ConfigTreeWatcher.get(context.getBinder());
+		if (watcher != null) {
+			bootstrapContext.register(ConfigTreeWatcher.class, InstanceSupplier.of(watcher));
+			bootstrapContext.addCloseListener((event) -> watcher.start(event.getApplicationContext()));
+		}
+	}
+
 	private List<ConfigTreeConfigDataResource> resolve(String location) throws IOException {
 		Assert.isTrue(location.endsWith("/"),
 				() -> String.format("Config tree location '%s' must end with '/'", location));
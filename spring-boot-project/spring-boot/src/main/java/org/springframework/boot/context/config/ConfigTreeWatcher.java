@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.ConfigTreePropertySource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+
+/**
+ * Watches {@link ConfigTreePropertySource config trees} for changes and publishes a
+ * {@link ConfigTreeChangedEvent} when properties are added, removed or changed. Config
+ * trees mounted by Kubernetes are updated by atomically swapping a {@code ..data}
+ * symlink, so when the link is present a tree is only reloaded once its target changes.
+ * Other trees are reloaded on every poll and only files with modified attributes are
+ * read again. Affected {@code @ConfigurationProperties} beans are rebound using a
+ * {@link ConfigurationPropertiesRebinder}.
+ *
+ * @author agent
+ */
+class ConfigTreeWatcher {
+
+	static final String ENABLED_PROPERTY = "spring.config.configtree.watch.enabled";
+
+	static final String POLL_INTERVAL_PROPERTY = "spring.config.configtree.watch.poll-interval";
+
+	private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(5);
+
+	private static final String DATA_LINK = "..data";
+
+	private static final Log logger = LogFactory.getLog(ConfigTreeWatcher.class);
+
+	private final Duration pollInterval;
+
+	private final List<WatchedSource> sources = new CopyOnWriteArrayList<>();
+
+	private volatile ScheduledExecutorService executor;
+
+	ConfigTreeWatcher(Duration pollInterval) {
+		this.pollInterval = pollInterval;
+	}
+
+	/**
+	 * Watch the given reloadable property source.
+	 * @param source the source to watch
+	 */
+	void watch(ConfigTreePropertySource source) {
+		this.sources.add(new WatchedSource(source));
+	}
+
+	/**
+	 * Start polling watched sources, publishing events to the given application context
+	 * until it is closed.
+	 * @param applicationContext the application context
+	 */
+	synchronized void start(ConfigurableApplicationContext applicationContext) {
+		if (this.executor != null || this.sources.isEmpty()) {
+			return;
+		}
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+			Thread thread = new Thread(runnable, "config-tree-watcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = this.pollInterval.toMillis();
+		executor.scheduleWithFixedDelay(() -> poll(applicationContext), interval, interval, TimeUnit.MILLISECONDS);
+		applicationContext.addApplicationListener(new ConfigurationPropertiesRebinder(applicationContext));
+		applicationContext.addApplicationListener(new ContextClosedListener(applicationContext));
+		this.executor = executor;
+	}
+
+	synchronized void stop() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Check each watched source for changes.
+	 * @param publisher the publisher used for change events
+	 */
+	void poll(ApplicationEventPublisher publisher) {
+		for (WatchedSource watchedSource : this.sources) {
+			ConfigTreePropertySource source = watchedSource.source;
+			try {
+				Set<String> changed = watchedSource.reloadIfNecessary();
+				if (!changed.isEmpty()) {
+					logger.debug("Config tree '" + source.getSource() + "' changed properties " + changed);
+					publisher.publishEvent(new ConfigTreeChangedEvent(source, changed));
+				}
+			}
+			catch (RuntimeException ex) {
+				logger.debug("Unable to reload config tree '" + source.getSource() + "'", ex);
+			}
+		}
+	}
+
+	/**
+	 * Return the {@link ConfigTreeWatcher} that should be used for the given binder or
+	 * {@code null} if watching is not enabled.
+	 * @param binder the binder
+	 * @return a new watcher or {@code null}
+	 */
+	static ConfigTreeWatcher get(Binder binder) {
+		if (!binder.bind(ENABLED_PROPERTY, Boolean.class).orElse(false)) {
+			return null;
+		}
+		Duration pollInterval = binder.bind(POLL_INTERVAL_PROPERTY, Duration.class).orElse(DEFAULT_POLL_INTERVAL);
+		return new ConfigTreeWatcher(pollInterval);
+	}
+
+	/**
+	 * A watched source along with the last known target of its {@code ..data} link.
+	 */
+	private static final class WatchedSource {
+
+		private final ConfigTreePropertySource source;
+
+		private Path dataLinkTarget;
+
+		private WatchedSource(ConfigTreePropertySource source) {
+			this.source = source;
+			this.dataLinkTarget = getDataLinkTarget();
+		}
+
+		Set<String> reloadIfNecessary() {
+			Path dataLinkTarget = getDataLinkTarget();
+			if (dataLinkTarget != null && dataLinkTarget.equals(this.dataLinkTarget)) {
+				return Collections.emptySet();
+			}
+			this.dataLinkTarget = dataLinkTarget;
+			return this.source.reload();
+		}
+
+		private Path getDataLinkTarget() {
+			Path dataLink = this.source.getSource().resolve(DATA_LINK);
+			if (!Files.isSymbolicLink(dataLink)) {
+				return null;
+			}
+			try {
+				return Files.readSymbolicLink(dataLink);
+			}
+			catch (IOException ex) {
+				return null;
+			}
+		}
+
+	}
+
+	/**
+	 * Listener used to stop the watcher when the application context is closed.
+	 */
+	private class ContextClosedListener implements ApplicationListener<ContextClosedEvent> {
+
+		private final ConfigurableApplicationContext applicationContext;
+
+		ContextClosedListener(ConfigurableApplicationContext applicationContext) {
+			this.applicationContext = applicationContext;
+		}
+
+		@Override
+		public void onApplicationEvent(ContextClosedEvent event) {
+			if (event.getApplicationContext() == this.applicationContext) {
+				stop();
+			}
+		}
+
+	}
+
+}
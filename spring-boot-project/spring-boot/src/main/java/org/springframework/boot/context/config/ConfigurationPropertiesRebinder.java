@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean.BindMethod;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBindingPostProcessor;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * {@link ApplicationListener} that rebinds existing
+ * {@link ConfigurationProperties @ConfigurationProperties} singletons in place when a
+ * {@link ConfigTreeChangedEvent} reports a change to one of their properties. Only
+ * JavaBean bound beans can be updated, value objects keep the values they were
+ * constructed with.
+ *
+ * @author agent
+ */
+class ConfigurationPropertiesRebinder implements ApplicationListener<ConfigTreeChangedEvent> {
+
+	private static final Log logger = LogFactory.getLog(ConfigurationPropertiesRebinder.class);
+
+	private final ConfigurableApplicationContext applicationContext;
+
+	ConfigurationPropertiesRebinder(ConfigurableApplicationContext applicationContext) {
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public void onApplicationEvent(ConfigTreeChangedEvent event) {
+		if (!this.applicationContext.isActive()
+				|| !this.applicationContext.containsBean(ConfigurationPropertiesBindingPostProcessor.BEAN_NAME)) {
+			return;
+		}
+		ConfigurationPropertiesBindingPostProcessor postProcessor = this.applicationContext.getBean(
+				ConfigurationPropertiesBindingPostProcessor.BEAN_NAME,
+				ConfigurationPropertiesBindingPostProcessor.class);
+		ConfigurableListableBeanFactory beanFactory = this.applicationContext.getBeanFactory();
+		for (String beanName : beanFactory.getSingletonNames()) {
+			if (beanFactory.containsBeanDefinition(beanName)) {
+				Object bean = beanFactory.getSingleton(beanName);
+				ConfigurationPropertiesBean propertiesBean = ConfigurationPropertiesBean.get(this.applicationContext,
+						bean, beanName);
+				if (propertiesBean != null && isAffected(propertiesBean, event.getChangedPropertyNames())) {
+					logger.debug("Rebinding @ConfigurationProperties bean '" + beanName + "'");
+					postProcessor.postProcessBeforeInitialization(bean, beanName);
+				}
+			}
+		}
+	}
+
+	private boolean isAffected(ConfigurationPropertiesBean propertiesBean, Set<ConfigurationPropertyName> changed) {
+		if (propertiesBean.getBindMethod() != BindMethod.JAVA_BEAN) {
+			return false;
+		}
+		ConfigurationPropertyName prefix = ConfigurationPropertyName.of(propertiesBean.getAnnotation().prefix());
+		for (ConfigurationPropertyName name : changed) {
+			if (prefix.isEmpty() || prefix.equals(name) || prefix.isAncestorOf(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -19,8 +19,10 @@ package org.springframework.boot.context.config;
 import java.io.IOException;
 import java.util.List;
 
+import org.springframework.boot.ConfigurableBootstrapContext;
 import org.springframework.boot.context.config.ConfigData.Option;
 import org.springframework.boot.context.config.ConfigData.PropertySourceOptions;
+import org.springframework.boot.env.PropertySourceLoader;
 import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginTrackedResource;
 import org.springframework.core.env.PropertySource;
@@ -51,9 +53,19 @@ public class StandardConfigDataLoader implements ConfigDataLoader<StandardConfig
 				Origin.from(reference.getConfigDataLocation()));
 		String name = String.format("Config resource '%s' via location '%s'", resource,
 				reference.getConfigDataLocation());
-		List<PropertySource<?>> propertySources = reference.getPropertySourceLoader().load(name, originTrackedResource);
+		List<PropertySource<?>> propertySources = load(context, reference.getPropertySourceLoader(), name,
+				originTrackedResource);
 		PropertySourceOptions options = (resource.getProfile() != null) ? PROFILE_SPECIFIC : NON_PROFILE_SPECIFIC;
 		return new ConfigData(propertySources, options);
 	}
 
+	private List<PropertySource<?>> load(ConfigDataLoaderContext context, PropertySourceLoader loader, String name,
+			Resource resource) throws IOException {
+		ConfigurableBootstrapContext bootstrapContext = (context != null) ? context.getBootstrapContext() : null;
+		if (bootstrapContext != null && bootstrapContext.isRegistered(ConfigDataSnapshot.class)) {
+			return bootstrapContext.get(ConfigDataSnapshot.class).load(loader, name, resource);
+		}
+		return loader.load(name, resource);
+	}
+
 }
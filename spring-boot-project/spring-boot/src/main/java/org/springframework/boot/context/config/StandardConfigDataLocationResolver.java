@@ -35,6 +35,7 @@ import org.apache.commons.logging.Log;
 import org.springframework.boot.context.config.LocationResourceLoader.ResourceType;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
@@ -61,6 +62,8 @@ public class StandardConfigDataLocationResolver
 
 	static final String CONFIG_NAME_PROPERTY = "spring.config.name";
 
+	static final String YAML_LAZY_ORIGINS_PROPERTY = "spring.config.yaml.lazy-origins";
+
 	private static final String[] DEFAULT_CONFIG_NAMES = { "application" };
 
 	private static final Pattern URL_PREFIX = Pattern.compile("^([a-zA-Z][a-zA-Z0-9*]*?:)(.*$)");
@@ -85,12 +88,21 @@ public class StandardConfigDataLocationResolver
 	 */
 	public StandardConfigDataLocationResolver(Log logger, Binder binder, ResourceLoader resourceLoader) {
 		this.logger = logger;
-		this.propertySourceLoaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class,
-				getClass().getClassLoader());
+		this.propertySourceLoaders = getPropertySourceLoaders(binder);
 		this.configNames = getConfigNames(binder);
 		this.resourceLoader = new LocationResourceLoader(resourceLoader);
 	}
 
+	private List<PropertySourceLoader> getPropertySourceLoaders(Binder binder) {
+		List<PropertySourceLoader> loaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class,
+				getClass().getClassLoader());
+		if (binder.bind(YAML_LAZY_ORIGINS_PROPERTY, Boolean.class).orElse(false)) {
+			loaders.replaceAll((loader) -> (loader.getClass() == YamlPropertySourceLoader.class)
+					? new YamlPropertySourceLoader(true) : loader);
+		}
+		return loaders;
+	}
+
 	private String[] getConfigNames(Binder binder) {
 		String[] configNames = binder.bind(CONFIG_NAME_PROPERTY, String[].class).orElse(DEFAULT_CONFIG_NAMES);
 		for (String configName : configNames) {
@@ -36,6 +36,7 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyS
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * {@link DataObjectBinder} for mutable Java Beans.
@@ -113,7 +114,12 @@ class JavaBeanBinder implements DataObjectBinder {
 	 */
 	static class Bean<T> {
 
-		private static Bean<?> cached;
+		/**
+		 * Introspected beans keyed by resolved class, or by type when generics are
+		 * involved. Entries are softly referenced and are also cleared when DevTools
+		 * restarts the application.
+		 */
+		private static final Map<Object, Bean<?>> cache = new ConcurrentReferenceHashMap<>();
 
 		private final ResolvableType type;
 
@@ -221,10 +227,11 @@ class JavaBeanBinder implements DataObjectBinder {
 			if (instance == null && !isInstantiable(resolvedType)) {
 				return null;
 			}
-			Bean<?> bean = Bean.cached;
-			if (bean == null || !bean.isOfType(type, resolvedType)) {
+			Object key = (type.hasGenerics()) ? type : resolvedType;
+			Bean<?> bean = cache.get(key);
+			if (bean == null) {
 				bean = new Bean<>(type, resolvedType);
-				cached = bean;
+				cache.put(key, bean);
 			}
 			return (Bean<T>) bean;
 		}
@@ -242,13 +249,6 @@ class JavaBeanBinder implements DataObjectBinder {
 			}
 		}
 
-		private boolean isOfType(ResolvableType type, Class<?> resolvedType) {
-			if (this.type.hasGenerics() || type.hasGenerics()) {
-				return this.type.equals(type);
-			}
-			return this.resolvedType != null && this.resolvedType.equals(resolvedType);
-		}
-
 	}
 
 	private static class BeanSupplier<T> implements Supplier<T> {
@@ -286,6 +286,10 @@ class JavaBeanBinder implements DataObjectBinder {
 
 		private Field field;
 
+		private volatile ResolvableType type;
+
+		private volatile Annotation[] annotations;
+
 		BeanProperty(String name, ResolvableType declaringClassType) {
 			this.name = DataObjectPropertyName.toDashedForm(name);
 			this.declaringClassType = declaringClassType;
@@ -322,6 +326,15 @@ class JavaBeanBinder implements DataObjectBinder {
 		}
 
 		ResolvableType getType() {
+			ResolvableType type = this.type;
+			if (type == null) {
+				type = resolveType();
+				this.type = type;
+			}
+			return type;
+		}
+
+		private ResolvableType resolveType() {
 			if (this.setter != null) {
 				MethodParameter methodParameter = new MethodParameter(this.setter, 0);
 				return ResolvableType.forMethodParameter(methodParameter, this.declaringClassType);
@@ -331,12 +344,17 @@ class JavaBeanBinder implements DataObjectBinder {
 		}
 
 		Annotation[] getAnnotations() {
-			try {
-				return (this.field != null) ? this.field.getDeclaredAnnotations() : null;
-			}
-			catch (Exception ex) {
-				return null;
+			Annotation[] annotations = this.annotations;
+			if (annotations == null && this.field != null) {
+				try {
+					annotations = this.field.getDeclaredAnnotations();
+					this.annotations = annotations;
+				}
+				catch (Exception ex) {
+					return null;
+				}
 			}
+			return annotations;
 		}
 
 		Supplier<Object> getValue(Supplier<?> instance) {
@@ -41,6 +41,7 @@ import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
 import org.springframework.core.convert.ConversionException;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * {@link DataObjectBinder} for immutable value objects.
@@ -153,6 +154,12 @@ class ValueObjectBinder implements DataObjectBinder {
 	 */
 	private abstract static class ValueObject<T> {
 
+		/**
+		 * Value objects for types without generics keyed by bind constructor. Entries are
+		 * softly referenced and are also cleared when DevTools restarts the application.
+		 */
+		private static final Map<Constructor<?>, ValueObject<?>> cache = new ConcurrentReferenceHashMap<>();
+
 		private final Constructor<T> constructor;
 
 		protected ValueObject(Constructor<T> constructor) {
@@ -177,10 +184,24 @@ class ValueObjectBinder implements DataObjectBinder {
 			if (bindConstructor == null) {
 				return null;
 			}
+			if (bindable.getType().hasGenerics()) {
+				return create(type, bindConstructor, bindable.getType());
+			}
+			ValueObject<?> valueObject = cache.get(bindConstructor);
+			if (valueObject == null) {
+				valueObject = create(type, bindConstructor, bindable.getType());
+				cache.put(bindConstructor, valueObject);
+			}
+			return (ValueObject<T>) valueObject;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> ValueObject<T> create(Class<T> type, Constructor<?> bindConstructor,
+				ResolvableType resolvableType) {
 			if (KotlinDetector.isKotlinType(type)) {
-				return KotlinValueObject.get((Constructor<T>) bindConstructor, bindable.getType());
+				return KotlinValueObject.get((Constructor<T>) bindConstructor, resolvableType);
 			}
-			return DefaultValueObject.get(bindConstructor, bindable.getType());
+			return DefaultValueObject.get(bindConstructor, resolvableType);
 		}
 
 	}
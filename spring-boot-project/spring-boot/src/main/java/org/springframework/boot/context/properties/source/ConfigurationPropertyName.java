@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.function.Function;
 
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.StringUtils;
 
 /**
@@ -59,6 +60,12 @@ public final class ConfigurationPropertyName implements Comparable<Configuration
 	 */
 	public static final ConfigurationPropertyName EMPTY = new ConfigurationPropertyName(Elements.EMPTY);
 
+	/**
+	 * Canonical instances of names created from a {@link String}, shared across all
+	 * sources so that each distinct name is only parsed and hashed once.
+	 */
+	private static final Map<String, ConfigurationPropertyName> cache = new ConcurrentReferenceHashMap<>();
+
 	private Elements elements;
 
 	private final CharSequence[] uniformElements;
@@ -353,6 +360,9 @@ public final class ConfigurationPropertyName implements Comparable<Configuration
 		if (getNumberOfElements() != other.getNumberOfElements()) {
 			return false;
 		}
+		if (this.hashCode != 0 && other.hashCode != 0 && this.hashCode != other.hashCode) {
+			return false;
+		}
 		if (this.elements.canShortcutWithSource(ElementType.UNIFORM)
 				&& other.elements.canShortcutWithSource(ElementType.UNIFORM)) {
 			return toString().equals(other.toString());
@@ -362,14 +372,16 @@ public final class ConfigurationPropertyName implements Comparable<Configuration
 
 	private boolean elementsEqual(ConfigurationPropertyName name) {
 		for (int i = this.elements.getSize() - 1; i >= 0; i--) {
-			if (elementDiffers(this.elements, name.elements, i)) {
+			if (elementDiffers(name, i)) {
 				return false;
 			}
 		}
 		return true;
 	}
 
-	private boolean elementDiffers(Elements e1, Elements e2, int i) {
+	private boolean elementDiffers(ConfigurationPropertyName name, int i) {
+		Elements e1 = this.elements;
+		Elements e2 = name.elements;
 		ElementType type1 = e1.getType(i);
 		ElementType type2 = e2.getType(i);
 		if (type1.allowsFastEqualityCheck() && type2.allowsFastEqualityCheck()) {
@@ -378,6 +390,10 @@ public final class ConfigurationPropertyName implements Comparable<Configuration
 		if (type1.allowsDashIgnoringEqualityCheck() && type2.allowsDashIgnoringEqualityCheck()) {
 			return !dashIgnoringElementEquals(e1, e2, i);
 		}
+		if (!type1.isIndexed() && !type2.isIndexed()) {
+			// The uniform form is cached so each element is only lower-cased once
+			return !getElement(i, Form.UNIFORM).equals(name.getElement(i, Form.UNIFORM));
+		}
 		return !defaultElementEquals(e1, e2, i);
 	}
 
@@ -577,8 +593,22 @@ public final class ConfigurationPropertyName implements Comparable<Configuration
 	 * {@code returnNullIfInvalid} is {@code false}
 	 */
 	static ConfigurationPropertyName of(CharSequence name, boolean returnNullIfInvalid) {
+		if (name instanceof String) {
+			ConfigurationPropertyName cached = cache.get(name);
+			if (cached != null) {
+				return cached;
+			}
+		}
 		Elements elements = elementsOf(name, returnNullIfInvalid);
-		return (elements != null) ? new ConfigurationPropertyName(elements) : null;
+		if (elements == null) {
+			return null;
+		}
+		ConfigurationPropertyName result = new ConfigurationPropertyName(elements);
+		if (name instanceof String) {
+			result.hashCode();
+			cache.put((String) name, result);
+		}
+		return result;
 	}
 
 	private static Elements probablySingleElementOf(CharSequence name) {
@@ -656,6 +686,13 @@ public final class ConfigurationPropertyName implements Comparable<Configuration
 		if (name.length() == 0) {
 			return EMPTY;
 		}
+		if (separator == '.' && elementValueProcessor == null && name instanceof String) {
+			// Names created with 'of' are parsed in exactly the same way
+			ConfigurationPropertyName cached = cache.get(name);
+			if (cached != null) {
+				return cached;
+			}
+		}
 		Elements elements = new ElementsParser(name, separator).parse(elementValueProcessor);
 		if (elements.getSize() == 0) {
 			return EMPTY;
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.context.properties.source;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.function.BiPredicate;
 
@@ -70,4 +71,17 @@ interface PropertyMapper {
 		return DEFAULT_ANCESTOR_OF_CHECK;
 	}
 
+	/**
+	 * Returns the names that can be used to search for descendants of the given name when
+	 * considering the mapping rules. A name passes the {@link #getAncestorOfCheck()
+	 * ancestor of check} for a candidate if and only if one of the returned names is an
+	 * ancestor of the candidate. This allows descendants to be found using an index
+	 * rather than by testing every candidate.
+	 * @param name the name to search for
+	 * @return the names to search for
+	 */
+	default List<ConfigurationPropertyName> getDescendantSearchNames(ConfigurationPropertyName name) {
+		return Collections.singletonList(name);
+	}
+
 }
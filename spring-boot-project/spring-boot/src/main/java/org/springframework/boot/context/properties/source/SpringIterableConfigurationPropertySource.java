@@ -19,6 +19,7 @@ package org.springframework.boot.context.properties.source;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -26,10 +27,10 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.BiPredicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
 import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginLookup;
 import org.springframework.boot.origin.PropertySourceOrigin;
@@ -53,8 +54,6 @@ import org.springframework.core.env.SystemEnvironmentPropertySource;
 class SpringIterableConfigurationPropertySource extends SpringConfigurationPropertySource
 		implements IterableConfigurationPropertySource, CachingConfigurationPropertySource {
 
-	private final BiPredicate<ConfigurationPropertyName, ConfigurationPropertyName> ancestorOfCheck;
-
 	private final SoftReferenceConfigurationPropertyCache<Mappings> cache;
 
 	private volatile ConfigurationPropertyName[] configurationPropertyNames;
@@ -62,20 +61,9 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	SpringIterableConfigurationPropertySource(EnumerablePropertySource<?> propertySource, PropertyMapper... mappers) {
 		super(propertySource, mappers);
 		assertEnumerablePropertySource();
-		this.ancestorOfCheck = getAncestorOfCheck(mappers);
 		this.cache = new SoftReferenceConfigurationPropertyCache<>(isImmutablePropertySource());
 	}
 
-	private BiPredicate<ConfigurationPropertyName, ConfigurationPropertyName> getAncestorOfCheck(
-			PropertyMapper[] mappers) {
-		BiPredicate<ConfigurationPropertyName, ConfigurationPropertyName> ancestorOfCheck = mappers[0]
-				.getAncestorOfCheck();
-		for (int i = 1; i < mappers.length; i++) {
-			ancestorOfCheck = ancestorOfCheck.or(mappers[i].getAncestorOfCheck());
-		}
-		return ancestorOfCheck;
-	}
-
 	private void assertEnumerablePropertySource() {
 		if (getPropertySource() instanceof MapPropertySource) {
 			try {
@@ -128,16 +116,7 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		if (result != ConfigurationPropertyState.UNKNOWN) {
 			return result;
 		}
-		if (this.ancestorOfCheck == PropertyMapper.DEFAULT_ANCESTOR_OF_CHECK) {
-			return getMappings().containsDescendantOf(name, this.ancestorOfCheck);
-		}
-		ConfigurationPropertyName[] candidates = getConfigurationPropertyNames();
-		for (ConfigurationPropertyName candidate : candidates) {
-			if (candidate != null && this.ancestorOfCheck.test(name, candidate)) {
-				return ConfigurationPropertyState.PRESENT;
-			}
-		}
-		return ConfigurationPropertyState.ABSENT;
+		return getMappings().containsDescendantOf(name);
 	}
 
 	private ConfigurationPropertyName[] getConfigurationPropertyNames() {
@@ -158,8 +137,7 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	}
 
 	private Mappings createMappings() {
-		return new Mappings(getMappers(), isImmutablePropertySource(),
-				this.ancestorOfCheck == PropertyMapper.DEFAULT_ANCESTOR_OF_CHECK);
+		return new Mappings(getMappers(), isImmutablePropertySource());
 	}
 
 	private Mappings updateMappings(Mappings mappings) {
@@ -191,22 +169,19 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 		private final boolean immutable;
 
-		private final boolean trackDescendants;
-
 		private volatile Map<ConfigurationPropertyName, Set<String>> mappings;
 
 		private volatile Map<String, ConfigurationPropertyName> reverseMappings;
 
-		private volatile Map<ConfigurationPropertyName, Set<ConfigurationPropertyName>> descendants;
+		private volatile DescendantIndex descendants;
 
 		private volatile ConfigurationPropertyName[] configurationPropertyNames;
 
 		private volatile String[] lastUpdated;
 
-		Mappings(PropertyMapper[] mappers, boolean immutable, boolean trackDescendants) {
+		Mappings(PropertyMapper[] mappers, boolean immutable) {
 			this.mappers = mappers;
 			this.immutable = immutable;
-			this.trackDescendants = trackDescendants;
 		}
 
 		void updateMappings(Supplier<String[]> propertyNames) {
@@ -234,8 +209,6 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			int size = propertyNames.length;
 			Map<ConfigurationPropertyName, Set<String>> mappings = cloneOrCreate(this.mappings, size);
 			Map<String, ConfigurationPropertyName> reverseMappings = cloneOrCreate(this.reverseMappings, size);
-			Map<ConfigurationPropertyName, Set<ConfigurationPropertyName>> descendants = cloneOrCreate(this.descendants,
-					size);
 			for (PropertyMapper propertyMapper : this.mappers) {
 				for (String propertyName : propertyNames) {
 					if (!reverseMappings.containsKey(propertyName)) {
@@ -243,16 +216,13 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 						if (configurationPropertyName != null && !configurationPropertyName.isEmpty()) {
 							add(mappings, configurationPropertyName, propertyName);
 							reverseMappings.put(propertyName, configurationPropertyName);
-							if (this.trackDescendants) {
-								addParents(descendants, configurationPropertyName);
-							}
 						}
 					}
 				}
 			}
 			this.mappings = mappings;
 			this.reverseMappings = reverseMappings;
-			this.descendants = descendants;
+			this.descendants = new DescendantIndex(reverseMappings.values());
 			this.lastUpdated = this.immutable ? null : propertyNames;
 			this.configurationPropertyNames = this.immutable
 					? reverseMappings.values().toArray(new ConfigurationPropertyName[0]) : null;
@@ -262,15 +232,6 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			return (source != null) ? new LinkedHashMap<>(source) : new LinkedHashMap<>(size);
 		}
 
-		private void addParents(Map<ConfigurationPropertyName, Set<ConfigurationPropertyName>> descendants,
-				ConfigurationPropertyName name) {
-			ConfigurationPropertyName parent = name;
-			while (!parent.isEmpty()) {
-				add(descendants, parent, name);
-				parent = parent.getParent();
-			}
-		}
-
 		private <K, T> void add(Map<K, Set<T>> map, K key, T value) {
 			map.computeIfAbsent(key, (k) -> new HashSet<>()).add(value);
 		}
@@ -295,15 +256,13 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			return names;
 		}
 
-		ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name,
-				BiPredicate<ConfigurationPropertyName, ConfigurationPropertyName> ancestorOfCheck) {
-			if (name.isEmpty() && !this.descendants.isEmpty()) {
-				return ConfigurationPropertyState.PRESENT;
-			}
-			Set<ConfigurationPropertyName> candidates = this.descendants.getOrDefault(name, Collections.emptySet());
-			for (ConfigurationPropertyName candidate : candidates) {
-				if (ancestorOfCheck.test(name, candidate)) {
-					return ConfigurationPropertyState.PRESENT;
+		ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name) {
+			DescendantIndex descendants = this.descendants;
+			for (PropertyMapper mapper : this.mappers) {
+				for (ConfigurationPropertyName searchName : mapper.getDescendantSearchNames(name)) {
+					if (descendants.hasDescendants(searchName)) {
+						return ConfigurationPropertyState.PRESENT;
+					}
 				}
 			}
 			return ConfigurationPropertyState.ABSENT;
@@ -311,6 +270,46 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 	}
 
+	/**
+	 * Prefix tree of the elements of all mapped names. Finding the descendants of a name
+	 * only depends on the number of elements in the name rather than on the number of
+	 * mapped names.
+	 */
+	private static final class DescendantIndex {
+
+		private final Map<String, DescendantIndex> children = new HashMap<>();
+
+		DescendantIndex(Iterable<ConfigurationPropertyName> names) {
+			for (ConfigurationPropertyName name : names) {
+				add(name);
+			}
+		}
+
+		private DescendantIndex() {
+		}
+
+		private void add(ConfigurationPropertyName name) {
+			DescendantIndex node = this;
+			for (int i = 0; i < name.getNumberOfElements(); i++) {
+				node = node.children.computeIfAbsent(getKey(name, i), (key) -> new DescendantIndex());
+			}
+		}
+
+		boolean hasDescendants(ConfigurationPropertyName name) {
+			DescendantIndex node = this;
+			for (int i = 0; i < name.getNumberOfElements() && node != null; i++) {
+				node = node.children.get(getKey(name, i));
+			}
+			return node != null && !node.children.isEmpty();
+		}
+
+		private static String getKey(ConfigurationPropertyName name, int elementIndex) {
+			// The uniform form of an element matches the rules used by equals
+			return name.getElement(elementIndex, Form.UNIFORM);
+		}
+
+	}
+
 	/**
 	 * ConfigurationPropertyNames iterator backed by an array.
 	 */
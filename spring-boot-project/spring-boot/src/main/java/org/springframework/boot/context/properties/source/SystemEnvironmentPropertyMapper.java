@@ -109,15 +109,24 @@ final class SystemEnvironmentPropertyMapper implements PropertyMapper {
 	}
 
 	private boolean isAncestorOf(ConfigurationPropertyName name, ConfigurationPropertyName candidate) {
-		return name.isAncestorOf(candidate) || isLegacyAncestorOf(name, candidate);
+		for (ConfigurationPropertyName searchName : getDescendantSearchNames(name)) {
+			if (searchName.isAncestorOf(candidate)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private boolean isLegacyAncestorOf(ConfigurationPropertyName name, ConfigurationPropertyName candidate) {
+	@Override
+	public List<ConfigurationPropertyName> getDescendantSearchNames(ConfigurationPropertyName name) {
 		if (!hasDashedEntries(name)) {
-			return false;
+			return Collections.singletonList(name);
 		}
 		ConfigurationPropertyName legacyCompatibleName = buildLegacyCompatibleName(name);
-		return legacyCompatibleName != null && legacyCompatibleName.isAncestorOf(candidate);
+		if (legacyCompatibleName == null) {
+			return Collections.singletonList(name);
+		}
+		return Arrays.asList(name, legacyCompatibleName);
 	}
 
 	private ConfigurationPropertyName buildLegacyCompatibleName(ConfigurationPropertyName name) {
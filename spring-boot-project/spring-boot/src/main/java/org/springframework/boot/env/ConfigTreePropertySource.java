@@ -27,7 +27,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -56,8 +58,10 @@ import org.springframework.util.StringUtils;
  * Directories are only scanned when the source is first created. The directory is not
  * monitored for updates, so files should not be added or removed. However, the contents
  * of a file can be updated as long as the property source was created with a
- * {@link Option#ALWAYS_READ} option. Nested directories are included in the source, but
- * with a {@code '.'} rather than {@code '/'} used as the path separator.
+ * {@link Option#ALWAYS_READ} option. Sources created with the {@link Option#RELOADABLE}
+ * option can also be {@link #reload() reloaded} to pick up files that have been added,
+ * removed or changed. Nested directories are included in the source, but with a
+ * {@code '.'} rather than {@code '/'} used as the path separator.
  * <p>
  * Property values are returned as {@link Value} instances which allows them to be treated
  * either as an {@link InputStreamSource} or as a {@link CharSequence}. In addition, if
@@ -75,9 +79,9 @@ public class ConfigTreePropertySource extends EnumerablePropertySource<Path> imp
 
 	private static final int MAX_DEPTH = 100;
 
-	private final Map<String, PropertyFile> propertyFiles;
+	private volatile Map<String, PropertyFile> propertyFiles;
 
-	private final String[] names;
+	private volatile String[] names;
 
 	private final Set<Option> options;
 
@@ -128,7 +132,38 @@ public class ConfigTreePropertySource extends EnumerablePropertySource<Path> imp
 
 	@Override
 	public boolean isImmutable() {
-		return !this.options.contains(Option.ALWAYS_READ);
+		return !this.options.contains(Option.ALWAYS_READ) && !this.options.contains(Option.RELOADABLE);
+	}
+
+	/**
+	 * Scan the source directory again and update the property source with any files that
+	 * have been added, removed or changed. Files that have not been modified keep their
+	 * cached content. A modified file is only reported as changed if its content differs
+	 * from the content that was previously read. Files that had not been read are always
+	 * reported.
+	 * @return the names of the properties that have changed
+	 * @since 3.0.0
+	 */
+	public synchronized Set<String> reload() {
+		Assert.state(this.options.contains(Option.RELOADABLE), "Property source is not reloadable");
+		Map<String, PropertyFile> previous = this.propertyFiles;
+		Map<String, PropertyFile> current = new TreeMap<>();
+		Set<String> changed = new LinkedHashSet<>();
+		PropertyFile.findAll(getSource(), this.options).forEach((name, propertyFile) -> {
+			PropertyFile previousFile = previous.get(name);
+			if (previousFile != null && previousFile.hasSameAttributes(propertyFile)) {
+				current.put(name, previousFile);
+				return;
+			}
+			current.put(name, propertyFile);
+			if (previousFile == null || !previousFile.hasSameContent(propertyFile)) {
+				changed.add(name);
+			}
+		});
+		previous.keySet().stream().filter((name) -> !current.containsKey(name)).forEach(changed::add);
+		this.propertyFiles = Collections.unmodifiableMap(current);
+		this.names = StringUtils.toStringArray(current.keySet());
+		return changed;
 	}
 
 	/**
@@ -151,7 +186,14 @@ public class ConfigTreePropertySource extends EnumerablePropertySource<Path> imp
 		/**
 		 * Automatically attempt trim trailing new-line characters.
 		 */
-		AUTO_TRIM_TRAILING_NEW_LINE
+		AUTO_TRIM_TRAILING_NEW_LINE,
+
+		/**
+		 * Allow the property source to be {@link ConfigTreePropertySource#reload()
+		 * reloaded}. Reloadable property sources are not immutable.
+		 * @since 3.0.0
+		 */
+		RELOADABLE
 
 	}
 
@@ -181,6 +223,8 @@ public class ConfigTreePropertySource extends EnumerablePropertySource<Path> imp
 
 		private final boolean autoTrimTrailingNewLine;
 
+		private final BasicFileAttributes attributes;
+
 		private PropertyFile(Path path, Set<Option> options) {
 			this.path = path;
 			this.resource = new PathResource(path);
@@ -188,6 +232,16 @@ public class ConfigTreePropertySource extends EnumerablePropertySource<Path> imp
 			this.autoTrimTrailingNewLine = options.contains(Option.AUTO_TRIM_TRAILING_NEW_LINE);
 			this.cachedContent = options.contains(Option.ALWAYS_READ) ? null
 					: new PropertyFileContent(path, this.resource, this.origin, true, this.autoTrimTrailingNewLine);
+			this.attributes = options.contains(Option.RELOADABLE) ? readAttributes(path) : null;
+		}
+
+		private static BasicFileAttributes readAttributes(Path path) {
+			try {
+				return Files.readAttributes(path, BasicFileAttributes.class);
+			}
+			catch (IOException ex) {
+				return null;
+			}
 		}
 
 		PropertyFileContent getContent() {
@@ -201,6 +255,23 @@ public class ConfigTreePropertySource extends EnumerablePropertySource<Path> imp
 			return this.origin;
 		}
 
+		boolean hasSameAttributes(PropertyFile other) {
+			if (this.attributes == null || other.attributes == null) {
+				return false;
+			}
+			return this.attributes.size() == other.attributes.size()
+					&& Objects.equals(this.attributes.lastModifiedTime(), other.attributes.lastModifiedTime())
+					&& Objects.equals(this.attributes.fileKey(), other.attributes.fileKey());
+		}
+
+		boolean hasSameContent(PropertyFile other) {
+			byte[] content = (this.cachedContent != null) ? this.cachedContent.content : null;
+			if (content == null || !Files.exists(other.path)) {
+				return false;
+			}
+			return Arrays.equals(content, other.getContent().getBytes());
+		}
+
 		static Map<String, PropertyFile> findAll(Path sourceDirectory, Set<Option> options) {
 			try {
 				Map<String, PropertyFile> propertyFiles = new TreeMap<>();
@@ -25,7 +25,8 @@ import org.springframework.core.env.MapPropertySource;
 
 /**
  * {@link OriginLookup} backed by a {@link Map} containing {@link OriginTrackedValue
- * OriginTrackedValues}.
+ * OriginTrackedValues}. Sources may also hold plain values with origins that are
+ * provided by a separate {@link OriginLookup}.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
@@ -36,6 +37,8 @@ public final class OriginTrackedMapPropertySource extends MapPropertySource impl
 
 	private final boolean immutable;
 
+	private final OriginLookup<String> originLookup;
+
 	/**
 	 * Create a new {@link OriginTrackedMapPropertySource} instance.
 	 * @param name the property source name
@@ -55,8 +58,22 @@ public final class OriginTrackedMapPropertySource extends MapPropertySource impl
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public OriginTrackedMapPropertySource(String name, Map source, boolean immutable) {
+		this(name, source, immutable, null);
+	}
+
+	/**
+	 * Create a new {@link OriginTrackedMapPropertySource} instance.
+	 * @param name the property source name
+	 * @param source the underlying map source
+	 * @param immutable if the underlying source is immutable and guaranteed not to change
+	 * @param originLookup the lookup used for values that are not
+	 * {@link OriginTrackedValue OriginTrackedValues} or {@code null}
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	OriginTrackedMapPropertySource(String name, Map source, boolean immutable, OriginLookup<String> originLookup) {
 		super(name, source);
 		this.immutable = immutable;
+		this.originLookup = originLookup;
 	}
 
 	@Override
@@ -74,7 +91,7 @@ public final class OriginTrackedMapPropertySource extends MapPropertySource impl
 		if (value instanceof OriginTrackedValue) {
 			return ((OriginTrackedValue) value).getOrigin();
 		}
-		return null;
+		return (value != null && this.originLookup != null) ? this.originLookup.getOrigin(name) : null;
 	}
 
 	@Override
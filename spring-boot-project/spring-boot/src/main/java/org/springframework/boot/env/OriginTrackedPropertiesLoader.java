@@ -16,10 +16,9 @@
 
 package org.springframework.boot.env;
 
-import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.LineNumberReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -33,6 +32,7 @@ import org.springframework.boot.origin.TextResourceOrigin;
 import org.springframework.boot.origin.TextResourceOrigin.Location;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
 
 /**
  * Class to load {@code .properties} files into a map of {@code String} -&gt;
@@ -76,29 +76,27 @@ class OriginTrackedPropertiesLoader {
 		List<Document> documents = new ArrayList<>();
 		Document document = new Document();
 		StringBuilder buffer = new StringBuilder();
-		try (CharacterReader reader = new CharacterReader(this.resource)) {
-			while (reader.read()) {
-				if (reader.isPoundCharacter()) {
-					if (isNewDocument(reader)) {
-						if (!document.isEmpty()) {
-							documents.add(document);
-						}
-						document = new Document();
-					}
-					else {
-						if (document.isEmpty() && !documents.isEmpty()) {
-							document = documents.remove(documents.size() - 1);
-						}
-						reader.setLastLineComment(true);
-						reader.skipComment();
+		CharacterReader reader = new CharacterReader(this.resource);
+		while (reader.read()) {
+			if (reader.isPoundCharacter()) {
+				if (isNewDocument(reader)) {
+					if (!document.isEmpty()) {
+						documents.add(document);
 					}
+					document = new Document();
 				}
 				else {
-					reader.setLastLineComment(false);
-					loadKeyAndValue(expandLists, document, reader, buffer);
+					if (document.isEmpty() && !documents.isEmpty()) {
+						document = documents.remove(documents.size() - 1);
+					}
+					reader.setLastLineComment(true);
+					reader.skipComment();
 				}
 			}
-
+			else {
+				reader.setLastLineComment(false);
+				loadKeyAndValue(expandLists, document, reader, buffer);
+			}
 		}
 		if (!document.isEmpty() && !documents.contains(document)) {
 			documents.add(document);
@@ -106,8 +104,8 @@ class OriginTrackedPropertiesLoader {
 		return documents;
 	}
 
-	private void loadKeyAndValue(boolean expandLists, Document document, CharacterReader reader, StringBuilder buffer)
-			throws IOException {
+	private void loadKeyAndValue(boolean expandLists, Document document, CharacterReader reader,
+			StringBuilder buffer) {
 		String key = loadKey(buffer, reader).trim();
 		if (expandLists && key.endsWith("[]")) {
 			key = key.substring(0, key.length() - 2);
@@ -127,7 +125,7 @@ class OriginTrackedPropertiesLoader {
 		}
 	}
 
-	private String loadKey(StringBuilder buffer, CharacterReader reader) throws IOException {
+	private String loadKey(StringBuilder buffer, CharacterReader reader) {
 		buffer.setLength(0);
 		boolean previousWhitespace = false;
 		while (!reader.isEndOfLine()) {
@@ -145,8 +143,7 @@ class OriginTrackedPropertiesLoader {
 		return buffer.toString();
 	}
 
-	private OriginTrackedValue loadValue(StringBuilder buffer, CharacterReader reader, boolean splitLists)
-			throws IOException {
+	private OriginTrackedValue loadValue(StringBuilder buffer, CharacterReader reader, boolean splitLists) {
 		buffer.setLength(0);
 		while (reader.isWhiteSpace() && !reader.isEndOfLine()) {
 			reader.read();
@@ -160,7 +157,7 @@ class OriginTrackedPropertiesLoader {
 		return OriginTrackedValue.of(buffer.toString(), origin);
 	}
 
-	private boolean isNewDocument(CharacterReader reader) throws IOException {
+	private boolean isNewDocument(CharacterReader reader) {
 		if (reader.isLastLineComment()) {
 			return false;
 		}
@@ -175,20 +172,26 @@ class OriginTrackedPropertiesLoader {
 		return result && reader.isEndOfLine();
 	}
 
-	private boolean readAndExpect(CharacterReader reader, BooleanSupplier check) throws IOException {
+	private boolean readAndExpect(CharacterReader reader, BooleanSupplier check) {
 		reader.read();
 		return check.getAsBoolean();
 	}
 
 	/**
 	 * Reads characters from the source resource, taking care of skipping comments,
-	 * handling multi-line values and tracking {@code '\'} escapes.
+	 * handling multi-line values and tracking {@code '\'} escapes. The resource is
+	 * decoded into a single buffer up-front and line numbers are only counted when a
+	 * {@link #getLocation() location} is requested.
 	 */
-	private static class CharacterReader implements Closeable {
+	private static class CharacterReader {
 
 		private static final String[] ESCAPES = { "trnf", "\t\r\n\f" };
 
-		private final LineNumberReader reader;
+		private final CharBuffer buffer;
+
+		private int lineNumber;
+
+		private int lineNumberPosition;
 
 		private int columnNumber = -1;
 
@@ -199,22 +202,36 @@ class OriginTrackedPropertiesLoader {
 		private boolean lastLineComment;
 
 		CharacterReader(Resource resource) throws IOException {
-			this.reader = new LineNumberReader(
-					new InputStreamReader(resource.getInputStream(), StandardCharsets.ISO_8859_1));
+			byte[] bytes = FileCopyUtils.copyToByteArray(resource.getInputStream());
+			this.buffer = StandardCharsets.ISO_8859_1.decode(ByteBuffer.wrap(bytes));
 		}
 
-		@Override
-		public void close() throws IOException {
-			this.reader.close();
+		/**
+		 * Read the next character from the buffer, folding {@code "\r\n"} and
+		 * {@code '\r'} line terminators into a single {@code '\n'}.
+		 * @return the character or {@code -1} at the end of the buffer
+		 */
+		private int readCharacter() {
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			char character = this.buffer.get();
+			if (character == '\r') {
+				if (this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) == '\n') {
+					this.buffer.get();
+				}
+				return '\n';
+			}
+			return character;
 		}
 
-		boolean read() throws IOException {
+		boolean read() {
 			return read(false);
 		}
 
-		boolean read(boolean wrappedLine) throws IOException {
+		boolean read(boolean wrappedLine) {
 			this.escaped = false;
-			this.character = this.reader.read();
+			this.character = readCharacter();
 			this.columnNumber++;
 			if (this.columnNumber == 0) {
 				skipWhitespace();
@@ -234,9 +251,9 @@ class OriginTrackedPropertiesLoader {
 			return !isEndOfFile();
 		}
 
-		private void skipWhitespace() throws IOException {
+		private void skipWhitespace() {
 			while (isWhiteSpace()) {
-				this.character = this.reader.read();
+				this.character = readCharacter();
 				this.columnNumber++;
 			}
 		}
@@ -249,15 +266,15 @@ class OriginTrackedPropertiesLoader {
 			return this.lastLineComment;
 		}
 
-		private void skipComment() throws IOException {
+		private void skipComment() {
 			while (this.character != '\n' && this.character != -1) {
-				this.character = this.reader.read();
+				this.character = readCharacter();
 			}
 			this.columnNumber = -1;
 		}
 
-		private void readEscaped() throws IOException {
-			this.character = this.reader.read();
+		private void readEscaped() {
+			this.character = readCharacter();
 			int escapeIndex = ESCAPES[0].indexOf(this.character);
 			if (escapeIndex != -1) {
 				this.character = ESCAPES[1].charAt(escapeIndex);
@@ -271,10 +288,10 @@ class OriginTrackedPropertiesLoader {
 			}
 		}
 
-		private void readUnicode() throws IOException {
+		private void readUnicode() {
 			this.character = 0;
 			for (int i = 0; i < 4; i++) {
-				int digit = this.reader.read();
+				int digit = readCharacter();
 				if (digit >= '0' && digit <= '9') {
 					this.character = (this.character << 4) + digit - '0';
 				}
@@ -315,7 +332,26 @@ class OriginTrackedPropertiesLoader {
 		}
 
 		Location getLocation() {
-			return new Location(this.reader.getLineNumber(), this.columnNumber);
+			return new Location(getLineNumber(), this.columnNumber);
+		}
+
+		private int getLineNumber() {
+			int position = this.buffer.position();
+			for (int i = this.lineNumberPosition; i < position; i++) {
+				if (isLineTerminator(i)) {
+					this.lineNumber++;
+				}
+			}
+			this.lineNumberPosition = position;
+			return this.lineNumber;
+		}
+
+		private boolean isLineTerminator(int index) {
+			char character = this.buffer.get(index);
+			if (character == '\r') {
+				return index + 1 == this.buffer.limit() || this.buffer.get(index + 1) != '\n';
+			}
+			return character == '\n';
 		}
 
 		boolean isPoundCharacter() {
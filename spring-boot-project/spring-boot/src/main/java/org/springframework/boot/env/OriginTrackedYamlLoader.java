@@ -17,6 +17,7 @@
 package org.springframework.boot.env;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -48,7 +49,8 @@ import org.springframework.core.io.Resource;
 
 /**
  * Class to load {@code .yml} files into a map of {@code String} to
- * {@link OriginTrackedValue}.
+ * {@link OriginTrackedValue}. Documents can also be loaded with plain values and a
+ * compact {@link TextResourceOriginIndex} that creates origins on demand.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
@@ -57,6 +59,8 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 
 	private final Resource resource;
 
+	private boolean lazyOrigins;
+
 	OriginTrackedYamlLoader(Resource resource) {
 		this.resource = resource;
 		setResources(resource);
@@ -85,6 +89,18 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 		return result;
 	}
 
+	/**
+	 * Load documents without wrapping values in {@link OriginTrackedValue} instances.
+	 * The location of each value is instead held in a {@link TextResourceOriginIndex}.
+	 * @return the loaded documents
+	 */
+	List<Document> loadWithLazyOrigins() {
+		this.lazyOrigins = true;
+		final List<Document> result = new ArrayList<>();
+		process((properties, map) -> result.add(new Document(this.resource, getFlattenedMap(map))));
+		return result;
+	}
+
 	/**
 	 * {@link Constructor} that tracks property origins.
 	 */
@@ -97,7 +113,8 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 		@Override
 		public Object getData() throws NoSuchElementException {
 			Object data = super.getData();
-			if (data instanceof CharSequence && ((CharSequence) data).length() == 0) {
+			Object value = (data instanceof LocatedValue) ? ((LocatedValue) data).value : data;
+			if (value instanceof CharSequence && ((CharSequence) value).length() == 0) {
 				return null;
 			}
 			return data;
@@ -124,6 +141,10 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 		}
 
 		private Object constructTrackedObject(Node node, Object value) {
+			if (OriginTrackedYamlLoader.this.lazyOrigins) {
+				Mark mark = node.getStartMark();
+				return new LocatedValue(getValue(value), mark.getLine(), mark.getColumn());
+			}
 			Origin origin = getOrigin(node);
 			return OriginTrackedValue.of(getValue(value), origin);
 		}
@@ -164,6 +185,59 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 
 	}
 
+	/**
+	 * A value and its location, used while loading documents with lazy origins.
+	 */
+	private static final class LocatedValue {
+
+		private final Object value;
+
+		private final int line;
+
+		private final int column;
+
+		LocatedValue(Object value, int line, int column) {
+			this.value = value;
+			this.line = line;
+			this.column = column;
+		}
+
+	}
+
+	/**
+	 * A document loaded with lazy origins.
+	 */
+	static final class Document {
+
+		private final Map<String, Object> values;
+
+		private final TextResourceOriginIndex origins;
+
+		private Document(Resource resource, Map<String, Object> flattened) {
+			TextResourceOriginIndex.Builder origins = new TextResourceOriginIndex.Builder(resource);
+			Map<String, Object> values = new LinkedHashMap<>(flattened.size() * 4 / 3 + 1);
+			flattened.forEach((name, value) -> {
+				if (value instanceof LocatedValue) {
+					LocatedValue locatedValue = (LocatedValue) value;
+					origins.add(name, locatedValue.line, locatedValue.column);
+					value = locatedValue.value;
+				}
+				values.put(name, value);
+			});
+			this.values = values;
+			this.origins = origins.build();
+		}
+
+		Map<String, Object> asMap() {
+			return this.values;
+		}
+
+		TextResourceOriginIndex getOrigins() {
+			return this.origins;
+		}
+
+	}
+
 	/**
 	 * {@link Resolver} that limits {@link Tag#TIMESTAMP} tags.
 	 */
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.boot.origin.TextResourceOrigin.Location;
+import org.springframework.core.io.Resource;
+
+/**
+ * {@link OriginLookup} that holds the {@link Location} of each property of a single
+ * resource in a compact form. {@link TextResourceOrigin} instances are only created when
+ * they are requested.
+ *
+ * @author agent
+ */
+final class TextResourceOriginIndex implements OriginLookup<String> {
+
+	private final Resource resource;
+
+	private final String[] names;
+
+	private final long[] locations;
+
+	private TextResourceOriginIndex(Resource resource, String[] names, long[] locations) {
+		this.resource = resource;
+		this.names = names;
+		this.locations = locations;
+	}
+
+	@Override
+	public Origin getOrigin(String name) {
+		int index = Arrays.binarySearch(this.names, name);
+		if (index < 0) {
+			return null;
+		}
+		long location = this.locations[index];
+		return new TextResourceOrigin(this.resource, new Location((int) (location >>> 32), (int) location));
+	}
+
+	/**
+	 * Builder used to create a {@link TextResourceOriginIndex}.
+	 */
+	static class Builder {
+
+		private final Resource resource;
+
+		private final Map<String, Long> locations = new TreeMap<>();
+
+		Builder(Resource resource) {
+			this.resource = resource;
+		}
+
+		/**
+		 * Add the location of the given property.
+		 * @param name the property name
+		 * @param line the zero based line number
+		 * @param column the zero based column number
+		 */
+		void add(String name, int line, int column) {
+			this.locations.put(name, ((long) line << 32) | (column & 0xFFFFFFFFL));
+		}
+
+		TextResourceOriginIndex build() {
+			String[] names = new String[this.locations.size()];
+			long[] locations = new long[this.locations.size()];
+			int index = 0;
+			for (Map.Entry<String, Long> entry : this.locations.entrySet()) {
+				names[index] = entry.getKey();
+				locations[index] = entry.getValue();
+				index++;
+			}
+			return new TextResourceOriginIndex(this.resource, names, locations);
+		}
+
+	}
+
+}
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.boot.env.OriginTrackedYamlLoader.Document;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.ClassUtils;
@@ -36,6 +37,26 @@ import org.springframework.util.ClassUtils;
  */
 public class YamlPropertySourceLoader implements PropertySourceLoader {
 
+	private final boolean lazyOrigins;
+
+	/**
+	 * Create a new {@link YamlPropertySourceLoader} instance.
+	 */
+	public YamlPropertySourceLoader() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@link YamlPropertySourceLoader} instance.
+	 * @param lazyOrigins if the origins of values should be held as compact locations and
+	 * only created when requested, rather than wrapping every value in an
+	 * {@link org.springframework.boot.origin.OriginTrackedValue}
+	 * @since 3.0.0
+	 */
+	public YamlPropertySourceLoader(boolean lazyOrigins) {
+		this.lazyOrigins = lazyOrigins;
+	}
+
 	@Override
 	public String[] getFileExtensions() {
 		return new String[] { "yml", "yaml" };
@@ -47,6 +68,9 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 			throw new IllegalStateException(
 					"Attempted to load " + name + " but snakeyaml was not found on the classpath");
 		}
+		if (this.lazyOrigins) {
+			return loadWithLazyOrigins(name, resource);
+		}
 		List<Map<String, Object>> loaded = new OriginTrackedYamlLoader(resource).load();
 		if (loaded.isEmpty()) {
 			return Collections.emptyList();
@@ -60,4 +84,19 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 		return propertySources;
 	}
 
+	private List<PropertySource<?>> loadWithLazyOrigins(String name, Resource resource) {
+		List<Document> loaded = new OriginTrackedYamlLoader(resource).loadWithLazyOrigins();
+		if (loaded.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<PropertySource<?>> propertySources = new ArrayList<>(loaded.size());
+		for (int i = 0; i < loaded.size(); i++) {
+			String documentNumber = (loaded.size() != 1) ? " (document #" + i + ")" : "";
+			Document document = loaded.get(i);
+			propertySources.add(new OriginTrackedMapPropertySource(name + documentNumber,
+					Collections.unmodifiableMap(document.asMap()), true, document.getOrigins()));
+		}
+		return propertySources;
+	}
+
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.error;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * {@link StackTraceRenderer} that renders a bounded number of frames per throwable and
+ * caches the rendered frames.
+ *
+ * @author agent
+ * @see StackTraceRenderer#maxFrames(int)
+ */
+final class CappedStackTraceRenderer implements StackTraceRenderer {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	private final int maxFrames;
+
+	private final Map<Frames, String> cache = new ConcurrentReferenceHashMap<>();
+
+	CappedStackTraceRenderer(int maxFrames) {
+		this.maxFrames = maxFrames;
+	}
+
+	@Override
+	public String render(Throwable error) {
+		StringBuilder result = new StringBuilder(256);
+		Set<Throwable> rendered = Collections.newSetFromMap(new IdentityHashMap<>());
+		Throwable current = error;
+		while (current != null && rendered.add(current)) {
+			if (current != error) {
+				result.append("Caused by: ");
+			}
+			result.append(current).append(LINE_SEPARATOR);
+			result.append(this.cache.computeIfAbsent(new Frames(current.getStackTrace(), this.maxFrames),
+					this::render));
+			current = current.getCause();
+		}
+		return result.toString();
+	}
+
+	private String render(Frames frames) {
+		StackTraceElement[] elements = frames.elements;
+		StringBuilder result = new StringBuilder(64 * frames.size);
+		for (int i = 0; i < frames.size; i++) {
+			result.append("\tat ").append(elements[i]).append(LINE_SEPARATOR);
+		}
+		if (elements.length > frames.size) {
+			result.append("\t... ").append(elements.length - frames.size).append(" more").append(LINE_SEPARATOR);
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Cache key for the rendered frames of a stack trace.
+	 */
+	private static final class Frames {
+
+		private final StackTraceElement[] elements;
+
+		private final int size;
+
+		private final int hash;
+
+		Frames(StackTraceElement[] elements, int maxFrames) {
+			this.elements = elements;
+			this.size = Math.min(elements.length, maxFrames);
+			int hash = elements.length;
+			for (int i = 0; i < this.size; i++) {
+				hash = 31 * hash + elements[i].hashCode();
+			}
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Frames other = (Frames) obj;
+			if (this.hash != other.hash || this.size != other.size
+					|| this.elements.length != other.elements.length) {
+				return false;
+			}
+			for (int i = 0; i < this.size; i++) {
+				if (!this.elements[i].equals(other.elements[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.error;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Error attributes {@link Map} that can hold values that are only computed when they are
+ * first read, either directly or by iterating over the map. Expensive attributes, such as
+ * the {@code trace}, are therefore not computed when a view or a subclass does not use
+ * them. Attributes are kept in insertion order. Instances are not thread-safe.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+public final class LazyErrorAttributes extends AbstractMap<String, Object> {
+
+	private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+	/**
+	 * Add an attribute whose value is obtained from the given supplier when it is first
+	 * read.
+	 * @param key the attribute key
+	 * @param value the supplier of the attribute value
+	 */
+	public void putLazy(String key, Supplier<?> value) {
+		Assert.notNull(value, "Value must not be null");
+		this.attributes.put(key, new LazyValue(value));
+	}
+
+	@Override
+	public int size() {
+		return this.attributes.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.attributes.containsKey(key);
+	}
+
+	@Override
+	public Object get(Object key) {
+		Object value = this.attributes.get(key);
+		if (value instanceof LazyValue) {
+			value = ((LazyValue) value).get();
+			this.attributes.put((String) key, value);
+		}
+		return value;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		return resolve(this.attributes.put(key, value));
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return resolve(this.attributes.remove(key));
+	}
+
+	@Override
+	public void clear() {
+		this.attributes.clear();
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new EntrySet();
+	}
+
+	private Object resolve(Object value) {
+		return (value instanceof LazyValue) ? ((LazyValue) value).get() : value;
+	}
+
+	/**
+	 * Entry set view that resolves lazy values as they are read.
+	 */
+	private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			Iterator<Entry<String, Object>> iterator = LazyErrorAttributes.this.attributes.entrySet().iterator();
+			return new Iterator<>() {
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public Entry<String, Object> next() {
+					return new LazyEntry(iterator.next());
+				}
+
+				@Override
+				public void remove() {
+					iterator.remove();
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return LazyErrorAttributes.this.attributes.size();
+		}
+
+	}
+
+	/**
+	 * Entry that resolves a lazy value when it is read.
+	 */
+	private static final class LazyEntry implements Entry<String, Object> {
+
+		private final Entry<String, Object> entry;
+
+		LazyEntry(Entry<String, Object> entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public String getKey() {
+			return this.entry.getKey();
+		}
+
+		@Override
+		public Object getValue() {
+			Object value = this.entry.getValue();
+			if (value instanceof LazyValue) {
+				value = ((LazyValue) value).get();
+				this.entry.setValue(value);
+			}
+			return value;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			Object previous = getValue();
+			this.entry.setValue(value);
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			Entry<?, ?> other = (Entry<?, ?>) obj;
+			return ObjectUtils.nullSafeEquals(getKey(), other.getKey())
+					&& ObjectUtils.nullSafeEquals(getValue(), other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return ObjectUtils.nullSafeHashCode(getKey()) ^ ObjectUtils.nullSafeHashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+
+	}
+
+	/**
+	 * A value that is computed when it is first read.
+	 */
+	private static final class LazyValue {
+
+		private final Supplier<?> supplier;
+
+		LazyValue(Supplier<?> supplier) {
+			this.supplier = supplier;
+		}
+
+		Object get() {
+			return this.supplier.get();
+		}
+
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.error;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.springframework.util.Assert;
+
+/**
+ * Strategy used to render the stack trace of an error as the {@code trace} error
+ * attribute.
+ *
+ * @author agent
+ * @since 3.0.0
+ */
+@FunctionalInterface
+public interface StackTraceRenderer {
+
+	/**
+	 * Render the stack trace of the given error.
+	 * @param error the error to render
+	 * @return the rendered stack trace
+	 */
+	String render(Throwable error);
+
+	/**
+	 * Return a renderer that produces the same output as
+	 * {@link Throwable#printStackTrace()}.
+	 * @return the standard renderer
+	 */
+	static StackTraceRenderer standard() {
+		return (error) -> {
+			StringWriter stackTrace = new StringWriter();
+			error.printStackTrace(new PrintWriter(stackTrace));
+			stackTrace.flush();
+			return stackTrace.toString();
+		};
+	}
+
+	/**
+	 * Return a renderer suited to high error rates. At most {@code maxFrames} frames are
+	 * rendered for the error and for each of its causes, suppressed exceptions are not
+	 * rendered and the rendered frames are cached so that errors thrown repeatedly from
+	 * the same place are only formatted once.
+	 * @param maxFrames the maximum number of frames to render for each throwable
+	 * @return a capped and caching renderer
+	 */
+	static StackTraceRenderer maxFrames(int maxFrames) {
+		Assert.isTrue(maxFrames >= 0, "MaxFrames must not be negative");
+		return new CappedStackTraceRenderer(maxFrames);
+	}
+
+}
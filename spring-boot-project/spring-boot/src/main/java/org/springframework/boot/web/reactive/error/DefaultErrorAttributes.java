@@ -16,19 +16,19 @@
 
 package org.springframework.boot.web.reactive.error;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.error.ErrorAttributeOptions.Include;
+import org.springframework.boot.web.error.LazyErrorAttributes;
+import org.springframework.boot.web.error.StackTraceRenderer;
 import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
 import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
@@ -48,7 +48,8 @@ import org.springframework.web.server.ServerWebExchange;
  * <li>message - The exception message (if configured)</li>
  * <li>errors - Any {@link ObjectError}s from a {@link BindingResult} exception (if
  * configured)</li>
- * <li>trace - The exception stack trace (if configured)</li>
+ * <li>trace - The exception stack trace (if configured), rendered when it is first
+ * read</li>
  * <li>path - The URL path when the exception was raised</li>
  * <li>requestId - Unique ID associated with the current request</li>
  * </ul>
@@ -64,26 +65,29 @@ public class DefaultErrorAttributes implements ErrorAttributes {
 
 	private static final String ERROR_INTERNAL_ATTRIBUTE = DefaultErrorAttributes.class.getName() + ".ERROR";
 
-	@Override
-	public Map<String, Object> getErrorAttributes(ServerRequest request, ErrorAttributeOptions options) {
-		Map<String, Object> errorAttributes = getErrorAttributes(request, options.isIncluded(Include.STACK_TRACE));
-		if (!options.isIncluded(Include.EXCEPTION)) {
-			errorAttributes.remove("exception");
-		}
-		if (!options.isIncluded(Include.STACK_TRACE)) {
-			errorAttributes.remove("trace");
-		}
-		if (!options.isIncluded(Include.MESSAGE) && errorAttributes.get("message") != null) {
-			errorAttributes.remove("message");
-		}
-		if (!options.isIncluded(Include.BINDING_ERRORS)) {
-			errorAttributes.remove("errors");
-		}
-		return errorAttributes;
+	private final StackTraceRenderer stackTraceRenderer;
+
+	/**
+	 * Create a new {@link DefaultErrorAttributes} instance that renders stack traces in
+	 * the same way as {@link Throwable#printStackTrace()}.
+	 */
+	public DefaultErrorAttributes() {
+		this(StackTraceRenderer.standard());
 	}
 
-	private Map<String, Object> getErrorAttributes(ServerRequest request, boolean includeStackTrace) {
-		Map<String, Object> errorAttributes = new LinkedHashMap<>();
+	/**
+	 * Create a new {@link DefaultErrorAttributes} instance.
+	 * @param stackTraceRenderer the renderer used for the {@code trace} attribute
+	 * @since 3.0.0
+	 */
+	public DefaultErrorAttributes(StackTraceRenderer stackTraceRenderer) {
+		Assert.notNull(stackTraceRenderer, "StackTraceRenderer must not be null");
+		this.stackTraceRenderer = stackTraceRenderer;
+	}
+
+	@Override
+	public Map<String, Object> getErrorAttributes(ServerRequest request, ErrorAttributeOptions options) {
+		LazyErrorAttributes errorAttributes = new LazyErrorAttributes();
 		errorAttributes.put("timestamp", new Date());
 		errorAttributes.put("path", request.path());
 		Throwable error = getError(request);
@@ -92,9 +96,12 @@ public class DefaultErrorAttributes implements ErrorAttributes {
 		HttpStatus errorStatus = determineHttpStatus(error, responseStatusAnnotation);
 		errorAttributes.put("status", errorStatus.value());
 		errorAttributes.put("error", errorStatus.getReasonPhrase());
-		errorAttributes.put("message", determineMessage(error, responseStatusAnnotation));
+		String message = determineMessage(error, responseStatusAnnotation);
+		if (message == null || options.isIncluded(Include.MESSAGE)) {
+			errorAttributes.put("message", message);
+		}
 		errorAttributes.put("requestId", request.exchange().getRequest().getId());
-		handleException(errorAttributes, determineException(error), includeStackTrace);
+		handleException(errorAttributes, determineException(error), options);
 		return errorAttributes;
 	}
 
@@ -126,19 +133,14 @@ public class DefaultErrorAttributes implements ErrorAttributes {
 		return error;
 	}
 
-	private void addStackTrace(Map<String, Object> errorAttributes, Throwable error) {
-		StringWriter stackTrace = new StringWriter();
-		error.printStackTrace(new PrintWriter(stackTrace));
-		stackTrace.flush();
-		errorAttributes.put("trace", stackTrace.toString());
-	}
-
-	private void handleException(Map<String, Object> errorAttributes, Throwable error, boolean includeStackTrace) {
-		errorAttributes.put("exception", error.getClass().getName());
-		if (includeStackTrace) {
-			addStackTrace(errorAttributes, error);
+	private void handleException(LazyErrorAttributes errorAttributes, Throwable error, ErrorAttributeOptions options) {
+		if (options.isIncluded(Include.EXCEPTION)) {
+			errorAttributes.put("exception", error.getClass().getName());
 		}
-		if (error instanceof BindingResult) {
+		if (options.isIncluded(Include.STACK_TRACE)) {
+			errorAttributes.putLazy("trace", () -> this.stackTraceRenderer.render(error));
+		}
+		if (error instanceof BindingResult && options.isIncluded(Include.BINDING_ERRORS)) {
 			BindingResult result = (BindingResult) error;
 			if (result.hasErrors()) {
 				errorAttributes.put("errors", result.getAllErrors());
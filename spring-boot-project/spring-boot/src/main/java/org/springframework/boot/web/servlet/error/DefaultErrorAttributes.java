@@ -16,10 +16,7 @@
 
 package org.springframework.boot.web.servlet.error;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import jakarta.servlet.RequestDispatcher;
@@ -29,9 +26,12 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.error.ErrorAttributeOptions.Include;
+import org.springframework.boot.web.error.LazyErrorAttributes;
+import org.springframework.boot.web.error.StackTraceRenderer;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
@@ -52,7 +52,8 @@ import org.springframework.web.servlet.ModelAndView;
  * <li>message - The exception message (if configured)</li>
  * <li>errors - Any {@link ObjectError}s from a {@link BindingResult} exception (if
  * configured)</li>
- * <li>trace - The exception stack trace (if configured)</li>
+ * <li>trace - The exception stack trace (if configured), rendered when it is first
+ * read</li>
  * <li>path - The URL path when the exception was raised</li>
  * </ul>
  *
@@ -69,6 +70,26 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 
 	private static final String ERROR_INTERNAL_ATTRIBUTE = DefaultErrorAttributes.class.getName() + ".ERROR";
 
+	private final StackTraceRenderer stackTraceRenderer;
+
+	/**
+	 * Create a new {@link DefaultErrorAttributes} instance that renders stack traces in
+	 * the same way as {@link Throwable#printStackTrace()}.
+	 */
+	public DefaultErrorAttributes() {
+		this(StackTraceRenderer.standard());
+	}
+
+	/**
+	 * Create a new {@link DefaultErrorAttributes} instance.
+	 * @param stackTraceRenderer the renderer used for the {@code trace} attribute
+	 * @since 3.0.0
+	 */
+	public DefaultErrorAttributes(StackTraceRenderer stackTraceRenderer) {
+		Assert.notNull(stackTraceRenderer, "StackTraceRenderer must not be null");
+		this.stackTraceRenderer = stackTraceRenderer;
+	}
+
 	@Override
 	public int getOrder() {
 		return Ordered.HIGHEST_PRECEDENCE;
@@ -87,27 +108,10 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 
 	@Override
 	public Map<String, Object> getErrorAttributes(WebRequest webRequest, ErrorAttributeOptions options) {
-		Map<String, Object> errorAttributes = getErrorAttributes(webRequest, options.isIncluded(Include.STACK_TRACE));
-		if (!options.isIncluded(Include.EXCEPTION)) {
-			errorAttributes.remove("exception");
-		}
-		if (!options.isIncluded(Include.STACK_TRACE)) {
-			errorAttributes.remove("trace");
-		}
-		if (!options.isIncluded(Include.MESSAGE) && errorAttributes.get("message") != null) {
-			errorAttributes.remove("message");
-		}
-		if (!options.isIncluded(Include.BINDING_ERRORS)) {
-			errorAttributes.remove("errors");
-		}
-		return errorAttributes;
-	}
-
-	private Map<String, Object> getErrorAttributes(WebRequest webRequest, boolean includeStackTrace) {
-		Map<String, Object> errorAttributes = new LinkedHashMap<>();
+		LazyErrorAttributes errorAttributes = new LazyErrorAttributes();
 		errorAttributes.put("timestamp", new Date());
 		addStatus(errorAttributes, webRequest);
-		addErrorDetails(errorAttributes, webRequest, includeStackTrace);
+		addErrorDetails(errorAttributes, webRequest, options);
 		addPath(errorAttributes, webRequest);
 		return errorAttributes;
 	}
@@ -129,33 +133,41 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 		}
 	}
 
-	private void addErrorDetails(Map<String, Object> errorAttributes, WebRequest webRequest,
-			boolean includeStackTrace) {
+	private void addErrorDetails(LazyErrorAttributes errorAttributes, WebRequest webRequest,
+			ErrorAttributeOptions options) {
 		Throwable error = getError(webRequest);
 		if (error != null) {
 			while (error instanceof ServletException && error.getCause() != null) {
 				error = error.getCause();
 			}
-			errorAttributes.put("exception", error.getClass().getName());
-			if (includeStackTrace) {
-				addStackTrace(errorAttributes, error);
+			if (options.isIncluded(Include.EXCEPTION)) {
+				errorAttributes.put("exception", error.getClass().getName());
+			}
+			if (options.isIncluded(Include.STACK_TRACE)) {
+				Throwable exception = error;
+				errorAttributes.putLazy("trace", () -> this.stackTraceRenderer.render(exception));
 			}
 		}
-		addErrorMessage(errorAttributes, webRequest, error);
+		addErrorMessage(errorAttributes, webRequest, error, options);
 	}
 
-	private void addErrorMessage(Map<String, Object> errorAttributes, WebRequest webRequest, Throwable error) {
+	private void addErrorMessage(Map<String, Object> errorAttributes, WebRequest webRequest, Throwable error,
+			ErrorAttributeOptions options) {
 		BindingResult result = extractBindingResult(error);
 		if (result == null) {
-			addExceptionErrorMessage(errorAttributes, webRequest, error);
+			addExceptionErrorMessage(errorAttributes, webRequest, error, options);
 		}
 		else {
-			addBindingResultErrorMessage(errorAttributes, result);
+			addBindingResultErrorMessage(errorAttributes, result, options);
 		}
 	}
 
-	private void addExceptionErrorMessage(Map<String, Object> errorAttributes, WebRequest webRequest, Throwable error) {
-		errorAttributes.put("message", getMessage(webRequest, error));
+	private void addExceptionErrorMessage(Map<String, Object> errorAttributes, WebRequest webRequest, Throwable error,
+			ErrorAttributeOptions options) {
+		String message = getMessage(webRequest, error);
+		if (message == null || options.isIncluded(Include.MESSAGE)) {
+			errorAttributes.put("message", message);
+		}
 	}
 
 	/**
@@ -183,10 +195,15 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 		return "No message available";
 	}
 
-	private void addBindingResultErrorMessage(Map<String, Object> errorAttributes, BindingResult result) {
-		errorAttributes.put("message", "Validation failed for object='" + result.getObjectName() + "'. "
-				+ "Error count: " + result.getErrorCount());
-		errorAttributes.put("errors", result.getAllErrors());
+	private void addBindingResultErrorMessage(Map<String, Object> errorAttributes, BindingResult result,
+			ErrorAttributeOptions options) {
+		if (options.isIncluded(Include.MESSAGE)) {
+			errorAttributes.put("message", "Validation failed for object='" + result.getObjectName() + "'. "
+					+ "Error count: " + result.getErrorCount());
+		}
+		if (options.isIncluded(Include.BINDING_ERRORS)) {
+			errorAttributes.put("errors", result.getAllErrors());
+		}
 	}
 
 	private BindingResult extractBindingResult(Throwable error) {
@@ -196,13 +213,6 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 		return null;
 	}
 
-	private void addStackTrace(Map<String, Object> errorAttributes, Throwable error) {
-		StringWriter stackTrace = new StringWriter();
-		error.printStackTrace(new PrintWriter(stackTrace));
-		stackTrace.flush();
-		errorAttributes.put("trace", stackTrace.toString());
-	}
-
 	private void addPath(Map<String, Object> errorAttributes, RequestAttributes requestAttributes) {
 		String path = getAttribute(requestAttributes, RequestDispatcher.ERROR_REQUEST_URI);
 		if (path != null) {
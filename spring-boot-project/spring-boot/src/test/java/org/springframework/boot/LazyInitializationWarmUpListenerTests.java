@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link LazyInitializationWarmUpListener}.
+ *
+ * @author agent
+ */
+class LazyInitializationWarmUpListenerTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+	@AfterEach
+	void close() {
+		this.context.close();
+	}
+
+	@Test
+	void whenAwaitingCompletionThenLazyBeansAreCreatedBeforeEventHandlingCompletes() {
+		BeanState beanState = refresh(ExampleConfig.class);
+		assertThat(beanState.initializedBeans).isEmpty();
+		new LazyInitializationWarmUpListener(this.context, true, TIMEOUT).onApplicationEvent(readyEvent(this.context));
+		assertThat(beanState.initializedBeans).containsExactlyInAnyOrder("one", "two", "three");
+	}
+
+	@Test
+	void whenNotAwaitingCompletionThenLazyBeansAreCreatedInBackground() {
+		BeanState beanState = refresh(ExampleConfig.class);
+		new LazyInitializationWarmUpListener(this.context, false, TIMEOUT).onApplicationEvent(readyEvent(this.context));
+		await().atMost(TIMEOUT).until(() -> beanState.initializedBeans.size() == 3);
+		assertThat(beanState.initializedBeans).containsExactlyInAnyOrder("one", "two", "three");
+	}
+
+	@Test
+	void beansThatAreExplicitlyLazyAreNotCreated() {
+		BeanState beanState = refresh(ExplicitlyLazyConfig.class);
+		new LazyInitializationWarmUpListener(this.context, true, TIMEOUT).onApplicationEvent(readyEvent(this.context));
+		assertThat(beanState.initializedBeans).containsExactly("notExplicitlyLazy");
+	}
+
+	@Test
+	void beanThatFailsDoesNotPreventOtherBeansFromBeingCreated() {
+		BeanState beanState = refresh(FailingConfig.class);
+		new LazyInitializationWarmUpListener(this.context, true, TIMEOUT).onApplicationEvent(readyEvent(this.context));
+		assertThat(beanState.initializedBeans).containsExactly("working");
+	}
+
+	@Test
+	void eventForOtherContextIsIgnored() {
+		BeanState beanState = refresh(ExampleConfig.class);
+		try (AnnotationConfigApplicationContext other = new AnnotationConfigApplicationContext()) {
+			other.refresh();
+			new LazyInitializationWarmUpListener(this.context, true, TIMEOUT).onApplicationEvent(readyEvent(other));
+		}
+		assertThat(beanState.initializedBeans).isEmpty();
+	}
+
+	@Test
+	void whenAwaitingCompletionAndTimeoutExpiresThenEventHandlingCompletes() {
+		BeanState beanState = refresh(BlockingConfig.class);
+		try {
+			long startTime = System.nanoTime();
+			new LazyInitializationWarmUpListener(this.context, true, Duration.ofMillis(100))
+					.onApplicationEvent(readyEvent(this.context));
+			assertThat(Duration.ofNanos(System.nanoTime() - startTime)).isLessThan(TIMEOUT);
+			assertThat(beanState.initializedBeans).doesNotContain("blocking");
+		}
+		finally {
+			beanState.release.countDown();
+		}
+		await().atMost(TIMEOUT).until(() -> beanState.initializedBeans.contains("blocking"));
+	}
+
+	private BeanState refresh(Class<?> configuration) {
+		this.context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+		this.context.registerBean(BeanState.class, BeanState::new, (definition) -> definition.setLazyInit(false));
+		this.context.register(configuration);
+		this.context.refresh();
+		return this.context.getBean(BeanState.class);
+	}
+
+	private ApplicationReadyEvent readyEvent(ConfigurableApplicationContext context) {
+		return new ApplicationReadyEvent(new SpringApplication(), new String[0], context, null);
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class ExampleConfig {
+
+		@Bean
+		Object one(BeanState beanState) {
+			return beanState.initialized("one");
+		}
+
+		@Bean
+		Object two(BeanState beanState, Object one) {
+			return beanState.initialized("two");
+		}
+
+		@Bean
+		Object three(BeanState beanState, Object one) {
+			return beanState.initialized("three");
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class ExplicitlyLazyConfig {
+
+		@Bean
+		Object notExplicitlyLazy(BeanState beanState) {
+			return beanState.initialized("notExplicitlyLazy");
+		}
+
+		@Bean
+		@Lazy
+		Object explicitlyLazy(BeanState beanState) {
+			return beanState.initialized("explicitlyLazy");
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class FailingConfig {
+
+		@Bean
+		Object failing() {
+			throw new IllegalStateException("Failed");
+		}
+
+		@Bean
+		Object working(BeanState beanState) {
+			return beanState.initialized("working");
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class BlockingConfig {
+
+		@Bean
+		Object blocking(BeanState beanState) throws InterruptedException {
+			beanState.release.await();
+			return beanState.initialized("blocking");
+		}
+
+	}
+
+	static class BeanState {
+
+		private final Set<String> initializedBeans = ConcurrentHashMap.newKeySet();
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		Object initialized(String name) {
+			this.initializedBeans.add(name);
+			return name;
+		}
+
+	}
+
+}
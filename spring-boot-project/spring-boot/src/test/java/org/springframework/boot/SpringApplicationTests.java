@@ -16,6 +16,7 @@
 
 package org.springframework.boot;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -1156,6 +1157,22 @@ class SpringApplicationTests {
 				.getBean(AtomicInteger.class)).hasValue(1);
 	}
 
+	@Test
+	void lazyInitializationWarmUpBeforeReadinessCreatesLazyBeans() {
+		assertThat(new SpringApplication(LazyInitializationConfig.class).run("--spring.main.web-application-type=none",
+				"--spring.main.lazy-initialization=true", "--spring.main.lazy-initialization-warm-up=before-readiness")
+				.getBean(AtomicInteger.class)).hasValue(1);
+	}
+
+	@Test
+	void lazyInitializationWarmUpTimeoutCanBeConfigured() {
+		SpringApplication application = new SpringApplication(LazyInitializationConfig.class);
+		this.context = application.run("--spring.main.web-application-type=none",
+				"--spring.main.lazy-initialization=true", "--spring.main.lazy-initialization-warm-up=before-readiness",
+				"--spring.main.lazy-initialization-warm-up-timeout=5s");
+		assertThat(application).hasFieldOrPropertyWithValue("lazyInitializationWarmUpTimeout", Duration.ofSeconds(5));
+	}
+
 	@Test
 	void customApplicationStartupPublishStartupSteps() {
 		ApplicationStartup applicationStartup = mock(ApplicationStartup.class);
@@ -799,6 +799,40 @@ class ConfigDataEnvironmentPostProcessorIntegrationTests {
 		assertThat(environment.getProperty("v2")).isEqualTo("file-in-root-and-config-with-profile-p2");
 	}
 
+	@Test
+	void runWhenHasSnapshotLocationLoadsSameEnvironmentFromSnapshot() {
+		File snapshot = new File(this.temp, "config-data.snapshot");
+		String[] args = { "--spring.config.snapshot.location=" + snapshot, "--spring.profiles.active=dev" };
+		ConfigurableEnvironment parsed = this.application.run(args).getEnvironment();
+		assertThat(snapshot).isFile();
+		ConfigurableEnvironment fromSnapshot = this.application.run(args).getEnvironment();
+		assertThat(fromSnapshot.getProperty("my.property")).isEqualTo("fromdevpropertiesfile");
+		assertThat(fromSnapshot.getProperty("foo")).isEqualTo("bucket");
+		assertThat(fromSnapshot.getProperty("duplicate")).isEqualTo("properties");
+		for (String name : new String[] { "my.property", "foo", "value", "duplicate" }) {
+			Origin expected = getOrigin(parsed, name);
+			Origin actual = getOrigin(fromSnapshot, name);
+			assertThat(actual).hasToString(expected.toString());
+			assertThat(actual.getParent()).isEqualTo(expected.getParent());
+		}
+	}
+
+	private Origin getOrigin(ConfigurableEnvironment environment, String name) {
+		List<ConfigurationProperty> properties = new ArrayList<>();
+		BindHandler bindHandler = new BindHandler() {
+
+			@Override
+			public Object onSuccess(ConfigurationPropertyName name, Bindable<?> target, BindContext context,
+					Object result) {
+				properties.add(context.getConfigurationProperty());
+				return result;
+			}
+
+		};
+		Binder.get(environment).bind(name, Bindable.of(String.class), bindHandler);
+		return properties.get(0).getOrigin();
+	}
+
 	private Condition<ConfigurableEnvironment> matchingPropertySource(final String sourceName) {
 		return new Condition<ConfigurableEnvironment>("environment containing property source " + sourceName) {
 
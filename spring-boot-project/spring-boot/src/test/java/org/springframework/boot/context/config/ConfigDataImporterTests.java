@@ -16,6 +16,7 @@
 
 package org.springframework.boot.context.config;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -33,6 +34,7 @@ import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.mock.env.MockPropertySource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.BDDMockito.given;
 
 /**
@@ -125,6 +127,60 @@ class ConfigDataImporterTests {
 		assertThat(loaded2and3).containsExactly(configData3);
 	}
 
+	@Test
+	void loadImportsWhenLoadedConcurrentlyReturnsLoadedDataInResolvedOrder() throws Exception {
+		List<ConfigDataLocation> locations = new ArrayList<>();
+		List<ConfigData> expected = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			ConfigDataLocation location = ConfigDataLocation.of("test" + i);
+			TestResource resource = new TestResource("r" + i);
+			ConfigData configData = new ConfigData(Collections.singleton(new MockPropertySource()));
+			long delay = (8 - i) * 10L;
+			given(this.resolvers.resolve(this.locationResolverContext, location, this.profiles))
+					.willReturn(Collections.singletonList(new ConfigDataResolutionResult(location, resource, false)));
+			given(this.loaders.isConcurrentLoadingSupported(this.loaderContext, resource)).willReturn(true);
+			given(this.loaders.load(this.loaderContext, resource)).will((invocation) -> {
+				Thread.sleep(delay);
+				return configData;
+			});
+			locations.add(location);
+			expected.add(0, configData);
+		}
+		ConfigDataImporter importer = new ConfigDataImporter(this.logFactory, ConfigDataNotFoundAction.FAIL,
+				this.resolvers, this.loaders);
+		Collection<ConfigData> loaded = importer.resolveAndLoad(this.activationContext, this.locationResolverContext,
+				this.loaderContext, locations).values();
+		assertThat(loaded).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void loadImportsWhenLoadedConcurrentlyAndNotFoundUsesNotFoundAction() throws Exception {
+		ConfigDataLocation location1 = ConfigDataLocation.of("test1");
+		ConfigDataLocation location2 = ConfigDataLocation.of("test2");
+		TestResource resource1 = new TestResource("r1");
+		TestResource resource2 = new TestResource("r2");
+		ConfigData configData1 = new ConfigData(Collections.singleton(new MockPropertySource()));
+		given(this.resolvers.resolve(this.locationResolverContext, location1, this.profiles))
+				.willReturn(Collections.singletonList(new ConfigDataResolutionResult(location1, resource1, false)));
+		given(this.resolvers.resolve(this.locationResolverContext, location2, this.profiles))
+				.willReturn(Collections.singletonList(new ConfigDataResolutionResult(location2, resource2, false)));
+		given(this.loaders.isConcurrentLoadingSupported(this.loaderContext, resource1)).willReturn(true);
+		given(this.loaders.isConcurrentLoadingSupported(this.loaderContext, resource2)).willReturn(true);
+		given(this.loaders.load(this.loaderContext, resource1)).willReturn(configData1);
+		given(this.loaders.load(this.loaderContext, resource2))
+				.willThrow(new ConfigDataResourceNotFoundException(resource2));
+		ConfigDataImporter failingImporter = new ConfigDataImporter(this.logFactory, ConfigDataNotFoundAction.FAIL,
+				this.resolvers, this.loaders);
+		assertThatExceptionOfType(ConfigDataResourceNotFoundException.class)
+				.isThrownBy(() -> failingImporter.resolveAndLoad(this.activationContext, this.locationResolverContext,
+						this.loaderContext, Arrays.asList(location1, location2)));
+		ConfigDataImporter ignoringImporter = new ConfigDataImporter(this.logFactory,
+				ConfigDataNotFoundAction.IGNORE, this.resolvers, this.loaders);
+		Collection<ConfigData> loaded = ignoringImporter.resolveAndLoad(this.activationContext,
+				this.locationResolverContext, this.loaderContext, Arrays.asList(location1, location2)).values();
+		assertThat(loaded).containsExactly(configData1);
+	}
+
 	static class TestResource extends ConfigDataResource {
 
 		private final String name;
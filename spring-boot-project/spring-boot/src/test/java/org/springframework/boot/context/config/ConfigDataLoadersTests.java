@@ -114,6 +114,30 @@ class ConfigDataLoadersTests {
 		assertThat(getLoader(loaded)).isInstanceOf(SpecificConfigDataLoader.class);
 	}
 
+	@Test
+	void isConcurrentLoadingSupportedWhenStandardLoaderReturnsTrue() {
+		StandardConfigDataResource resource = mock(StandardConfigDataResource.class);
+		ConfigDataLoaders loaders = new ConfigDataLoaders(this.logFactory, this.bootstrapContext, null,
+				Arrays.asList(StandardConfigDataLoader.class.getName(), SpecificConfigDataLoader.class.getName()));
+		assertThat(loaders.isConcurrentLoadingSupported(this.context, resource)).isTrue();
+	}
+
+	@Test
+	void isConcurrentLoadingSupportedWhenOtherLoaderReturnsFalse() {
+		TestConfigDataResource resource = new TestConfigDataResource("test");
+		ConfigDataLoaders loaders = new ConfigDataLoaders(this.logFactory, this.bootstrapContext, null,
+				Arrays.asList(StandardConfigDataLoader.class.getName(), SpecificConfigDataLoader.class.getName()));
+		assertThat(loaders.isConcurrentLoadingSupported(this.context, resource)).isFalse();
+	}
+
+	@Test
+	void isConcurrentLoadingSupportedWhenNoLoaderSupportsLocationReturnsFalse() {
+		TestConfigDataResource resource = new TestConfigDataResource("test");
+		ConfigDataLoaders loaders = new ConfigDataLoaders(this.logFactory, this.bootstrapContext, null,
+				Arrays.asList(NonLoadableConfigDataLoader.class.getName()));
+		assertThat(loaders.isConcurrentLoadingSupported(this.context, resource)).isFalse();
+	}
+
 	private ConfigDataLoader<?> getLoader(ConfigData loaded) {
 		return (ConfigDataLoader<?>) loaded.getPropertySources().get(0).getProperty("loader");
 	}
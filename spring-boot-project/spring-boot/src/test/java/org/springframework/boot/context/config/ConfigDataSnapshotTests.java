@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginTrackedResource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigDataSnapshot}.
+ *
+ * @author agent
+ */
+class ConfigDataSnapshotTests {
+
+	private static final Log logger = LogFactory.getLog(ConfigDataSnapshotTests.class);
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void loadWhenSnapshotIsEmptyParsesResource() throws IOException {
+		Resource resource = createResource("application.properties", "a=1\nb=2");
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		List<PropertySource<?>> propertySources = snapshot.load(new PropertiesPropertySourceLoader(), "test",
+				resource);
+		assertThat(propertySources).hasSize(1);
+		assertThat(propertySources.get(0).getProperty("a")).hasToString("1");
+		assertThat(snapshot.getHits()).isZero();
+		assertThat(snapshot.getMisses()).isOne();
+	}
+
+	@Test
+	void loadWhenSavedReturnsSamePropertySourcesWithoutParsing() throws IOException {
+		Resource resource = createResource("application.yml",
+				"a: text\nb: 12\nc: true\nd: 1.5\ne: []\nf: 123456789012\n---\ng: \"second\"\n");
+		PropertySourceLoader loader = new YamlPropertySourceLoader();
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		List<PropertySource<?>> parsed = snapshot.load(loader, "test", resource);
+		snapshot.save();
+		snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		List<PropertySource<?>> loaded = snapshot.load(loader, "test", resource);
+		assertThat(snapshot.getHits()).isOne();
+		assertThat(snapshot.getMisses()).isZero();
+		assertThat(loaded).hasSameSizeAs(parsed);
+		for (int i = 0; i < parsed.size(); i++) {
+			OriginTrackedMapPropertySource expected = (OriginTrackedMapPropertySource) parsed.get(i);
+			OriginTrackedMapPropertySource actual = (OriginTrackedMapPropertySource) loaded.get(i);
+			assertThat(actual.getName()).isEqualTo(expected.getName());
+			assertThat(actual.isImmutable()).isEqualTo(expected.isImmutable());
+			assertThat(actual.getPropertyNames()).containsExactly(expected.getPropertyNames());
+			for (String name : expected.getPropertyNames()) {
+				assertThat(actual.getProperty(name)).isEqualTo(expected.getProperty(name));
+				assertThat(actual.getOrigin(name)).isEqualTo(expected.getOrigin(name));
+			}
+		}
+	}
+
+	@Test
+	void loadFromSnapshotUsesGivenNameAndResource() throws IOException {
+		Resource resource = createResource("application.properties", "a=1");
+		PropertySourceLoader loader = new PropertiesPropertySourceLoader();
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		snapshot.load(loader, "first", resource);
+		snapshot.save();
+		snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		Resource trackedResource = OriginTrackedResource.of(resource, Origin.from("parent"));
+		List<PropertySource<?>> loaded = snapshot.load(loader, "second", trackedResource);
+		assertThat(snapshot.getHits()).isOne();
+		OriginTrackedMapPropertySource propertySource = (OriginTrackedMapPropertySource) loaded.get(0);
+		assertThat(propertySource.getName()).isEqualTo("second");
+		assertThat(propertySource.getOrigin("a")).isEqualTo(loader.load("second", trackedResource).stream()
+				.map(OriginTrackedMapPropertySource.class::cast).findFirst().get().getOrigin("a"));
+	}
+
+	@Test
+	void loadWhenSavedFromLazyOriginsReturnsSameOrigins() throws IOException {
+		Resource resource = createResource("application.yml", "a:\n  b: text\n  c: 12\n");
+		PropertySourceLoader loader = new YamlPropertySourceLoader(true);
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		OriginTrackedMapPropertySource parsed = (OriginTrackedMapPropertySource) snapshot
+				.load(loader, "test", resource).get(0);
+		snapshot.save();
+		snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		OriginTrackedMapPropertySource loaded = (OriginTrackedMapPropertySource) snapshot
+				.load(loader, "test", resource).get(0);
+		assertThat(snapshot.getHits()).isOne();
+		for (String name : parsed.getPropertyNames()) {
+			assertThat(loaded.getProperty(name)).isEqualTo(parsed.getProperty(name));
+			assertThat(loaded.getOrigin(name)).isNotNull().isEqualTo(parsed.getOrigin(name));
+		}
+	}
+
+	@Test
+	void loadWhenResourceHasChangedParsesResource() throws IOException {
+		Resource resource = createResource("application.properties", "a=1");
+		PropertySourceLoader loader = new PropertiesPropertySourceLoader();
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		snapshot.load(loader, "test", resource);
+		snapshot.save();
+		createResource("application.properties", "a=2");
+		snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		List<PropertySource<?>> loaded = snapshot.load(loader, "test", resource);
+		assertThat(snapshot.getHits()).isZero();
+		assertThat(snapshot.getMisses()).isOne();
+		assertThat(loaded.get(0).getProperty("a")).hasToString("2");
+	}
+
+	@Test
+	void loadWhenResourceHasUnsupportedValueParsesResourceOnEveryLoad() throws IOException {
+		Resource resource = createResource("application.yml", "a: !!binary dGVzdA==");
+		PropertySourceLoader loader = new YamlPropertySourceLoader();
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		snapshot.load(loader, "test", resource);
+		snapshot.save();
+		snapshot = new ConfigDataSnapshot(logger, this.temp.resolve("snapshot"));
+		snapshot.load(loader, "test", resource);
+		assertThat(snapshot.getHits()).isZero();
+		assertThat(snapshot.getMisses()).isOne();
+	}
+
+	@Test
+	void loadWhenSnapshotIsCorruptParsesResource() throws IOException {
+		Resource resource = createResource("application.properties", "a=1");
+		Path location = this.temp.resolve("snapshot");
+		Files.write(location, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, location);
+		List<PropertySource<?>> loaded = snapshot.load(new PropertiesPropertySourceLoader(), "test", resource);
+		assertThat(snapshot.getMisses()).isOne();
+		assertThat(loaded.get(0).getProperty("a")).hasToString("1");
+	}
+
+	@Test
+	void saveWritesOnlyEntriesThatHaveBeenUsed() throws IOException {
+		Resource first = createResource("first.properties", "a=1");
+		Resource second = createResource("second.properties", "b=2");
+		PropertySourceLoader loader = new PropertiesPropertySourceLoader();
+		Path location = this.temp.resolve("snapshot");
+		ConfigDataSnapshot snapshot = new ConfigDataSnapshot(logger, location);
+		snapshot.load(loader, "test", first);
+		snapshot.load(loader, "test", second);
+		snapshot.save();
+		snapshot = new ConfigDataSnapshot(logger, location);
+		snapshot.load(loader, "test", second);
+		snapshot.save();
+		snapshot = new ConfigDataSnapshot(logger, location);
+		snapshot.load(loader, "test", first);
+		snapshot.load(loader, "test", second);
+		assertThat(snapshot.getHits()).isOne();
+		assertThat(snapshot.getMisses()).isOne();
+	}
+
+	private Resource createResource(String name, String content) throws IOException {
+		Path file = this.temp.resolve(name);
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return new FileSystemResource(file);
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.env.ConfigTreePropertySource;
+import org.springframework.boot.env.ConfigTreePropertySource.Option;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigTreeWatcher}.
+ *
+ * @author agent
+ */
+class ConfigTreeWatcherTests {
+
+	@TempDir
+	Path directory;
+
+	private final List<Object> events = new ArrayList<>();
+
+	@Test
+	void getWhenNotEnabledReturnsNull() {
+		assertThat(ConfigTreeWatcher.get(new Binder(new MapConfigurationPropertySource()))).isNull();
+	}
+
+	@Test
+	void getWhenEnabledReturnsWatcher() {
+		MapConfigurationPropertySource source = new MapConfigurationPropertySource();
+		source.put(ConfigTreeWatcher.ENABLED_PROPERTY, "true");
+		assertThat(ConfigTreeWatcher.get(new Binder(source))).isNotNull();
+	}
+
+	@Test
+	void pollWhenDataLinkSwappedPublishesEvent() throws Exception {
+		ConfigTreePropertySource source = createKubernetesPropertySource();
+		ConfigTreeWatcher watcher = new ConfigTreeWatcher(Duration.ofSeconds(5));
+		watcher.watch(source);
+		addProperty("..2021_02/spring.a", "X");
+		addProperty("..2021_02/spring.b", "B");
+		swapDataLink("..2021_02");
+		watcher.poll(this.events::add);
+		assertThat(this.events).hasSize(1);
+		ConfigTreeChangedEvent event = (ConfigTreeChangedEvent) this.events.get(0);
+		assertThat(event.getPropertySource()).isSameAs(source);
+		assertThat(event.getChangedPropertyNames()).containsExactly(ConfigurationPropertyName.of("spring.a"));
+		assertThat(source.getProperty("spring.a")).hasToString("X");
+	}
+
+	@Test
+	void pollWhenDataLinkNotSwappedDoesNotReload() throws Exception {
+		ConfigTreePropertySource source = createKubernetesPropertySource();
+		ConfigTreeWatcher watcher = new ConfigTreeWatcher(Duration.ofSeconds(5));
+		watcher.watch(source);
+		addProperty("spring.c", "C");
+		watcher.poll(this.events::add);
+		assertThat(this.events).isEmpty();
+		assertThat(source.getProperty("spring.c")).isNull();
+	}
+
+	@Test
+	void pollWhenNoDataLinkReloadsChangedFiles() throws Exception {
+		addProperty("spring.a", "A");
+		ConfigTreePropertySource source = new ConfigTreePropertySource("test", this.directory, Option.RELOADABLE);
+		ConfigTreeWatcher watcher = new ConfigTreeWatcher(Duration.ofSeconds(5));
+		watcher.watch(source);
+		watcher.poll(this.events::add);
+		assertThat(this.events).isEmpty();
+		addProperty("spring.b", "B");
+		watcher.poll(this.events::add);
+		assertThat(this.events).hasSize(1);
+		assertThat(((ConfigTreeChangedEvent) this.events.get(0)).getChangedPropertyNames())
+				.containsExactly(ConfigurationPropertyName.of("spring.b"));
+	}
+
+	private ConfigTreePropertySource createKubernetesPropertySource() throws IOException {
+		addProperty("..2021_01/spring.a", "A");
+		addProperty("..2021_01/spring.b", "B");
+		swapDataLink("..2021_01");
+		createSymbolicLink("spring.a", "..data/spring.a");
+		createSymbolicLink("spring.b", "..data/spring.b");
+		ConfigTreePropertySource source = new ConfigTreePropertySource("test", this.directory, Option.RELOADABLE);
+		assertThat(source.getProperty("spring.a")).hasToString("A");
+		assertThat(source.getProperty("spring.b")).hasToString("B");
+		return source;
+	}
+
+	private void swapDataLink(String target) throws IOException {
+		Files.deleteIfExists(this.directory.resolve("..data"));
+		Files.createSymbolicLink(this.directory.resolve("..data"), this.directory.resolve(target).getFileName());
+	}
+
+	private void addProperty(String path, String value) throws IOException {
+		File file = this.directory.resolve(path).toFile();
+		file.getParentFile().mkdirs();
+		FileCopyUtils.copy(value.getBytes(StandardCharsets.UTF_8), file);
+	}
+
+	private void createSymbolicLink(String link, String target) throws IOException {
+		Files.createSymbolicLink(this.directory.resolve(link), this.directory.resolve(target).toAbsolutePath());
+	}
+
+}
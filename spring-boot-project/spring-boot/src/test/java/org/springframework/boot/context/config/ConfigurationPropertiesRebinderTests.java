@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.env.ConfigTreePropertySource;
+import org.springframework.boot.env.ConfigTreePropertySource.Option;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigurationPropertiesRebinder}.
+ *
+ * @author agent
+ */
+class ConfigurationPropertiesRebinderTests {
+
+	@TempDir
+	Path directory;
+
+	private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+	@AfterEach
+	void cleanup() {
+		this.context.close();
+	}
+
+	@Test
+	void onApplicationEventRebindsAffectedJavaBeanProperties() throws Exception {
+		ConfigTreePropertySource source = load();
+		addProperty("test.name", "updated");
+		addProperty("test.value", "updated");
+		Set<String> changed = source.reload();
+		this.context.publishEvent(new ConfigTreeChangedEvent(source, changed));
+		assertThat(this.context.getBean(JavaBeanProperties.class).getName()).isEqualTo("updated");
+		assertThat(this.context.getBean(ValueObjectProperties.class).getValue()).isEqualTo("original");
+	}
+
+	@Test
+	void onApplicationEventDoesNotRebindUnaffectedProperties() throws Exception {
+		ConfigTreePropertySource source = load();
+		JavaBeanProperties properties = this.context.getBean(JavaBeanProperties.class);
+		properties.setName("changed");
+		addProperty("other", "updated");
+		Set<String> changed = source.reload();
+		this.context.publishEvent(new ConfigTreeChangedEvent(source, changed));
+		assertThat(properties.getName()).isEqualTo("changed");
+	}
+
+	private ConfigTreePropertySource load() throws IOException {
+		addProperty("test.name", "original");
+		addProperty("test.value", "original");
+		ConfigTreePropertySource source = new ConfigTreePropertySource("test", this.directory, Option.RELOADABLE);
+		this.context.getEnvironment().getPropertySources().addFirst(source);
+		this.context.register(ExampleConfig.class);
+		this.context.addApplicationListener(new ConfigurationPropertiesRebinder(this.context));
+		this.context.refresh();
+		assertThat(this.context.getBean(JavaBeanProperties.class).getName()).isEqualTo("original");
+		return source;
+	}
+
+	private void addProperty(String path, String value) throws IOException {
+		File file = this.directory.resolve(path).toFile();
+		FileCopyUtils.copy(value.getBytes(StandardCharsets.UTF_8), file);
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableConfigurationProperties({ JavaBeanProperties.class, ValueObjectProperties.class })
+	static class ExampleConfig {
+
+	}
+
+	@ConfigurationProperties("test")
+	static class JavaBeanProperties {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+	}
+
+	@ConstructorBinding
+	@ConfigurationProperties("test")
+	static class ValueObjectProperties {
+
+		private final String value;
+
+		ValueObjectProperties(String value) {
+			this.value = value;
+		}
+
+		public String getValue() {
+			return this.value;
+		}
+
+	}
+
+}
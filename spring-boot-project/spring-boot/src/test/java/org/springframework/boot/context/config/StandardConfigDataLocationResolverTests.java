@@ -17,6 +17,7 @@
 package org.springframework.boot.context.config;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 
@@ -24,8 +25,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
 import org.springframework.boot.env.PropertiesPropertySourceLoader;
 import org.springframework.boot.logging.DeferredLog;
+import org.springframework.boot.origin.OriginTrackedValue;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -127,6 +130,21 @@ class StandardConfigDataLocationResolverTests {
 				.withMessageStartingWith("Location '").withMessageEndingWith("' cannot contain multiple wildcards");
 	}
 
+	@Test
+	void resolveWhenYamlLazyOriginsUsesLazyYamlPropertySourceLoader() throws IOException {
+		this.environment.setProperty("spring.config.yaml.lazy-origins", "true");
+		this.resolver = new StandardConfigDataLocationResolver(null, this.environmentBinder, this.resourceLoader);
+		ConfigDataLocation location = ConfigDataLocation.of("classpath:/configdata/yaml/application.yml");
+		List<StandardConfigDataResource> locations = this.resolver.resolve(this.context, location);
+		assertThat(locations).hasSize(1);
+		StandardConfigDataResource resource = locations.get(0);
+		OriginTrackedMapPropertySource propertySource = (OriginTrackedMapPropertySource) resource.getReference()
+				.getPropertySourceLoader().load("test", resource.getResource()).get(0);
+		String name = propertySource.getPropertyNames()[0];
+		assertThat(propertySource.getSource().get(name)).isNotInstanceOf(OriginTrackedValue.class);
+		assertThat(propertySource.getOrigin(name)).isNotNull();
+	}
+
 	@Test
 	void resolveWhenLocationIsWildcardDirectoriesRestrictsToOneLevelDeep() {
 		ConfigDataLocation location = ConfigDataLocation.of("file:src/test/resources/config/*/");
@@ -491,6 +491,35 @@ class JavaBeanBinderTests {
 		assertThat(bean.getBooleans().get("b").getValue()).isEqualTo(true);
 	}
 
+	@Test
+	void getBeanWhenSameTypeReturnsCachedBean() {
+		Bean<ExampleValueBean> bean = Bean.get(Bindable.of(ExampleValueBean.class), false);
+		assertThat(Bean.get(Bindable.of(ExampleValueBean.class), false)).isSameAs(bean);
+		assertThat(Bean.get(Bindable.of(ExampleDefaultsBean.class), false)).isNotSameAs(bean);
+	}
+
+	@Test
+	void getBeanWhenGenericTypeReturnsBeanForEachGeneric() {
+		ResolvableType integerType = ResolvableType.forClassWithGenerics(GenericValue.class, Integer.class);
+		ResolvableType booleanType = ResolvableType.forClassWithGenerics(GenericValue.class, Boolean.class);
+		Bean<Object> integerBean = Bean.get(Bindable.of(integerType), false);
+		Bean<Object> booleanBean = Bean.get(Bindable.of(booleanType), false);
+		assertThat(integerBean).isNotSameAs(booleanBean);
+		assertThat(Bean.get(Bindable.of(integerType), false)).isSameAs(integerBean);
+		assertThat(integerBean.getProperties().get("value").getType().resolve()).isEqualTo(Integer.class);
+		assertThat(booleanBean.getProperties().get("value").getType().resolve()).isEqualTo(Boolean.class);
+	}
+
+	@Test
+	void bindToClassWhenBoundMoreThanOnceShouldUseNewValues() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.int-value", "12");
+		source.put("bar.int-value", "34");
+		this.sources.add(source);
+		assertThat(this.binder.bind("foo", Bindable.of(ExampleValueBean.class)).get().getIntValue()).isEqualTo(12);
+		assertThat(this.binder.bind("bar", Bindable.of(ExampleValueBean.class)).get().getIntValue()).isEqualTo(34);
+	}
+
 	@Test
 	void bindToClassWithOverloadedSetterShouldUseSetterThatMatchesField() {
 		// gh-16206
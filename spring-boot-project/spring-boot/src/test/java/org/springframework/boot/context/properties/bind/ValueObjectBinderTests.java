@@ -67,6 +67,21 @@ class ValueObjectBinderTests {
 		assertThat(bean.getEnumValue()).isEqualTo(ExampleEnum.FOO_BAR);
 	}
 
+	@Test
+	void bindToClassWhenBoundMoreThanOnceShouldUseNewValues() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.int-value", "12");
+		source.put("bar.int-value", "34");
+		source.put("bar.string-value", "bar");
+		this.sources.add(source);
+		ExampleValueBean foo = this.binder.bind("foo", Bindable.of(ExampleValueBean.class)).get();
+		ExampleValueBean bar = this.binder.bind("bar", Bindable.of(ExampleValueBean.class)).get();
+		assertThat(foo.getIntValue()).isEqualTo(12);
+		assertThat(foo.getStringValue()).isNull();
+		assertThat(bar.getIntValue()).isEqualTo(34);
+		assertThat(bar.getStringValue()).isEqualTo("bar");
+	}
+
 	@Test
 	void bindToClassWhenHasNoPrefixShouldCreateBoundBean() {
 		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
@@ -723,4 +723,44 @@ class ConfigurationPropertyNameTests {
 		assertThat(ConfigurationPropertyName.of("foo.bar").hasIndexedElement()).isFalse();
 	}
 
+	@Test
+	void ofWhenStringReturnsCanonicalInstance() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("canonical.name-one");
+		assertThat(ConfigurationPropertyName.of(new String("canonical.name-one"))).isSameAs(name);
+		assertThat(ConfigurationPropertyName.ofIfValid("canonical.name-one")).isSameAs(name);
+		assertThat(ReflectionTestUtils.getField(name, "hashCode")).isEqualTo(name.hashCode());
+	}
+
+	@Test
+	void ofWhenNotStringDoesNotReturnCanonicalInstance() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("canonical.name-two");
+		assertThat(ConfigurationPropertyName.of(new StringBuilder("canonical.name-two"))).isNotSameAs(name)
+				.isEqualTo(name);
+	}
+
+	@Test
+	void adaptWhenNameCreatedUsingOfReturnsCanonicalInstance() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("canonical.name-three");
+		assertThat(ConfigurationPropertyName.adapt("canonical.name-three", '.')).isSameAs(name);
+		assertThat(ConfigurationPropertyName.adapt("canonical_name-three", '_')).isNotSameAs(name).isEqualTo(name);
+	}
+
+	@Test
+	void equalsWhenNonUniformElementsUsesUniformForm() {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.adapt("FOO_BAR.Baz_Qux", '.');
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.adapt("FooBar.bazQux", '.');
+		ConfigurationPropertyName n3 = ConfigurationPropertyName.adapt("FooBar.bazQuux", '.');
+		assertThat(n1).isEqualTo(n2).isNotEqualTo(n3);
+		assertThat(n2).isEqualTo(n1).isNotEqualTo(n3);
+		assertThat(n1.getElement(1, Form.UNIFORM)).isEqualTo("bazqux");
+	}
+
+	@Test
+	void equalsWhenHashCodesDifferReturnsFalse() {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.adapt("foo.Bar", '.');
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.adapt("foo.Baz", '.');
+		assertThat(n1.hashCode()).isNotEqualTo(n2.hashCode());
+		assertThat(n1).isNotEqualTo(n2);
+	}
+
 }
@@ -167,6 +167,44 @@ class SpringIterableConfigurationPropertySourceTests {
 				.isEqualTo(ConfigurationPropertyState.ABSENT);
 	}
 
+	@Test
+	void containsDescendantOfShouldMatchElementsUsingEqualityRules() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("foo.barBaz[0].bing", "value");
+		source.put("foo.Qux[Key].bong", "value");
+		EnumerablePropertySource<?> propertySource = new MapPropertySource("test", source);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.bar-baz")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.barbaz[0]")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo[barbaz]")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.qux[Key]")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.qux[key]")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.barbaz[0].bing")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.barbaz[1]")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+	}
+
+	@Test
+	void containsDescendantOfWhenKeyAddedShouldCheckNewNames() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("foo.bar", "value");
+		EnumerablePropertySource<?> source = new MapPropertySource("test", map);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(source,
+				DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("baz")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		map.put("baz.bar", "value");
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("baz")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+	}
+
 	@Test
 	void simpleMapPropertySourceKeyDataChangeInvalidatesCache() {
 		// gh-13344
@@ -96,4 +96,17 @@ class SystemEnvironmentPropertyMapperTests extends AbstractPropertyMapperTests {
 		assertThat(check.test(name, ConfigurationPropertyName.of("my.boot.property"))).isFalse();
 	}
 
+	@Test
+	void getDescendantSearchNamesWhenNotDashedReturnsName() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("my.spring");
+		assertThat(getMapper().getDescendantSearchNames(name)).containsExactly(name);
+	}
+
+	@Test
+	void getDescendantSearchNamesWhenDashedIncludesLegacyName() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("my.spring-boot");
+		assertThat(getMapper().getDescendantSearchNames(name)).containsExactly(name,
+				ConfigurationPropertyName.of("my.spring.boot"));
+	}
+
 }
@@ -233,6 +233,71 @@ class ConfigTreePropertySourceTests {
 		assertThat(propertySource.getProperty("a").toString()).isEqualTo("a");
 	}
 
+	@Test
+	void isImmutableWhenReloadableReturnsFalse() throws Exception {
+		addProperty("a", "A");
+		assertThat(new ConfigTreePropertySource("test", this.directory).isImmutable()).isTrue();
+		assertThat(new ConfigTreePropertySource("test", this.directory, Option.RELOADABLE).isImmutable()).isFalse();
+	}
+
+	@Test
+	void reloadWhenNotReloadableThrowsException() throws Exception {
+		ConfigTreePropertySource propertySource = getFlatPropertySource();
+		assertThatIllegalStateException().isThrownBy(propertySource::reload)
+				.withMessage("Property source is not reloadable");
+	}
+
+	@Test
+	void reloadReturnsAddedRemovedAndChangedNames() throws Exception {
+		addProperty("a", "A");
+		addProperty("b", "B");
+		addProperty("c", "C");
+		ConfigTreePropertySource propertySource = new ConfigTreePropertySource("test", this.directory,
+				Option.RELOADABLE);
+		assertThat(propertySource.getProperty("a")).hasToString("A");
+		assertThat(propertySource.getProperty("b")).hasToString("B");
+		addProperty("a", "AA");
+		addProperty("b", "B");
+		Files.delete(this.directory.resolve("c"));
+		addProperty("d", "D");
+		assertThat(propertySource.reload()).containsExactlyInAnyOrder("a", "c", "d");
+		assertThat(propertySource.getPropertyNames()).containsExactly("a", "b", "d");
+		assertThat(propertySource.getProperty("a")).hasToString("AA");
+		assertThat(propertySource.getProperty("b")).hasToString("B");
+		assertThat(propertySource.getProperty("c")).isNull();
+		assertThat(propertySource.getProperty("d")).hasToString("D");
+	}
+
+	@Test
+	void reloadWhenNothingChangedKeepsCachedValues() throws Exception {
+		addNested();
+		ConfigTreePropertySource propertySource = new ConfigTreePropertySource("test", this.directory,
+				Option.RELOADABLE);
+		Value value = propertySource.getProperty("fa.b");
+		assertThat(propertySource.reload()).isEmpty();
+		assertThat(propertySource.getProperty("fa.b")).isSameAs(value);
+	}
+
+	@Test
+	void reloadWhenDataLinkSwappedReturnsChangedNames() throws Exception {
+		addProperty("..2021_01/a", "A");
+		addProperty("..2021_01/b", "B");
+		createSymbolicLink("..data", "..2021_01");
+		createSymbolicLink("a", "..data/a");
+		createSymbolicLink("b", "..data/b");
+		ConfigTreePropertySource propertySource = new ConfigTreePropertySource("test", this.directory,
+				Option.RELOADABLE);
+		assertThat(propertySource.getProperty("a")).hasToString("A");
+		assertThat(propertySource.getProperty("b")).hasToString("B");
+		addProperty("..2021_02/a", "X");
+		addProperty("..2021_02/b", "B");
+		Files.delete(this.directory.resolve("..data"));
+		createSymbolicLink("..data", "..2021_02");
+		assertThat(propertySource.reload()).containsExactly("a");
+		assertThat(propertySource.getProperty("a")).hasToString("X");
+		assertThat(propertySource.getProperty("b")).hasToString("B");
+	}
+
 	private ConfigTreePropertySource getFlatPropertySource() throws IOException {
 		addProperty("a", "A");
 		addProperty("b", "B");
@@ -16,7 +16,9 @@
 
 package org.springframework.boot.env;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Properties;
 
@@ -61,6 +63,50 @@ class OriginTrackedPropertiesLoaderTests {
 		assertThat(ours).isEqualTo(java);
 	}
 
+	@Test
+	void compareToJavaPropertiesWhenLargeFile() throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 12000; i++) {
+			switch (i % 6) {
+				case 0:
+					content.append("# comment ").append(i).append("\n");
+					break;
+				case 1:
+					content.append("feature.flag").append(i).append("=true\r\n");
+					break;
+				case 2:
+					content.append("message.").append(i).append(" : caf\\u00e9 \\t tab\n");
+					break;
+				case 3:
+					content.append("multi.").append(i).append("=a,\\\n    b,\\\r\n  c\n");
+					break;
+				case 4:
+					content.append("! bang ").append(i).append("\r");
+					break;
+				default:
+					content.append("  escaped\\:key").append(i).append(" value\\=").append(i).append("\n");
+			}
+		}
+		byte[] bytes = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+		Properties java = new Properties();
+		java.load(new ByteArrayInputStream(bytes));
+		Properties ours = new Properties();
+		new OriginTrackedPropertiesLoader(new ByteArrayResource(bytes)).load(false).get(0).asMap()
+				.forEach((k, v) -> ours.put(k, v.getValue()));
+		assertThat(ours).isEqualTo(java);
+	}
+
+	@Test
+	void getPropertyLocationWhenMixedLineEndings() throws Exception {
+		byte[] bytes = "a=1\r\nb=2\rc=3\nd=\\\r\n  4".getBytes(StandardCharsets.ISO_8859_1);
+		List<Document> documents = new OriginTrackedPropertiesLoader(new ByteArrayResource(bytes)).load();
+		assertThat(getLocation(documents.get(0).asMap().get("a"))).isEqualTo("1:3");
+		assertThat(getLocation(documents.get(0).asMap().get("b"))).isEqualTo("2:3");
+		assertThat(getLocation(documents.get(0).asMap().get("c"))).isEqualTo("3:3");
+		assertThat(getLocation(documents.get(0).asMap().get("d"))).isEqualTo("5:3");
+		assertThat(getValue(documents.get(0).asMap().get("d"))).isEqualTo("4");
+	}
+
 	@Test
 	void getSimpleProperty() {
 		OriginTrackedValue value = getFromFirst("test");
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.constructor.ConstructorException;
 
+import org.springframework.boot.env.OriginTrackedYamlLoader.Document;
 import org.springframework.boot.origin.OriginTrackedValue;
 import org.springframework.boot.origin.TextResourceOrigin;
 import org.springframework.core.io.ByteArrayResource;
@@ -173,6 +174,33 @@ class OriginTrackedYamlLoaderTests {
 		assertThat(loaded.get("test.b.boot")).hasToString("b");
 	}
 
+	@Test
+	void loadWithLazyOriginsRecordsLocations() {
+		List<Document> loaded = this.loader.loadWithLazyOrigins();
+		Map<String, Object> values = loaded.get(0).asMap();
+		TextResourceOriginIndex origins = loaded.get(0).getOrigins();
+		assertThat(values.get("name")).isEqualTo("Martin D'vloper");
+		assertThat(((TextResourceOrigin) origins.getOrigin("name")).getLocation()).hasToString("3:7");
+		assertThat(values.get("languages.perl")).isEqualTo("Elite");
+		assertThat(((TextResourceOrigin) origins.getOrigin("languages.perl")).getLocation()).hasToString("13:11");
+		assertThat(origins.getOrigin("missing")).isNull();
+	}
+
+	@Test
+	void loadWithLazyOriginsWhenEmptyAndNullValues() {
+		Map<String, Object> values = this.loader.loadWithLazyOrigins().get(0).asMap();
+		assertThat(values.get("empty")).isEqualTo("");
+		assertThat(values.get("null-value")).isEqualTo("");
+		assertThat(values.get("emptylist")).isEqualTo(Collections.emptyList());
+		assertThat(values.get("emptymap")).isEqualTo(Collections.emptyMap());
+	}
+
+	@Test
+	void loadWithLazyOriginsWhenEmptyDocuments() {
+		this.loader = new OriginTrackedYamlLoader(new ClassPathResource("test-empty-yaml.yml", getClass()));
+		assertThat(this.loader.loadWithLazyOrigins()).isEmpty();
+	}
+
 	private OriginTrackedValue getValue(String name) {
 		if (this.result == null) {
 			this.result = this.loader.load();
@@ -17,10 +17,13 @@
 package org.springframework.boot.env;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.origin.TextResourceOrigin;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.ByteArrayResource;
@@ -85,6 +88,39 @@ class YamlPropertySourceLoaderTests {
 		assertThat(source.getProperty("foo")).isEqualTo("2015-01-28");
 	}
 
+	@Test
+	void loadWhenLazyOriginsDoesNotWrapValues() throws Exception {
+		ByteArrayResource resource = new ByteArrayResource("foo:\n  bar: spam\n  baz: []".getBytes());
+		YamlPropertySourceLoader loader = new YamlPropertySourceLoader(true);
+		OriginTrackedMapPropertySource source = (OriginTrackedMapPropertySource) loader.load("resource", resource)
+				.get(0);
+		assertThat(source.getSource().get("foo.bar")).isEqualTo("spam");
+		assertThat(source.getSource().get("foo.baz")).isEqualTo(Collections.emptyList());
+		assertThat(source.isImmutable()).isTrue();
+		assertThat(((TextResourceOrigin) source.getOrigin("foo.bar")).getLocation()).hasToString("2:8");
+		assertThat(((TextResourceOrigin) source.getOrigin("foo.baz")).getResource()).isSameAs(resource);
+		assertThat(source.getOrigin("foo")).isNull();
+	}
+
+	@Test
+	void loadWhenLazyOriginsHasSameValuesAndOriginsAsDefault() throws Exception {
+		Resource resource = new ClassPathResource("test-yaml.yml", getClass());
+		List<PropertySource<?>> expected = this.loader.load("resource", resource);
+		List<PropertySource<?>> actual = new YamlPropertySourceLoader(true).load("resource", resource);
+		assertThat(actual).hasSameSizeAs(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			OriginTrackedMapPropertySource expectedSource = (OriginTrackedMapPropertySource) expected.get(i);
+			OriginTrackedMapPropertySource actualSource = (OriginTrackedMapPropertySource) actual.get(i);
+			assertThat(actualSource.getName()).isEqualTo(expectedSource.getName());
+			assertThat(actualSource.getPropertyNames()).containsExactly(expectedSource.getPropertyNames());
+			for (String name : expectedSource.getPropertyNames()) {
+				assertThat(actualSource.getSource().get(name)).isNotInstanceOf(OriginTrackedValue.class);
+				assertThat(actualSource.getProperty(name)).isEqualTo(expectedSource.getProperty(name));
+				assertThat(actualSource.getOrigin(name)).isEqualTo(expectedSource.getOrigin(name));
+			}
+		}
+	}
+
 	@Test
 	void loadOriginAware() throws Exception {
 		Resource resource = new ClassPathResource("test-yaml.yml", getClass());
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.error;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link LazyErrorAttributes}.
+ *
+ * @author agent
+ */
+class LazyErrorAttributesTests {
+
+	private final AtomicInteger computations = new AtomicInteger();
+
+	private final LazyErrorAttributes attributes = new LazyErrorAttributes();
+
+	@Test
+	void putLazyDoesNotComputeValue() {
+		this.attributes.putLazy("trace", this::compute);
+		assertThat(this.attributes.keySet()).containsExactly("trace");
+		assertThat(this.computations).hasValue(0);
+	}
+
+	@Test
+	void getComputesValueOnce() {
+		this.attributes.putLazy("trace", this::compute);
+		assertThat(this.attributes.get("trace")).isEqualTo("computed");
+		assertThat(this.attributes.get("trace")).isEqualTo("computed");
+		assertThat(this.computations).hasValue(1);
+	}
+
+	@Test
+	void iterationComputesValueAndKeepsInsertionOrder() {
+		this.attributes.put("status", 500);
+		this.attributes.putLazy("trace", this::compute);
+		this.attributes.put("path", "/test");
+		assertThat(this.attributes).containsExactly(entry("status", 500), entry("trace", "computed"),
+				entry("path", "/test"));
+		assertThat(new LinkedHashMap<>(this.attributes)).containsEntry("trace", "computed");
+		assertThat(this.computations).hasValue(1);
+	}
+
+	@Test
+	void keySetRemoveDoesNotComputeValue() {
+		this.attributes.putLazy("trace", this::compute);
+		this.attributes.keySet().remove("trace");
+		assertThat(this.attributes).isEmpty();
+		assertThat(this.computations).hasValue(0);
+	}
+
+	@Test
+	void putReplacesLazyValue() {
+		this.attributes.putLazy("trace", this::compute);
+		this.attributes.put("trace", "replaced");
+		assertThat(this.attributes.get("trace")).isEqualTo("replaced");
+	}
+
+	@Test
+	void equalsMapWithComputedValues() {
+		this.attributes.putLazy("trace", this::compute);
+		assertThat(this.attributes).isEqualTo(Map.of("trace", "computed"));
+	}
+
+	private String compute() {
+		this.computations.incrementAndGet();
+		return "computed";
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.error;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link StackTraceRenderer}.
+ *
+ * @author agent
+ */
+class StackTraceRendererTests {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	@Test
+	void standardRendersSameAsPrintStackTrace() {
+		RuntimeException error = new RuntimeException("Test", new IllegalStateException("Cause"));
+		StringWriter expected = new StringWriter();
+		error.printStackTrace(new PrintWriter(expected));
+		assertThat(StackTraceRenderer.standard().render(error)).isEqualTo(expected.toString());
+	}
+
+	@Test
+	void maxFramesWhenNegativeThrowsException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> StackTraceRenderer.maxFrames(-1))
+				.withMessage("MaxFrames must not be negative");
+	}
+
+	@Test
+	void maxFramesRendersBoundedNumberOfFrames() {
+		RuntimeException error = createError("Test", 5);
+		String rendered = StackTraceRenderer.maxFrames(2).render(error);
+		assertThat(rendered).isEqualTo("java.lang.RuntimeException: Test" + LINE_SEPARATOR
+				+ "\tat com.example.Test.method0(Test.java:0)" + LINE_SEPARATOR
+				+ "\tat com.example.Test.method1(Test.java:1)" + LINE_SEPARATOR + "\t... 3 more" + LINE_SEPARATOR);
+	}
+
+	@Test
+	void maxFramesWhenStackTraceIsShorterRendersAllFrames() {
+		RuntimeException error = createError("Test", 1);
+		String rendered = StackTraceRenderer.maxFrames(2).render(error);
+		assertThat(rendered).isEqualTo("java.lang.RuntimeException: Test" + LINE_SEPARATOR
+				+ "\tat com.example.Test.method0(Test.java:0)" + LINE_SEPARATOR);
+	}
+
+	@Test
+	void maxFramesRendersCauses() {
+		RuntimeException cause = createError("Cause", 3);
+		RuntimeException error = new RuntimeException("Test", cause);
+		error.setStackTrace(cause.getStackTrace());
+		String rendered = StackTraceRenderer.maxFrames(1).render(error);
+		assertThat(rendered).isEqualTo("java.lang.RuntimeException: Test" + LINE_SEPARATOR
+				+ "\tat com.example.Test.method0(Test.java:0)" + LINE_SEPARATOR + "\t... 2 more" + LINE_SEPARATOR
+				+ "Caused by: java.lang.RuntimeException: Cause" + LINE_SEPARATOR
+				+ "\tat com.example.Test.method0(Test.java:0)" + LINE_SEPARATOR + "\t... 2 more" + LINE_SEPARATOR);
+	}
+
+	@Test
+	void maxFramesWhenCauseIsCircularRendersEachThrowableOnce() {
+		RuntimeException error = createError("Test", 1);
+		RuntimeException cause = createError("Cause", 1);
+		error.initCause(cause);
+		cause.initCause(error);
+		String rendered = StackTraceRenderer.maxFrames(1).render(error);
+		assertThat(rendered).containsOnlyOnce("Caused by:");
+	}
+
+	@Test
+	void maxFramesRendersRepeatedErrorsWithTheirOwnMessage() {
+		StackTraceRenderer renderer = StackTraceRenderer.maxFrames(2);
+		assertThat(renderer.render(createError("One", 5))).startsWith("java.lang.RuntimeException: One")
+				.endsWith("\t... 3 more" + LINE_SEPARATOR);
+		assertThat(renderer.render(createError("Two", 5))).startsWith("java.lang.RuntimeException: Two")
+				.endsWith("\t... 3 more" + LINE_SEPARATOR);
+		assertThat(renderer.render(createError("Three", 3))).startsWith("java.lang.RuntimeException: Three")
+				.endsWith("\t... 1 more" + LINE_SEPARATOR);
+	}
+
+	private RuntimeException createError(String message, int frames) {
+		RuntimeException error = new RuntimeException(message);
+		StackTraceElement[] stackTrace = new StackTraceElement[frames];
+		for (int i = 0; i < frames; i++) {
+			stackTrace[i] = new StackTraceElement("com.example.Test", "method" + i, "Test.java", i);
+		}
+		error.setStackTrace(stackTrace);
+		return error;
+	}
+
+}
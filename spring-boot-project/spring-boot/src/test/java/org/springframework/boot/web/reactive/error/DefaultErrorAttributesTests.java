@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.error.ErrorAttributeOptions.Include;
+import org.springframework.boot.web.error.StackTraceRenderer;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.codec.HttpMessageReader;
@@ -215,6 +216,16 @@ class DefaultErrorAttributesTests {
 		assertThat(attributes.get("trace").toString()).startsWith("java.lang");
 	}
 
+	@Test
+	void includeTraceWhenUsingMaxFramesRendererHasBoundedFrames() {
+		RuntimeException ex = new RuntimeException("Test");
+		MockServerHttpRequest request = MockServerHttpRequest.get("/test").build();
+		Map<String, Object> attributes = new DefaultErrorAttributes(StackTraceRenderer.maxFrames(1))
+				.getErrorAttributes(buildServerRequest(request, ex), ErrorAttributeOptions.of(Include.STACK_TRACE));
+		assertThat(attributes.get("trace").toString()).startsWith("java.lang.RuntimeException: Test")
+				.containsOnlyOnce("\tat ").contains("more");
+	}
+
 	@Test
 	void includePath() {
 		MockServerHttpRequest request = MockServerHttpRequest.get("/test").build();
@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.servlet.ServletException;
 
@@ -27,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.error.ErrorAttributeOptions.Include;
+import org.springframework.boot.web.error.StackTraceRenderer;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -250,6 +252,31 @@ class DefaultErrorAttributesTests {
 		assertThat(attributes.get("trace").toString()).startsWith("java.lang");
 	}
 
+	@Test
+	void withStackTraceAttributeWhenUsingMaxFramesRendererHasBoundedFrames() {
+		RuntimeException ex = new RuntimeException("Test");
+		this.request.setAttribute("jakarta.servlet.error.exception", ex);
+		Map<String, Object> attributes = new DefaultErrorAttributes(StackTraceRenderer.maxFrames(1))
+				.getErrorAttributes(this.webRequest, ErrorAttributeOptions.of(Include.STACK_TRACE));
+		assertThat(attributes.get("trace").toString()).startsWith("java.lang.RuntimeException: Test")
+				.containsOnlyOnce("\tat ").contains("more");
+	}
+
+	@Test
+	void withStackTraceAttributeRendersTraceWhenItIsRead() {
+		RuntimeException ex = new RuntimeException("Test");
+		this.request.setAttribute("jakarta.servlet.error.exception", ex);
+		AtomicInteger renders = new AtomicInteger();
+		Map<String, Object> attributes = new DefaultErrorAttributes((error) -> {
+			renders.incrementAndGet();
+			return "trace";
+		}).getErrorAttributes(this.webRequest, ErrorAttributeOptions.of(Include.STACK_TRACE));
+		assertThat(attributes).containsKey("trace");
+		assertThat(renders).hasValue(0);
+		assertThat(attributes.get("trace")).isEqualTo("trace");
+		assertThat(renders).hasValue(1);
+	}
+
 	@Test
 	void withoutStackTraceAttribute() {
 		RuntimeException ex = new RuntimeException("Test");